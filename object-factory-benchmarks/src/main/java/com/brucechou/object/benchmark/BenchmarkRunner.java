@@ -0,0 +1,36 @@
+package com.brucechou.object.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run benchmark suites at 1, 4 and 16 threads with GC profiler, so that throughput, allocation rate
+ * and scaling are all visible. Results are written as {@code jmh-result-<threads>.json}.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar com.brucechou.object.benchmark.BenchmarkRunner [regexp]}
+ */
+public final class BenchmarkRunner {
+
+    private static final int[] THREADS = {1, 4, 16};
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder().include(include)
+                                                  .threads(threads)
+                                                  .addProfiler(GCProfiler.class)
+                                                  .resultFormat(ResultFormatType.JSON)
+                                                  .result("jmh-result-" + threads + ".json")
+                                                  .build();
+            new Runner(options).run();
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.brucechou.object.benchmark;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.benchmark.model.Cyclic;
+import com.brucechou.object.benchmark.model.Flat;
+import com.brucechou.object.benchmark.model.Generic;
+import com.brucechou.object.benchmark.model.Nested;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks POJO generation through {@link ObjectFactory#generate(java.lang.reflect.Type)},
+ * with one object factory shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PojoBenchmark {
+
+    @Param({"flat", "nested", "cyclic", "generic"})
+    public String shape;
+
+    private ObjectFactory objectFactory;
+    private Class<?> type;
+
+    @Setup
+    public void setup() {
+        objectFactory = ObjectFactoryBuilder.getDefaultObjectFactory(ThreadLocalRandom::current);
+
+        switch (shape) {
+            case "flat":
+                type = Flat.class;
+                break;
+            case "nested":
+                type = Nested.class;
+                break;
+            case "cyclic":
+                type = Cyclic.class;
+                break;
+            case "generic":
+                type = Generic.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    @Benchmark
+    public Object generate() {
+        return objectFactory.generate(type);
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.brucechou.object.benchmark;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.benchmark.model.AbstractService;
+import com.brucechou.object.provider.DefaultAbstractProvider;
+import com.brucechou.object.provider.DefaultArrayProvider;
+import com.brucechou.object.provider.DefaultCollectionProvider;
+import com.brucechou.object.provider.DefaultEnumProvider;
+import com.brucechou.object.provider.DefaultFutureProvider;
+import com.brucechou.object.provider.DefaultInterfaceProvider;
+import com.brucechou.object.provider.DefaultIterableProvider;
+import com.brucechou.object.provider.DefaultMapProvider;
+import com.brucechou.object.provider.DefaultOptionalProvider;
+import com.brucechou.object.provider.DefaultStreamProvider;
+import com.brucechou.object.provider.DefaultTemporalProvider;
+import com.brucechou.object.provider.DefaultTypesProvider;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.provider.RandomBigNumberProvider;
+import com.brucechou.object.provider.RandomBufferProvider;
+import com.brucechou.object.provider.RandomDateProvider;
+import com.brucechou.object.provider.RandomPrimitiveProvider;
+import com.brucechou.object.provider.RandomStringProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+
+/**
+ * Benchmarks each default provider directly with a representative type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderBenchmark {
+
+    @Param({
+        "DefaultTypesProvider",
+        "RandomPrimitiveProvider",
+        "RandomBigNumberProvider",
+        "RandomDateProvider",
+        "RandomStringProvider",
+        "RandomBufferProvider",
+        "DefaultTemporalProvider",
+        "DefaultEnumProvider",
+        "DefaultArrayProvider",
+        "DefaultCollectionProvider",
+        "DefaultIterableProvider",
+        "DefaultMapProvider",
+        "DefaultStreamProvider",
+        "DefaultOptionalProvider",
+        "DefaultFutureProvider",
+        "DefaultInterfaceProvider",
+        "DefaultAbstractProvider"
+    })
+    public String provider;
+
+    private Provider target;
+    private Type type;
+
+    @Setup
+    public void setup() {
+        Supplier<Random> random = ThreadLocalRandom::current;
+        ObjectFactory f = ObjectFactoryBuilder.getDefaultObjectFactory(random);
+
+        switch (provider) {
+            case "DefaultTypesProvider":
+                target = new DefaultTypesProvider();
+                type = List.class.getTypeParameters()[0];
+                break;
+            case "RandomPrimitiveProvider":
+                target = new RandomPrimitiveProvider(random);
+                type = int.class;
+                break;
+            case "RandomBigNumberProvider":
+                target = new RandomBigNumberProvider(random);
+                type = BigDecimal.class;
+                break;
+            case "RandomDateProvider":
+                target = new RandomDateProvider(random);
+                type = Date.class;
+                break;
+            case "RandomStringProvider":
+                target = new RandomStringProvider();
+                type = String.class;
+                break;
+            case "RandomBufferProvider":
+                target = new RandomBufferProvider(random);
+                type = ByteBuffer.class;
+                break;
+            case "DefaultTemporalProvider":
+                target = new DefaultTemporalProvider(f);
+                type = LocalDateTime.class;
+                break;
+            case "DefaultEnumProvider":
+                target = new DefaultEnumProvider(random);
+                type = TimeUnit.class;
+                break;
+            case "DefaultArrayProvider":
+                target = new DefaultArrayProvider(f, random);
+                type = String[].class;
+                break;
+            case "DefaultCollectionProvider":
+                target = new DefaultCollectionProvider(f, random);
+                type = Types.STRING_LIST;
+                break;
+            case "DefaultIterableProvider":
+                target = new DefaultIterableProvider(f, random);
+                type = Types.STRING_ITERABLE;
+                break;
+            case "DefaultMapProvider":
+                target = new DefaultMapProvider(f, random);
+                type = Types.STRING_INTEGER_MAP;
+                break;
+            case "DefaultStreamProvider":
+                target = new DefaultStreamProvider(f, random);
+                type = Types.STRING_STREAM;
+                break;
+            case "DefaultOptionalProvider":
+                target = new DefaultOptionalProvider(f);
+                type = Types.STRING_OPTIONAL;
+                break;
+            case "DefaultFutureProvider":
+                target = new DefaultFutureProvider(f);
+                type = Types.STRING_FUTURE;
+                break;
+            case "DefaultInterfaceProvider":
+                target = new DefaultInterfaceProvider(f);
+                type = Runnable.class;
+                break;
+            case "DefaultAbstractProvider":
+                target = new DefaultAbstractProvider(f);
+                type = AbstractService.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown provider " + provider);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        Object value = target.get(type);
+        if (value instanceof BaseStream) {
+            // streams are lazy, consume the elements to measure the generation
+            return drain((BaseStream<?, ?>) value);
+        }
+        return value;
+    }
+
+    private static Object drain(BaseStream<?, ?> stream) {
+        Object last = null;
+        Iterator<?> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            last = iterator.next();
+        }
+        return last;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.brucechou.object.benchmark;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.benchmark.model.AbstractService;
+import com.brucechou.object.benchmark.model.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks interface and abstract class proxies, both creation and method invocation on proxies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyBenchmark {
+
+    private ObjectFactory objectFactory;
+    private Service interfaceProxy;
+    private AbstractService abstractProxy;
+
+    @Setup
+    public void setup() {
+        objectFactory = ObjectFactoryBuilder.getDefaultObjectFactory(ThreadLocalRandom::current);
+        interfaceProxy = objectFactory.generate(Service.class);
+        abstractProxy = objectFactory.generate(AbstractService.class);
+    }
+
+    @Benchmark
+    public Object createInterfaceProxy() {
+        return objectFactory.generate(Service.class);
+    }
+
+    @Benchmark
+    public Object createAbstractProxy() {
+        return objectFactory.generate(AbstractService.class);
+    }
+
+    @Benchmark
+    public Object invokeInterfaceProxy() {
+        return interfaceProxy.find("query");
+    }
+
+    @Benchmark
+    public Object invokeAbstractProxy() {
+        return abstractProxy.find("query");
+    }
+
+}
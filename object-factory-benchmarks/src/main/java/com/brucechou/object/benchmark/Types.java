@@ -0,0 +1,40 @@
+package com.brucechou.object.benchmark;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Generic types used by benchmarks, captured from field declarations.
+ */
+@SuppressWarnings("unused")
+public final class Types {
+
+    private List<String> stringList;
+    private Iterable<String> stringIterable;
+    private Map<String, Integer> stringIntegerMap;
+    private Stream<String> stringStream;
+    private Optional<String> stringOptional;
+    private CompletableFuture<String> stringFuture;
+
+    private Types() {}
+
+    public static final Type STRING_LIST = of("stringList");
+    public static final Type STRING_ITERABLE = of("stringIterable");
+    public static final Type STRING_INTEGER_MAP = of("stringIntegerMap");
+    public static final Type STRING_STREAM = of("stringStream");
+    public static final Type STRING_OPTIONAL = of("stringOptional");
+    public static final Type STRING_FUTURE = of("stringFuture");
+
+    private static Type of(String fieldName) {
+        try {
+            return Types.class.getDeclaredField(fieldName).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
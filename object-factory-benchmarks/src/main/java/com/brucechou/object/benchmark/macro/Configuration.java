@@ -0,0 +1,41 @@
+package com.brucechou.object.benchmark.macro;
+
+import com.brucechou.object.ObjectFactoryBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Object factory configurations to compare in the dataset benchmark.
+ */
+enum Configuration {
+
+    /**
+     * Default object factory.
+     */
+    DEFAULT(() -> ObjectFactoryBuilder.getDefaultBuilder().randomSupplier(ThreadLocalRandom::current)),
+
+    /**
+     * Object factory with flight recorder events and JMX monitor enabled, measures instrumentation overhead.
+     */
+    INSTRUMENTED(() -> ObjectFactoryBuilder.getDefaultBuilder()
+                                           .randomSupplier(ThreadLocalRandom::current)
+                                           .flightRecorder(true)
+                                           .jmx("dataset-benchmark"));
+
+    private final Supplier<ObjectFactoryBuilder> builder;
+
+    Configuration(Supplier<ObjectFactoryBuilder> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Create object factory builder of this configuration.
+     *
+     * @return a new object factory builder
+     */
+    ObjectFactoryBuilder builder() {
+        return builder.get();
+    }
+
+}
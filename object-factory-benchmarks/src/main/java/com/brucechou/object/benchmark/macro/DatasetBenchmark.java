@@ -0,0 +1,243 @@
+package com.brucechou.object.benchmark.macro;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.benchmark.macro.model.Customer;
+import com.brucechou.object.benchmark.macro.model.Event;
+import com.brucechou.object.benchmark.macro.model.Order;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * End-to-end dataset generation macro-benchmark. It generates synthetic domain models of customers, orders
+ * and events for a fixed duration for every combination of configuration, graph size and thread count,
+ * and reports throughput, allocation, latency percentiles and GC pauses as JSON.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar com.brucechou.object.benchmark.macro.DatasetBenchmark
+ * [--duration seconds] [--warmup seconds] [--threads 1,4,16] [--sizes small,medium,large]
+ * [--configurations default,instrumented] [--output report.json]}
+ */
+public final class DatasetBenchmark {
+
+    private static final Class<?>[] ROOTS = {Customer.class, Order.class, Event.class};
+
+    private int durationSeconds = 10;
+    private int warmupSeconds = 5;
+    private List<Integer> threads = Arrays.asList(1, 4, 16);
+    private List<GraphSize> sizes = Arrays.asList(GraphSize.values());
+    private List<Configuration> configurations = Arrays.asList(Configuration.values());
+    private String output;
+
+    private DatasetBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        DatasetBenchmark benchmark = new DatasetBenchmark();
+        benchmark.parse(args);
+        benchmark.run();
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--duration":
+                    durationSeconds = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = new ArrayList<>();
+                    for (String t : value.split(",")) {
+                        threads.add(Integer.parseInt(t.trim()));
+                    }
+                    break;
+                case "--sizes":
+                    sizes = new ArrayList<>();
+                    for (String s : value.split(",")) {
+                        sizes.add(GraphSize.valueOf(s.trim().toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "--configurations":
+                    configurations = new ArrayList<>();
+                    for (String c : value.split(",")) {
+                        configurations.add(Configuration.valueOf(c.trim().toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "--output":
+                    output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+    }
+
+    private void run() throws InterruptedException, IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"javaVersion\":\"").append(System.getProperty("java.version")).append("\",")
+            .append("\"availableProcessors\":").append(Runtime.getRuntime().availableProcessors()).append(",")
+            .append("\"results\":[");
+
+        boolean first = true;
+        for (Configuration configuration : configurations) {
+            for (GraphSize size : sizes) {
+                ObjectFactory objectFactory = configuration.builder()
+                                                           .minSize(size.minSize)
+                                                           .maxSize(size.maxSize)
+                                                           .build();
+                for (int threadCount : threads) {
+                    System.err.printf("Running %s %s with %d threads%n", configuration, size, threadCount);
+                    measure(objectFactory, configuration, size, threadCount, warmupSeconds);
+                    ScenarioResult result = measure(objectFactory, configuration, size, threadCount, durationSeconds);
+                    if (!first) {
+                        json.append(",");
+                    }
+                    result.appendJson(json);
+                    first = false;
+                }
+                if (objectFactory.getMonitor() != null) {
+                    objectFactory.getMonitor().unregister();
+                }
+            }
+        }
+        json.append("]}");
+
+        if (output == null) {
+            System.out.println(json);
+        } else {
+            Files.write(Paths.get(output), json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ScenarioResult measure(ObjectFactory objectFactory, Configuration configuration, GraphSize size,
+                                          int threadCount, int seconds) throws InterruptedException {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        Worker[] workers = new Worker[threadCount];
+        Thread[] workerThreads = new Thread[threadCount];
+
+        for (int i = 0; i < threadCount; ++i) {
+            Worker worker = new Worker(objectFactory, threadBean, running, ready, start, i);
+            workers[i] = worker;
+            workerThreads[i] = new Thread(worker, "dataset-benchmark-" + i);
+            workerThreads[i].start();
+        }
+
+        ready.await();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long startNanos = System.nanoTime();
+        start.countDown();
+
+        TimeUnit.SECONDS.sleep(seconds);
+        running.set(false);
+        for (Thread thread : workerThreads) {
+            thread.join();
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+
+        long objects = 0;
+        long allocatedBytes = 0;
+        LatencyHistogram latency = new LatencyHistogram();
+        for (Worker worker : workers) {
+            objects += worker.objects;
+            allocatedBytes += worker.allocatedBytes;
+            latency.merge(worker.latency);
+        }
+
+        return new ScenarioResult(configuration, size, threadCount, durationNanos, objects, allocatedBytes, latency,
+                                  gcCount() - gcCount, gcMillis() - gcMillis);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Worker generates domain models until stopped, and measures its own latency and allocation.
+     */
+    private static final class Worker implements Runnable {
+
+        private final ObjectFactory objectFactory;
+        private final ThreadMXBean threadBean;
+        private final AtomicBoolean running;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final int offset;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private long objects;
+        private long allocatedBytes;
+
+        Worker(ObjectFactory objectFactory, ThreadMXBean threadBean, AtomicBoolean running, CountDownLatch ready,
+               CountDownLatch start, int offset) {
+            this.objectFactory = objectFactory;
+            this.threadBean = threadBean;
+            this.running = running;
+            this.ready = ready;
+            this.start = start;
+            this.offset = offset;
+        }
+
+        @Override
+        public void run() {
+            ready.countDown();
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            long startBytes = allocatedBytes();
+            int index = offset;
+            while (running.get()) {
+                Class<?> root = ROOTS[index++ % ROOTS.length];
+                long begin = System.nanoTime();
+                Object value = objectFactory.generate(root);
+                latency.record(System.nanoTime() - begin);
+                if (value != null) {
+                    objects++;
+                }
+            }
+            allocatedBytes = allocatedBytes() - startBytes;
+        }
+
+        private long allocatedBytes() {
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) threadBean)
+                               .getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+            return 0;
+        }
+
+    }
+
+}
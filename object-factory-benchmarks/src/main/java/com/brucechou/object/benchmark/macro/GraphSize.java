@@ -0,0 +1,20 @@
+package com.brucechou.object.benchmark.macro;
+
+/**
+ * Graph sizes of generated domain models, controlled by the size of every collection and map in the graph.
+ */
+enum GraphSize {
+
+    SMALL(1, 3),
+    MEDIUM(5, 10),
+    LARGE(20, 40);
+
+    final int minSize;
+    final int maxSize;
+
+    GraphSize(int minSize, int maxSize) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+}
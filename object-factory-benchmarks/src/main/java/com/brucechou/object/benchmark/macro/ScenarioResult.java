@@ -0,0 +1,65 @@
+package com.brucechou.object.benchmark.macro;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measured result of one scenario, a combination of configuration, graph size and thread count.
+ */
+final class ScenarioResult {
+
+    private final Configuration configuration;
+    private final GraphSize graphSize;
+    private final int threads;
+    private final long durationNanos;
+    private final long objects;
+    private final long allocatedBytes;
+    private final LatencyHistogram latency;
+    private final long gcCount;
+    private final long gcMillis;
+
+    ScenarioResult(Configuration configuration, GraphSize graphSize, int threads, long durationNanos, long objects,
+                   long allocatedBytes, LatencyHistogram latency, long gcCount, long gcMillis) {
+        this.configuration = configuration;
+        this.graphSize = graphSize;
+        this.threads = threads;
+        this.durationNanos = durationNanos;
+        this.objects = objects;
+        this.allocatedBytes = allocatedBytes;
+        this.latency = latency;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     * Write this result as a JSON object.
+     *
+     * @param json string builder to append to
+     */
+    void appendJson(StringBuilder json) {
+        double seconds = (double) durationNanos / TimeUnit.SECONDS.toNanos(1);
+        json.append("{")
+            .append("\"configuration\":\"").append(configuration.name().toLowerCase(Locale.ROOT)).append("\",")
+            .append("\"graphSize\":\"").append(graphSize.name().toLowerCase(Locale.ROOT)).append("\",")
+            .append("\"threads\":").append(threads).append(",")
+            .append("\"durationSeconds\":").append(format(seconds)).append(",")
+            .append("\"objects\":").append(objects).append(",")
+            .append("\"objectsPerSecond\":").append(format(objects / seconds)).append(",")
+            .append("\"bytesPerObject\":").append(objects == 0 ? 0 : allocatedBytes / objects).append(",")
+            .append("\"latencyNanos\":{")
+            .append("\"p50\":").append(latency.percentile(50)).append(",")
+            .append("\"p99\":").append(latency.percentile(99)).append(",")
+            .append("\"p999\":").append(latency.percentile(99.9))
+            .append("},")
+            .append("\"gc\":{")
+            .append("\"count\":").append(gcCount).append(",")
+            .append("\"pauseMillis\":").append(gcMillis)
+            .append("}")
+            .append("}");
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+}
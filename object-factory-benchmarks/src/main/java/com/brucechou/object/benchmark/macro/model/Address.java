@@ -0,0 +1,14 @@
+package com.brucechou.object.benchmark.macro.model;
+
+/**
+ * Postal address of a customer.
+ */
+@SuppressWarnings("unused")
+public class Address {
+
+    private String street;
+    private String city;
+    private String postcode;
+    private String country;
+
+}
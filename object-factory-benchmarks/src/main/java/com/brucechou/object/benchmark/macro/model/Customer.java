@@ -0,0 +1,21 @@
+package com.brucechou.object.benchmark.macro.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Customer with addresses and free-form attributes.
+ */
+@SuppressWarnings("unused")
+public class Customer {
+
+    private long id;
+    private String name;
+    private String email;
+    private LocalDate birthday;
+    private boolean verified;
+    private List<Address> addresses;
+    private Map<String, String> attributes;
+
+}
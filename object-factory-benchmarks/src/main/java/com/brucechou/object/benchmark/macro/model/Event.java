@@ -0,0 +1,20 @@
+package com.brucechou.object.benchmark.macro.model;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Domain event referencing an order, with nested collections in its payload.
+ */
+@SuppressWarnings("unused")
+public class Event {
+
+    private String id;
+    private EventType type;
+    private ZonedDateTime occurredAt;
+    private Order order;
+    private Map<String, List<String>> payload;
+    private List<Map<String, Long>> counters;
+
+}
@@ -0,0 +1,8 @@
+package com.brucechou.object.benchmark.macro.model;
+
+/**
+ * Type of a domain event.
+ */
+public enum EventType {
+    ORDER_PLACED, ORDER_UPDATED, PAYMENT_RECEIVED, SHIPMENT_DISPATCHED
+}
@@ -0,0 +1,24 @@
+package com.brucechou.object.benchmark.macro.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Order placed by a customer, with order lines and metadata.
+ */
+@SuppressWarnings("unused")
+public class Order {
+
+    private String id;
+    private Customer customer;
+    private OrderStatus status;
+    private Instant createdAt;
+    private BigDecimal total;
+    private List<OrderLine> lines;
+    private Set<String> tags;
+    private Map<String, String> metadata;
+
+}
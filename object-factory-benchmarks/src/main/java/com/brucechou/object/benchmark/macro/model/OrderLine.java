@@ -0,0 +1,16 @@
+package com.brucechou.object.benchmark.macro.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A line of an order.
+ */
+@SuppressWarnings("unused")
+public class OrderLine {
+
+    private String sku;
+    private int quantity;
+    private BigDecimal unitPrice;
+    private double discount;
+
+}
@@ -0,0 +1,8 @@
+package com.brucechou.object.benchmark.macro.model;
+
+/**
+ * Status of an order.
+ */
+public enum OrderStatus {
+    CREATED, PAID, SHIPPED, DELIVERED, CANCELLED
+}
@@ -0,0 +1,10 @@
+package com.brucechou.object.benchmark.model;
+
+/**
+ * Abstract class to be proxied.
+ */
+public abstract class AbstractService implements Service {
+
+    public abstract int count();
+
+}
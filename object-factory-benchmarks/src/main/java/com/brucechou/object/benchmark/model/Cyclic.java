@@ -0,0 +1,15 @@
+package com.brucechou.object.benchmark.model;
+
+import java.util.List;
+
+/**
+ * POJO with dependency cycle, which is terminated by cycle terminator.
+ */
+@SuppressWarnings("unused")
+public class Cyclic {
+
+    private String name;
+    private Cyclic parent;
+    private List<Cyclic> children;
+
+}
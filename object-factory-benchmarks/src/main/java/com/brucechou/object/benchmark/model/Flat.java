@@ -0,0 +1,21 @@
+package com.brucechou.object.benchmark.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Flat POJO with primitive and simple fields only.
+ */
+@SuppressWarnings("unused")
+public class Flat {
+
+    private int id;
+    private long timestamp;
+    private double amount;
+    private boolean active;
+    private String name;
+    private String email;
+    private BigDecimal price;
+    private Instant createdAt;
+
+}
@@ -0,0 +1,17 @@
+package com.brucechou.object.benchmark.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * POJO with deeply parameterized generic fields.
+ */
+@SuppressWarnings("unused")
+public class Generic {
+
+    private Map<String, List<Integer>> groups;
+    private List<Map<String, Long>> rows;
+    private Optional<List<String>> tags;
+
+}
@@ -0,0 +1,17 @@
+package com.brucechou.object.benchmark.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nested POJO with collections and maps of other POJOs.
+ */
+@SuppressWarnings("unused")
+public class Nested {
+
+    private String id;
+    private Flat header;
+    private List<Flat> items;
+    private Map<String, Flat> index;
+
+}
@@ -0,0 +1,14 @@
+package com.brucechou.object.benchmark.model;
+
+import java.util.List;
+
+/**
+ * Interface to be proxied.
+ */
+public interface Service {
+
+    String name();
+
+    List<Flat> find(String query);
+
+}
@@ -0,0 +1,197 @@
+package com.brucechou.object;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs generations of an object factory on an executor for {@link ObjectFactory#generateAsync(Type)}.
+ *
+ * <p>Single requests for the same type are queued per type and drained by one task, so a burst of small requests
+ * costs one executor hand-off instead of one each. Requests of different types never wait for each other.
+ * Queues are removed once drained, so generating many types does not keep a queue for each.
+ */
+final class AsyncGenerator {
+
+    // max requests served by one task before yielding the executor thread to other types
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final ObjectFactory objectFactory;
+
+    // configured executor, null to use the default executor
+    private final Executor executor;
+
+    // type -> pending requests of the type, removed once drained
+    private final ConcurrentHashMap<Type, Batch> batches = new ConcurrentHashMap<>();
+
+    AsyncGenerator(ObjectFactory objectFactory, Executor executor) {
+        this.objectFactory = objectFactory;
+        this.executor = executor;
+    }
+
+    private Executor executor() {
+        return executor == null ? DefaultExecutor.INSTANCE : executor;
+    }
+
+    /**
+     * Queue a request of type, seeded if seed is non-null.
+     *
+     * @param type the type to create
+     * @param seed the seed of random, or null
+     * @param <T> the type to create
+     * @return future of generated value
+     */
+    <T> CompletableFuture<T> submit(Type type, Long seed) {
+        Request<T> request = new Request<>(seed);
+        Batch batch = batches.computeIfAbsent(type, Batch::new);
+        batch.requests.add(request);
+        batch.schedule();
+        return request.future;
+    }
+
+    /**
+     * Generate a list of values of type in a single task.
+     *
+     * @param type the type to create
+     * @param count number of values to generate
+     * @param <T> the type to create
+     * @return future of generated values
+     */
+    <T> CompletableFuture<List<T>> submitList(Type type, int count) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        try {
+            executor().execute(() -> {
+                try {
+                    List<T> values = new ArrayList<>(count);
+                    for (int i = 0; i < count && !future.isDone(); ++i) {
+                        values.add(objectFactory.generate(type));
+                    }
+                    future.complete(values);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Pending requests of a type with a flag telling whether a task is scheduled to drain them.
+     */
+    private final class Batch implements Runnable {
+
+        private final Type type;
+        private final Queue<Request<?>> requests = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Batch(Type type) {
+            this.type = type;
+        }
+
+        private void schedule() {
+            if (requests.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor().execute(this);
+            } catch (RuntimeException e) {
+                // executor rejected, fail requests queued so far instead of leaving them pending
+                Request<?> request;
+                while ((request = requests.poll()) != null) {
+                    request.future.completeExceptionally(e);
+                }
+                scheduled.set(false);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            try {
+                Request<?> request;
+                for (int i = 0; i < MAX_BATCH_SIZE && (request = requests.poll()) != null; ++i) {
+                    request.run(objectFactory, type);
+                }
+            } finally {
+                scheduled.set(false);
+                if (requests.isEmpty()) {
+                    // a request added to this batch after removal is still scheduled by its submitter
+                    batches.remove(type, this);
+                }
+                // requests added after the last poll, or left over by the batch size limit
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * A single pending request.
+     *
+     * @param <T> the type to create
+     */
+    private static final class Request<T> {
+
+        private final Long seed;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Request(Long seed) {
+            this.seed = seed;
+        }
+
+        private void run(ObjectFactory objectFactory, Type type) {
+            // skip requests cancelled by callers
+            if (future.isDone()) {
+                return;
+            }
+
+            try {
+                future.complete(seed == null ? objectFactory.generate(type) : objectFactory.generate(type, seed));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * The default executor shared by object factories without an executor configured, a bounded pool of daemon
+     * threads sized to available processors, created on first use.
+     */
+    private static final class DefaultExecutor {
+
+        private static final int QUEUE_CAPACITY = 4096;
+
+        private static final Executor INSTANCE = create();
+
+        private DefaultExecutor() {
+        }
+
+        private static Executor create() {
+            int threads = Runtime.getRuntime().availableProcessors();
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                        Thread thread = new Thread(r, "object-factory-async-" + counter.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+package com.brucechou.object;
+
+import com.brucechou.object.constraint.FieldConstraint;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.plan.ClassPlan;
+import com.brucechou.object.provider.DefaultArrayProvider;
+import com.brucechou.object.provider.DefaultCollectionProvider;
+import com.brucechou.object.provider.DefaultMapProvider;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.provider.WithRandomSize;
+import com.brucechou.object.util.Inspector;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Re-randomizes an existing object graph in place, following the same plan and cycle detection as generation does.
+ *
+ * <p>Nested POJOs and arrays are refilled in place, collections and maps handled by default providers are cleared
+ * and refilled, elements of random access lists are refilled in place as well. Anything else, i.e. immutable values,
+ * values of bound or custom providers, null values and unmodifiable containers, is replaced by a generated value.
+ */
+final class InstanceRefiller implements WithRandomSize {
+
+    private final ObjectFactory objectFactory;
+    private final CycleDetector cycleDetector;
+
+    // objects already refilled, keeps shared references and reference cycles of the graph
+    private final Set<Object> refilled = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    InstanceRefiller(ObjectFactory objectFactory, CycleDetector cycleDetector) {
+        this.objectFactory = objectFactory;
+        this.cycleDetector = cycleDetector;
+    }
+
+    /**
+     * Check if instances of given class can be refilled in place, i.e. POJOs and arrays.
+     *
+     * @param clazz the class to check
+     * @return true if instances can be refilled
+     */
+    boolean isRefillable(Class<?> clazz) {
+        Provider provider = objectFactory.getProvider(clazz);
+        return provider == null ? !Inspector.isExplicitPrimitive(clazz)
+                                : provider.getClass() == DefaultArrayProvider.class;
+    }
+
+    /**
+     * Refill a value of given type.
+     *
+     * @param type the type of value
+     * @param current current value, may be null
+     * @return the value refilled in place, or a generated value replacing current value
+     */
+    Object refill(Type type, Object current) {
+        return refill(type, current, null);
+    }
+
+    /**
+     * Refill a value of given type satisfying the constraint, sizes of refilled containers follow the constraint,
+     * and generated values satisfy it as generation does.
+     *
+     * @param type the type of value
+     * @param current current value, may be null
+     * @param constraint the constraint of the value, null if unconstrained
+     * @return the value refilled in place, or a generated value replacing current value
+     */
+    private Object refill(Type type, Object current, FieldConstraint constraint) {
+        if (current == null) {
+            return objectFactory.generateConstrained(type, constraint, cycleDetector);
+        }
+
+        Provider provider = objectFactory.getProvider(type);
+        if (provider == null ? !isPlainObject(type, current) : !isStructural(provider, type, current)) {
+            return objectFactory.generateConstrained(type, constraint, cycleDetector);
+        }
+
+        CycleDetector.CycleNode cycle = cycleDetector.start(type);
+
+        // if cycle detected, terminate the cycle as generation does
+        if (cycle != null) {
+            return constraint != null && constraint.isNotNull()
+                           ? objectFactory.generateConstrained(type, constraint, cycleDetector)
+                           : objectFactory.getTerminator(cycle).terminate(cycle);
+        }
+
+        try {
+            if (!refilled.add(current)) {
+                return current;
+            }
+
+            if (provider == null) {
+                refillObject((Class<?>) type, current);
+                return current;
+            }
+
+            return refillStructure(provider, type, current, constraint);
+        } finally {
+            cycleDetector.end();
+        }
+    }
+
+    /**
+     * Refill a field of container type, fields with bound providers are always generated.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @param current current value of the field, may be null
+     * @param constraint the constraint of the field, null if unconstrained
+     * @return the value to set
+     */
+    private Object refillField(Type containerType, Type fieldType, String fieldName, Object current,
+                               FieldConstraint constraint) {
+        if (objectFactory.getBoundProvider(containerType, fieldType, fieldName) != null) {
+            return objectFactory.generateField(containerType, fieldType, fieldName, constraint, cycleDetector);
+        }
+
+        return refill(fieldType, current, constraint);
+    }
+
+    /**
+     * Refill a POJO by its plan, setters are invoked first and then the other fields are set.
+     * Errors of setters are suppressed the same way as generation.
+     *
+     * @param clazz the class of instance
+     * @param instance the instance to refill
+     * @throws ObjectCreationException if failed to read or set fields
+     */
+    private void refillObject(Class<?> clazz, Object instance) {
+        ClassPlan plan = objectFactory.getClassPlan(clazz);
+        List<String> setterFieldNames = plan.getSetterFieldNames();
+
+        for (int i = 0; i < setterFieldNames.size(); ++i) {
+            Method setter = plan.getSetters().get(i);
+            Type argType = setter.getGenericParameterTypes()[0];
+            String fieldName = setterFieldNames.get(i);
+            try {
+                // current value can be reused only if the backing field is known and of the same type
+                Field field = findField(plan, fieldName);
+                Object current = field != null && field.getGenericType().equals(argType) ? field.get(instance) : null;
+                setter.invoke(instance, refillField(clazz, argType, fieldName, current,
+                                                    plan.getSetterConstraints().get(i)));
+            } catch (Exception e) {
+                // make setter invoke not fail on error
+                // intentionally ignored
+            }
+        }
+
+        List<Field> fields = plan.getFields();
+        for (int i = 0; i < fields.size(); ++i) {
+            Field field = fields.get(i);
+            if (setterFieldNames.contains(field.getName())) {
+                continue;
+            }
+
+            try {
+                field.set(instance, refillField(clazz, field.getGenericType(), field.getName(), field.get(instance),
+                                                plan.getFieldConstraints().get(i)));
+            } catch (Exception e) {
+                throw new ObjectCreationException("Fail to set field %s for instance type %s", field, clazz)
+                              .withCause(e);
+            }
+        }
+    }
+
+    /**
+     * Refill a container recognized by a default provider.
+     *
+     * @param provider the default provider recognizes the type
+     * @param type the container type
+     * @param current the container to refill
+     * @param constraint the constraint of the container, null if unconstrained
+     * @return the container refilled in place, or a generated container if current one is unmodifiable
+     */
+    @SuppressWarnings("unchecked")
+    private Object refillStructure(Provider provider, Type type, Object current, FieldConstraint constraint) {
+        if (provider instanceof DefaultArrayProvider) {
+            refillArray(type instanceof Class
+                                ? ((Class<?>) type).getComponentType()
+                                : ((GenericArrayType) type).getGenericComponentType(), current);
+            return current;
+        }
+
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        try {
+            if (provider instanceof DefaultMapProvider) {
+                refillMap(arguments[0], arguments[1], (Map<Object, Object>) current, constraint);
+            } else if (current instanceof List && current instanceof RandomAccess) {
+                refillList(arguments[0], (List<Object>) current, constraint);
+            } else {
+                refillCollection(arguments[0], (Collection<Object>) current, constraint);
+            }
+            return current;
+        } catch (UnsupportedOperationException e) {
+            // unmodifiable container
+            return objectFactory.generateConstrained(type, constraint, cycleDetector);
+        }
+    }
+
+    private void refillArray(Type componentType, Object array) {
+        for (int i = 0, length = Array.getLength(array); i < length; ++i) {
+            Array.set(array, i, refill(componentType, Array.get(array, i)));
+        }
+    }
+
+    private void refillList(Type elementType, List<Object> list, FieldConstraint constraint) {
+        int size = getRandomSize(objectFactory, objectFactory.getRandom(), constraint);
+        // remove from tail to avoid shifting elements
+        for (int i = list.size() - 1; i >= size; --i) {
+            list.remove(i);
+        }
+        for (int i = 0; i < list.size(); ++i) {
+            list.set(i, refill(elementType, list.get(i)));
+        }
+        for (int i = list.size(); i < size; ++i) {
+            list.add(objectFactory.generate(elementType, cycleDetector));
+        }
+    }
+
+    private void refillCollection(Type elementType, Collection<Object> collection, FieldConstraint constraint) {
+        // elements are not refilled in place, since they may be hashed or ordered
+        int size = getRandomSize(objectFactory, objectFactory.getRandom(), constraint);
+        collection.clear();
+        for (int i = 0; i < size; ++i) {
+            collection.add(objectFactory.generate(elementType, cycleDetector));
+        }
+    }
+
+    private void refillMap(Type keyType, Type valueType, Map<Object, Object> map, FieldConstraint constraint) {
+        int size = getRandomSize(objectFactory, objectFactory.getRandom(), constraint);
+        map.clear();
+        for (int i = 0; i < size; ++i) {
+            map.put(objectFactory.generate(keyType, cycleDetector), objectFactory.generate(valueType, cycleDetector));
+        }
+    }
+
+    private static Field findField(ClassPlan plan, String fieldName) {
+        for (Field field : plan.getFields()) {
+            if (field.getName().equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if current value is a POJO of exactly given type, which can be refilled by the plan of the type.
+     *
+     * @param type the type of value
+     * @param current current value
+     * @return true if current value can be refilled as a POJO
+     */
+    private static boolean isPlainObject(Type type, Object current) {
+        return type instanceof Class && !Inspector.isExplicitPrimitive((Class<?>) type) && current.getClass() == type;
+    }
+
+    /**
+     * Check if current value is a container can be refilled in place, only containers of default providers
+     * are refilled, since the behavior of custom providers is unknown.
+     *
+     * @param provider provider recognizes the type
+     * @param type the type of value
+     * @param current current value
+     * @return true if current value can be refilled as a container
+     */
+    private static boolean isStructural(Provider provider, Type type, Object current) {
+        Class<?> providerClass = provider.getClass();
+        if (providerClass == DefaultArrayProvider.class) {
+            return current.getClass().isArray();
+        }
+
+        if (!(type instanceof ParameterizedType) || ((ParameterizedType) type).getActualTypeArguments().length == 0) {
+            return false;
+        }
+
+        return providerClass == DefaultCollectionProvider.class && current instanceof Collection
+                       || providerClass == DefaultMapProvider.class && current instanceof Map;
+    }
+
+}
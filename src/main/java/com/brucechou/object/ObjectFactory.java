@@ -3,27 +3,50 @@ package com.brucechou.object;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toList;
 
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
 import com.brucechou.object.cycle.CycleTerminator;
+import com.brucechou.object.dataset.ColumnBatch;
+import com.brucechou.object.event.GenerationRecorder;
+import com.brucechou.object.event.NullGenerationRecorder;
+import com.brucechou.object.instantiation.InstantiationStrategy;
+import com.brucechou.object.latency.LatencyDistribution;
+import com.brucechou.object.latency.LatencyScheduler;
+import com.brucechou.object.monitor.GenerationStatistics;
+import com.brucechou.object.monitor.ObjectFactoryMonitor;
+import com.brucechou.object.plan.ClassPlan;
+import com.brucechou.object.provider.ConstrainedProvider;
+import com.brucechou.object.provider.PrimitiveProvider;
 import com.brucechou.object.provider.Provider;
+import com.brucechou.object.resolver.CachingResolver;
 import com.brucechou.object.resolver.Resolver;
+import com.brucechou.object.shard.Shard;
+import com.brucechou.object.shard.ShardRecord;
+import com.brucechou.object.sink.GenerationSink;
 import com.brucechou.object.spy.ClassSpy;
+import com.brucechou.object.util.CacheStatistics;
+import com.brucechou.object.util.CountingCache;
+import com.brucechou.object.util.Hashes;
 import com.brucechou.object.util.Inspector;
 
 import lombok.Getter;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -45,12 +68,21 @@ public final class ObjectFactory {
     // field name -> provider
     private final Map<String, Provider> globalNameBindings;
 
+    @Getter
     private final List<Provider> providers;
     @Getter
     private final List<Resolver> resolvers;
     private final List<CycleTerminator> terminators;
+
+    // class -> instantiation strategy bound, falls back to default instantiation strategy
+    private final Map<Class<?>, InstantiationStrategy> instantiationStrategies;
+    private final InstantiationStrategy instantiationStrategy;
     private final Supplier<Random> randomSupplier;
 
+    // random of seeded generations in progress on current thread, consulted only if any is in progress
+    private final ThreadLocal<Random> seededRandom = new ThreadLocal<>();
+    private final AtomicInteger seededGenerations = new AtomicInteger();
+
     /**
      * Get random instance.
      *
@@ -69,6 +101,92 @@ public final class ObjectFactory {
     private final int maxSize;
     private final boolean failOnMissingPrimitiveProvider;
 
+    /**
+     * Whether to generate compact immutable collections for collection and map interfaces.
+     */
+    @Getter
+    private final boolean compactCollections;
+
+    /**
+     * Whether to generate virtual lists for collection, list and iterable interfaces.
+     */
+    @Getter
+    private final boolean virtualCollections;
+
+    /**
+     * Max number of recently accessed elements cached by each virtual list.
+     */
+    @Getter
+    private final int virtualCollectionCacheSize;
+
+    /**
+     * Whether to generate field values satisfying their Bean Validation constraints.
+     */
+    @Getter
+    private final boolean validationConstraints;
+
+    /**
+     * Latency distribution of generated futures, null if futures are generated completed.
+     */
+    @Getter
+    private final LatencyDistribution futureLatency;
+
+    /**
+     * Scheduler completing futures with latency.
+     */
+    @Getter
+    private final LatencyScheduler futureScheduler;
+
+    /**
+     * Rate of futures with latency failing.
+     */
+    @Getter
+    private final double futureFailureRate;
+
+    /**
+     * Shard of this object factory, null if not sharded.
+     */
+    @Getter
+    private final Shard shard;
+
+    @Getter
+    private final GenerationRecorder recorder;
+
+    // primitives are generated without boxing only if nothing records provider invocations
+    private final boolean primitiveFastPath;
+
+    /**
+     * Hash of configuration affects generated values, i.e. providers, bindings, resolvers, terminators,
+     * class spy and size range. Providers are identified by their {@link Provider#configurationKey() configuration
+     * keys}, resolvers and terminators by their classes.
+     */
+    @Getter
+    private final long configurationHash;
+
+    /**
+     * Whether all providers describe their configuration, otherwise the same configuration hash does not imply
+     * the same generated values, e.g. with providers of suppliers.
+     */
+    @Getter
+    private final boolean configurationDescribed;
+
+    // class -> generation plan
+    private final CountingCache<Class<?>, ClassPlan> classPlans = new CountingCache<>();
+
+    // type -> provider recognizes the type, an entry per distinct type until caches cleared, see Provider#recognizes
+    private final CountingCache<Type, Provider> providerDispatch = new CountingCache<>();
+
+    @Getter
+    private final GenerationStatistics statistics = new GenerationStatistics();
+
+    /**
+     * The monitor registered to platform MBean server, null if JMX is not enabled.
+     */
+    @Getter
+    private final ObjectFactoryMonitor monitor;
+
+    private final AsyncGenerator asyncGenerator;
+
     /**
      * A package access level to instantiate object factory instance with object factory builder.
      *
@@ -76,22 +194,48 @@ public final class ObjectFactory {
      */
     ObjectFactory(ObjectFactoryBuilder builder) {
         // try random supplier first and then try random instance
-        this.randomSupplier = Optional.ofNullable(builder.getRandomSupplier())
-                                      .orElseGet(() -> builder::getRandom);
+        Supplier<Random> configuredRandomSupplier = Optional.ofNullable(builder.getRandomSupplier())
+                                                            .orElseGet(() -> builder::getRandom);
+        this.randomSupplier = () -> {
+            Random random = seededGenerations.get() == 0 ? null : seededRandom.get();
+            return random == null ? configuredRandomSupplier.get() : random;
+        };
         this.resolvers = Collections.unmodifiableList(builder.getResolvers());
         // additional providers are always put before default providers
         this.providers = Stream.concat(builder.getAdditionalProviders().stream(), builder.getProviders().stream())
                                .map(f -> f.apply(this, this.randomSupplier))
                                .collect(collectingAndThen(toList(), Collections::unmodifiableList));
         this.terminators = Collections.unmodifiableList(builder.getTerminators());
+        this.instantiationStrategies = Collections.unmodifiableMap(builder.getInstantiationStrategies());
+        this.instantiationStrategy = builder.getInstantiationStrategy();
         this.classSpy = builder.getClassSpy();
         this.minSize = builder.getMinSize();
         this.maxSize = builder.getMaxSize();
         this.failOnMissingPrimitiveProvider = builder.isFailOnMissingPrimitiveProvider();
-        this.fieldTypeBindings = Collections.unmodifiableMap(builder.getFieldTypeBindings());
-        this.fieldNameBindings = Collections.unmodifiableMap(builder.getFieldNameBindings());
-        this.globalTypeBindings = Collections.unmodifiableMap(builder.getGlobalTypeBindings());
-        this.globalNameBindings = Collections.unmodifiableMap(builder.getGlobalNameBindings());
+        this.compactCollections = builder.isCompactCollections();
+        this.virtualCollections = builder.isVirtualCollections();
+        this.virtualCollectionCacheSize = builder.getVirtualCollectionCacheSize();
+        this.validationConstraints = builder.isValidationConstraints();
+        this.futureLatency = builder.getFutureLatency();
+        this.futureScheduler = Optional.ofNullable(builder.getFutureScheduler()).orElseGet(LatencyScheduler::shared);
+        this.futureFailureRate = builder.getFutureFailureRate();
+        this.shard = builder.getShard();
+        this.fieldTypeBindings = mapValues(builder.getFieldTypeBindings(), this::createBoundProviders);
+        this.fieldNameBindings = mapValues(builder.getFieldNameBindings(), this::createBoundProviders);
+        this.globalTypeBindings = createBoundProviders(builder.getGlobalTypeBindings());
+        this.globalNameBindings = createBoundProviders(builder.getGlobalNameBindings());
+        this.recorder = builder.getRecorder();
+        this.primitiveFastPath = recorder instanceof NullGenerationRecorder;
+        this.configurationHash = hashConfiguration();
+        this.configurationDescribed = describesConfiguration();
+        this.asyncGenerator = new AsyncGenerator(this, builder.getAsyncExecutor());
+
+        if (builder.getJmxName() == null) {
+            this.monitor = null;
+        } else {
+            this.monitor = new ObjectFactoryMonitor(this);
+            this.monitor.register(builder.getJmxName());
+        }
     }
 
     /**
@@ -102,7 +246,257 @@ public final class ObjectFactory {
      * @return generated value
      */
     public <T> T generate(Type type) {
-        return generate(type, new CycleDetector());
+        CycleDetector cycleDetector = new CycleDetector();
+        T value = recorder.recordGeneration(type, cycleDetector, () -> generate(type, cycleDetector));
+        statistics.record(cycleDetector.getNodeCount());
+        return value;
+    }
+
+    /**
+     * Generate an object of type with a seed, the same seed always generates the same object with the same
+     * configuration, regardless of the random configured.
+     *
+     * @param type the type to create
+     * @param seed the seed of random
+     * @param <T> the type to create
+     * @return generated value
+     */
+    public <T> T generate(Type type, long seed) {
+        return withSeed(seed, () -> generate(type));
+    }
+
+    /**
+     * Internal logic to generate an object of type with a seed and cycle detector, used by {@link Provider} only
+     * to generate values lazily outside of the generation creates them, e.g. elements of streams.
+     *
+     * @param type the type to create
+     * @param cycleDetector dependency cycle detector
+     * @param seed the seed of random
+     * @param <T> the type to create
+     * @return generated value
+     * @throws ObjectCreationException if failed to create object
+     * @throws IllegalArgumentException if given type is not recognized
+     */
+    public <T> T generate(Type type, CycleDetector cycleDetector, long seed) {
+        return withSeed(seed, () -> generate(type, cycleDetector));
+    }
+
+    /**
+     * Run a generation with a random of seed on current thread.
+     *
+     * @param seed the seed of random
+     * @param generation the generation to run
+     * @param <T> the type to create
+     * @return generated value
+     */
+    private <T> T withSeed(long seed, Supplier<T> generation) {
+        Random previous = seededRandom.get();
+        seededRandom.set(new Random(seed));
+        seededGenerations.incrementAndGet();
+        try {
+            return generation.get();
+        } finally {
+            seededGenerations.decrementAndGet();
+            if (previous == null) {
+                seededRandom.remove();
+            } else {
+                seededRandom.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Generate the records of this shard lazily, for a logical dataset of total records generated by all shards.
+     * Record {@code i} is generated with the seed derived from the master seed and {@code i}, and as the current
+     * {@link ShardRecord}, so the union of all shards equals the dataset a single shard generates, in the order of
+     * record indices.
+     *
+     * @param type the type of each record
+     * @param total number of records of the whole dataset
+     * @param <T> the type of each record
+     * @return sequential stream of records of this shard
+     * @throws IllegalStateException if this object factory is not sharded
+     * @throws IllegalArgumentException if total is negative
+     */
+    public <T> Stream<T> generateShard(Type type, long total) {
+        if (shard == null) {
+            throw new IllegalStateException("Object factory is not sharded");
+        }
+
+        return LongStream.range(shard.start(total), shard.end(total))
+                         .mapToObj(i -> ShardRecord.generate(i, total, () -> generate(type, shard.seedOf(i))));
+    }
+
+    /**
+     * Generate an int value, without boxing if the provider of {@code int} is a {@link PrimitiveProvider}.
+     *
+     * @return generated value
+     * @throws ObjectCreationException if no provider found and {@code failOnMissingPrimitiveProvider} is set
+     */
+    public int generateInt() {
+        PrimitiveProvider provider = getPrimitiveProvider(int.class);
+        if (provider == null) {
+            return this.<Integer>generate(int.class);
+        }
+
+        statistics.record(1);
+        return provider.getInt(int.class);
+    }
+
+    /**
+     * Generate a long value, without boxing if the provider of {@code long} is a {@link PrimitiveProvider}.
+     *
+     * @return generated value
+     * @throws ObjectCreationException if no provider found and {@code failOnMissingPrimitiveProvider} is set
+     */
+    public long generateLong() {
+        PrimitiveProvider provider = getPrimitiveProvider(long.class);
+        if (provider == null) {
+            return this.<Long>generate(long.class);
+        }
+
+        statistics.record(1);
+        return provider.getLong(long.class);
+    }
+
+    /**
+     * Generate a double value, without boxing if the provider of {@code double} is a {@link PrimitiveProvider}.
+     *
+     * @return generated value
+     * @throws ObjectCreationException if no provider found and {@code failOnMissingPrimitiveProvider} is set
+     */
+    public double generateDouble() {
+        PrimitiveProvider provider = getPrimitiveProvider(double.class);
+        if (provider == null) {
+            return this.<Double>generate(double.class);
+        }
+
+        statistics.record(1);
+        return provider.getDouble(double.class);
+    }
+
+    /**
+     * Generate a boolean value, without boxing if the provider of {@code boolean} is a {@link PrimitiveProvider}.
+     *
+     * @return generated value
+     * @throws ObjectCreationException if no provider found and {@code failOnMissingPrimitiveProvider} is set
+     */
+    public boolean generateBoolean() {
+        PrimitiveProvider provider = getPrimitiveProvider(boolean.class);
+        if (provider == null) {
+            return this.<Boolean>generate(boolean.class);
+        }
+
+        statistics.record(1);
+        return provider.getBoolean(boolean.class);
+    }
+
+    /**
+     * Re-randomize fields of an existing POJO or array in place, the same way as a generation of its class does.
+     * Nested POJOs, arrays, collections and maps are reused instead of allocated, so instances can be recycled,
+     * while immutable values, values of bound or custom providers and unmodifiable containers are replaced.
+     *
+     * @param instance the instance to refill
+     * @param <T> the type of instance
+     * @return the same instance
+     * @throws IllegalArgumentException if instance is null or not a POJO or an array
+     * @throws ObjectCreationException if failed to set fields
+     */
+    public <T> T refill(T instance) {
+        if (instance == null) {
+            throw new IllegalArgumentException("Instance must be non-null");
+        }
+
+        Class<?> clazz = instance.getClass();
+        CycleDetector cycleDetector = new CycleDetector();
+        InstanceRefiller refiller = new InstanceRefiller(this, cycleDetector);
+        if (!refiller.isRefillable(clazz)) {
+            throw new IllegalArgumentException("Instance of type " + clazz.getName() + " cannot be refilled");
+        }
+
+        recorder.recordGeneration(clazz, cycleDetector, () -> refiller.refill(clazz, instance));
+        statistics.record(cycleDetector.getNodeCount());
+        return instance;
+    }
+
+    /**
+     * Generate an object of type asynchronously on the configured executor, see
+     * {@link ObjectFactoryBuilder#asyncExecutor(Executor)}. Concurrent requests of the same type are served
+     * in batches.
+     *
+     * @param type the type to create
+     * @param <T> the type to create
+     * @return future of generated value, completed exceptionally if generation failed or executor rejected
+     */
+    public <T> CompletableFuture<T> generateAsync(Type type) {
+        return asyncGenerator.submit(type, null);
+    }
+
+    /**
+     * Generate an object of type with a seed asynchronously, the future completes with the same object as
+     * {@link #generate(Type, long)} does.
+     *
+     * @param type the type to create
+     * @param seed the seed of random
+     * @param <T> the type to create
+     * @return future of generated value, completed exceptionally if generation failed or executor rejected
+     */
+    public <T> CompletableFuture<T> generateAsync(Type type, long seed) {
+        return asyncGenerator.submit(type, seed);
+    }
+
+    /**
+     * Generate a number of objects of type asynchronously in a single task.
+     *
+     * @param type the type to create
+     * @param count number of objects to generate
+     * @param <T> the type to create
+     * @return future of generated values, completed exceptionally if generation failed or executor rejected
+     * @throws IllegalArgumentException if count is negative
+     */
+    public <T> CompletableFuture<List<T>> generateAsyncList(Type type, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count should not be negative");
+        }
+
+        return asyncGenerator.submitList(type, count);
+    }
+
+    /**
+     * Generate a value of type straight into a sink without materializing the object graph.
+     * Containers and POJOs are emitted element by element and field by field, see {@link GenerationSink}.
+     *
+     * @param type the type to generate
+     * @param sink the sink to receive tokens
+     */
+    public void generate(Type type, GenerationSink sink) {
+        CycleDetector cycleDetector = new CycleDetector();
+        recorder.recordGeneration(type, cycleDetector, () -> {
+            new StreamingGenerator(this, sink, cycleDetector).write(type);
+            return null;
+        });
+        statistics.record(cycleDetector.getNodeCount());
+    }
+
+    /**
+     * Generate an array of values of type straight into a sink, records are emitted one after another,
+     * so memory usage does not grow with count.
+     *
+     * @param type the type of each record
+     * @param count number of records to generate
+     * @param sink the sink to receive tokens
+     * @throws IllegalArgumentException if count is negative
+     */
+    public void generate(Type type, int count, GenerationSink sink) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count should not be negative");
+        }
+
+        sink.beginArray();
+        for (int i = 0; i < count; ++i) {
+            generate(type, sink);
+        }
+        sink.endArray();
     }
 
     /**
@@ -115,14 +509,48 @@ public final class ObjectFactory {
      * @throws ObjectCreationException if failed to create object
      * @throws IllegalArgumentException if given type is not recognized
      */
-    @SuppressWarnings("unchecked")
     public <T> T generate(Type type, CycleDetector cycleDetector) {
+        return generateConstrained(type, null, cycleDetector);
+    }
+
+    /**
+     * Generate an object of type satisfying a field constraint, e.g. a number within a range. Constraints are
+     * applied by {@link ConstrainedProvider}s, values of other providers are unconstrained.
+     *
+     * @param type the type to create
+     * @param constraint the constraint of value, null if unconstrained
+     * @param <T> the type to create
+     * @return generated value
+     */
+    public <T> T generateConstrained(Type type, FieldConstraint constraint) {
+        CycleDetector cycleDetector = new CycleDetector();
+        T value = recorder.recordGeneration(type, cycleDetector,
+                                            () -> generateConstrained(type, constraint, cycleDetector));
+        statistics.record(cycleDetector.getNodeCount());
+        return value;
+    }
+
+    /**
+     * Internal logic to generate an object of type satisfying a field constraint with cycle detector, used by
+     * {@link Provider} only.
+     *
+     * @param type the type to create
+     * @param constraint the constraint of value, null if unconstrained
+     * @param cycleDetector dependency cycle detector
+     * @param <T> the type to create
+     * @return generated value
+     * @throws ObjectCreationException if failed to create object
+     * @throws IllegalArgumentException if given type is not recognized
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generateConstrained(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
 
         CycleDetector.CycleNode cycle = cycleDetector.start(type);
 
         // if cycle detected, terminate the cycle
         if (cycle != null) {
-            return getTerminator(cycle).terminate(cycle);
+            return constraint != null && constraint.isNotNull() ? terminateNonNull(cycle)
+                                                                : getTerminator(cycle).terminate(cycle);
         }
 
         try {
@@ -131,7 +559,11 @@ public final class ObjectFactory {
 
             if (provider != null) {
                 // use provider found to generate value for type
-                return provider.get(type, cycleDetector);
+                if (constraint != null && provider instanceof ConstrainedProvider) {
+                    return recorder.recordProvider(provider, type, () -> ((ConstrainedProvider) provider)
+                                                                                 .get(type, constraint, cycleDetector));
+                }
+                return recorder.recordProvider(provider, type, () -> provider.get(type, cycleDetector));
             }
 
             // POJO case and Complex JO here, all other cases should be covered in providers
@@ -156,6 +588,60 @@ public final class ObjectFactory {
         throw new IllegalArgumentException("Unrecognized type " + type);
     }
 
+    /**
+     * Generate a value for a field of container type with cycle detector. Bound providers of the field are
+     * checked first, then it is the same as {@link #generate(Type, CycleDetector)}.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @param cycleDetector dependency cycle detector
+     * @param <T> the type of field
+     * @return generated value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generateField(Type containerType, Type fieldType, String fieldName, CycleDetector cycleDetector) {
+        return (T) getArgValue(containerType, fieldType, fieldName, cycleDetector);
+    }
+
+    /**
+     * Generate a value for a field of container type satisfying the constraint of the field with cycle detector.
+     * Bound providers of the field are checked first, then it is the same as
+     * {@link #generateConstrained(Type, FieldConstraint, CycleDetector)}.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @param constraint the constraint of the field, null if unconstrained
+     * @param cycleDetector dependency cycle detector
+     * @param <T> the type of field
+     * @return generated value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generateField(Type containerType, Type fieldType, String fieldName, FieldConstraint constraint,
+                               CycleDetector cycleDetector) {
+        return (T) getArgValue(containerType, fieldType, fieldName, cycleDetector, constraint);
+    }
+
+    /**
+     * Generate records of a POJO type in struct-of-arrays form, one primitive or dictionary-encoded array per
+     * field of the plan of the type, without instantiating the type. Primitive fields are filled a column at
+     * a time without boxing, see {@link ColumnBatch}.
+     *
+     * @param type the POJO type to generate
+     * @param rows number of rows
+     * @return generated columns
+     * @throws IllegalArgumentException if rows is negative or type has no supported field
+     * @throws ObjectCreationException if failed to generate a value
+     */
+    public ColumnBatch generateColumns(Class<?> type, int rows) {
+        CycleDetector cycleDetector = new CycleDetector();
+        ColumnBatch batch = recorder.recordGeneration(type, cycleDetector,
+                                                      () -> ColumnBatch.generate(this, type, rows, cycleDetector));
+        statistics.record(cycleDetector.getNodeCount());
+        return batch;
+    }
+
     /**
      * Generate instance for given class, and populate fields with arbitrary values.
      * Creation will be terminated if any cycle dependency detected.
@@ -167,11 +653,13 @@ public final class ObjectFactory {
      */
     @SuppressWarnings("unchecked")
     private <T> T generateObject(Class<?> clazz, CycleDetector cycleDetector) {
-        // Create object with constructor
+        // Create object with instantiation strategy, which may populate some fields already
         Object instance = newInstance(clazz, cycleDetector);
+        List<String> initialized = getInstantiationStrategy(clazz).getInitializedFields(clazz);
 
         // First try setter to set values
-        List<String> invokedSetter = populateFieldsBySetters(clazz, cycleDetector, instance);
+        List<String> invokedSetter = populateFieldsBySetters(clazz, cycleDetector, instance, initialized);
+        invokedSetter.addAll(initialized);
 
         // Then try reflection to set values
         populateFields(clazz, cycleDetector, instance, invokedSetter);
@@ -180,22 +668,30 @@ public final class ObjectFactory {
     }
 
     /**
-     * Populate object's fields by using setters provided.
+     * Populate object's fields by using setters provided, except fields already populated.
      * Any error happens while invoke setters will be suppressed.
      *
      * @param clazz the given class
      * @param cycleDetector dependency cycle detector
      * @param instance the instance of given class
+     * @param filtered fields to filter, which are already populated while instantiating
      * @return field name list set by setters
      */
-    private List<String> populateFieldsBySetters(Class<?> clazz, CycleDetector cycleDetector, Object instance) {
+    private List<String> populateFieldsBySetters(Class<?> clazz, CycleDetector cycleDetector, Object instance,
+                                                 List<String> filtered) {
         List<String> invokedSetter = new ArrayList<>();
+        ClassPlan plan = getClassPlan(clazz);
 
-        for (Method setter : classSpy.findMethods(clazz, classSpy.getSetterFilter())) {
+        for (int i = 0; i < plan.getSetters().size(); ++i) {
+            Method setter = plan.getSetters().get(i);
             Type argType = setter.getGenericParameterTypes()[0];
-            String fieldName = classSpy.extractFieldNameFromSetter(setter);
+            String fieldName = plan.getSetterFieldNames().get(i);
+            if (filtered.contains(fieldName)) {
+                continue;
+            }
             try {
-                setter.invoke(instance, getArgValue(clazz, argType, fieldName, cycleDetector));
+                setter.invoke(instance, getArgValue(clazz, argType, fieldName, cycleDetector,
+                                                    plan.getSetterConstraints().get(i)));
                 // if setter actually invoked, collect the field name
                 invokedSetter.add(fieldName);
             } catch (Exception e) {
@@ -218,22 +714,122 @@ public final class ObjectFactory {
      * @throws ObjectCreationException if error to set fields
      */
     private void populateFields(Class<?> clazz, CycleDetector cycleDetector, Object instance, List<String> filtered) {
-        Predicate<Field> fieldFilter = classSpy.getFieldFilter().and(f -> !filtered.contains(f.getName()));
+        ClassPlan plan = getClassPlan(clazz);
+
+        for (int i = 0; i < plan.getFields().size(); ++i) {
+            Field field = plan.getFields().get(i);
+            if (filtered.contains(field.getName())) {
+                continue;
+            }
 
-        for (Field field : classSpy.findFields(clazz, fieldFilter)) {
-            boolean accessibility = field.isAccessible();
-            field.setAccessible(true);
+            FieldConstraint constraint = plan.getFieldConstraints().get(i);
             try {
-                field.set(instance, getArgValue(clazz, field.getGenericType(), field.getName(), cycleDetector));
+                // constrained values are generated boxed by constrained providers
+                if (constraint != null || !populatePrimitiveField(clazz, cycleDetector, instance, field)) {
+                    field.set(instance, getArgValue(clazz, field.getGenericType(), field.getName(), cycleDetector,
+                                                    constraint));
+                }
             } catch (Exception e) {
                 throw new ObjectCreationException("Fail to set field %s for instance type %s", field, clazz)
                               .withCause(e);
-            } finally {
-                field.setAccessible(accessibility);
             }
         }
     }
 
+    /**
+     * Populate a primitive field without boxing, if the field is bound to or generated by a primitive provider.
+     *
+     * @param clazz the given class
+     * @param cycleDetector dependency cycle detector
+     * @param instance the instance of given class
+     * @param field the field to populate
+     * @return true if the field is populated, false if it has to be populated with a boxed value
+     * @throws IllegalAccessException if failed to set the field
+     */
+    private boolean populatePrimitiveField(Class<?> clazz, CycleDetector cycleDetector, Object instance, Field field)
+            throws IllegalAccessException {
+        Class<?> type = field.getType();
+        PrimitiveProvider primitiveProvider = getPrimitiveFieldProvider(clazz, type, field.getName());
+        if (primitiveProvider == null) {
+            return false;
+        }
+
+        if (!isFieldBound(clazz, type, field.getName())) {
+            // count the node as generate does
+            cycleDetector.visitLeaf();
+        }
+
+        if (type == int.class) {
+            field.setInt(instance, primitiveProvider.getInt(type));
+        } else if (type == long.class) {
+            field.setLong(instance, primitiveProvider.getLong(type));
+        } else if (type == double.class) {
+            field.setDouble(instance, primitiveProvider.getDouble(type));
+        } else if (type == boolean.class) {
+            field.setBoolean(instance, primitiveProvider.getBoolean(type));
+        } else if (type == float.class) {
+            field.setFloat(instance, primitiveProvider.getFloat(type));
+        } else if (type == short.class) {
+            field.setShort(instance, primitiveProvider.getShort(type));
+        } else if (type == byte.class) {
+            field.setByte(instance, primitiveProvider.getByte(type));
+        } else {
+            field.setChar(instance, primitiveProvider.getChar(type));
+        }
+        return true;
+    }
+
+    /**
+     * Get the provider of a primitive field if it generates values of the field without boxing, i.e. the provider
+     * bound to the field or the provider of the field type is a {@link PrimitiveProvider}.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @return the primitive provider, or null if the field is not primitive or has to be generated boxed
+     */
+    public PrimitiveProvider getPrimitiveFieldProvider(Type containerType, Class<?> fieldType, String fieldName) {
+        if (!fieldType.isPrimitive() || !primitiveFastPath) {
+            return null;
+        }
+
+        Provider bound = getBoundProvider(containerType, fieldType, fieldName);
+        // bound providers may not recognize the field type, e.g. an int provider bound to a long field by name
+        if (bound != null && !bound.recognizes(fieldType)) {
+            return null;
+        }
+
+        Provider provider = bound != null ? bound : getProvider(fieldType);
+        return provider instanceof PrimitiveProvider ? (PrimitiveProvider) provider : null;
+    }
+
+    /**
+     * Check if a field of container type is bound to a provider. Values of bound providers are not counted as
+     * nodes of the cycle detector, since they are not generated by the object factory.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @return true if a provider is bound to the field
+     */
+    public boolean isFieldBound(Type containerType, Type fieldType, String fieldName) {
+        return getBoundProvider(containerType, fieldType, fieldName) != null;
+    }
+
+    /**
+     * Get the provider of a primitive type if it generates values without boxing.
+     *
+     * @param type the primitive type
+     * @return the primitive provider, or null if values have to be generated boxed
+     */
+    private PrimitiveProvider getPrimitiveProvider(Class<?> type) {
+        if (!primitiveFastPath) {
+            return null;
+        }
+        Provider provider = getProvider(type);
+        return provider instanceof PrimitiveProvider ? (PrimitiveProvider) provider : null;
+    }
+
     /**
      * Get argument value by checking bound providers first and then try generating the object.
      *
@@ -244,43 +840,199 @@ public final class ObjectFactory {
      * @return generated object
      */
     private Object getArgValue(Type containerType, Type fieldType, String fieldName, CycleDetector cycleDetector) {
+        return getArgValue(containerType, fieldType, fieldName, cycleDetector, null);
+    }
+
+    /**
+     * Get argument value by checking bound providers first and then try generating the object satisfying
+     * the constraint. Values of bound providers are not constrained.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @param cycleDetector cycle detector
+     * @param constraint the constraint of the field, null if unconstrained
+     * @return generated object
+     */
+    private Object getArgValue(Type containerType, Type fieldType, String fieldName, CycleDetector cycleDetector,
+                               FieldConstraint constraint) {
         return Optional.ofNullable(getBoundProvider(containerType, fieldType, fieldName))
-                       .map(provider -> provider.get(fieldType, cycleDetector))
-                       .orElseGet(() -> generate(fieldType, cycleDetector));
+                       .map(provider -> recorder.recordProvider(provider, fieldType,
+                                                                () -> provider.get(fieldType, cycleDetector)))
+                       .orElseGet(() -> generateConstrained(fieldType, constraint, cycleDetector));
     }
 
     /**
-     * Create an empty instance with constructor for given clazz. Constructor's arguments will be
-     * generated automatically if there is any.
+     * Create an empty instance for given clazz with the instantiation strategy bound to the class,
+     * or the default one, which invokes constructor with generated arguments.
      *
      * @param clazz the given clazz
      * @param cycleDetector dependency cycle detector
      * @return created instance
-     * @throws ObjectCreationException if failed to invoke constructor with generated parameters
+     * @throws ObjectCreationException if failed to create the instance
      */
     private Object newInstance(Class<?> clazz, CycleDetector cycleDetector) {
-        final Constructor<?> constructor = classSpy.findConstructor(clazz);
+        return getInstantiationStrategy(clazz).instantiate(clazz, this, cycleDetector);
+    }
+
+    /**
+     * Get instantiation strategy bound to given class, or the default one.
+     *
+     * @param clazz the given class
+     * @return instantiation strategy of the class
+     */
+    private InstantiationStrategy getInstantiationStrategy(Class<?> clazz) {
+        return instantiationStrategies.getOrDefault(clazz, instantiationStrategy);
+    }
 
-        // allow the invocation of non-public constructor
-        boolean accessibility = constructor.isAccessible();
-        constructor.setAccessible(true);
+    /**
+     * Get generation plan for given class, the plan is created by class spy once and cached.
+     *
+     * @param clazz the given class
+     * @return generation plan of the class
+     */
+    public ClassPlan getClassPlan(Class<?> clazz) {
+        return classPlans.get(clazz, c -> ClassPlan.of(c, classSpy, validationConstraints));
+    }
 
-        try {
-            // generate arguments based on argument list
-            final List<Object> constructorArgs = new ArrayList<>();
-            for (final Type genericType : constructor.getGenericParameterTypes()) {
-                // it is not possible to get constructor's parameter name after compilation
-                // hence we cannot check bound provider for constructor's arguments
-                constructorArgs.add(generate(genericType, cycleDetector));
+    /**
+     * Get statistics of class metadata cache.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getMetadataCacheStatistics() {
+        return classPlans.getStatistics();
+    }
+
+    /**
+     * Get statistics of provider dispatch cache.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getProviderCacheStatistics() {
+        return providerDispatch.getStatistics();
+    }
+
+    /**
+     * Get combined statistics of all {@link CachingResolver}s configured.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getResolverCacheStatistics() {
+        CacheStatistics result = CacheStatistics.EMPTY;
+        for (Resolver resolver : resolvers) {
+            if (resolver instanceof CachingResolver) {
+                result = result.plus(((CachingResolver) resolver).getStatistics());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove all cached entries of metadata, provider dispatch and resolver caches.
+     */
+    public void clearCaches() {
+        classPlans.clear();
+        providerDispatch.clear();
+        for (Resolver resolver : resolvers) {
+            if (resolver instanceof CachingResolver) {
+                ((CachingResolver) resolver).clear();
+            }
+        }
+    }
+
+    /**
+     * Reset generation statistics and cache statistics.
+     */
+    public void resetStatistics() {
+        statistics.reset();
+        classPlans.resetStatistics();
+        providerDispatch.resetStatistics();
+        for (Resolver resolver : resolvers) {
+            if (resolver instanceof CachingResolver) {
+                ((CachingResolver) resolver).resetStatistics();
             }
-            return constructor.newInstance(constructorArgs.toArray());
-        } catch (Exception e) {
-            throw new ObjectCreationException("Fail to create instance for type %s", clazz).withCause(e);
-        } finally {
-            constructor.setAccessible(accessibility);
         }
     }
 
+    /**
+     * Compute a hash of a canonical description of configuration, stable across JVMs.
+     *
+     * @return configuration hash
+     */
+    private long hashConfiguration() {
+        List<String> bindings = new ArrayList<>();
+        fieldTypeBindings.forEach((container, map) -> map.forEach(
+                (type, provider) -> bindings.add(container.getTypeName() + ":" + type.getTypeName() + "="
+                                                         + configurationKey(provider))));
+        fieldNameBindings.forEach((container, map) -> map.forEach(
+                (name, provider) -> bindings.add(container.getTypeName() + "#" + name + "="
+                                                         + configurationKey(provider))));
+        globalTypeBindings.forEach((type, provider) -> bindings.add(type.getTypeName() + "="
+                                                                           + configurationKey(provider)));
+        globalNameBindings.forEach((name, provider) -> bindings.add("#" + name + "="
+                                                                           + configurationKey(provider)));
+        instantiationStrategies.forEach((clazz, strategy) -> bindings.add(clazz.getName() + "()="
+                                                                                  + strategy.getClass().getName()));
+        // bindings are kept in hash maps, sort them to be independent of iteration order
+        Collections.sort(bindings);
+
+        StringBuilder description = new StringBuilder();
+        providers.forEach(provider -> description.append(configurationKey(provider)).append(','));
+        resolvers.forEach(resolver -> description.append(resolver.getClass().getName()).append(','));
+        terminators.forEach(terminator -> description.append(terminator.getClass().getName()).append(','));
+        bindings.forEach(binding -> description.append(binding).append(','));
+        description.append(instantiationStrategy.getClass().getName()).append(',')
+                   .append(classSpy.getClass().getName()).append(',')
+                   .append(minSize).append(',')
+                   .append(maxSize).append(',')
+                   .append(failOnMissingPrimitiveProvider).append(',')
+                   .append(compactCollections).append(',')
+                   .append(virtualCollections).append(',')
+                   .append(virtualCollectionCacheSize).append(',')
+                   .append(validationConstraints).append(',')
+                   .append(futureLatency != null).append(',')
+                   .append(futureFailureRate);
+
+        return Hashes.fnv1a(description);
+    }
+
+    /**
+     * Create bound providers of provider factories with the random supplier of this object factory.
+     *
+     * @param factories key -> provider factory
+     * @param <K> the key type
+     * @return unmodifiable map of key -> bound provider
+     */
+    private <K> Map<K, Provider> createBoundProviders(Map<K, Function<Supplier<Random>, Provider>> factories) {
+        return mapValues(factories, factory -> factory.apply(randomSupplier));
+    }
+
+    private static <K, V, R> Map<K, R> mapValues(Map<K, V> map, Function<V, R> mapper) {
+        Map<K, R> mapped = new HashMap<>();
+        map.forEach((key, value) -> mapped.put(key, mapper.apply(value)));
+        return Collections.unmodifiableMap(mapped);
+    }
+
+    /**
+     * Check if all providers and bound providers describe their configuration.
+     *
+     * @return true if all configuration keys are non-null
+     */
+    private boolean describesConfiguration() {
+        List<Provider> all = new ArrayList<>(providers);
+        fieldTypeBindings.values().forEach(map -> all.addAll(map.values()));
+        fieldNameBindings.values().forEach(map -> all.addAll(map.values()));
+        all.addAll(globalTypeBindings.values());
+        all.addAll(globalNameBindings.values());
+        return all.stream().allMatch(provider -> provider.configurationKey() != null);
+    }
+
+    private static String configurationKey(Provider provider) {
+        String key = provider.configurationKey();
+        return key == null ? provider.getClass().getName() : key;
+    }
+
     /**
      * Find suitable cycle terminator defined in object factory.
      *
@@ -288,7 +1040,7 @@ public final class ObjectFactory {
      * @return configured cycle terminator for given cycle node
      * @throws IllegalStateException if no terminator can be found for given cycle
      */
-    private CycleTerminator getTerminator(CycleDetector.CycleNode cycle) {
+    CycleTerminator getTerminator(CycleDetector.CycleNode cycle) {
         for (CycleTerminator terminator : terminators) {
             if (terminator.canTerminate(cycle)) {
                 return terminator;
@@ -301,13 +1053,45 @@ public final class ObjectFactory {
     }
 
     /**
-     * Get type providers for a given type, first check global type bindings configured,
+     * Terminate a cycle of a value constrained to be non-null, with the first terminator returning non-null.
+     *
+     * @param cycle cycle node detected
+     * @param <T> the type of first and last node type
+     * @return non-null value terminates the cycle
+     * @throws ObjectCreationException if no terminator terminates the cycle with a non-null value
+     */
+    private <T> T terminateNonNull(CycleDetector.CycleNode cycle) {
+        for (CycleTerminator terminator : terminators) {
+            if (terminator.canTerminate(cycle)) {
+                T value = terminator.terminate(cycle);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+
+        throw new ObjectCreationException("Unable to terminate cycle %s with a non-null value, configure the Object "
+                                                  + "Factory with a cycle terminator returning non-null values", cycle);
+    }
+
+    /**
+     * Get type providers for a given type from provider dispatch cache.
+     *
+     * @param type the given type to check
+     * @return bound provider found, or null if no one available
+     */
+    Provider getProvider(Type type) {
+        return providerDispatch.get(type, this::findProvider);
+    }
+
+    /**
+     * Find type providers for a given type, first check global type bindings configured,
      * then go through all configured providers to find a suitable one, FCFS.
      *
      * @param type the given type to check
      * @return bound provider found, or null if no one available
      */
-    private Provider getProvider(Type type) {
+    private Provider findProvider(Type type) {
         Provider provider = globalTypeBindings.get(type);
         if (provider != null) {
             return provider;
@@ -330,7 +1114,7 @@ public final class ObjectFactory {
      * @param fieldName field name
      * @return bound provider found, or null if no one available
      */
-    private Provider getBoundProvider(Type containerType, Type fieldType, String fieldName) {
+    Provider getBoundProvider(Type containerType, Type fieldType, String fieldName) {
         Map<String, Provider> nameBindings = fieldNameBindings.get(containerType);
         if (nameBindings != null) {
             Provider provider = nameBindings.get(fieldName);
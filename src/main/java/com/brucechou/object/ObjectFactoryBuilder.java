@@ -1,8 +1,21 @@
 package com.brucechou.object;
 
 import com.brucechou.object.binding.Binding;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.collection.VirtualList;
+import com.brucechou.object.constraint.Constraints;
 import com.brucechou.object.cycle.CycleTerminator;
 import com.brucechou.object.cycle.NullCycleTerminator;
+import com.brucechou.object.event.FlightRecorders;
+import com.brucechou.object.event.GenerationRecorder;
+import com.brucechou.object.event.NullGenerationRecorder;
+import com.brucechou.object.instantiation.ConstructorInstantiationStrategy;
+import com.brucechou.object.instantiation.InstantiationStrategy;
+import com.brucechou.object.instantiation.SerializationInstantiationStrategy;
+import com.brucechou.object.latency.LatencyDistribution;
+import com.brucechou.object.latency.LatencyScheduler;
+import com.brucechou.object.latency.SimulatedFailureException;
+import com.brucechou.object.latency.VirtualTimeScheduler;
 import com.brucechou.object.provider.DefaultAbstractProvider;
 import com.brucechou.object.provider.DefaultArrayProvider;
 import com.brucechou.object.provider.DefaultCollectionProvider;
@@ -23,6 +36,7 @@ import com.brucechou.object.provider.RandomPrimitiveProvider;
 import com.brucechou.object.provider.RandomStringProvider;
 import com.brucechou.object.resolver.NullResolver;
 import com.brucechou.object.resolver.Resolver;
+import com.brucechou.object.shard.Shard;
 import com.brucechou.object.spy.ClassSpy;
 import com.brucechou.object.spy.DefaultClassSpy;
 
@@ -37,8 +51,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -53,6 +69,16 @@ public final class ObjectFactoryBuilder {
 
     private static final boolean DEFAULT_FAIL_ON_MISSING_PRIMITIVE_PROVIDER = false;
 
+    private static final boolean DEFAULT_COMPACT_COLLECTIONS = false;
+
+    private static final boolean DEFAULT_VIRTUAL_COLLECTIONS = false;
+    private static final int DEFAULT_VIRTUAL_COLLECTION_CACHE_SIZE = 0;
+
+    private static final boolean DEFAULT_VALIDATION_CONSTRAINTS = false;
+
+    private static final boolean DEFAULT_FLIGHT_RECORDER_ENABLED = false;
+    private static final int DEFAULT_FLIGHT_RECORDER_SAMPLE_INTERVAL = 100;
+
     private static final List<BiFunction<ObjectFactory, Supplier<Random>, Provider>> DEFAULT_PROVIDERS;
 
     static {
@@ -63,7 +89,7 @@ public final class ObjectFactoryBuilder {
             (f, r) -> new RandomPrimitiveProvider(r),
             (f, r) -> new RandomBigNumberProvider(r),
             (f, r) -> new RandomDateProvider(r),
-            (f, r) -> new RandomStringProvider(),
+            (f, r) -> new RandomStringProvider(r),
             (f, r) -> new RandomBufferProvider(r),
             (f, r) -> new DefaultTemporalProvider(f),
             (f, r) -> new DefaultEnumProvider(r),
@@ -79,23 +105,28 @@ public final class ObjectFactoryBuilder {
         ));
     }
 
-    // container type -> [ field type -> provider ]
-    private Map<Type, Map<Type, Provider>> fieldTypeBindings;
+    // container type -> [ field type -> provider factory ]
+    private Map<Type, Map<Type, Function<Supplier<Random>, Provider>>> fieldTypeBindings;
 
-    // container type -> [ field name -> provider ]
-    private Map<Type, Map<String, Provider>> fieldNameBindings;
+    // container type -> [ field name -> provider factory ]
+    private Map<Type, Map<String, Function<Supplier<Random>, Provider>>> fieldNameBindings;
 
-    // field type -> provider
-    private Map<Type, Provider> globalTypeBindings;
+    // field type -> provider factory
+    private Map<Type, Function<Supplier<Random>, Provider>> globalTypeBindings;
 
-    // field name -> provider
-    private Map<String, Provider> globalNameBindings;
+    // field name -> provider factory
+    private Map<String, Function<Supplier<Random>, Provider>> globalNameBindings;
 
     private List<BiFunction<ObjectFactory, Supplier<Random>, Provider>> providers;
     private List<BiFunction<ObjectFactory, Supplier<Random>, Provider>> additionalProviders;
     private List<Resolver> resolvers;
     private List<CycleTerminator> terminators;
     private ClassSpy classSpy;
+
+    // class -> instantiation strategy
+    private Map<Class<?>, InstantiationStrategy> instantiationStrategies;
+    private InstantiationStrategy instantiationStrategy = new ConstructorInstantiationStrategy();
+
     private Random random;
     private Supplier<Random> randomSupplier;
 
@@ -104,6 +135,26 @@ public final class ObjectFactoryBuilder {
 
     private boolean failOnMissingPrimitiveProvider = DEFAULT_FAIL_ON_MISSING_PRIMITIVE_PROVIDER;
 
+    private boolean compactCollections = DEFAULT_COMPACT_COLLECTIONS;
+
+    private boolean virtualCollections = DEFAULT_VIRTUAL_COLLECTIONS;
+    private int virtualCollectionCacheSize = DEFAULT_VIRTUAL_COLLECTION_CACHE_SIZE;
+
+    private boolean validationConstraints = DEFAULT_VALIDATION_CONSTRAINTS;
+
+    private boolean flightRecorderEnabled = DEFAULT_FLIGHT_RECORDER_ENABLED;
+    private int flightRecorderSampleInterval = DEFAULT_FLIGHT_RECORDER_SAMPLE_INTERVAL;
+
+    private String jmxName;
+
+    private Executor asyncExecutor;
+
+    private LatencyDistribution futureLatency;
+    private LatencyScheduler futureScheduler;
+    private double futureFailureRate;
+
+    private Shard shard;
+
     private static final ObjectFactoryBuilder DEFAULT_OBJECT_FACTORY_BUILDER =
             new ObjectFactoryBuilder().resolvers(new NullResolver())
                                       .classSpy(new DefaultClassSpy())
@@ -140,6 +191,7 @@ public final class ObjectFactoryBuilder {
         this.fieldNameBindings = new HashMap<>();
         this.globalTypeBindings = new HashMap<>();
         this.globalNameBindings = new HashMap<>();
+        this.instantiationStrategies = new HashMap<>();
     }
 
     /**
@@ -217,6 +269,39 @@ public final class ObjectFactoryBuilder {
         return this;
     }
 
+    /**
+     * Set the default instantiation strategy creating POJO instances, which is
+     * {@link ConstructorInstantiationStrategy} if not set.
+     *
+     * @param strategy the default instantiation strategy
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given strategy is null
+     */
+    public ObjectFactoryBuilder instantiationStrategy(InstantiationStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Instantiation strategy must be non-null");
+        }
+        this.instantiationStrategy = strategy;
+        return this;
+    }
+
+    /**
+     * Bind an instantiation strategy to creating instances of given class, e.g.
+     * {@link SerializationInstantiationStrategy} for classes with heavy or validating constructors.
+     *
+     * @param clazz the class to instantiate
+     * @param strategy the instantiation strategy of the class
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given class or strategy is null
+     */
+    public ObjectFactoryBuilder instantiationStrategy(Class<?> clazz, InstantiationStrategy strategy) {
+        if (clazz == null || strategy == null) {
+            throw new IllegalArgumentException("Class and instantiation strategy must be non-null");
+        }
+        this.instantiationStrategies.put(clazz, strategy);
+        return this;
+    }
+
     /**
      * Set the min size for generated collection, map, array, stream etc.
      *
@@ -261,6 +346,192 @@ public final class ObjectFactoryBuilder {
         return this;
     }
 
+    /**
+     * Set the compact collections flag, will generate exact-size immutable array-backed lists, sets and maps for
+     * fields declared as {@code Collection}, {@code List}, {@code Set} or {@code Map} if set to true,
+     * see {@link CompactCollections}. Otherwise, use {@code ArrayList}, {@code HashSet} and {@code HashMap}.
+     *
+     * @param compact compact collections flag
+     * @return this object factory builder
+     */
+    public ObjectFactoryBuilder compactCollections(boolean compact) {
+        compactCollections = compact;
+        return this;
+    }
+
+    /**
+     * Set the virtual collections flag, will generate immutable lists whose elements are generated on access for
+     * fields declared as {@code Collection}, {@code List} or {@code Iterable} if set to true, see
+     * {@link VirtualList}. An element is always generated the same from the seed of the list and its index.
+     * Virtual collections take precedence over compact collections.
+     *
+     * @param virtual virtual collections flag
+     * @return this object factory builder
+     */
+    public ObjectFactoryBuilder virtualCollections(boolean virtual) {
+        virtualCollections = virtual;
+        return this;
+    }
+
+    /**
+     * Set the max number of recently accessed elements cached by each virtual collection, 0 to disable cache.
+     *
+     * @param cacheSize cache size of virtual collections
+     * @return this object factory builder
+     * @throws IllegalArgumentException if cache size is negative
+     */
+    public ObjectFactoryBuilder virtualCollectionCacheSize(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Virtual collection cache size must be non-negative");
+        }
+        virtualCollectionCacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * Set the validation constraints flag, will generate field values satisfying their Bean Validation annotations
+     * of {@code javax.validation.constraints} or {@code jakarta.validation.constraints} if set to true, e.g.
+     * {@code @Size}, {@code @Min}, {@code @Max}, {@code @Pattern} and {@code @Past}, see {@link Constraints}.
+     * Annotations are read reflectively once per class, the validation API is not required.
+     *
+     * @param enabled validation constraints flag
+     * @return this object factory builder
+     */
+    public ObjectFactoryBuilder validationConstraints(boolean enabled) {
+        validationConstraints = enabled;
+        return this;
+    }
+
+    /**
+     * Set the flight recorder flag, will emit Java Flight Recorder events for generations, sampled provider
+     * invocations and proxy creations if set to true and flight recorder is available in current runtime.
+     *
+     * @param enabled flight recorder flag
+     * @return this object factory builder
+     */
+    public ObjectFactoryBuilder flightRecorder(boolean enabled) {
+        flightRecorderEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Set the sample interval of provider invocation events, one event is recorded out of every interval
+     * provider invocations on each thread.
+     *
+     * @param sampleInterval sample interval
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given sample interval is not positive
+     */
+    public ObjectFactoryBuilder flightRecorderSampleInterval(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+
+        flightRecorderSampleInterval = sampleInterval;
+        return this;
+    }
+
+    /**
+     * Register an MBean for the built object factory to platform MBean server with given name,
+     * which exposes throughput, cache statistics and configuration of the object factory.
+     *
+     * @param name the name of the object factory, MBean with the same name will be replaced
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given name is null or empty
+     */
+    public ObjectFactoryBuilder jmx(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("JMX name must be non-empty");
+        }
+
+        jmxName = name;
+        return this;
+    }
+
+    /**
+     * Set the executor running asynchronous generations, a shared bounded pool of daemon threads is used if not set.
+     *
+     * @param executor the executor of asynchronous generations
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given executor is null
+     */
+    public ObjectFactoryBuilder asyncExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Async executor must be non-null");
+        }
+
+        asyncExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Set the latency distribution of generated futures, futures complete after a latency drawn from the
+     * distribution instead of being completed already, as remote calls do. Futures are generated completed
+     * if not set.
+     *
+     * @param latency the latency distribution of futures
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given latency distribution is null
+     */
+    public ObjectFactoryBuilder futureLatency(LatencyDistribution latency) {
+        if (latency == null) {
+            throw new IllegalArgumentException("Future latency must be non-null");
+        }
+
+        futureLatency = latency;
+        return this;
+    }
+
+    /**
+     * Set the scheduler completing futures with latency, e.g. a {@link VirtualTimeScheduler} for deterministic
+     * tests. The shared scheduler of a single daemon thread is used if not set.
+     *
+     * @param scheduler the scheduler of futures
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given scheduler is null
+     */
+    public ObjectFactoryBuilder futureScheduler(LatencyScheduler scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Future scheduler must be non-null");
+        }
+
+        futureScheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Set the rate of futures with latency failing with {@link SimulatedFailureException} instead of completing
+     * with a generated value.
+     *
+     * @param rate the failure rate, between 0 and 1
+     * @return this object factory builder
+     * @throws IllegalArgumentException if given rate is not between 0 and 1
+     */
+    public ObjectFactoryBuilder futureFailureRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Future failure rate must be between 0 and 1");
+        }
+
+        futureFailureRate = rate;
+        return this;
+    }
+
+    /**
+     * Set the shard of this object factory, for a dataset generated by multiple processes with
+     * {@link ObjectFactory#generateShard(Type, long)}. Each process sets its own shard index, and the same shard
+     * count and master seed.
+     *
+     * @param index index of the shard, from 0 to count exclusive
+     * @param count number of shards
+     * @param seed master seed shared by all shards
+     * @return this object factory builder
+     * @throws IllegalArgumentException if count is not positive or index is out of range
+     */
+    public ObjectFactoryBuilder shard(int index, int count, long seed) {
+        shard = new Shard(index, count, seed);
+        return this;
+    }
+
     /**
      * Add random to current builder.
      *
@@ -303,11 +574,25 @@ public final class ObjectFactoryBuilder {
         b.resolvers = new ArrayList<>(resolvers);
         b.terminators = new ArrayList<>(terminators);
         b.classSpy = classSpy;
+        b.instantiationStrategy = instantiationStrategy;
+        b.instantiationStrategies = new HashMap<>(instantiationStrategies);
         b.random = random;
         b.randomSupplier = randomSupplier;
         b.minSize = minSize;
         b.maxSize = maxSize;
         b.failOnMissingPrimitiveProvider = failOnMissingPrimitiveProvider;
+        b.compactCollections = compactCollections;
+        b.virtualCollections = virtualCollections;
+        b.virtualCollectionCacheSize = virtualCollectionCacheSize;
+        b.validationConstraints = validationConstraints;
+        b.flightRecorderEnabled = flightRecorderEnabled;
+        b.flightRecorderSampleInterval = flightRecorderSampleInterval;
+        b.jmxName = jmxName;
+        b.asyncExecutor = asyncExecutor;
+        b.futureLatency = futureLatency;
+        b.futureScheduler = futureScheduler;
+        b.futureFailureRate = futureFailureRate;
+        b.shard = shard;
         b.fieldTypeBindings = new HashMap<>(fieldTypeBindings);
         b.fieldNameBindings = new HashMap<>(fieldNameBindings);
         b.globalTypeBindings = new HashMap<>(globalTypeBindings);
@@ -349,6 +634,19 @@ public final class ObjectFactoryBuilder {
         return new ObjectFactory(this);
     }
 
+    /**
+     * Get generation recorder according to the flight recorder config.
+     *
+     * @return flight recorder backed generation recorder if enabled, otherwise null generation recorder
+     */
+    GenerationRecorder getRecorder() {
+        if (flightRecorderEnabled) {
+            return FlightRecorders.create(flightRecorderSampleInterval);
+        }
+
+        return new NullGenerationRecorder();
+    }
+
     /**
      * Process defined binding list to detailed binding map.
      *
@@ -382,12 +680,12 @@ public final class ObjectFactoryBuilder {
      * @throws IllegalArgumentException if multiple bindings provide for same combination
      */
     private void processFieldNameBinding(Binding.FieldNameBinding fieldNameBinding) {
-        Map<String, Provider> nameBindings =
+        Map<String, Function<Supplier<Random>, Provider>> nameBindings =
                 fieldNameBindings.getOrDefault(fieldNameBinding.getContainer(), new HashMap<>());
         if (nameBindings.containsKey(fieldNameBinding.getFieldName())) {
             throw new IllegalArgumentException("Cannot provide multiple bindings for the same field name");
         }
-        nameBindings.put(fieldNameBinding.getFieldName(), fieldNameBinding.getProvider());
+        nameBindings.put(fieldNameBinding.getFieldName(), fieldNameBinding.getProviderFactory());
         fieldNameBindings.putIfAbsent(fieldNameBinding.getContainer(), nameBindings);
     }
 
@@ -398,12 +696,12 @@ public final class ObjectFactoryBuilder {
      * @throws IllegalArgumentException if multiple bindings provide for same combination
      */
     private void processFieldTypeBinding(Binding.FieldTypeBinding fieldTypeBinding) {
-        Map<Type, Provider> typeBindings =
+        Map<Type, Function<Supplier<Random>, Provider>> typeBindings =
                 fieldTypeBindings.getOrDefault(fieldTypeBinding.getContainer(), new HashMap<>());
         if (typeBindings.containsKey(fieldTypeBinding.getFieldType())) {
             throw new IllegalArgumentException("Cannot provide multiple bindings for the same field type");
         }
-        typeBindings.put(fieldTypeBinding.getFieldType(), fieldTypeBinding.getProvider());
+        typeBindings.put(fieldTypeBinding.getFieldType(), fieldTypeBinding.getProviderFactory());
         fieldTypeBindings.putIfAbsent(fieldTypeBinding.getContainer(), typeBindings);
     }
 
@@ -418,7 +716,7 @@ public final class ObjectFactoryBuilder {
             throw new IllegalArgumentException(
                     "Cannot provide multiple global bindings for the same field type");
         }
-        globalTypeBindings.put(globalFieldTypeBinding.getFieldType(), globalFieldTypeBinding.getProvider());
+        globalTypeBindings.put(globalFieldTypeBinding.getFieldType(), globalFieldTypeBinding.getProviderFactory());
     }
 
     /**
@@ -432,7 +730,7 @@ public final class ObjectFactoryBuilder {
             throw new IllegalArgumentException(
                     "Cannot provide multiple global bindings for the same field name");
         }
-        globalNameBindings.put(globalFieldNameBinding.getFieldName(), globalFieldNameBinding.getProvider());
+        globalNameBindings.put(globalFieldNameBinding.getFieldName(), globalFieldNameBinding.getProviderFactory());
     }
 
 }
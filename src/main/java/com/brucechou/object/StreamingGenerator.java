@@ -0,0 +1,352 @@
+package com.brucechou.object;
+
+import com.brucechou.object.constraint.FieldConstraint;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.plan.ClassPlan;
+import com.brucechou.object.provider.DefaultArrayProvider;
+import com.brucechou.object.provider.DefaultCollectionProvider;
+import com.brucechou.object.provider.DefaultFutureProvider;
+import com.brucechou.object.provider.DefaultIterableProvider;
+import com.brucechou.object.provider.DefaultMapProvider;
+import com.brucechou.object.provider.DefaultOptionalProvider;
+import com.brucechou.object.provider.DefaultStreamProvider;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.provider.WithRandomSize;
+import com.brucechou.object.sink.GenerationSink;
+import com.brucechou.object.util.Inspector;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.stream.BaseStream;
+
+/**
+ * Walks the generation plan of a type and emits tokens to a {@link GenerationSink} instead of building instances.
+ *
+ * <p>Arrays, collections, iterables, streams, maps, optionals and futures handled by default providers are
+ * streamed element by element, POJOs are streamed field by field. Any other value, including values of bound
+ * providers and custom providers, is generated as usual and written as a single value. Elements of sets are not
+ * de-duplicated, since they are never materialized.
+ */
+final class StreamingGenerator implements WithRandomSize {
+
+    private final ObjectFactory objectFactory;
+    private final GenerationSink sink;
+    private final CycleDetector cycleDetector;
+
+    // materialized objects being written, to stop on reference cycles
+    private final Set<Object> writing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    StreamingGenerator(ObjectFactory objectFactory, GenerationSink sink, CycleDetector cycleDetector) {
+        this.objectFactory = objectFactory;
+        this.sink = sink;
+        this.cycleDetector = cycleDetector;
+    }
+
+    /**
+     * Emit tokens of a value of given type.
+     *
+     * @param type the type to generate
+     */
+    void write(Type type) {
+        write(type, null);
+    }
+
+    /**
+     * Emit tokens of a value of given type satisfying the constraint, sizes of walked containers follow the
+     * constraint, and values generated at once satisfy it as generation does.
+     *
+     * @param type the type to generate
+     * @param constraint the constraint of the value, null if unconstrained
+     */
+    private void write(Type type, FieldConstraint constraint) {
+        Provider provider = objectFactory.getProvider(type);
+        boolean walkable = provider == null ? isPlainObject(type) : isStructural(provider, type);
+
+        if (!walkable) {
+            writeValue(objectFactory.generateConstrained(type, constraint, cycleDetector));
+            return;
+        }
+
+        CycleDetector.CycleNode cycle = cycleDetector.start(type);
+
+        // if cycle detected, write whatever the terminator provides, or a non-null value if constrained so
+        if (cycle != null) {
+            writeValue(constraint != null && constraint.isNotNull()
+                               ? objectFactory.generateConstrained(type, constraint, cycleDetector)
+                               : objectFactory.getTerminator(cycle).terminate(cycle));
+            return;
+        }
+
+        try {
+            if (provider == null) {
+                writeObject((Class<?>) type);
+            } else {
+                writeStructure(provider, type, constraint);
+            }
+        } finally {
+            cycleDetector.end();
+        }
+    }
+
+    /**
+     * Emit tokens of a field, bound providers are checked first.
+     *
+     * @param containerType container type
+     * @param fieldType field type
+     * @param fieldName field name
+     * @param constraint the constraint of the field, null if unconstrained
+     */
+    private void writeField(Type containerType, Type fieldType, String fieldName, FieldConstraint constraint) {
+        Provider provider = objectFactory.getBoundProvider(containerType, fieldType, fieldName);
+        if (provider == null) {
+            write(fieldType, constraint);
+        } else {
+            writeValue(objectFactory.getRecorder().recordProvider(provider, fieldType,
+                                                                  () -> provider.get(fieldType, cycleDetector)));
+        }
+    }
+
+    /**
+     * Emit a POJO field by field following its plan, setter fields first and then the other fields.
+     *
+     * @param clazz the class to generate
+     */
+    private void writeObject(Class<?> clazz) {
+        ClassPlan plan = objectFactory.getClassPlan(clazz);
+        List<String> setterFieldNames = plan.getSetterFieldNames();
+
+        sink.beginObject();
+        for (int i = 0; i < setterFieldNames.size(); ++i) {
+            String fieldName = setterFieldNames.get(i);
+            if (setterFieldNames.indexOf(fieldName) < i) {
+                // overloaded setter of a field already written
+                continue;
+            }
+            Method setter = plan.getSetters().get(i);
+            sink.name(fieldName);
+            writeField(clazz, setter.getGenericParameterTypes()[0], fieldName, plan.getSetterConstraints().get(i));
+        }
+        List<Field> fields = plan.getFields();
+        for (int i = 0; i < fields.size(); ++i) {
+            Field field = fields.get(i);
+            if (setterFieldNames.contains(field.getName())) {
+                continue;
+            }
+            sink.name(field.getName());
+            writeField(clazz, field.getGenericType(), field.getName(), plan.getFieldConstraints().get(i));
+        }
+        sink.endObject();
+    }
+
+    /**
+     * Emit a container type recognized by a default provider element by element.
+     *
+     * @param provider the default provider recognizes the type
+     * @param type the container type
+     * @param constraint the constraint of the container, null if unconstrained
+     */
+    private void writeStructure(Provider provider, Type type, FieldConstraint constraint) {
+        if (provider instanceof DefaultArrayProvider) {
+            writeArray(type instanceof Class
+                               ? ((Class<?>) type).getComponentType()
+                               : ((GenericArrayType) type).getGenericComponentType(), constraint);
+            return;
+        }
+
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        if (provider instanceof DefaultMapProvider) {
+            writeMap(arguments[0], arguments[1], constraint);
+        } else if (provider instanceof DefaultOptionalProvider || provider instanceof DefaultFutureProvider) {
+            write(arguments[0]);
+        } else if (provider instanceof DefaultCollectionProvider) {
+            writeArray(arguments[0], constraint);
+        } else {
+            writeArray(arguments[0], null);
+        }
+    }
+
+    private void writeArray(Type elementType, FieldConstraint constraint) {
+        int size = getRandomSize(objectFactory, objectFactory.getRandom(), constraint);
+        sink.beginArray();
+        for (int i = 0; i < size; ++i) {
+            write(elementType);
+        }
+        sink.endArray();
+    }
+
+    private void writeMap(Type keyType, Type valueType, FieldConstraint constraint) {
+        int size = getRandomSize(objectFactory, objectFactory.getRandom(), constraint);
+        // keys are materialized to keep names unique, same as a map would do
+        Set<String> names = new HashSet<>(size * 2);
+        sink.beginObject();
+        for (int i = 0; i < size; ++i) {
+            String name = String.valueOf((Object) objectFactory.generate(keyType, cycleDetector));
+            if (names.add(name)) {
+                sink.name(name);
+                write(valueType);
+            }
+        }
+        sink.endObject();
+    }
+
+    /**
+     * Emit tokens of a materialized value.
+     *
+     * @param value the value to write
+     */
+    private void writeValue(Object value) {
+        if (value == null) {
+            sink.nullValue();
+        } else if (value instanceof CharSequence) {
+            sink.stringValue((CharSequence) value);
+        } else if (value instanceof Boolean) {
+            sink.booleanValue((Boolean) value);
+        } else if (value instanceof Number) {
+            sink.numberValue((Number) value);
+        } else if (value instanceof Character) {
+            sink.stringValue(value.toString());
+        } else if (value instanceof Enum) {
+            sink.stringValue(((Enum<?>) value).name());
+        } else if (!writing.add(value)) {
+            // reference cycle in a materialized graph
+            sink.nullValue();
+        } else {
+            try {
+                writeCompound(value);
+            } finally {
+                writing.remove(value);
+            }
+        }
+    }
+
+    private void writeCompound(Object value) {
+        Class<?> clazz = value.getClass();
+        if (value instanceof Optional) {
+            writeValue(((Optional<?>) value).orElse(null));
+        } else if (value instanceof OptionalInt) {
+            writeValue(((OptionalInt) value).isPresent() ? ((OptionalInt) value).getAsInt() : null);
+        } else if (value instanceof OptionalLong) {
+            writeValue(((OptionalLong) value).isPresent() ? ((OptionalLong) value).getAsLong() : null);
+        } else if (value instanceof OptionalDouble) {
+            writeValue(((OptionalDouble) value).isPresent() ? ((OptionalDouble) value).getAsDouble() : null);
+        } else if (clazz.isArray()) {
+            sink.beginArray();
+            for (int i = 0, length = Array.getLength(value); i < length; ++i) {
+                writeValue(Array.get(value, i));
+            }
+            sink.endArray();
+        } else if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            sink.beginArray();
+            while (buffer.hasRemaining()) {
+                sink.numberValue(buffer.get());
+            }
+            sink.endArray();
+        } else if (value instanceof Iterable) {
+            writeIterator(((Iterable<?>) value).iterator());
+        } else if (value instanceof BaseStream) {
+            writeIterator(((BaseStream<?, ?>) value).iterator());
+        } else if (value instanceof Map) {
+            sink.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sink.name(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+            sink.endObject();
+        } else if (value instanceof Future) {
+            writeValue(getNow((Future<?>) value));
+        } else if (Proxy.isProxyClass(clazz)) {
+            // interface proxies have no state
+            sink.beginObject();
+            sink.endObject();
+        } else if (clazz.getName().startsWith("java.")) {
+            // value types of the platform, e.g. dates, temporals and UUID
+            sink.stringValue(value.toString());
+        } else {
+            sink.beginObject();
+            for (Field field : objectFactory.getClassPlan(clazz).getFields()) {
+                sink.name(field.getName());
+                try {
+                    writeValue(field.get(value));
+                } catch (IllegalAccessException e) {
+                    throw new ObjectCreationException("Fail to read field %s of instance type %s", field, clazz)
+                                  .withCause(e);
+                }
+            }
+            sink.endObject();
+        }
+    }
+
+    private void writeIterator(Iterator<?> iterator) {
+        sink.beginArray();
+        while (iterator.hasNext()) {
+            writeValue(iterator.next());
+        }
+        sink.endArray();
+    }
+
+    private static Object getNow(Future<?> future) {
+        if (!future.isDone()) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (Exception e) {
+            // failed or cancelled future has no value to write
+            return null;
+        }
+    }
+
+    /**
+     * Check if given type is a POJO to be walked by its plan.
+     *
+     * @param type the type to check
+     * @return true if the type is a class but not a primitive
+     */
+    private static boolean isPlainObject(Type type) {
+        return type instanceof Class && !Inspector.isExplicitPrimitive((Class<?>) type);
+    }
+
+    /**
+     * Check if given type is a container type can be walked element by element, only default providers
+     * are walked, since the behavior of custom providers is unknown.
+     *
+     * @param provider provider recognizes the type
+     * @param type the type to check
+     * @return true if the type can be walked
+     */
+    private static boolean isStructural(Provider provider, Type type) {
+        Class<?> providerClass = provider.getClass();
+        if (providerClass == DefaultArrayProvider.class) {
+            return true;
+        }
+
+        return type instanceof ParameterizedType
+                       && ((ParameterizedType) type).getActualTypeArguments().length > 0
+                       && (providerClass == DefaultCollectionProvider.class
+                                   || providerClass == DefaultIterableProvider.class
+                                   || providerClass == DefaultStreamProvider.class
+                                   || providerClass == DefaultMapProvider.class
+                                   || providerClass == DefaultOptionalProvider.class
+                                   || providerClass == DefaultFutureProvider.class);
+    }
+
+}
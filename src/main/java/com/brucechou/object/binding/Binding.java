@@ -5,6 +5,9 @@ import com.brucechou.object.provider.Provider;
 import lombok.Getter;
 
 import java.lang.reflect.Type;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Define a binding between field type, field name and provider.
@@ -19,6 +22,9 @@ public interface Binding {
 
         private final Type container;
         private final String fieldName;
+        private final Function<Supplier<Random>, Provider> providerFactory;
+
+        // provider bound directly, null if bound by a provider factory
         private final Provider provider;
 
         /**
@@ -29,10 +35,38 @@ public interface Binding {
          * @param provider bound provider
          */
         FieldNameBinding(Type container, String fieldName, Provider provider) {
+            this(container, fieldName, random -> provider, provider);
+        }
+
+        /**
+         * Create a local field name binding.
+         *
+         * @param container container
+         * @param fieldName field name
+         * @param providerFactory creates bound provider with random supplier of object factory
+         */
+        FieldNameBinding(Type container, String fieldName, Function<Supplier<Random>, Provider> providerFactory) {
+            this(container, fieldName, providerFactory, null);
+        }
+
+        private FieldNameBinding(Type container, String fieldName, Function<Supplier<Random>, Provider> providerFactory,
+                                 Provider provider) {
             this.container = container;
             this.fieldName = fieldName;
+            this.providerFactory = providerFactory;
             this.provider = provider;
         }
+
+        /**
+         * Get the provider bound directly.
+         *
+         * @return bound provider, or null if bound by a provider factory
+         * @deprecated providers may be created by the object factory, use {@link #getProviderFactory()} instead
+         */
+        @Deprecated
+        public Provider getProvider() {
+            return provider;
+        }
     }
 
     /**
@@ -43,6 +77,9 @@ public interface Binding {
 
         private final Type container;
         private final Type fieldType;
+        private final Function<Supplier<Random>, Provider> providerFactory;
+
+        // provider bound directly, null if bound by a provider factory
         private final Provider provider;
 
         /**
@@ -53,10 +90,38 @@ public interface Binding {
          * @param provider bound provider
          */
         FieldTypeBinding(Type container, Type fieldType, Provider provider) {
+            this(container, fieldType, random -> provider, provider);
+        }
+
+        /**
+         * Create a local field type binding.
+         *
+         * @param container container
+         * @param fieldType field type
+         * @param providerFactory creates bound provider with random supplier of object factory
+         */
+        FieldTypeBinding(Type container, Type fieldType, Function<Supplier<Random>, Provider> providerFactory) {
+            this(container, fieldType, providerFactory, null);
+        }
+
+        private FieldTypeBinding(Type container, Type fieldType, Function<Supplier<Random>, Provider> providerFactory,
+                                 Provider provider) {
             this.container = container;
             this.fieldType = fieldType;
+            this.providerFactory = providerFactory;
             this.provider = provider;
         }
+
+        /**
+         * Get the provider bound directly.
+         *
+         * @return bound provider, or null if bound by a provider factory
+         * @deprecated providers may be created by the object factory, use {@link #getProviderFactory()} instead
+         */
+        @Deprecated
+        public Provider getProvider() {
+            return provider;
+        }
     }
 
     /**
@@ -66,6 +131,9 @@ public interface Binding {
     class GlobalFieldTypeBinding implements Binding {
 
         private final Type fieldType;
+        private final Function<Supplier<Random>, Provider> providerFactory;
+
+        // provider bound directly, null if bound by a provider factory
         private final Provider provider;
 
         /**
@@ -75,9 +143,36 @@ public interface Binding {
          * @param provider bound provider
          */
         GlobalFieldTypeBinding(Type fieldType, Provider provider) {
+            this(fieldType, random -> provider, provider);
+        }
+
+        /**
+         * Create a global field type binding.
+         *
+         * @param fieldType field type
+         * @param providerFactory creates bound provider with random supplier of object factory
+         */
+        GlobalFieldTypeBinding(Type fieldType, Function<Supplier<Random>, Provider> providerFactory) {
+            this(fieldType, providerFactory, null);
+        }
+
+        private GlobalFieldTypeBinding(Type fieldType, Function<Supplier<Random>, Provider> providerFactory,
+                                       Provider provider) {
             this.fieldType = fieldType;
+            this.providerFactory = providerFactory;
             this.provider = provider;
         }
+
+        /**
+         * Get the provider bound directly.
+         *
+         * @return bound provider, or null if bound by a provider factory
+         * @deprecated providers may be created by the object factory, use {@link #getProviderFactory()} instead
+         */
+        @Deprecated
+        public Provider getProvider() {
+            return provider;
+        }
     }
 
     /**
@@ -87,18 +182,48 @@ public interface Binding {
     class GlobalFieldNameBinding implements Binding {
 
         private final String fieldName;
+        private final Function<Supplier<Random>, Provider> providerFactory;
+
+        // provider bound directly, null if bound by a provider factory
         private final Provider provider;
 
         /**
          * Create a global field name binding.
          *
          * @param fieldName field name
-         * @param provider provider
+         * @param provider bound provider
          */
         GlobalFieldNameBinding(String fieldName, Provider provider) {
+            this(fieldName, random -> provider, provider);
+        }
+
+        /**
+         * Create a global field name binding.
+         *
+         * @param fieldName field name
+         * @param providerFactory creates bound provider with random supplier of object factory
+         */
+        GlobalFieldNameBinding(String fieldName, Function<Supplier<Random>, Provider> providerFactory) {
+            this(fieldName, providerFactory, null);
+        }
+
+        private GlobalFieldNameBinding(String fieldName, Function<Supplier<Random>, Provider> providerFactory,
+                                       Provider provider) {
             this.fieldName = fieldName;
+            this.providerFactory = providerFactory;
             this.provider = provider;
         }
+
+        /**
+         * Get the provider bound directly.
+         *
+         * @return bound provider, or null if bound by a provider factory
+         * @deprecated providers may be created by the object factory, use {@link #getProviderFactory()} instead
+         */
+        @Deprecated
+        public Provider getProvider() {
+            return provider;
+        }
     }
 
 }
@@ -3,7 +3,15 @@ package com.brucechou.object.binding;
 import com.brucechou.object.provider.Provider;
 
 import java.lang.reflect.Type;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Factory methods of bindings. Providers sampling randomly should be bound with a provider factory receiving the
+ * random supplier of object factory, e.g. {@code Bindings.bind("customerId", random -> customers.zipf(1.0, random))},
+ * so values follow the configured random and seeds of {@code generate(type, seed)}.
+ */
 public final class Bindings {
 
     private Bindings() {}
@@ -19,6 +27,17 @@ public final class Bindings {
         return new Binding.GlobalFieldTypeBinding(fieldType, provider);
     }
 
+    /**
+     * Create a global field type binding of a provider created with the random supplier of object factory.
+     *
+     * @param fieldType field type
+     * @param providerFactory creates bound provider with random supplier of object factory
+     * @return a global field type binding
+     */
+    public static Binding bind(Type fieldType, Function<Supplier<Random>, Provider> providerFactory) {
+        return new Binding.GlobalFieldTypeBinding(fieldType, providerFactory);
+    }
+
     /**
      * Create a global field name binding.
      *
@@ -30,6 +49,17 @@ public final class Bindings {
         return new Binding.GlobalFieldNameBinding(fieldName, provider);
     }
 
+    /**
+     * Create a global field name binding of a provider created with the random supplier of object factory.
+     *
+     * @param fieldName field name
+     * @param providerFactory creates bound provider with random supplier of object factory
+     * @return a global field name binding
+     */
+    public static Binding bind(String fieldName, Function<Supplier<Random>, Provider> providerFactory) {
+        return new Binding.GlobalFieldNameBinding(fieldName, providerFactory);
+    }
+
     /**
      * Create a local field type binding.
      *
@@ -42,6 +72,18 @@ public final class Bindings {
         return new Binding.FieldTypeBinding(container, fieldType, provider);
     }
 
+    /**
+     * Create a local field type binding of a provider created with the random supplier of object factory.
+     *
+     * @param container container
+     * @param fieldType field type
+     * @param providerFactory creates bound provider with random supplier of object factory
+     * @return a local field type binding
+     */
+    public static Binding bind(Type container, Type fieldType, Function<Supplier<Random>, Provider> providerFactory) {
+        return new Binding.FieldTypeBinding(container, fieldType, providerFactory);
+    }
+
     /**
      * Create a local field name binding.
      *
@@ -54,4 +96,17 @@ public final class Bindings {
         return new Binding.FieldNameBinding(container, fieldName, provider);
     }
 
+    /**
+     * Create a local field name binding of a provider created with the random supplier of object factory.
+     *
+     * @param container container
+     * @param fieldName field name
+     * @param providerFactory creates bound provider with random supplier of object factory
+     * @return a local field name binding
+     */
+    public static Binding bind(Type container, String fieldName,
+                               Function<Supplier<Random>, Provider> providerFactory) {
+        return new Binding.FieldNameBinding(container, fieldName, providerFactory);
+    }
+
 }
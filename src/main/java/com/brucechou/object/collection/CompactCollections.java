@@ -0,0 +1,139 @@
+package com.brucechou.object.collection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Factories of compact immutable collections, which are exact-size and array-backed: lists are plain arrays,
+ * sets and maps are open-addressing hash tables without a node per element or entry.
+ *
+ * <p>Compact collections are read-only, all mutators throw {@link UnsupportedOperationException}. Null elements,
+ * keys and values are supported, the iteration order of sets and maps is unspecified.
+ */
+public final class CompactCollections {
+
+    // max load factor of hash tables is 3 / 4
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+
+    private static final int MAX_TABLE_SIZE = 1 << 29;
+
+    // stands for null elements and keys in hash tables, where null means an empty slot
+    private static final Object NULL = new Object();
+
+    private CompactCollections() {
+    }
+
+    /**
+     * Create a compact list of given elements, the array is owned by the list afterwards.
+     *
+     * @param elements the elements, must not be modified afterwards
+     * @param <E> the type of elements
+     * @return a compact list
+     * @throws IllegalArgumentException if elements is null
+     */
+    public static <E> List<E> listOf(Object[] elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements must be non-null");
+        }
+        return new CompactList<>(elements);
+    }
+
+    /**
+     * Create a compact set of the first length elements, duplicated elements are added once.
+     *
+     * @param elements the elements
+     * @param length number of elements to add
+     * @param <E> the type of elements
+     * @return a compact set
+     * @throws IllegalArgumentException if elements is null or length is out of range
+     */
+    public static <E> Set<E> setOf(Object[] elements, int length) {
+        if (elements == null || length < 0 || length > elements.length) {
+            throw new IllegalArgumentException("Elements must be non-null with at least length elements");
+        }
+        return new CompactSet<>(elements, length);
+    }
+
+    /**
+     * Create a compact map of the first length keys and values, the last value wins for duplicated keys.
+     *
+     * @param keys the keys
+     * @param values the values of keys at the same indexes
+     * @param length number of entries to put
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @return a compact map
+     * @throws IllegalArgumentException if keys or values is null or length is out of range
+     */
+    public static <K, V> Map<K, V> mapOf(Object[] keys, Object[] values, int length) {
+        if (keys == null || values == null || length < 0 || length > keys.length || length > values.length) {
+            throw new IllegalArgumentException("Keys and values must be non-null with at least length elements");
+        }
+        return new CompactMap<>(keys, values, length);
+    }
+
+    /**
+     * Check if given value is a compact collection or map.
+     *
+     * @param value the value to check
+     * @return true if the value is created by this class
+     */
+    public static boolean isCompact(Object value) {
+        return value instanceof CompactList || value instanceof CompactSet || value instanceof CompactMap;
+    }
+
+    /**
+     * Check if given class is a compact collection or map class.
+     *
+     * @param clazz the class to check
+     * @return true if instances of the class are created by this class
+     */
+    public static boolean isCompactType(Class<?> clazz) {
+        return clazz == CompactList.class || clazz == CompactSet.class || clazz == CompactMap.class;
+    }
+
+    /**
+     * Get the power of two table size keeps the load factor for given number of elements.
+     *
+     * @param length number of elements
+     * @return table size
+     */
+    static int tableSize(int length) {
+        long minimum = (long) length * LOAD_DENOMINATOR / LOAD_NUMERATOR + 1;
+        if (minimum > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("Too many elements: " + length);
+        }
+        return Integer.highestOneBit((int) minimum * 2 - 1);
+    }
+
+    /**
+     * Find the slot of a masked key, which is either the slot holding the key or the empty slot to put it.
+     *
+     * @param table the hash table
+     * @param stride number of array elements per slot
+     * @param key the masked key
+     * @return index of the slot
+     */
+    static int probe(Object[] table, int stride, Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        int mask = table.length / stride - 1;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            Object slot = table[i * stride];
+            if (slot == null || slot.equals(key)) {
+                return i * stride;
+            }
+        }
+    }
+
+    static Object mask(Object element) {
+        return element == null ? NULL : element;
+    }
+
+    static Object unmask(Object element) {
+        return element == NULL ? null : element;
+    }
+
+}
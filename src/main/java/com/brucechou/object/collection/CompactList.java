@@ -0,0 +1,48 @@
+package com.brucechou.object.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list backed by an exact-size array.
+ *
+ * @param <E> the type of elements
+ */
+final class CompactList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] elements;
+
+    CompactList(Object[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        }
+        return (E) elements[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, elements.length);
+    }
+
+}
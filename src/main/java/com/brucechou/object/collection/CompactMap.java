@@ -0,0 +1,113 @@
+package com.brucechou.object.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map backed by an open-addressing hash table with linear probing, keys and values are stored
+ * side by side in a single array, there is no node per entry.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    // key at even index and value at the next odd index, null key for empty slots, NULL for the null key
+    private final Object[] table;
+    private final int size;
+
+    CompactMap(Object[] keys, Object[] values, int length) {
+        Object[] table = new Object[CompactCollections.tableSize(length) * 2];
+        int size = 0;
+        for (int i = 0; i < length; ++i) {
+            Object key = CompactCollections.mask(keys[i]);
+            int slot = CompactCollections.probe(table, 2, key);
+            if (table[slot] == null) {
+                table[slot] = key;
+                ++size;
+            }
+            // the last value wins, the same as put
+            table[slot + 1] = values[i];
+        }
+        this.table = table;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int slot = CompactCollections.probe(table, 2, CompactCollections.mask(key));
+        return table[slot] == null ? null : (V) table[slot + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return table[CompactCollections.probe(table, 2, CompactCollections.mask(key))] != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+
+                    private int index = advance(0);
+
+                    private int advance(int from) {
+                        int i = from;
+                        while (i < table.length && table[i] == null) {
+                            i += 2;
+                        }
+                        return i;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < table.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<K, V> entry = new SimpleImmutableEntry<>(
+                                (K) CompactCollections.unmask(table[index]), (V) table[index + 1]);
+                        index = advance(index + 2);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.brucechou.object.collection;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set backed by an open-addressing hash table with linear probing, there is no node per element.
+ *
+ * @param <E> the type of elements
+ */
+final class CompactSet<E> extends AbstractSet<E> {
+
+    // table slots, null for empty slots, NULL for the null element
+    private final Object[] table;
+    private final int size;
+
+    CompactSet(Object[] elements, int length) {
+        Object[] table = new Object[CompactCollections.tableSize(length)];
+        int size = 0;
+        for (int i = 0; i < length; ++i) {
+            Object element = CompactCollections.mask(elements[i]);
+            int slot = CompactCollections.probe(table, 1, element);
+            if (table[slot] == null) {
+                table[slot] = element;
+                ++size;
+            }
+        }
+        this.table = table;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return table[CompactCollections.probe(table, 1, CompactCollections.mask(o))] != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int index = advance(0);
+
+            private int advance(int from) {
+                int i = from;
+                while (i < table.length && table[i] == null) {
+                    ++i;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < table.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object element = table[index];
+                index = advance(index + 1);
+                return (E) CompactCollections.unmask(element);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+}
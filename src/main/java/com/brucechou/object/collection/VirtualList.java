@@ -0,0 +1,91 @@
+package com.brucechou.object.collection;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * An immutable list of fixed size whose elements are computed on access, so memory does not grow with the size.
+ *
+ * <p>The element function must be deterministic, i.e. always compute the same element for an index, since elements
+ * are not stored. Recently accessed elements are kept in a small LRU cache if a cache size is given, so repeated
+ * access of the same elements, e.g. {@code equals} after {@code get}, does not compute them again.
+ *
+ * @param <E> the element type
+ */
+public final class VirtualList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final int size;
+    private final IntFunction<E> elements;
+
+    // index -> element, null if cache is disabled
+    private final Map<Integer, E> cache;
+
+    /**
+     * Create a virtual list.
+     *
+     * @param size size of the list
+     * @param elements deterministic function computes the element of an index
+     * @param cacheSize max number of recent elements cached, 0 to disable cache
+     * @throws IllegalArgumentException if size or cache size is negative, or elements is null
+     */
+    public VirtualList(int size, IntFunction<E> elements, int cacheSize) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative");
+        }
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements must be non-null");
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must be non-negative");
+        }
+
+        this.size = size;
+        this.elements = elements;
+        this.cache = cacheSize == 0 ? null : new LinkedHashMap<Integer, E>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, E> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        if (cache == null) {
+            return elements.apply(index);
+        }
+
+        synchronized (cache) {
+            // null elements are cached as well
+            if (cache.containsKey(index)) {
+                return cache.get(index);
+            }
+        }
+
+        // computed outside of the lock, a concurrent computation of the same index computes the same element
+        E element = elements.apply(index);
+        synchronized (cache) {
+            cache.put(index, element);
+        }
+        return element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+}
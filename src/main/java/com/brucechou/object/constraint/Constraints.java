@@ -0,0 +1,166 @@
+package com.brucechou.object.constraint;
+
+import com.brucechou.object.constraint.FieldConstraint.TimeBound;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Compiles Bean Validation annotations of fields into {@link FieldConstraint}s. Annotations of both
+ * {@code javax.validation.constraints} and {@code jakarta.validation.constraints} are read reflectively by name,
+ * so the validation API is not required at runtime.
+ *
+ * <p>Supported annotations are {@code @NotNull}, {@code @NotEmpty}, {@code @NotBlank}, {@code @Size}, {@code @Min},
+ * {@code @Max}, {@code @Positive}, {@code @PositiveOrZero}, {@code @Negative}, {@code @NegativeOrZero},
+ * {@code @Pattern}, {@code @Past}, {@code @PastOrPresent}, {@code @Future} and {@code @FutureOrPresent}, others are
+ * ignored. A pattern of syntax {@link RegexGenerator} does not support is ignored as well, while contradicting
+ * constraints, which no value can satisfy, are rejected.
+ */
+public final class Constraints {
+
+    private static final String JAVAX_PACKAGE = "javax.validation.constraints.";
+    private static final String JAKARTA_PACKAGE = "jakarta.validation.constraints.";
+
+    private Constraints() {
+    }
+
+    /**
+     * Compile constraints of annotations on an element, e.g. a field.
+     *
+     * @param element the annotated element
+     * @return compiled constraint, or null if the element has no supported constraint
+     * @throws IllegalArgumentException if constraints contradict, e.g. min is greater than max
+     */
+    public static FieldConstraint of(AnnotatedElement element) {
+        boolean constrained = false;
+        boolean notNull = false;
+        long min = Long.MIN_VALUE;
+        long max = Long.MAX_VALUE;
+        int minSize = 0;
+        int maxSize = Integer.MAX_VALUE;
+        RegexGenerator pattern = null;
+        TimeBound timeBound = null;
+
+        for (Annotation annotation : element.getAnnotations()) {
+            String name = getConstraintName(annotation);
+            if (name == null) {
+                continue;
+            }
+
+            switch (name) {
+                case "NotNull":
+                    notNull = true;
+                    break;
+                case "NotEmpty":
+                case "NotBlank":
+                    notNull = true;
+                    minSize = Math.max(minSize, 1);
+                    break;
+                case "Size":
+                    minSize = Math.max(minSize, (Integer) getAttribute(annotation, "min"));
+                    maxSize = Math.min(maxSize, (Integer) getAttribute(annotation, "max"));
+                    break;
+                case "Min":
+                    min = Math.max(min, (Long) getAttribute(annotation, "value"));
+                    break;
+                case "Max":
+                    max = Math.min(max, (Long) getAttribute(annotation, "value"));
+                    break;
+                case "Positive":
+                    min = Math.max(min, 1);
+                    break;
+                case "PositiveOrZero":
+                    min = Math.max(min, 0);
+                    break;
+                case "Negative":
+                    max = Math.min(max, -1);
+                    break;
+                case "NegativeOrZero":
+                    max = Math.min(max, 0);
+                    break;
+                case "Pattern":
+                    pattern = compile((String) getAttribute(annotation, "regexp"));
+                    break;
+                case "Past":
+                    timeBound = TimeBound.PAST;
+                    break;
+                case "PastOrPresent":
+                    timeBound = TimeBound.PAST_OR_PRESENT;
+                    break;
+                case "Future":
+                    timeBound = TimeBound.FUTURE;
+                    break;
+                case "FutureOrPresent":
+                    timeBound = TimeBound.FUTURE_OR_PRESENT;
+                    break;
+                default:
+                    // not supported
+                    continue;
+            }
+            constrained = true;
+        }
+
+        if (!constrained) {
+            return null;
+        }
+        // contradicting constraints can never be satisfied
+        if (min > max) {
+            throw new IllegalArgumentException(String.format("Contradicting constraints of %s, min %d > max %d",
+                                                             element, min, max));
+        }
+        if (minSize > maxSize) {
+            throw new IllegalArgumentException(String.format(
+                    "Contradicting constraints of %s, min size %d > max size %d", element, minSize, maxSize));
+        }
+        return new FieldConstraint(notNull, min, max, minSize, maxSize, pattern, timeBound);
+    }
+
+    /**
+     * Get simple name of a Bean Validation constraint annotation.
+     *
+     * @param annotation the annotation
+     * @return simple name of the annotation, or null if it is not a Bean Validation constraint
+     */
+    private static String getConstraintName(Annotation annotation) {
+        String name = annotation.annotationType().getName();
+        if (name.startsWith(JAVAX_PACKAGE)) {
+            return name.substring(JAVAX_PACKAGE.length());
+        }
+        if (name.startsWith(JAKARTA_PACKAGE)) {
+            return name.substring(JAKARTA_PACKAGE.length());
+        }
+        return null;
+    }
+
+    /**
+     * Read an attribute of an annotation.
+     *
+     * @param annotation the annotation
+     * @param attribute name of the attribute
+     * @return value of the attribute
+     * @throws IllegalArgumentException if failed to read the attribute
+     */
+    private static Object getAttribute(Annotation annotation, String attribute) {
+        try {
+            return annotation.annotationType().getMethod(attribute).invoke(annotation);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Fail to read " + attribute + " of " + annotation, e);
+        }
+    }
+
+    /**
+     * Compile a pattern to a generator.
+     *
+     * @param regex the pattern
+     * @return generator of the pattern, or null if the pattern is not supported
+     */
+    private static RegexGenerator compile(String regex) {
+        try {
+            return RegexGenerator.compile(regex);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
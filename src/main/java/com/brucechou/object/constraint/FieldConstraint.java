@@ -0,0 +1,123 @@
+package com.brucechou.object.constraint;
+
+import lombok.Getter;
+
+import java.util.Random;
+
+/**
+ * Value range and size constraints of a field compiled from its Bean Validation annotations by {@link Constraints},
+ * consumed by {@link com.brucechou.object.provider.ConstrainedProvider constrained providers} so that generated
+ * values are valid without regeneration.
+ */
+@Getter
+public final class FieldConstraint {
+
+    /**
+     * Time bound of temporal values relative to now.
+     */
+    public enum TimeBound {
+        PAST, PAST_OR_PRESENT, FUTURE, FUTURE_OR_PRESENT
+    }
+
+    /**
+     * Whether the value must be non-null, cycles of such values are not terminated with null.
+     */
+    private final boolean notNull;
+
+    /**
+     * Min value of numbers, inclusive.
+     */
+    private final long min;
+
+    /**
+     * Max value of numbers, inclusive.
+     */
+    private final long max;
+
+    /**
+     * Min size of strings, collections, maps and arrays, inclusive.
+     */
+    private final int minSize;
+
+    /**
+     * Max size of strings, collections, maps and arrays, inclusive.
+     */
+    private final int maxSize;
+
+    /**
+     * Generator of strings matching the pattern, null if no pattern.
+     */
+    private final RegexGenerator pattern;
+
+    /**
+     * Time bound of temporal values, null if not bound.
+     */
+    private final TimeBound timeBound;
+
+    /**
+     * Create a field constraint.
+     *
+     * @param notNull whether the value must be non-null
+     * @param min min value of numbers, inclusive
+     * @param max max value of numbers, inclusive
+     * @param minSize min size, inclusive
+     * @param maxSize max size, inclusive
+     * @param pattern generator of strings matching the pattern, null if no pattern
+     * @param timeBound time bound of temporal values, null if not bound
+     * @throws IllegalArgumentException if min is greater than max, or min size is negative or greater than max size
+     */
+    public FieldConstraint(boolean notNull, long min, long max, int minSize, int maxSize, RegexGenerator pattern,
+                           TimeBound timeBound) {
+        if (min > max) {
+            throw new IllegalArgumentException("Min must not be greater than max");
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Min size must be non-negative and not greater than max size");
+        }
+
+        this.notNull = notNull;
+        this.min = min;
+        this.max = max;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.pattern = pattern;
+        this.timeBound = timeBound;
+    }
+
+    /**
+     * Check if numbers are bound to a range.
+     *
+     * @return true if min or max is set
+     */
+    public boolean hasRange() {
+        return min != Long.MIN_VALUE || max != Long.MAX_VALUE;
+    }
+
+    /**
+     * Check if sizes are bound to a range.
+     *
+     * @return true if min size or max size is set
+     */
+    public boolean hasSize() {
+        return minSize != 0 || maxSize != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Pick a size within the size constraint, and within the given default range as far as possible.
+     *
+     * @param defaultMin default min size, inclusive
+     * @param defaultMax default max size, inclusive
+     * @param random random to pick with
+     * @return picked size
+     */
+    public int pickSize(int defaultMin, int defaultMax, Random random) {
+        int lower = Math.max(defaultMin, minSize);
+        int upper = Math.min(defaultMax, maxSize);
+        if (lower > upper) {
+            // default range is disjoint from constraint, take the nearest valid size
+            return defaultMax < minSize ? minSize : maxSize;
+        }
+        return lower + random.nextInt(upper - lower + 1);
+    }
+
+}
@@ -0,0 +1,410 @@
+package com.brucechou.object.constraint;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of random strings matching a regular expression, compiled once and used to generate strings of
+ * {@code @Pattern} constrained fields directly instead of generating and rejecting strings.
+ *
+ * <p>Supported syntax is a common subset of {@link java.util.regex.Pattern}: literals, escaped literals, {@code .},
+ * character classes with ranges and negation, {@code \d \w \s} and their negations, groups, non-capturing groups,
+ * alternation, greedy, lazy and possessive quantifiers, and leading {@code ^} and trailing {@code $}. Unbounded
+ * quantifiers repeat at most {@value #UNBOUNDED_EXTRA} more times than their minimum. Characters generated for
+ * {@code .} and negations are printable ASCII.
+ */
+public final class RegexGenerator {
+
+    private static final int UNBOUNDED_EXTRA = 8;
+
+    // strings generated to find one of a length range before giving up
+    private static final int LENGTH_ATTEMPTS = 32;
+
+    private static final char PRINTABLE_FIRST = ' ';
+    private static final char PRINTABLE_LAST = '~';
+
+    /**
+     * A node of the expression, appends a random string matching it.
+     */
+    @FunctionalInterface
+    private interface Node {
+
+        void generate(Random random, StringBuilder builder);
+
+    }
+
+    private final String regex;
+    private final Node root;
+
+    private RegexGenerator(String regex, Node root) {
+        this.regex = regex;
+        this.root = root;
+    }
+
+    /**
+     * Compile a regular expression.
+     *
+     * @param regex the regular expression
+     * @return generator of the expression
+     * @throws IllegalArgumentException if regex is null, invalid or uses unsupported syntax
+     */
+    public static RegexGenerator compile(String regex) {
+        if (regex == null) {
+            throw new IllegalArgumentException("Regex must be non-null");
+        }
+        return new RegexGenerator(regex, new Parser(regex).parse());
+    }
+
+    /**
+     * Generate a random string matching the expression.
+     *
+     * @param random random to generate with
+     * @return generated string
+     */
+    public String generate(Random random) {
+        StringBuilder builder = new StringBuilder();
+        root.generate(random, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Generate a random string matching the expression with length in a range, e.g. of a {@code @Size} constraint.
+     * Strings are generated up to {@value #LENGTH_ATTEMPTS} times, if none has a length in range, the one of the
+     * nearest length is returned.
+     *
+     * @param random random to generate with
+     * @param minLength min length, inclusive
+     * @param maxLength max length, inclusive
+     * @return generated string
+     */
+    public String generate(Random random, int minLength, int maxLength) {
+        String nearest = null;
+        long nearestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < LENGTH_ATTEMPTS; ++i) {
+            String value = generate(random);
+            long distance = Math.max(0L, Math.max((long) minLength - value.length(),
+                                                  (long) value.length() - maxLength));
+            if (distance == 0) {
+                return value;
+            }
+            if (distance < nearestDistance) {
+                nearest = value;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return regex;
+    }
+
+    /**
+     * Recursive descent parser of regular expressions.
+     */
+    private static final class Parser {
+
+        private final String regex;
+        private int position;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        private Node parse() {
+            if (peek('^')) {
+                ++position;
+            }
+            Node node = parseAlternation();
+            if (position < regex.length()) {
+                throw error("Unbalanced )");
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> branches = new ArrayList<>();
+            branches.add(parseSequence());
+            while (peek('|')) {
+                ++position;
+                branches.add(parseSequence());
+            }
+
+            if (branches.size() == 1) {
+                return branches.get(0);
+            }
+            Node[] nodes = branches.toArray(new Node[0]);
+            return (random, builder) -> nodes[random.nextInt(nodes.length)].generate(random, builder);
+        }
+
+        private Node parseSequence() {
+            List<Node> sequence = new ArrayList<>();
+            while (position < regex.length() && !peek('|') && !peek(')')) {
+                if (peek('$') && position == regex.length() - 1) {
+                    ++position;
+                    break;
+                }
+                sequence.add(parseQuantifier(parseAtom()));
+            }
+
+            Node[] nodes = sequence.toArray(new Node[0]);
+            return (random, builder) -> {
+                for (Node node : nodes) {
+                    node.generate(random, builder);
+                }
+            };
+        }
+
+        private Node parseAtom() {
+            char c = regex.charAt(position++);
+            switch (c) {
+                case '(':
+                    if (peek('?')) {
+                        if (position + 1 >= regex.length() || regex.charAt(position + 1) != ':') {
+                            throw error("Unsupported group construct");
+                        }
+                        position += 2;
+                    }
+                    Node group = parseAlternation();
+                    if (!peek(')')) {
+                        throw error("Unclosed group");
+                    }
+                    ++position;
+                    return group;
+                case '[':
+                    return choice(parseClass());
+                case '.':
+                    return choice(complement(new BitSet()));
+                case '\\':
+                    return parseEscape();
+                case '^':
+                case '$':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw error("Unsupported or dangling " + c);
+                default:
+                    return literal(c);
+            }
+        }
+
+        private Node parseQuantifier(Node node) {
+            if (position >= regex.length()) {
+                return node;
+            }
+
+            int min;
+            int max;
+            char c = regex.charAt(position);
+            if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '*') {
+                min = 0;
+                max = UNBOUNDED_EXTRA;
+            } else if (c == '+') {
+                min = 1;
+                max = 1 + UNBOUNDED_EXTRA;
+            } else if (c == '{') {
+                int close = regex.indexOf('}', position);
+                if (close < 0) {
+                    throw error("Unclosed repetition");
+                }
+                String[] bounds = regex.substring(position + 1, close).split(",", -1);
+                try {
+                    min = Integer.parseInt(bounds[0].trim());
+                    if (bounds.length == 1) {
+                        max = min;
+                    } else if (bounds.length == 2) {
+                        max = bounds[1].trim().isEmpty() ? min + UNBOUNDED_EXTRA : Integer.parseInt(bounds[1].trim());
+                    } else {
+                        throw error("Invalid repetition");
+                    }
+                } catch (NumberFormatException e) {
+                    throw error("Invalid repetition");
+                }
+                if (min < 0 || max < min) {
+                    throw error("Invalid repetition");
+                }
+                position = close;
+            } else {
+                return node;
+            }
+
+            ++position;
+            // lazy and possessive quantifiers match the same strings
+            if (peek('?') || peek('+')) {
+                ++position;
+            }
+
+            int lower = min;
+            int range = max - min + 1;
+            return (random, builder) -> {
+                for (int i = lower + random.nextInt(range); i > 0; --i) {
+                    node.generate(random, builder);
+                }
+            };
+        }
+
+        private Node parseEscape() {
+            if (position >= regex.length()) {
+                throw error("Dangling \\");
+            }
+
+            char c = regex.charAt(position++);
+            BitSet set = new BitSet();
+            if (addShorthand(c, set)) {
+                return choice(set);
+            }
+            return literal(escapedLiteral(c));
+        }
+
+        private BitSet parseClass() {
+            BitSet set = new BitSet();
+            boolean negate = peek('^');
+            if (negate) {
+                ++position;
+            }
+
+            boolean first = true;
+            while (true) {
+                if (position >= regex.length()) {
+                    throw error("Unclosed character class");
+                }
+                char c = regex.charAt(position++);
+                if (c == ']' && !first) {
+                    break;
+                }
+                first = false;
+
+                if (c == '[' || (c == '&' && peek('&'))) {
+                    throw error("Unsupported nested character class");
+                }
+                if (c == '\\') {
+                    if (position >= regex.length()) {
+                        throw error("Dangling \\");
+                    }
+                    char escaped = regex.charAt(position++);
+                    if (addShorthand(escaped, set)) {
+                        continue;
+                    }
+                    c = escapedLiteral(escaped);
+                }
+
+                // range, unless - is the last character of the class
+                if (peek('-') && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                    ++position;
+                    char end = regex.charAt(position++);
+                    if (end == '\\') {
+                        if (position >= regex.length()) {
+                            throw error("Dangling \\");
+                        }
+                        end = escapedLiteral(regex.charAt(position++));
+                    } else if (end == '[') {
+                        throw error("Unsupported nested character class");
+                    }
+                    if (end < c) {
+                        throw error("Invalid range");
+                    }
+                    set.set(c, end + 1);
+                } else {
+                    set.set(c);
+                }
+            }
+
+            return negate ? complement(set) : set;
+        }
+
+        private boolean addShorthand(char c, BitSet set) {
+            BitSet shorthand = new BitSet();
+            switch (Character.toLowerCase(c)) {
+                case 'd':
+                    shorthand.set('0', '9' + 1);
+                    break;
+                case 'w':
+                    shorthand.set('a', 'z' + 1);
+                    shorthand.set('A', 'Z' + 1);
+                    shorthand.set('0', '9' + 1);
+                    shorthand.set('_');
+                    break;
+                case 's':
+                    shorthand.set(' ');
+                    shorthand.set('\t');
+                    break;
+                default:
+                    return false;
+            }
+
+            set.or(Character.isUpperCase(c) ? complement(shorthand) : shorthand);
+            return true;
+        }
+
+        private char escapedLiteral(char c) {
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                default:
+                    // letters and digits are classes, anchors or references, which are not supported
+                    if (Character.isLetterOrDigit(c)) {
+                        throw error("Unsupported escape \\" + c);
+                    }
+                    return c;
+            }
+        }
+
+        private boolean peek(char c) {
+            return position < regex.length() && regex.charAt(position) == c;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + position + " of regex " + regex);
+        }
+
+    }
+
+    /**
+     * Get printable ASCII characters not in a set.
+     *
+     * @param set the set of characters
+     * @return printable characters not in the set
+     */
+    private static BitSet complement(BitSet set) {
+        BitSet result = new BitSet();
+        for (char c = PRINTABLE_FIRST; c <= PRINTABLE_LAST; ++c) {
+            if (!set.get(c)) {
+                result.set(c);
+            }
+        }
+        return result;
+    }
+
+    private static Node literal(char c) {
+        return (random, builder) -> builder.append(c);
+    }
+
+    private static Node choice(BitSet set) {
+        if (set.isEmpty()) {
+            throw new IllegalArgumentException("Empty character class");
+        }
+
+        char[] chars = new char[set.cardinality()];
+        for (int i = set.nextSetBit(0), j = 0; i >= 0; i = set.nextSetBit(i + 1)) {
+            chars[j++] = (char) i;
+        }
+        return (random, builder) -> builder.append(chars[random.nextInt(chars.length)]);
+    }
+
+}
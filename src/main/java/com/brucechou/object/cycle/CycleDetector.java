@@ -16,6 +16,20 @@ public final class CycleDetector {
     private CycleNode head;
     private CycleNode tail;
 
+    /**
+     * Number of nodes started by this detector, excluding the detected cycles.
+     */
+    @Getter
+    private int nodeCount;
+
+    /**
+     * Deepest path length reached by this detector.
+     */
+    @Getter
+    private int maxDepth;
+
+    private int depth;
+
     /**
      * Inner class represent a dependency node in the cycle graph.
      */
@@ -91,9 +105,40 @@ public final class CycleDetector {
 
         index.put(type, node);
 
+        nodeCount++;
+        if (++depth > maxDepth) {
+            maxDepth = depth;
+        }
+
         return start;
     }
 
+    /**
+     * Count a leaf node, e.g. a primitive value, which has no dependencies so can never be part of a cycle.
+     * Same as {@link #start(Type)} and {@link #end()} of the type for node count and depth, without tracking it.
+     */
+    public void visitLeaf() {
+        nodeCount++;
+        if (depth + 1 > maxDepth) {
+            maxDepth = depth + 1;
+        }
+    }
+
+    /**
+     * Copy current path of this detector, so the copy detects cycles from the same path after this detector has
+     * moved on, e.g. for values generated lazily. Node count and depth statistics of the copy start from the path.
+     *
+     * @return a new detector with the same path
+     */
+    public CycleDetector copy() {
+        CycleDetector copy = new CycleDetector();
+        for (CycleNode node = head; node != null; node = node.next) {
+            copy.start(node.type);
+        }
+        copy.nodeCount = 0;
+        return copy;
+    }
+
     /**
      * Only called when no cycle found.
      */
@@ -103,6 +148,7 @@ public final class CycleDetector {
         }
 
         index.remove(tail.type);
+        depth--;
         if (tail.previous != null) {
             CycleNode newTail = tail.previous;
             tail.previous = null;
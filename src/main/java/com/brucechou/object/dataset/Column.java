@@ -0,0 +1,29 @@
+package com.brucechou.object.dataset;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Descriptor of a column in dataset file.
+ */
+@AllArgsConstructor
+final class Column {
+
+    final String name;
+    final ColumnKind kind;
+
+    /**
+     * Whether the column has a null bitmap, true for all reference types.
+     */
+    final boolean nullable;
+
+    /**
+     * File offset of fixed-width values.
+     */
+    final long dataOffset;
+
+    /**
+     * File offset of null bitmap, one bit per row, -1 if not nullable.
+     */
+    final long nullsOffset;
+
+}
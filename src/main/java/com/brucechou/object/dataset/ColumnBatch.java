@@ -0,0 +1,345 @@
+package com.brucechou.object.dataset;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.constraint.FieldConstraint;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.plan.ClassPlan;
+import com.brucechou.object.provider.PrimitiveProvider;
+
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records of a POJO type generated in struct-of-arrays form, one column per field, without instantiating the type.
+ *
+ * <p>Every field in the plan of the type with a supported type becomes a column: {@code byte}, {@code short},
+ * {@code char} and {@code int} fields and their wrappers as {@code int[]}, {@code long} fields as {@code long[]},
+ * {@code float} and {@code double} fields as {@code double[]}, {@code boolean} fields as {@link BitSet}, and
+ * {@link String} and enum fields as {@link DictionaryColumn}s, and {@link Date} fields as milliseconds in
+ * {@code long[]}. Other fields are not generated. Primitive fields generated by {@link PrimitiveProvider}s are
+ * filled a column at a time without boxing, other fields are generated a value at a time as fields of the type are.
+ * Rows of null values of wrapper fields are marked by {@link #getNulls(String)}, their values are zero or false.
+ *
+ * <p>Columns are returned without copy, batches are not thread safe if columns are modified.
+ */
+public final class ColumnBatch {
+
+    /**
+     * The generated type.
+     */
+    @Getter
+    private final Class<?> type;
+
+    /**
+     * Number of rows.
+     */
+    @Getter
+    private final int rows;
+
+    // field name -> int[], long[], double[], BitSet or DictionaryColumn
+    private final Map<String, Object> columns;
+
+    // field name -> rows of null values, only wrapper fields with null values
+    private final Map<String, BitSet> nulls;
+
+    private ColumnBatch(Class<?> type, int rows, Map<String, Object> columns, Map<String, BitSet> nulls) {
+        this.type = type;
+        this.rows = rows;
+        this.columns = columns;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Generate a batch of records of given type with cycle detector, use
+     * {@link ObjectFactory#generateColumns(Class, int)} instead.
+     *
+     * @param objectFactory object factory to generate field values
+     * @param type the POJO type to generate
+     * @param rows number of rows
+     * @param cycleDetector dependency cycle detector
+     * @return generated batch
+     * @throws IllegalArgumentException if rows is negative or type has no supported field
+     * @throws ObjectCreationException if failed to generate a value
+     */
+    public static ColumnBatch generate(ObjectFactory objectFactory, Class<?> type, int rows,
+                                       CycleDetector cycleDetector) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Rows should not be negative");
+        }
+
+        ClassPlan plan = objectFactory.getClassPlan(type);
+        Map<String, Object> columns = new LinkedHashMap<>();
+        Map<String, BitSet> nulls = new HashMap<>();
+        for (int i = 0; i < plan.getFields().size(); ++i) {
+            Field field = plan.getFields().get(i);
+            // shadowed fields are generated once, as the writer does
+            if (ColumnKind.of(field.getType()) == null || columns.containsKey(field.getName())) {
+                continue;
+            }
+
+            BitSet fieldNulls = new BitSet();
+            columns.put(field.getName(), generateColumn(objectFactory, type, field, plan.getFieldConstraints().get(i),
+                                                        rows, fieldNulls, cycleDetector));
+            if (!fieldNulls.isEmpty()) {
+                nulls.put(field.getName(), fieldNulls);
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No supported field found in type " + type);
+        }
+
+        return new ColumnBatch(type, rows, columns, nulls);
+    }
+
+    /**
+     * Get names of columns, in the order of fields in the plan.
+     *
+     * @return names of columns
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(columns.keySet()));
+    }
+
+    /**
+     * Get column of a {@code byte}, {@code short}, {@code char} or {@code int} field.
+     *
+     * @param name name of the field
+     * @return values of rows
+     * @throws IllegalArgumentException if there is no such column of the type
+     */
+    public int[] getInts(String name) {
+        return getColumn(name, int[].class);
+    }
+
+    /**
+     * Get column of a {@code long} or {@link Date} field.
+     *
+     * @param name name of the field
+     * @return values of rows
+     * @throws IllegalArgumentException if there is no such column of the type
+     */
+    public long[] getLongs(String name) {
+        return getColumn(name, long[].class);
+    }
+
+    /**
+     * Get column of a {@code float} or {@code double} field.
+     *
+     * @param name name of the field
+     * @return values of rows
+     * @throws IllegalArgumentException if there is no such column of the type
+     */
+    public double[] getDoubles(String name) {
+        return getColumn(name, double[].class);
+    }
+
+    /**
+     * Get column of a {@code boolean} field, rows of true values are set.
+     *
+     * @param name name of the field
+     * @return values of rows
+     * @throws IllegalArgumentException if there is no such column of the type
+     */
+    public BitSet getBooleans(String name) {
+        return getColumn(name, BitSet.class);
+    }
+
+    /**
+     * Get column of a {@link String} or enum field.
+     *
+     * @param name name of the field
+     * @param <T> the field type
+     * @return values of rows
+     * @throws IllegalArgumentException if there is no such column of the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DictionaryColumn<T> getDictionary(String name) {
+        return getColumn(name, DictionaryColumn.class);
+    }
+
+    /**
+     * Get rows of null values of a column.
+     *
+     * @param name name of the field
+     * @return rows of null values, empty if none
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public BitSet getNulls(String name) {
+        if (!columns.containsKey(name)) {
+            throw new IllegalArgumentException("No column " + name);
+        }
+        return nulls.getOrDefault(name, new BitSet());
+    }
+
+    private <C> C getColumn(String name, Class<C> columnType) {
+        Object column = columns.get(name);
+        if (!columnType.isInstance(column)) {
+            throw new IllegalArgumentException("No column " + name + " of " + columnType.getSimpleName());
+        }
+        return columnType.cast(column);
+    }
+
+    /**
+     * Generate the column of a field, primitive fields of primitive providers are filled in bulk.
+     */
+    private static Object generateColumn(ObjectFactory objectFactory, Class<?> type, Field field,
+                                         FieldConstraint constraint, int rows, BitSet nulls,
+                                         CycleDetector cycleDetector) {
+        Class<?> fieldType = field.getType();
+        PrimitiveProvider provider = constraint == null
+                                     ? objectFactory.getPrimitiveFieldProvider(type, fieldType, field.getName())
+                                     : null;
+        if (provider != null) {
+            if (!objectFactory.isFieldBound(type, fieldType, field.getName())) {
+                // count nodes as generate does for each row
+                for (int row = 0; row < rows; ++row) {
+                    cycleDetector.visitLeaf();
+                }
+            }
+            if (fieldType == int.class) {
+                int[] values = new int[rows];
+                provider.fillInts(fieldType, values);
+                return values;
+            } else if (fieldType == long.class) {
+                long[] values = new long[rows];
+                provider.fillLongs(fieldType, values);
+                return values;
+            } else if (fieldType == double.class) {
+                double[] values = new double[rows];
+                provider.fillDoubles(fieldType, values);
+                return values;
+            }
+            return fillPrimitives(provider, fieldType, rows);
+        }
+
+        ColumnKind kind = ColumnKind.of(fieldType);
+        Object column = newColumn(kind, rows);
+        // strings coded in order of first appearance, enums by ordinals
+        Map<Object, Integer> codes = kind == ColumnKind.STRING ? new HashMap<>() : null;
+        List<Object> dictionary = kind == ColumnKind.STRING ? new ArrayList<>()
+                                  : kind == ColumnKind.ENUM ? Arrays.asList(fieldType.getEnumConstants()) : null;
+
+        cycleDetector.start(type);
+        try {
+            for (int row = 0; row < rows; ++row) {
+                Object value = objectFactory.generateField(type, field.getGenericType(), field.getName(), constraint,
+                                                           cycleDetector);
+                if (value == null) {
+                    if (fieldType.isPrimitive()) {
+                        throw new ObjectCreationException("Null value generated for field %s", field);
+                    }
+                    nulls.set(row);
+                    if (dictionary != null) {
+                        ((int[]) column)[row] = DictionaryColumn.NULL_CODE;
+                    }
+                    continue;
+                }
+
+                try {
+                    setValue(column, kind, row, value, codes, dictionary);
+                } catch (ClassCastException e) {
+                    throw new ObjectCreationException("Fail to set value %s to column of field %s", value, field)
+                                  .withCause(e);
+                }
+            }
+        } finally {
+            cycleDetector.end();
+        }
+
+        return dictionary != null ? new DictionaryColumn<>((int[]) column, dictionary) : column;
+    }
+
+    private static Object fillPrimitives(PrimitiveProvider provider, Class<?> fieldType, int rows) {
+        if (fieldType == boolean.class) {
+            BitSet values = new BitSet(rows);
+            for (int row = 0; row < rows; ++row) {
+                if (provider.getBoolean(fieldType)) {
+                    values.set(row);
+                }
+            }
+            return values;
+        } else if (fieldType == float.class) {
+            double[] values = new double[rows];
+            for (int row = 0; row < rows; ++row) {
+                values[row] = provider.getFloat(fieldType);
+            }
+            return values;
+        }
+
+        int[] values = new int[rows];
+        for (int row = 0; row < rows; ++row) {
+            if (fieldType == byte.class) {
+                values[row] = provider.getByte(fieldType);
+            } else if (fieldType == short.class) {
+                values[row] = provider.getShort(fieldType);
+            } else {
+                values[row] = provider.getChar(fieldType);
+            }
+        }
+        return values;
+    }
+
+    private static Object newColumn(ColumnKind kind, int rows) {
+        switch (kind) {
+            case BOOLEAN:
+                return new BitSet(rows);
+            case LONG:
+            case DATE:
+                return new long[rows];
+            case FLOAT:
+            case DOUBLE:
+                return new double[rows];
+            default:
+                return new int[rows];
+        }
+    }
+
+    private static void setValue(Object column, ColumnKind kind, int row, Object value, Map<Object, Integer> codes,
+                                 List<Object> dictionary) {
+        switch (kind) {
+            case BOOLEAN:
+                ((BitSet) column).set(row, (Boolean) value);
+                break;
+            case CHAR:
+                ((int[]) column)[row] = (Character) value;
+                break;
+            case LONG:
+                ((long[]) column)[row] = (Long) value;
+                break;
+            case DATE:
+                ((long[]) column)[row] = ((Date) value).getTime();
+                break;
+            case FLOAT:
+            case DOUBLE:
+                ((double[]) column)[row] = ((Number) value).doubleValue();
+                break;
+            case STRING:
+                Integer code = codes.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    codes.put(value, code);
+                    dictionary.add((String) value);
+                }
+                ((int[]) column)[row] = code;
+                break;
+            case ENUM:
+                ((int[]) column)[row] = ((Enum<?>) value).ordinal();
+                break;
+            default:
+                ((int[]) column)[row] = ((Number) value).intValue();
+                break;
+        }
+    }
+
+}
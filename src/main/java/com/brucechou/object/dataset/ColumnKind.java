@@ -0,0 +1,215 @@
+package com.brucechou.object.dataset;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Kinds of fixed-width columns, each kind knows its width and how to encode and decode a value.
+ */
+enum ColumnKind {
+
+    BOOLEAN(1) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.put(position, (byte) ((Boolean) value ? 1 : 0));
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return region.getByte(position) != 0;
+        }
+    },
+
+    BYTE(1) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.put(position, (Byte) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return region.getByte(position);
+        }
+    },
+
+    CHAR(2) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putChar(position, (Character) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return region.getChar(position);
+        }
+    },
+
+    SHORT(2) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putShort(position, (Short) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return region.getShort(position);
+        }
+    },
+
+    INT(4) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putInt(position, (Integer) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return region.getInt(position);
+        }
+    },
+
+    LONG(8) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putLong(position, (Long) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return region.getLong(position);
+        }
+    },
+
+    FLOAT(4) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putFloat(position, (Float) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return Float.intBitsToFloat(region.getInt(position));
+        }
+    },
+
+    DOUBLE(8) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putDouble(position, (Double) value);
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return Double.longBitsToDouble(region.getLong(position));
+        }
+    },
+
+    /**
+     * Strings are stored as ids of the string dictionary, or as references to strings stored raw if the dictionary
+     * of the column is full, see {@link DatasetFormat}.
+     */
+    STRING(8) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putLong(position, encoder.applyAsLong((String) value));
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return decoder.apply(region.getLong(position));
+        }
+    },
+
+    /**
+     * Enums are stored as ordinals.
+     */
+    ENUM(4) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putInt(position, ((Enum<?>) value).ordinal());
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return constants[region.getInt(position)];
+        }
+    },
+
+    /**
+     * Dates are stored as milliseconds since epoch.
+     */
+    DATE(8) {
+        @Override
+        void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder) {
+            buffer.putLong(position, ((Date) value).getTime());
+        }
+
+        @Override
+        Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder) {
+            return new Date(region.getLong(position));
+        }
+    };
+
+    final int width;
+
+    ColumnKind(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Encode a non-null value at given position of buffer.
+     *
+     * @param buffer mapped buffer of the column
+     * @param position byte position in buffer
+     * @param value value to encode
+     * @param encoder encodes strings to ids of the string dictionary or references to raw strings
+     */
+    abstract void write(ByteBuffer buffer, int position, Object value, ToLongFunction<String> encoder);
+
+    /**
+     * Decode a non-null value at given position of region.
+     *
+     * @param region mapped region of the column
+     * @param position byte position in region
+     * @param constants enum constants of field type, null if not an enum
+     * @param decoder decodes ids of the string dictionary or references to raw strings
+     * @return decoded value
+     */
+    abstract Object read(MappedRegion region, long position, Object[] constants, LongFunction<String> decoder);
+
+    /**
+     * Find column kind for given field type.
+     *
+     * @param type field type
+     * @return column kind, or null if the type is not supported
+     */
+    static ColumnKind of(Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) {
+            return BOOLEAN;
+        } else if (type == byte.class || type == Byte.class) {
+            return BYTE;
+        } else if (type == char.class || type == Character.class) {
+            return CHAR;
+        } else if (type == short.class || type == Short.class) {
+            return SHORT;
+        } else if (type == int.class || type == Integer.class) {
+            return INT;
+        } else if (type == long.class || type == Long.class) {
+            return LONG;
+        } else if (type == float.class || type == Float.class) {
+            return FLOAT;
+        } else if (type == double.class || type == Double.class) {
+            return DOUBLE;
+        } else if (type == String.class) {
+            return STRING;
+        } else if (type.isEnum()) {
+            return ENUM;
+        } else if (type == Date.class) {
+            return DATE;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.brucechou.object.dataset;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.plan.ClassPlan;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reads a dataset written by {@link ColumnarDatasetWriter}. Columns are memory-mapped, and records are materialized
+ * lazily by index, so a dataset larger than heap can be read at memory speed.
+ *
+ * <p>Columns are matched to fields of the record type by name and kind, fields without a matching column keep
+ * the value set by constructor.
+ *
+ * @param <T> the record type
+ */
+@ThreadSafe
+public final class ColumnarDatasetReader<T> implements AutoCloseable {
+
+    private final Class<T> type;
+    private final ClassPlan plan;
+    private final FileChannel channel;
+    private final long size;
+    private final Column[] columns;
+    private final Field[] fields;
+    private final MappedRegion[] data;
+    private final MappedRegion[] nulls;
+    // enum constants of fields, resolved once per column
+    private final Object[][] constants;
+    private final ReaderDictionary dictionary;
+
+    private ColumnarDatasetReader(Class<T> type, ClassPlan plan, FileChannel channel) throws IOException {
+        DatasetFormat.Header header = DatasetFormat.readHeader(channel);
+        List<Column> columnList = header.columns;
+
+        this.type = type;
+        this.plan = plan;
+        this.channel = channel;
+        this.size = header.rowCount;
+        this.columns = columnList.toArray(new Column[0]);
+        this.fields = new Field[columns.length];
+        this.data = new MappedRegion[columns.length];
+        this.nulls = new MappedRegion[columns.length];
+        this.constants = new Object[columns.length][];
+
+        for (int i = 0; i < columns.length; ++i) {
+            Column column = columns[i];
+            for (Field field : plan.getFields()) {
+                if (field.getName().equals(column.name) && ColumnKind.of(field.getType()) == column.kind) {
+                    fields[i] = field;
+                    constants[i] = field.getType().getEnumConstants();
+                    break;
+                }
+            }
+            data[i] = new MappedRegion(channel, column.dataOffset, size * column.kind.width);
+            if (column.nullable) {
+                nulls[i] = new MappedRegion(channel, column.nullsOffset, (size + Byte.SIZE - 1) / Byte.SIZE);
+            }
+        }
+
+        this.dictionary = new ReaderDictionary(channel, header.rawOffset, header.dictionaryOffset,
+                                               header.dictionarySize);
+    }
+
+    /**
+     * Open a dataset file to read records of given type.
+     *
+     * @param path the dataset file
+     * @param type the record type
+     * @param objectFactory object factory provides the plan of record type
+     * @param <T> the record type
+     * @return opened reader
+     * @throws IOException if failed to read the file
+     * @throws IllegalArgumentException if the file is not a dataset file
+     */
+    public static <T> ColumnarDatasetReader<T> open(Path path, Class<T> type, ObjectFactory objectFactory)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ColumnarDatasetReader<>(type, objectFactory.getClassPlan(type), channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get number of records.
+     *
+     * @return number of records
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Materialize record at given index.
+     *
+     * @param index index of record
+     * @return the record
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws ObjectCreationException if failed to create the record
+     */
+    public T get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + size + ")");
+        }
+
+        T record = type.cast(plan.newEmptyInstance());
+        for (int i = 0; i < columns.length; ++i) {
+            Field field = fields[i];
+            if (field == null) {
+                continue;
+            }
+
+            Object value = null;
+            if (!isNull(i, index)) {
+                value = columns[i].kind.read(data[i], index * columns[i].kind.width, constants[i], dictionary);
+            }
+
+            try {
+                field.set(record, value);
+            } catch (Exception e) {
+                throw new ObjectCreationException("Fail to set field %s for instance type %s", field, type)
+                              .withCause(e);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Stream all records in order, records are materialized lazily.
+     *
+     * @return stream of records
+     */
+    public Stream<T> stream() {
+        return LongStream.range(0, size).mapToObj(this::get);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean isNull(int column, long index) {
+        return nulls[column] != null && (nulls[column].getByte(index / Byte.SIZE) & 1 << index % Byte.SIZE) != 0;
+    }
+
+    /**
+     * A memory-mapped dictionary decodes strings of dictionary on first access, and raw strings on every access.
+     */
+    private static final class ReaderDictionary implements LongFunction<String> {
+
+        private final MappedRegion raw;
+        private final MappedRegion offsets;
+        private final MappedRegion strings;
+
+        // decoded strings, racy initialization is fine since strings are immutable
+        private final String[] cache;
+
+        ReaderDictionary(FileChannel channel, long rawOffset, long offset, int size) throws IOException {
+            this.raw = new MappedRegion(channel, rawOffset, offset - rawOffset);
+            long offsetsLength = (size + 1L) * Long.BYTES;
+            this.offsets = new MappedRegion(channel, offset, offsetsLength);
+            this.strings = new MappedRegion(channel, offset + offsetsLength, offsets.getLong(size * (long) Long.BYTES));
+            this.cache = new String[size];
+        }
+
+        /**
+         * Get string of given id.
+         *
+         * @param id the id of dictionary, or reference to a raw string if negative
+         * @return the string
+         */
+        @Override
+        public String apply(long id) {
+            if (id < 0) {
+                long position = -1 - id;
+                byte[] bytes = new byte[raw.getInt(position)];
+                raw.get(position + Integer.BYTES, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            String value = cache[(int) id];
+            if (value == null) {
+                long start = offsets.getLong(id * (long) Long.BYTES);
+                byte[] bytes = new byte[(int) (offsets.getLong((id + 1L) * Long.BYTES) - start)];
+                strings.get(start, bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                cache[(int) id] = value;
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,407 @@
+package com.brucechou.object.dataset;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.cycle.CycleDetector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Generates records of a POJO type directly into a columnar binary file, without materializing the records.
+ *
+ * <p>Every field in the plan of the type with a supported type becomes a fixed-width column: primitives and their
+ * wrappers, {@link String} as an id of the string dictionary, enums as ordinals and {@link java.util.Date} as
+ * milliseconds. Other fields are not written. Records are generated in parallel chunks, each worker fills reusable
+ * buffers of a chunk and writes them at the offsets of the chunk in the file.
+ *
+ * <p>The dictionary of each string column is kept in memory while writing, up to a limit of distinct values per
+ * column. Values beyond the limit, e.g. of ids or UUIDs, are written raw to the file instead, so memory stays
+ * bounded however many rows are written, and repeated values are deduplicated as long as the column has few.
+ *
+ * <p>Use {@link ColumnarDatasetReader} to read records back.
+ */
+@ThreadSafe
+public final class ColumnarDatasetWriter {
+
+    private static final int DEFAULT_CHUNK_ROWS = 1 << 16;
+    private static final int DEFAULT_DICTIONARY_LIMIT = 1 << 16;
+
+    private final ObjectFactory objectFactory;
+    private final int parallelism;
+    private final int chunkRows;
+    private final int dictionaryLimit;
+
+    /**
+     * Create a writer generates with all available processors.
+     *
+     * @param objectFactory object factory to generate field values
+     */
+    public ColumnarDatasetWriter(ObjectFactory objectFactory) {
+        this(objectFactory, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * Create a writer.
+     *
+     * @param objectFactory object factory to generate field values
+     * @param parallelism number of threads to generate chunks
+     * @param chunkRows number of rows per chunk, should be a multiple of 8
+     * @throws IllegalArgumentException if object factory is null, parallelism is not positive,
+     *                                  or chunk rows is not a positive multiple of 8
+     */
+    public ColumnarDatasetWriter(ObjectFactory objectFactory, int parallelism, int chunkRows) {
+        this(objectFactory, parallelism, chunkRows, DEFAULT_DICTIONARY_LIMIT);
+    }
+
+    /**
+     * Create a writer with a limit of dictionary, distinct values of a string column beyond the limit are
+     * written raw.
+     *
+     * @param objectFactory object factory to generate field values
+     * @param parallelism number of threads to generate chunks
+     * @param chunkRows number of rows per chunk, should be a multiple of 8
+     * @param dictionaryLimit maximum number of distinct values in dictionary per string column
+     * @throws IllegalArgumentException if object factory is null, parallelism is not positive,
+     *                                  chunk rows is not a positive multiple of 8, or dictionary limit is negative
+     */
+    public ColumnarDatasetWriter(ObjectFactory objectFactory, int parallelism, int chunkRows, int dictionaryLimit) {
+        if (objectFactory == null) {
+            throw new IllegalArgumentException("Object factory should not be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism should be positive");
+        }
+        if (chunkRows <= 0 || chunkRows % Byte.SIZE != 0 || chunkRows > Integer.MAX_VALUE / Long.BYTES) {
+            // null bitmap of a chunk should start at a byte boundary
+            throw new IllegalArgumentException("Chunk rows should be a positive multiple of 8 and at most "
+                                                       + Integer.MAX_VALUE / Long.BYTES);
+        }
+        if (dictionaryLimit < 0) {
+            throw new IllegalArgumentException("Dictionary limit should not be negative");
+        }
+        this.objectFactory = objectFactory;
+        this.parallelism = parallelism;
+        this.chunkRows = chunkRows;
+        this.dictionaryLimit = dictionaryLimit;
+    }
+
+    /**
+     * Generate records of given type into a file, existing file will be overwritten.
+     *
+     * @param type the POJO type to generate
+     * @param count number of records
+     * @param path the file to write
+     * @throws IOException if failed to write the file
+     * @throws IllegalArgumentException if count is negative or type has no supported field
+     * @throws ObjectCreationException if failed to generate a value
+     */
+    public void write(Class<?> type, long count, Path path) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count should not be negative");
+        }
+
+        List<Field> fields = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (Field field : objectFactory.getClassPlan(type).getFields()) {
+            if (ColumnKind.of(field.getType()) != null && !names.contains(field.getName())) {
+                fields.add(field);
+                names.add(field.getName());
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("No supported field found in type " + type);
+        }
+
+        // lay out sections of columns after header
+        long offset = DatasetFormat.align(DatasetFormat.headerSize(names));
+        List<Column> columns = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            ColumnKind kind = ColumnKind.of(field.getType());
+            boolean nullable = !field.getType().isPrimitive();
+            long dataOffset = offset;
+            offset = DatasetFormat.align(offset + count * kind.width);
+            long nullsOffset = -1;
+            if (nullable) {
+                nullsOffset = offset;
+                offset = DatasetFormat.align(offset + (count + Byte.SIZE - 1) / Byte.SIZE);
+            }
+            columns.add(new Column(field.getName(), kind, nullable, dataOffset, nullsOffset));
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            // raw strings are appended after columns, dictionaries of columns share ids
+            RawStrings raw = new RawStrings(channel, offset);
+            AtomicInteger nextId = new AtomicInteger();
+            List<WriterDictionary> dictionaries = new ArrayList<>(columns.size());
+            for (Column column : columns) {
+                dictionaries.add(column.kind == ColumnKind.STRING
+                                         ? new WriterDictionary(nextId, dictionaryLimit, raw) : null);
+            }
+            writeChunks(channel, type, count, fields, columns, dictionaries);
+
+            String[] strings = new String[nextId.get()];
+            for (WriterDictionary dictionary : dictionaries) {
+                if (dictionary != null) {
+                    dictionary.collect(strings);
+                }
+            }
+            long dictionaryOffset = DatasetFormat.align(raw.end());
+            DatasetFormat.writeDictionary(channel, dictionaryOffset, strings);
+            DatasetFormat.writeHeader(channel, new DatasetFormat.Header(count, columns, offset, dictionaryOffset,
+                                                                        strings.length));
+        }
+    }
+
+    /**
+     * Generate all chunks with worker threads, each worker takes the next chunk until all chunks are written.
+     */
+    private void writeChunks(FileChannel channel, Class<?> type, long count, List<Field> fields,
+                             List<Column> columns, List<? extends ToLongFunction<String>> encoders)
+            throws IOException {
+        long chunks = (count + chunkRows - 1) / chunkRows;
+        AtomicLong nextChunk = new AtomicLong();
+        int workers = (int) Math.min(parallelism, chunks);
+        if (workers == 0) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "columnar-dataset-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; ++i) {
+                futures.add(executor.submit(() -> {
+                    ChunkBuffers buffers = new ChunkBuffers(columns, chunkRows);
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        try {
+                            long start = chunk * chunkRows;
+                            writeChunk(channel, type, start, (int) Math.min(chunkRows, count - start),
+                                       fields, columns, encoders, buffers);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } catch (RuntimeException e) {
+                            // stop other workers
+                            nextChunk.set(chunks);
+                            throw e;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ObjectCreationException("Interrupted while writing dataset of type %s", type).withCause(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ObjectCreationException("Fail to write dataset of type %s", type).withCause(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generate rows of a chunk into buffers of every column, then write buffers at the offsets of the chunk.
+     */
+    private void writeChunk(FileChannel channel, Class<?> type, long start, int rows, List<Field> fields,
+                            List<Column> columns, List<? extends ToLongFunction<String>> encoders,
+                            ChunkBuffers buffers) throws IOException {
+        int size = columns.size();
+        ByteBuffer[] data = buffers.data;
+        ByteBuffer[] nulls = buffers.nulls;
+        for (int i = 0; i < size; ++i) {
+            data[i].clear();
+            if (nulls[i] != null) {
+                // null bits are only set, clear bits of previous chunk
+                nulls[i].clear();
+                for (int index = 0; index < nulls[i].capacity(); ++index) {
+                    nulls[i].put(index, (byte) 0);
+                }
+            }
+        }
+
+        for (int row = 0; row < rows; ++row) {
+            CycleDetector cycleDetector = new CycleDetector();
+            cycleDetector.start(type);
+            for (int i = 0; i < size; ++i) {
+                Field field = fields.get(i);
+                Column column = columns.get(i);
+                Object value = objectFactory.generateField(type, field.getGenericType(), field.getName(),
+                                                           cycleDetector);
+                if (value == null) {
+                    if (!column.nullable) {
+                        throw new ObjectCreationException("Null value generated for field %s", field);
+                    }
+                    int index = row / Byte.SIZE;
+                    nulls[i].put(index, (byte) (nulls[i].get(index) | 1 << row % Byte.SIZE));
+                    continue;
+                }
+
+                try {
+                    column.kind.write(data[i], row * column.kind.width, value, encoders.get(i));
+                } catch (ClassCastException e) {
+                    throw new ObjectCreationException("Fail to write value %s to field %s", value, field)
+                                  .withCause(e);
+                }
+            }
+            cycleDetector.end();
+        }
+
+        for (int i = 0; i < size; ++i) {
+            Column column = columns.get(i);
+            data[i].limit(rows * column.kind.width);
+            DatasetFormat.write(channel, data[i], column.dataOffset + start * column.kind.width);
+            if (column.nullable) {
+                nulls[i].limit((rows + Byte.SIZE - 1) / Byte.SIZE);
+                DatasetFormat.write(channel, nulls[i], column.nullsOffset + start / Byte.SIZE);
+            }
+        }
+    }
+
+    /**
+     * Buffers of a chunk for every column, allocated once per worker and reused by its chunks.
+     */
+    private static final class ChunkBuffers {
+
+        final ByteBuffer[] data;
+        final ByteBuffer[] nulls;
+
+        ChunkBuffers(List<Column> columns, int chunkRows) {
+            data = new ByteBuffer[columns.size()];
+            nulls = new ByteBuffer[columns.size()];
+            for (int i = 0; i < columns.size(); ++i) {
+                Column column = columns.get(i);
+                data[i] = ByteBuffer.allocateDirect(chunkRows * column.kind.width).order(ByteOrder.LITTLE_ENDIAN);
+                if (column.nullable) {
+                    nulls[i] = ByteBuffer.allocateDirect(chunkRows / Byte.SIZE);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A concurrent dictionary of a string column assigns dense ids to strings in order of first appearance, shared
+     * by dictionaries of all columns. Strings beyond the limit of distinct values are written raw.
+     */
+    private static final class WriterDictionary implements ToLongFunction<String> {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicInteger nextId;
+        private final int limit;
+        private final RawStrings raw;
+
+        WriterDictionary(AtomicInteger nextId, int limit, RawStrings raw) {
+            this.nextId = nextId;
+            this.limit = limit;
+            this.raw = raw;
+        }
+
+        /**
+         * Get id of given string, add it to dictionary if absent and the dictionary is not full.
+         *
+         * @param value the string
+         * @return id of the string, or reference to the string written raw
+         */
+        @Override
+        public long applyAsLong(String value) {
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            // racing threads may exceed the limit by a few strings, which is fine
+            if (ids.size() >= limit) {
+                return raw.applyAsLong(value);
+            }
+            return ids.computeIfAbsent(value, v -> nextId.getAndIncrement());
+        }
+
+        /**
+         * Put strings of this dictionary into array indexed by their ids.
+         *
+         * @param strings strings of all dictionaries
+         */
+        void collect(String[] strings) {
+            for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+                strings[entry.getValue()] = entry.getKey();
+            }
+        }
+
+    }
+
+    /**
+     * The raw string section of file, strings are appended concurrently at reserved positions.
+     */
+    private static final class RawStrings implements ToLongFunction<String> {
+
+        private final FileChannel channel;
+        private final long offset;
+        private final AtomicLong end;
+
+        RawStrings(FileChannel channel, long offset) {
+            this.channel = channel;
+            this.offset = offset;
+            this.end = new AtomicLong(offset);
+        }
+
+        /**
+         * Append a string to the section.
+         *
+         * @param value the string
+         * @return reference to the string
+         * @throws UncheckedIOException if failed to write
+         */
+        @Override
+        public long applyAsLong(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            // lengths are aligned to 4 bytes, so they never span segments of a mapped region
+            long position = end.getAndAdd((Integer.BYTES + bytes.length + Integer.BYTES - 1) & -Integer.BYTES);
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(bytes.length).put(bytes).flip();
+            try {
+                DatasetFormat.write(channel, buffer, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return -1 - (position - offset);
+        }
+
+        long end() {
+            return end.get();
+        }
+
+    }
+
+}
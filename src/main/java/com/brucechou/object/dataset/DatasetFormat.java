@@ -0,0 +1,208 @@
+package com.brucechou.object.dataset;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary layout of a columnar dataset file, all numbers are little endian:
+ *
+ * <pre>
+ * header:     magic, version, row count, column count,
+ *             [name length, name in UTF-8, kind, nullable, data offset, nulls offset] per column,
+ *             raw strings offset, dictionary offset, dictionary size
+ * columns:    [fixed-width values, null bitmap if nullable] per column, each section aligned to 8 bytes
+ * raw:        [length, string in UTF-8, padded to 4 bytes] per string not in dictionary, in no particular order
+ * dictionary: (size + 1) offsets of strings relative to string section, string section in UTF-8
+ * </pre>
+ *
+ * <p>A string value is a dictionary id if not negative, otherwise {@code -1 - offset} of the string relative to
+ * the raw section.
+ */
+final class DatasetFormat {
+
+    private DatasetFormat() {}
+
+    private static final int MAGIC = 0x4443464f;
+    private static final int VERSION = 2;
+    private static final int ALIGNMENT = 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Parsed header of a dataset file.
+     */
+    static final class Header {
+
+        final long rowCount;
+        final List<Column> columns;
+        final long rawOffset;
+        final long dictionaryOffset;
+        final int dictionarySize;
+
+        Header(long rowCount, List<Column> columns, long rawOffset, long dictionaryOffset, int dictionarySize) {
+            this.rowCount = rowCount;
+            this.columns = columns;
+            this.rawOffset = rawOffset;
+            this.dictionaryOffset = dictionaryOffset;
+            this.dictionarySize = dictionarySize;
+        }
+
+    }
+
+    /**
+     * Compute the size of header with given column names.
+     *
+     * @param names column names
+     * @return header size in bytes
+     */
+    static int headerSize(List<String> names) {
+        int size = 4 + 4 + 8 + 4 + 8 + 8 + 4;
+        for (String name : names) {
+            size += 2 + name.getBytes(StandardCharsets.UTF_8).length + 1 + 1 + 8 + 8;
+        }
+        return size;
+    }
+
+    /**
+     * Align an offset to the next multiple of 8.
+     *
+     * @param offset file offset
+     * @return aligned offset
+     */
+    static long align(long offset) {
+        return (offset + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Write header at the beginning of file.
+     *
+     * @param channel file channel
+     * @param header header to write
+     * @throws IOException if failed to write
+     */
+    static void writeHeader(FileChannel channel, Header header) throws IOException {
+        List<String> names = new ArrayList<>(header.columns.size());
+        for (Column column : header.columns) {
+            names.add(column.name);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize(names)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(header.rowCount).putInt(header.columns.size());
+        for (Column column : header.columns) {
+            byte[] name = column.name.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) name.length).put(name)
+                  .put((byte) column.kind.ordinal())
+                  .put((byte) (column.nullable ? 1 : 0))
+                  .putLong(column.dataOffset)
+                  .putLong(column.nullsOffset);
+        }
+        buffer.putLong(header.rawOffset).putLong(header.dictionaryOffset).putInt(header.dictionarySize);
+        buffer.flip();
+        write(channel, buffer, 0);
+    }
+
+    /**
+     * Read header at the beginning of file.
+     *
+     * @param channel file channel
+     * @return parsed header
+     * @throws IOException if failed to read
+     * @throws IllegalArgumentException if the file is not a dataset file
+     */
+    static Header readHeader(FileChannel channel) throws IOException {
+        long length = Math.min(channel.size(), Integer.MAX_VALUE);
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a columnar dataset file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported columnar dataset version " + version);
+        }
+
+        try {
+            long rowCount = buffer.getLong();
+            int columnCount = buffer.getInt();
+            List<Column> columns = new ArrayList<>(columnCount);
+            ColumnKind[] kinds = ColumnKind.values();
+            for (int i = 0; i < columnCount; ++i) {
+                byte[] name = new byte[buffer.getShort() & 0xffff];
+                buffer.get(name);
+                columns.add(new Column(new String(name, StandardCharsets.UTF_8), kinds[buffer.get()],
+                                       buffer.get() != 0, buffer.getLong(), buffer.getLong()));
+            }
+            return new Header(rowCount, columns, buffer.getLong(), buffer.getLong(), buffer.getInt());
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupted columnar dataset header", e);
+        }
+    }
+
+    /**
+     * Write string dictionary, strings are indexed by their ids.
+     *
+     * @param channel file channel
+     * @param offset file offset of dictionary
+     * @param strings strings of dictionary
+     * @throws IOException if failed to write
+     */
+    static void writeDictionary(FileChannel channel, long offset, String[] strings) throws IOException {
+        long[] offsets = new long[strings.length + 1];
+        long stringsOffset = offset + (long) offsets.length * Long.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        // string section first, offsets are known only after strings are encoded
+        long position = stringsOffset;
+        for (int i = 0; i < strings.length; ++i) {
+            byte[] bytes = strings[i].getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + bytes.length;
+            if (bytes.length > buffer.remaining()) {
+                position += flush(channel, buffer, position);
+            }
+            if (bytes.length > buffer.capacity()) {
+                position += write(channel, ByteBuffer.wrap(bytes), position);
+            } else {
+                buffer.put(bytes);
+            }
+        }
+        flush(channel, buffer, position);
+
+        position = offset;
+        for (long stringOffset : offsets) {
+            if (buffer.remaining() < Long.BYTES) {
+                position += flush(channel, buffer, position);
+            }
+            buffer.putLong(stringOffset);
+        }
+        flush(channel, buffer, position);
+    }
+
+    private static int flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int written = write(channel, buffer, position);
+        buffer.clear();
+        return written;
+    }
+
+    /**
+     * Write all remaining bytes of buffer at given position.
+     *
+     * @param channel file channel
+     * @param buffer bytes to write
+     * @param position file position
+     * @return number of bytes written
+     * @throws IOException if failed to write
+     */
+    static int write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+}
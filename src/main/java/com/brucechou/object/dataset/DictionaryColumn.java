@@ -0,0 +1,57 @@
+package com.brucechou.object.dataset;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A dictionary-encoded column of a {@link ColumnBatch}, each row holds the code of its value in the dictionary,
+ * or {@value #NULL_CODE} if null. Strings are coded in order of first appearance, enums by their ordinals.
+ *
+ * @param <T> the value type
+ */
+public final class DictionaryColumn<T> {
+
+    /**
+     * Code of null values.
+     */
+    public static final int NULL_CODE = -1;
+
+    private final int[] codes;
+    private final List<T> values;
+
+    DictionaryColumn(int[] codes, List<T> values) {
+        this.codes = codes;
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Get codes of rows, the backing array is returned without copy.
+     *
+     * @return codes of rows
+     */
+    public int[] getCodes() {
+        return codes;
+    }
+
+    /**
+     * Get the dictionary, values indexed by their codes.
+     *
+     * @return values of the dictionary
+     */
+    public List<T> getValues() {
+        return values;
+    }
+
+    /**
+     * Get the value of a row.
+     *
+     * @param row the row
+     * @return value of the row, may be null
+     * @throws ArrayIndexOutOfBoundsException if row is out of range
+     */
+    public T get(int row) {
+        int code = codes[row];
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.brucechou.object.dataset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only memory-mapped region of a file. A single mapping is limited to 2GB, so the region is mapped
+ * in segments of 1GB, which is a multiple of every column width, hence a fixed-width value never spans
+ * two segments.
+ */
+final class MappedRegion {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final ByteBuffer[] segments;
+
+    /**
+     * Map a region of given channel.
+     *
+     * @param channel file channel to map
+     * @param offset file offset of the region
+     * @param length length of the region in bytes
+     * @throws IOException if failed to map the file
+     */
+    MappedRegion(FileChannel channel, long offset, long length) throws IOException {
+        segments = new ByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; ++i) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start,
+                                      Math.min(SEGMENT_SIZE, length - start))
+                                 .order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    byte getByte(long position) {
+        return segment(position).get(index(position));
+    }
+
+    char getChar(long position) {
+        return segment(position).getChar(index(position));
+    }
+
+    short getShort(long position) {
+        return segment(position).getShort(index(position));
+    }
+
+    int getInt(long position) {
+        return segment(position).getInt(index(position));
+    }
+
+    long getLong(long position) {
+        return segment(position).getLong(index(position));
+    }
+
+    /**
+     * Copy bytes starting from given position, which may span segments.
+     *
+     * @param position start position in region
+     * @param destination destination to fill
+     */
+    void get(long position, byte[] destination) {
+        int copied = 0;
+        while (copied < destination.length) {
+            ByteBuffer segment = segment(position + copied).duplicate();
+            segment.position(index(position + copied));
+            int length = Math.min(destination.length - copied, segment.remaining());
+            segment.get(destination, copied, length);
+            copied += length;
+        }
+    }
+
+    private ByteBuffer segment(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)];
+    }
+
+    private static int index(long position) {
+        return (int) (position & SEGMENT_MASK);
+    }
+
+}
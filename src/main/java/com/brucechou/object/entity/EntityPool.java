@@ -0,0 +1,264 @@
+package com.brucechou.object.entity;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.util.Hashes;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A population of entities of a type kept as just their keys in a primitive array, so that foreign keys of other
+ * entities can reference generated entities without keeping the entities alive.
+ *
+ * <p>Bind foreign key fields to a provider of the pool created with the random supplier of object factory, e.g.
+ * {@code Bindings.bind(Order.class, "customerId", random -> customers.zipf(1.0, random))}, so that joins of
+ * generated datasets have realistic hit rates and seeded generation is reproducible. Keys must be integral numbers,
+ * i.e. {@code long}, {@code int}, {@code short} or {@code byte} or their boxed types.
+ */
+public final class EntityPool {
+
+    private final long[] keys;
+
+    // whether all keys fit in int, so int foreign keys can reference them
+    private final boolean intKeys;
+
+    private EntityPool(long[] keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("Entity pool must not be empty");
+        }
+
+        boolean fit = true;
+        for (long key : keys) {
+            fit &= key == (int) key;
+        }
+        this.keys = keys;
+        this.intKeys = fit;
+    }
+
+    /**
+     * Create an entity pool of keys.
+     *
+     * @param keys keys of entities
+     * @return entity pool
+     * @throws IllegalArgumentException if keys are null or empty
+     */
+    public static EntityPool ofKeys(long... keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Keys must be non-null");
+        }
+        return new EntityPool(keys.clone());
+    }
+
+    /**
+     * Create an entity pool of the keys of entities, entities are iterated once and not referenced afterwards,
+     * e.g. {@code stream::iterator} of {@link ObjectFactory#generateShard(Type, long)}.
+     *
+     * @param entities entities of the pool, all of the same class
+     * @param keyField name of the key field of entities
+     * @return entity pool
+     * @throws IllegalArgumentException if entities are null or empty, or any entity is null, has no such key field
+     *                                  or has a null or non-integral key
+     */
+    public static EntityPool of(Iterable<?> entities, String keyField) {
+        if (entities == null || keyField == null) {
+            throw new IllegalArgumentException("Entities and key field must be non-null");
+        }
+
+        KeyReader reader = new KeyReader(keyField);
+        long[] keys = new long[16];
+        int size = 0;
+        for (Iterator<?> iterator = entities.iterator(); iterator.hasNext(); ) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = reader.read(iterator.next());
+        }
+        return new EntityPool(Arrays.copyOf(keys, size));
+    }
+
+    /**
+     * Generate a population of entities and register their keys in an entity pool. Every entity is handed to
+     * the sink, e.g. a dataset writer, and not referenced afterwards.
+     *
+     * @param objectFactory object factory to generate entities
+     * @param type entity class
+     * @param size number of entities
+     * @param keyField name of the key field of entities
+     * @param sink consumer of generated entities
+     * @param <T> entity type
+     * @return entity pool
+     * @throws IllegalArgumentException if size is not positive, or generated entities have no such key field
+     *                                  or have a null or non-integral key
+     */
+    public static <T> EntityPool generate(ObjectFactory objectFactory, Class<T> type, int size, String keyField,
+                                          Consumer<? super T> sink) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if (keyField == null || sink == null) {
+            throw new IllegalArgumentException("Key field and sink must be non-null");
+        }
+
+        KeyReader reader = new KeyReader(keyField);
+        long[] keys = new long[size];
+        for (int i = 0; i < size; ++i) {
+            T entity = objectFactory.generate(type);
+            keys[i] = reader.read(entity);
+            sink.accept(entity);
+        }
+        return new EntityPool(keys);
+    }
+
+    /**
+     * Get number of entities.
+     *
+     * @return number of entities
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Get key of an entity.
+     *
+     * @param index index of the entity, in the order of registration
+     * @return key of the entity
+     * @throws ArrayIndexOutOfBoundsException if index is out of range
+     */
+    public long key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Create a foreign key provider samples entities uniformly with thread local random, keys are not reproducible
+     * by seeds of object factory.
+     *
+     * @return foreign key provider
+     */
+    public ForeignKeyProvider uniform() {
+        return uniform(ThreadLocalRandom::current);
+    }
+
+    /**
+     * Create a foreign key provider samples entities uniformly.
+     *
+     * @param randomSupplier random supplier
+     * @return foreign key provider
+     * @throws IllegalArgumentException if random supplier is null
+     */
+    public ForeignKeyProvider uniform(Supplier<Random> randomSupplier) {
+        return new ForeignKeyProvider(this, null, randomSupplier, "uniform");
+    }
+
+    /**
+     * Create a foreign key provider samples entities with Zipf skew with thread local random, keys are not
+     * reproducible by seeds of object factory. See {@link #zipf(double, Supplier)} for the memory it takes.
+     *
+     * @param exponent exponent of Zipf distribution, 0 for uniform
+     * @return foreign key provider
+     * @throws IllegalArgumentException if exponent is negative or not finite
+     */
+    public ForeignKeyProvider zipf(double exponent) {
+        return zipf(exponent, ThreadLocalRandom::current);
+    }
+
+    /**
+     * Create a foreign key provider samples entities with Zipf skew, the entity of rank {@code k} in the order of
+     * registration, from 1, is referenced with probability proportional to {@code 1 / k^exponent}. Since entities
+     * are generated randomly, the most popular ones are random as well.
+     *
+     * <p>Entities are sampled in constant time from an {@link com.brucechou.object.util.AliasTable}, which keeps
+     * a {@code double} and an {@code int} per key, i.e. 1.5 times the memory of the pool for each provider created.
+     * Building it takes another 3 times the memory of the pool temporarily. Share the provider rather than creating
+     * one per binding of a large pool.
+     *
+     * @param exponent exponent of Zipf distribution, 0 for uniform
+     * @param randomSupplier random supplier
+     * @return foreign key provider
+     * @throws IllegalArgumentException if exponent is negative or not finite, or random supplier is null
+     */
+    public ForeignKeyProvider zipf(double exponent, Supplier<Random> randomSupplier) {
+        if (!(exponent >= 0) || Double.isInfinite(exponent)) {
+            throw new IllegalArgumentException("Exponent must be non-negative and finite");
+        }
+
+        double[] weights = new double[keys.length];
+        for (int i = 0; i < weights.length; ++i) {
+            weights[i] = Math.pow(i + 1, -exponent);
+        }
+        return new ForeignKeyProvider(this, weights, randomSupplier, "zipf(" + exponent + ")");
+    }
+
+    boolean hasIntKeys() {
+        return intKeys;
+    }
+
+    /**
+     * Get a hash of keys in order of registration, to tell pools apart in configuration keys.
+     *
+     * @return hash of keys
+     */
+    long fingerprint() {
+        long hash = keys.length;
+        for (long key : keys) {
+            hash = Hashes.mix64(hash ^ key);
+        }
+        return hash;
+    }
+
+    /**
+     * Reads integral key field of entities, field is resolved once per class.
+     */
+    private static final class KeyReader {
+
+        private final String name;
+        private Class<?> clazz;
+        private Field field;
+
+        private KeyReader(String name) {
+            this.name = name;
+        }
+
+        private long read(Object entity) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entities must be non-null");
+            }
+            if (entity.getClass() != clazz) {
+                field = findField(entity.getClass());
+                clazz = entity.getClass();
+            }
+
+            Object key;
+            try {
+                key = field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Failed to read key field " + name, e);
+            }
+            if (!(key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte)) {
+                throw new IllegalArgumentException("Key field " + name + " must have an integral non-null value");
+            }
+            return ((Number) key).longValue();
+        }
+
+        private Field findField(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                try {
+                    Field found = c.getDeclaredField(name);
+                    found.setAccessible(true);
+                    return found;
+                } catch (NoSuchFieldException e) {
+                    // try super class
+                }
+            }
+            throw new IllegalArgumentException("No key field " + name + " in " + type.getName());
+        }
+
+    }
+
+}
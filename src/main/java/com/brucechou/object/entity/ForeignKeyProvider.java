@@ -0,0 +1,111 @@
+package com.brucechou.object.entity;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.PrimitiveProvider;
+import com.brucechou.object.util.AliasTable;
+
+import java.lang.reflect.Type;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Foreign key provider, returns keys of entities of an {@link EntityPool} sampled uniformly or by a precomputed
+ * {@link AliasTable} in constant time. Keys are returned as {@code long}, as {@code int} if all keys of the pool
+ * fit in int, or as decimal strings, and are written to primitive fields without boxing.
+ */
+public class ForeignKeyProvider implements PrimitiveProvider {
+
+    private final EntityPool pool;
+    // null if uniform
+    private final AliasTable aliasTable;
+    private final Supplier<Random> randomSupplier;
+    // describes the sampling distribution, e.g. zipf(1.0)
+    private final String distribution;
+
+    ForeignKeyProvider(EntityPool pool, double[] weights, Supplier<Random> randomSupplier, String distribution) {
+        if (randomSupplier == null) {
+            throw new IllegalArgumentException("Random supplier must be non-null");
+        }
+
+        this.pool = pool;
+        this.aliasTable = weights == null ? null : new AliasTable(weights);
+        this.randomSupplier = randomSupplier;
+        this.distribution = distribution;
+    }
+
+    /**
+     * Sample a key of the pool.
+     *
+     * @return sampled key
+     */
+    public long nextKey() {
+        Random random = randomSupplier.get();
+        int index = aliasTable == null ? random.nextInt(pool.size()) : aliasTable.sample(random);
+        return pool.key(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type) {
+        long key = nextKey();
+        if (type == long.class || type == Long.class) {
+            return (T) Long.valueOf(key);
+        }
+        if (type == String.class) {
+            return (T) Long.toString(key);
+        }
+        if ((type == int.class || type == Integer.class) && pool.hasIntKeys()) {
+            return (T) Integer.valueOf((int) key);
+        }
+        throw new ObjectCreationException("Foreign keys of type %s are not supported", type.getTypeName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(Class<?> type) {
+        if (!pool.hasIntKeys()) {
+            throw new ObjectCreationException("Foreign keys of type %s are not supported", type.getTypeName());
+        }
+        return (int) nextKey();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(Class<?> type) {
+        return nextKey();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recognizes(Type type) {
+        return type == long.class || type == Long.class || type == String.class
+                || (pool.hasIntKeys() && (type == int.class || type == Integer.class));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String configurationKey() {
+        return getClass().getName() + "(" + pool.fingerprint() + "," + distribution + ")";
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.brucechou.object.event;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+/**
+ * A generation recorder that emits Java Flight Recorder events. Top-level generations and proxy
+ * creations are always recorded, provider invocations are sampled once per given interval on each thread.
+ * This class references {@code jdk.jfr} and must only be loaded through {@link FlightRecorders}.
+ */
+class FlightRecorderGenerationRecorder implements GenerationRecorder {
+
+    private final int sampleInterval;
+    private final ThreadLocal<int[]> invocations = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Create a flight recorder generation recorder.
+     *
+     * @param sampleInterval record one provider invocation out of every interval invocations
+     */
+    FlightRecorderGenerationRecorder(int sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T recordGeneration(Type type, CycleDetector cycleDetector, Supplier<T> generation) {
+        GenerationEvent event = new GenerationEvent();
+        if (!event.isEnabled()) {
+            return generation.get();
+        }
+
+        event.begin();
+        try {
+            return generation.get();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = type.getTypeName();
+                event.nodeCount = cycleDetector.getNodeCount();
+                event.depth = cycleDetector.getMaxDepth();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T recordProvider(Provider provider, Type type, Supplier<T> invocation) {
+        int[] counter = invocations.get();
+        if (++counter[0] < sampleInterval) {
+            return invocation.get();
+        }
+        counter[0] = 0;
+
+        ProviderInvocationEvent event = new ProviderInvocationEvent();
+        if (!event.isEnabled()) {
+            return invocation.get();
+        }
+
+        event.begin();
+        try {
+            return invocation.get();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.provider = provider.getClass().getName();
+                event.type = type.getTypeName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T recordProxyCreation(Class<?> proxied, Supplier<T> creation) {
+        ProxyCreationEvent event = new ProxyCreationEvent();
+        if (!event.isEnabled()) {
+            return creation.get();
+        }
+
+        event.begin();
+        try {
+            return creation.get();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.proxiedClass = proxied;
+                event.commit();
+            }
+        }
+    }
+
+}
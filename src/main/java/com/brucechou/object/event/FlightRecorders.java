@@ -0,0 +1,55 @@
+package com.brucechou.object.event;
+
+/**
+ * Utility to create flight recorder backed generation recorder only when Java Flight Recorder is available.
+ */
+public final class FlightRecorders {
+
+    private static final String EVENT_CLASS_NAME = "jdk.jfr.Event";
+    private static final String RECORDER_CLASS_NAME =
+            "com.brucechou.object.event.FlightRecorderGenerationRecorder";
+
+    private FlightRecorders() {}
+
+    /**
+     * Check if Java Flight Recorder event API is available in current runtime.
+     *
+     * @return true if flight recorder is available, otherwise false
+     */
+    public static boolean isAvailable() {
+        try {
+            Class.forName(EVENT_CLASS_NAME, false, FlightRecorders.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create a generation recorder that emits flight recorder events, fallback to a
+     * {@link NullGenerationRecorder} if flight recorder is not available.
+     *
+     * @param sampleInterval record one provider invocation out of every interval invocations
+     * @return created generation recorder
+     * @throws IllegalArgumentException if given sample interval is not positive
+     */
+    public static GenerationRecorder create(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+
+        if (!isAvailable()) {
+            return new NullGenerationRecorder();
+        }
+
+        try {
+            // load reflectively, so that jdk.jfr classes are never resolved when flight recorder is absent
+            return (GenerationRecorder) Class.forName(RECORDER_CLASS_NAME)
+                                             .getDeclaredConstructor(int.class)
+                                             .newInstance(sampleInterval);
+        } catch (Exception | LinkageError e) {
+            return new NullGenerationRecorder();
+        }
+    }
+
+}
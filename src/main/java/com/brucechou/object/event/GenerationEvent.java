@@ -0,0 +1,29 @@
+package com.brucechou.object.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a top-level {@code ObjectFactory.generate} call.
+ */
+@Name("com.brucechou.object.Generation")
+@Label("Object Generation")
+@Category("Object Factory")
+@Description("A top-level object generation")
+class GenerationEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Node Count")
+    @Description("Number of nodes generated in the object graph")
+    long nodeCount;
+
+    @Label("Depth")
+    @Description("Deepest path length of the object graph")
+    int depth;
+
+}
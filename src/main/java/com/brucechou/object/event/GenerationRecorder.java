@@ -0,0 +1,47 @@
+package com.brucechou.object.event;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+/**
+ * An interface to record the generation work done by object factory, such as top-level generations,
+ * provider invocations and proxy class creations.
+ */
+public interface GenerationRecorder {
+
+    /**
+     * Record a top-level generation for given type.
+     *
+     * @param type the type to create
+     * @param cycleDetector the cycle detector used by this generation, holds node count and depth
+     * @param generation the actual generation
+     * @param <T> the type to create
+     * @return generated value
+     */
+    <T> T recordGeneration(Type type, CycleDetector cycleDetector, Supplier<T> generation);
+
+    /**
+     * Record a provider invocation for given type.
+     *
+     * @param provider the provider invoked
+     * @param type the type to create
+     * @param invocation the actual provider invocation
+     * @param <T> the type to create
+     * @return generated value
+     */
+    <T> T recordProvider(Provider provider, Type type, Supplier<T> invocation);
+
+    /**
+     * Record a proxy creation for given interface or abstract class.
+     *
+     * @param proxied the interface or abstract class to proxy
+     * @param creation the actual proxy creation
+     * @param <T> the type of created proxy
+     * @return created proxy
+     */
+    <T> T recordProxyCreation(Class<?> proxied, Supplier<T> creation);
+
+}
@@ -0,0 +1,38 @@
+package com.brucechou.object.event;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+/**
+ * A null generation recorder that records nothing and runs the given work directly.
+ */
+public class NullGenerationRecorder implements GenerationRecorder {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T recordGeneration(Type type, CycleDetector cycleDetector, Supplier<T> generation) {
+        return generation.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T recordProvider(Provider provider, Type type, Supplier<T> invocation) {
+        return invocation.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T recordProxyCreation(Class<?> proxied, Supplier<T> creation) {
+        return creation.get();
+    }
+
+}
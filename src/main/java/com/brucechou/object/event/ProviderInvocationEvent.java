@@ -0,0 +1,24 @@
+package com.brucechou.object.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a sampled provider invocation.
+ */
+@Name("com.brucechou.object.ProviderInvocation")
+@Label("Provider Invocation")
+@Category("Object Factory")
+@Description("A sampled provider invocation")
+class ProviderInvocationEvent extends Event {
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Type")
+    String type;
+
+}
@@ -0,0 +1,21 @@
+package com.brucechou.object.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a proxy creation of interface or abstract class.
+ */
+@Name("com.brucechou.object.ProxyCreation")
+@Label("Proxy Creation")
+@Category("Object Factory")
+@Description("A proxy creation for interface or abstract class")
+class ProxyCreationEvent extends Event {
+
+    @Label("Proxied Class")
+    Class<?> proxiedClass;
+
+}
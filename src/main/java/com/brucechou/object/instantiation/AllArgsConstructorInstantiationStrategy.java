@@ -0,0 +1,190 @@
+package com.brucechou.object.instantiation;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.util.Inspector;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An instantiation strategy for immutable value classes, e.g. Lombok {@code @Value} and {@code @AllArgsConstructor}
+ * types, which passes all field values to a constructor in a single pass.
+ *
+ * <p>Constructor parameters are mapped to fields declared by the class, by parameter names if the class is compiled
+ * with {@code -parameters}, otherwise by declaration order if parameter types match field types one by one, or by
+ * types if every parameter type matches exactly one field. Arguments are generated with field bindings of the
+ * mapped fields, and mapped fields are not set again by setters or reflection. The constructor mapping most fields
+ * is used, classes without any mappable constructor fall back to {@link ConstructorInstantiationStrategy}.
+ */
+public class AllArgsConstructorInstantiationStrategy implements InstantiationStrategy {
+
+    private static final InstantiationStrategy FALLBACK = new ConstructorInstantiationStrategy();
+
+    // class -> constructor with mapped field names, or null constructor if none can be mapped
+    private final ClassValue<Mapping> mappings = new ClassValue<Mapping>() {
+        @Override
+        protected Mapping computeValue(Class<?> clazz) {
+            return map(clazz);
+        }
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T instantiate(Class<T> clazz, ObjectFactory objectFactory, CycleDetector cycleDetector) {
+        Mapping mapping = mappings.get(clazz);
+        if (mapping.constructor == null) {
+            return FALLBACK.instantiate(clazz, objectFactory, cycleDetector);
+        }
+
+        try {
+            Type[] parameterTypes = mapping.constructor.getGenericParameterTypes();
+            Class<?>[] parameterClasses = mapping.constructor.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; ++i) {
+                args[i] = objectFactory.generateField(clazz, parameterTypes[i], mapping.fieldNames.get(i),
+                                                      cycleDetector);
+                if (args[i] == null && parameterClasses[i].isPrimitive()) {
+                    // bound provider returned null, fall back to default value of primitive
+                    args[i] = Array.get(Array.newInstance(parameterClasses[i], 1), 0);
+                }
+            }
+            return (T) mapping.constructor.newInstance(args);
+        } catch (Exception e) {
+            throw new ObjectCreationException("Fail to create instance for type %s", clazz).withCause(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getInitializedFields(Class<?> clazz) {
+        return mappings.get(clazz).fieldNames;
+    }
+
+    /**
+     * Find the constructor mapping most fields of given class.
+     *
+     * @param clazz the class to instantiate
+     * @return the constructor and mapped field names
+     */
+    private static Mapping map(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (!Inspector.isStatic(field) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+
+        Mapping best = new Mapping(null, Collections.emptyList());
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            if (constructor.getParameterCount() <= best.fieldNames.size() || constructor.isSynthetic()) {
+                continue;
+            }
+
+            List<String> fieldNames = mapParameters(constructor, fields);
+            if (fieldNames != null) {
+                best = new Mapping(constructor, fieldNames);
+            }
+        }
+
+        if (best.constructor != null) {
+            try {
+                best.constructor.setAccessible(true);
+            } catch (RuntimeException e) {
+                return new Mapping(null, Collections.emptyList());
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Map parameters of a constructor to fields.
+     *
+     * @param constructor the constructor to map
+     * @param fields fields declared by the class
+     * @return field names in parameter order, or null if any parameter cannot be mapped
+     */
+    private static List<String> mapParameters(Constructor<?> constructor, List<Field> fields) {
+        Parameter[] parameters = constructor.getParameters();
+        String[] fieldNames = new String[parameters.length];
+
+        if (parameters[0].isNamePresent()) {
+            for (int i = 0; i < parameters.length; ++i) {
+                Field field = findField(fields, parameters[i].getName());
+                if (field == null || !field.getGenericType().equals(parameters[i].getParameterizedType())) {
+                    return null;
+                }
+                fieldNames[i] = field.getName();
+            }
+            return Collections.unmodifiableList(Arrays.asList(fieldNames));
+        }
+
+        // parameter names are not compiled, try declaration order, e.g. generated all-args constructors
+        if (parameters.length == fields.size()) {
+            boolean ordered = true;
+            for (int i = 0; i < parameters.length && ordered; ++i) {
+                ordered = fields.get(i).getGenericType().equals(parameters[i].getParameterizedType());
+                fieldNames[i] = fields.get(i).getName();
+            }
+            if (ordered) {
+                return Collections.unmodifiableList(Arrays.asList(fieldNames));
+            }
+        }
+
+        // then try types, each parameter type must identify a single field
+        Arrays.fill(fieldNames, null);
+        for (int i = 0; i < parameters.length; ++i) {
+            Field match = null;
+            for (Field field : fields) {
+                if (field.getGenericType().equals(parameters[i].getParameterizedType())) {
+                    if (match != null) {
+                        return null;
+                    }
+                    match = field;
+                }
+            }
+            if (match == null || Arrays.asList(fieldNames).contains(match.getName())) {
+                return null;
+            }
+            fieldNames[i] = match.getName();
+        }
+        return Collections.unmodifiableList(Arrays.asList(fieldNames));
+    }
+
+    private static Field findField(List<Field> fields, String name) {
+        for (Field field : fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A constructor with field names mapped to its parameters.
+     */
+    private static final class Mapping {
+
+        private final Constructor<?> constructor;
+        private final List<String> fieldNames;
+
+        private Mapping(Constructor<?> constructor, List<String> fieldNames) {
+            this.constructor = constructor;
+            this.fieldNames = fieldNames;
+        }
+    }
+
+}
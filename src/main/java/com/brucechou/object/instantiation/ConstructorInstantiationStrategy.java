@@ -0,0 +1,42 @@
+package com.brucechou.object.instantiation;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.cycle.CycleDetector;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+
+/**
+ * The default instantiation strategy, invokes the constructor found by class spy with generated arguments.
+ */
+public class ConstructorInstantiationStrategy implements InstantiationStrategy {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T instantiate(Class<T> clazz, ObjectFactory objectFactory, CycleDetector cycleDetector) {
+        // accessibility of non-public constructor is already granted in plan
+        final Constructor<?> constructor = objectFactory.getClassPlan(clazz).getConstructor();
+        if (constructor == null) {
+            throw new ObjectCreationException("No constructor found for type %s", clazz);
+        }
+
+        try {
+            // generate arguments based on argument list
+            final Type[] parameterTypes = constructor.getGenericParameterTypes();
+            final Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; ++i) {
+                // it is not possible to get constructor's parameter name after compilation
+                // hence we cannot check bound provider for constructor's arguments
+                args[i] = objectFactory.generate(parameterTypes[i], cycleDetector);
+            }
+            return (T) constructor.newInstance(args);
+        } catch (Exception e) {
+            throw new ObjectCreationException("Fail to create instance for type %s", clazz).withCause(e);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.brucechou.object.instantiation;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.cycle.CycleDetector;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An interface to create the instance of a POJO before its setters are invoked and fields are set.
+ */
+public interface InstantiationStrategy {
+
+    /**
+     * Create an instance of given class.
+     *
+     * @param clazz the class to instantiate
+     * @param objectFactory the object factory generating the instance, e.g. to generate constructor arguments
+     * @param cycleDetector dependency cycle detector
+     * @param <T> the type of given class
+     * @return created instance
+     * @throws ObjectCreationException if failed to create the instance
+     */
+    <T> T instantiate(Class<T> clazz, ObjectFactory objectFactory, CycleDetector cycleDetector);
+
+    /**
+     * Get names of fields already populated by {@link #instantiate(Class, ObjectFactory, CycleDetector)}, e.g. by
+     * constructor arguments, which are not populated again by setters or reflection.
+     *
+     * @param clazz the class to instantiate
+     * @return names of populated fields, empty by default
+     */
+    default List<String> getInitializedFields(Class<?> clazz) {
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.brucechou.object.instantiation;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.cycle.CycleDetector;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * An instantiation strategy allocates instances without running any constructor of the class, the same way as
+ * deserialization does, with serialization constructors created by {@code sun.reflect.ReflectionFactory}.
+ *
+ * <p>It suits POJOs whose fields are all set afterwards: constructors with side effects or argument validation
+ * are skipped, and no constructor argument is generated. Field initializers do not run either, so fields not
+ * populated by the object factory, e.g. final or transient ones, are left null, zero or false.
+ */
+public class SerializationInstantiationStrategy implements InstantiationStrategy {
+
+    // ReflectionFactory#newConstructorForSerialization, null if not available in current runtime
+    private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+    private static final Object REFLECTION_FACTORY;
+
+    static {
+        Method method = null;
+        Object factory = null;
+        try {
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+        } catch (Exception | LinkageError e) {
+            // not available, fail on instantiation
+            method = null;
+        }
+        REFLECTION_FACTORY = factory;
+        NEW_CONSTRUCTOR_FOR_SERIALIZATION = method;
+    }
+
+    // class -> serialization constructor
+    private final ClassValue<Constructor<?>> constructors = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> clazz) {
+            return newConstructorForSerialization(clazz);
+        }
+    };
+
+    /**
+     * Check if constructors can be bypassed in current runtime.
+     *
+     * @return true if serialization constructors are available
+     */
+    public static boolean isAvailable() {
+        return NEW_CONSTRUCTOR_FOR_SERIALIZATION != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T instantiate(Class<T> clazz, ObjectFactory objectFactory, CycleDetector cycleDetector) {
+        try {
+            return (T) constructors.get(clazz).newInstance();
+        } catch (ObjectCreationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ObjectCreationException("Fail to allocate instance for type %s", clazz).withCause(e);
+        }
+    }
+
+    /**
+     * Create a constructor instantiates given class by invoking the no-arg constructor of {@link Object} only.
+     *
+     * @param clazz the class to instantiate
+     * @return serialization constructor
+     * @throws ObjectCreationException if the class is abstract or serialization constructors are not available
+     */
+    private static Constructor<?> newConstructorForSerialization(Class<?> clazz) {
+        if (!isAvailable()) {
+            throw new ObjectCreationException("Serialization constructor is not available for type %s", clazz);
+        }
+
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            throw new ObjectCreationException("Cannot allocate abstract type %s", clazz);
+        }
+
+        try {
+            Constructor<?> constructor = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION
+                    .invoke(REFLECTION_FACTORY, clazz, Object.class.getDeclaredConstructor());
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (Exception e) {
+            throw new ObjectCreationException("Fail to create serialization constructor for type %s", clazz)
+                          .withCause(e);
+        }
+    }
+
+}
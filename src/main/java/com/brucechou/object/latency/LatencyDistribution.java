@@ -0,0 +1,93 @@
+package com.brucechou.object.latency;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * A distribution of latencies, e.g. of remote calls, simulated by generated futures.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Draw a latency from the distribution.
+     *
+     * @param random the random to draw with
+     * @return latency in nanoseconds, non-negative
+     */
+    long nextNanos(Random random);
+
+    /**
+     * Get a distribution of a fixed latency.
+     *
+     * @param latency the latency
+     * @return a fixed distribution
+     * @throws IllegalArgumentException if latency is null or negative
+     */
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = toNanos(latency, "Latency");
+        return random -> nanos;
+    }
+
+    /**
+     * Get a uniform distribution of latencies between min and max.
+     *
+     * @param min the min latency, inclusive
+     * @param max the max latency, exclusive
+     * @return a uniform distribution
+     * @throws IllegalArgumentException if min or max is null or negative, or min is greater than max
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = toNanos(min, "Min latency");
+        long maxNanos = toNanos(max, "Max latency");
+        if (minNanos > maxNanos) {
+            throw new IllegalArgumentException("Min latency must be less than or equal to max latency");
+        }
+        long range = maxNanos - minNanos;
+        return random -> range == 0 ? minNanos : minNanos + (long) (random.nextDouble() * range);
+    }
+
+    /**
+     * Get an exponential distribution of latencies with given mean, e.g. of queueing delays.
+     *
+     * @param mean the mean latency
+     * @return an exponential distribution
+     * @throws IllegalArgumentException if mean is null or negative
+     */
+    static LatencyDistribution exponential(Duration mean) {
+        long meanNanos = toNanos(mean, "Mean latency");
+        return random -> (long) (-Math.log(1.0 - random.nextDouble()) * meanNanos);
+    }
+
+    /**
+     * Get a log-normal distribution of latencies, which has the long tail latencies of services usually have.
+     *
+     * @param median the median latency
+     * @param sigma the standard deviation of the logarithm of latencies, larger for longer tails
+     * @return a log-normal distribution
+     * @throws IllegalArgumentException if median is null or negative, or sigma is negative
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        long medianNanos = toNanos(median, "Median latency");
+        if (!(sigma >= 0)) {
+            throw new IllegalArgumentException("Sigma must be non-negative");
+        }
+        return random -> (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Convert a duration to nanoseconds.
+     *
+     * @param duration the duration
+     * @param name the name of duration for error message
+     * @return nanoseconds of duration
+     * @throws IllegalArgumentException if duration is null or negative
+     */
+    static long toNanos(Duration duration, String name) {
+        if (duration == null || duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must be non-null and non-negative");
+        }
+        return duration.toNanos();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.brucechou.object.latency;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scheduler completes generated futures after their simulated latencies.
+ */
+@FunctionalInterface
+public interface LatencyScheduler {
+
+    /**
+     * Schedule a task after a delay.
+     *
+     * @param task the task to run
+     * @param delayNanos the delay in nanoseconds
+     */
+    void schedule(Runnable task, long delayNanos);
+
+    /**
+     * Get a scheduler runs tasks on given executor, dependents of futures completed by the scheduler run on
+     * the threads of the executor, as dependents of remote calls run on I/O threads.
+     *
+     * @param executor the scheduled executor
+     * @return a scheduler of the executor
+     * @throws IllegalArgumentException if executor is null
+     */
+    static LatencyScheduler of(ScheduledExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must be non-null");
+        }
+        return (task, delayNanos) -> executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the shared scheduler, a single daemon thread created on first use.
+     *
+     * @return the shared scheduler
+     */
+    static LatencyScheduler shared() {
+        return SharedScheduler.INSTANCE;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.brucechou.object.latency;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Holder of the shared scheduler of {@link LatencyScheduler#shared()}, created on first use.
+ */
+final class SharedScheduler {
+
+    static final LatencyScheduler INSTANCE = create();
+
+    private SharedScheduler() {}
+
+    private static LatencyScheduler create() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "object-factory-latency");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return LatencyScheduler.of(executor);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.brucechou.object.latency;
+
+/**
+ * Exception of generated futures failed by the simulated failure rate.
+ */
+public class SimulatedFailureException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create a simulated failure.
+     *
+     * @param message the message
+     */
+    public SimulatedFailureException(String message) {
+        super(message);
+    }
+
+}
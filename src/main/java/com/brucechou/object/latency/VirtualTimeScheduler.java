@@ -0,0 +1,111 @@
+package com.brucechou.object.latency;
+
+import java.time.Duration;
+import java.util.PriorityQueue;
+
+/**
+ * A scheduler of virtual time for deterministic tests, tasks run only when the time is advanced, on the thread
+ * advancing it, in the order of their due time and then the order they were scheduled.
+ */
+public final class VirtualTimeScheduler implements LatencyScheduler {
+
+    // pending tasks ordered by due time and sequence
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+
+    private long now;
+    private long sequence;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void schedule(Runnable task, long delayNanos) {
+        tasks.add(new Task(now + Math.max(0, delayNanos), sequence++, task));
+    }
+
+    /**
+     * Get current virtual time.
+     *
+     * @return nanoseconds elapsed since the scheduler was created
+     */
+    public synchronized long now() {
+        return now;
+    }
+
+    /**
+     * Get number of pending tasks.
+     *
+     * @return number of pending tasks
+     */
+    public synchronized int pending() {
+        return tasks.size();
+    }
+
+    /**
+     * Advance the virtual time, and run tasks due in the meantime, including tasks scheduled by them.
+     *
+     * @param duration the duration to advance
+     * @return number of tasks run
+     * @throws IllegalArgumentException if duration is null or negative
+     */
+    public int advance(Duration duration) {
+        long target;
+        synchronized (this) {
+            target = now + LatencyDistribution.toNanos(duration, "Duration");
+        }
+        return runUntil(target);
+    }
+
+    /**
+     * Advance the virtual time until no task is pending, and run all tasks.
+     *
+     * @return number of tasks run
+     */
+    public int runAll() {
+        return runUntil(Long.MAX_VALUE);
+    }
+
+    private int runUntil(long target) {
+        int count = 0;
+        while (true) {
+            Task task;
+            synchronized (this) {
+                task = tasks.peek();
+                if (task == null || task.due > target) {
+                    if (target != Long.MAX_VALUE) {
+                        now = Math.max(now, target);
+                    }
+                    return count;
+                }
+                tasks.poll();
+                now = Math.max(now, task.due);
+            }
+            // run outside of the lock, tasks may schedule other tasks
+            task.runnable.run();
+            ++count;
+        }
+    }
+
+    /**
+     * A pending task.
+     */
+    private static final class Task implements Comparable<Task> {
+
+        private final long due;
+        private final long sequence;
+        private final Runnable runnable;
+
+        private Task(long due, long sequence, Runnable runnable) {
+            this.due = due;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int result = Long.compare(due, other.due);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+}
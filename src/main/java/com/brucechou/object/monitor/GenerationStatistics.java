@@ -0,0 +1,74 @@
+package com.brucechou.object.monitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Thread-safe counters of top-level generations done by an object factory.
+ */
+@ThreadSafe
+public final class GenerationStatistics {
+
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Record a top-level generation.
+     *
+     * @param nodeCount number of nodes generated in the object graph
+     */
+    public void record(int nodeCount) {
+        generations.increment();
+        nodes.add(nodeCount);
+    }
+
+    /**
+     * Get number of top-level generations since last reset.
+     *
+     * @return generation count
+     */
+    public long getGenerationCount() {
+        return generations.sum();
+    }
+
+    /**
+     * Get number of generated nodes since last reset.
+     *
+     * @return node count
+     */
+    public long getNodeCount() {
+        return nodes.sum();
+    }
+
+    /**
+     * Get average number of nodes per top-level generation since last reset.
+     *
+     * @return average graph size, or 0 if there is no generation yet
+     */
+    public double getAverageGraphSize() {
+        long generationCount = getGenerationCount();
+        return generationCount == 0 ? 0 : (double) getNodeCount() / generationCount;
+    }
+
+    /**
+     * Get average top-level generations per second since last reset.
+     *
+     * @return generation throughput
+     */
+    public double getThroughput() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : (double) getGenerationCount() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public void reset() {
+        generations.reset();
+        nodes.reset();
+        startNanos = System.nanoTime();
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.brucechou.object.monitor;
+
+import com.brucechou.object.util.CacheStatistics;
+
+/**
+ * Management interface of an object factory, exposes throughput, cache statistics and configuration.
+ */
+public interface ObjectFactoryMXBean {
+
+    /**
+     * Get number of top-level generations since last reset.
+     *
+     * @return generation count
+     */
+    long getGenerationCount();
+
+    /**
+     * Get average top-level generations per second since last reset.
+     *
+     * @return generation throughput
+     */
+    double getThroughput();
+
+    /**
+     * Get average number of nodes per top-level generation since last reset.
+     *
+     * @return average graph size
+     */
+    double getAverageGraphSize();
+
+    /**
+     * Get statistics of class metadata cache.
+     *
+     * @return cache statistics
+     */
+    CacheStatistics getMetadataCache();
+
+    /**
+     * Get statistics of provider dispatch cache.
+     *
+     * @return cache statistics
+     */
+    CacheStatistics getProviderCache();
+
+    /**
+     * Get combined statistics of all caching resolvers.
+     *
+     * @return cache statistics
+     */
+    CacheStatistics getResolverCache();
+
+    /**
+     * Get min size for generated collection, map, array, stream etc.
+     *
+     * @return min size
+     */
+    int getMinSize();
+
+    /**
+     * Get max size for generated collection, map, array, stream etc.
+     *
+     * @return max size
+     */
+    int getMaxSize();
+
+    /**
+     * Get class names of configured providers, in the order they are processed.
+     *
+     * @return provider class names
+     */
+    String[] getProviders();
+
+    /**
+     * Get class names of configured resolvers.
+     *
+     * @return resolver class names
+     */
+    String[] getResolvers();
+
+    /**
+     * Remove all cached entries of metadata, provider dispatch and resolver caches.
+     */
+    void clearCaches();
+
+    /**
+     * Reset generation counters and cache counters.
+     */
+    void resetStatistics();
+
+}
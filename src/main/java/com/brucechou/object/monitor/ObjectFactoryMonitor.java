@@ -0,0 +1,177 @@
+package com.brucechou.object.monitor;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.util.CacheStatistics;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * MBean implementation of {@link ObjectFactoryMXBean} that delegates to an object factory.
+ * Registered MBean keeps the object factory reachable until {@link #unregister()} is called.
+ */
+public class ObjectFactoryMonitor implements ObjectFactoryMXBean {
+
+    private static final String DOMAIN = "com.brucechou.object";
+
+    private final ObjectFactory objectFactory;
+
+    /**
+     * The object name this monitor registered with, null if not registered.
+     */
+    @Getter
+    private volatile ObjectName objectName;
+
+    /**
+     * Create a monitor for given object factory.
+     *
+     * @param objectFactory object factory to monitor
+     */
+    public ObjectFactoryMonitor(ObjectFactory objectFactory) {
+        this.objectFactory = objectFactory;
+    }
+
+    /**
+     * Register this monitor to platform MBean server as {@code com.brucechou.object:type=ObjectFactory,name=...},
+     * any MBean registered with the same name will be replaced.
+     *
+     * @param name the name of the object factory
+     * @throws IllegalStateException if failed to register
+     */
+    public synchronized void register(String name) {
+        unregister();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName newName = new ObjectName(DOMAIN + ":type=ObjectFactory,name=" + ObjectName.quote(name));
+            if (server.isRegistered(newName)) {
+                server.unregisterMBean(newName);
+            }
+            server.registerMBean(this, newName);
+            objectName = newName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Fail to register MBean for object factory " + name, e);
+        }
+    }
+
+    /**
+     * Unregister this monitor from platform MBean server, do nothing if not registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            // already unregistered by others, intentionally ignored
+        } finally {
+            objectName = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getGenerationCount() {
+        return objectFactory.getStatistics().getGenerationCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getThroughput() {
+        return objectFactory.getStatistics().getThroughput();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAverageGraphSize() {
+        return objectFactory.getStatistics().getAverageGraphSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheStatistics getMetadataCache() {
+        return objectFactory.getMetadataCacheStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheStatistics getProviderCache() {
+        return objectFactory.getProviderCacheStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheStatistics getResolverCache() {
+        return objectFactory.getResolverCacheStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMinSize() {
+        return objectFactory.getMinSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMaxSize() {
+        return objectFactory.getMaxSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getProviders() {
+        return objectFactory.getProviders().stream().map(p -> p.getClass().getName()).toArray(String[]::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getResolvers() {
+        return objectFactory.getResolvers().stream().map(r -> r.getClass().getName()).toArray(String[]::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearCaches() {
+        objectFactory.clearCaches();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetStatistics() {
+        objectFactory.resetStatistics();
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.brucechou.object.plan;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.constraint.Constraints;
+import com.brucechou.object.constraint.FieldConstraint;
+import com.brucechou.object.spy.ClassSpy;
+
+import lombok.Getter;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generation plan of a class, holds the constructor, setters and fields found by {@link ClassSpy},
+ * and optionally their validation constraints compiled by {@link Constraints}, so that reflective lookups are done
+ * only once per class.
+ */
+@Getter
+public final class ClassPlan {
+
+    private final Class<?> type;
+
+    /**
+     * Constructor used to instantiate the class, accessibility is already granted, may be null.
+     */
+    private final Constructor<?> constructor;
+
+    /**
+     * Setters to invoke, in the same order of {@link #setterFieldNames}.
+     */
+    private final List<Method> setters;
+
+    /**
+     * Field names extracted from setters.
+     */
+    private final List<String> setterFieldNames;
+
+    /**
+     * Fields to set, accessibility is already granted.
+     */
+    private final List<Field> fields;
+
+    /**
+     * Constraints of fields set by setters, in the same order of {@link #setters}, null elements if unconstrained.
+     */
+    private final List<FieldConstraint> setterConstraints;
+
+    /**
+     * Constraints of fields, in the same order of {@link #fields}, null elements if unconstrained.
+     */
+    private final List<FieldConstraint> fieldConstraints;
+
+    private ClassPlan(Class<?> type, Constructor<?> constructor, List<Method> setters,
+                      List<String> setterFieldNames, List<Field> fields, List<FieldConstraint> setterConstraints,
+                      List<FieldConstraint> fieldConstraints) {
+        this.type = type;
+        this.constructor = constructor;
+        this.setters = Collections.unmodifiableList(setters);
+        this.setterFieldNames = Collections.unmodifiableList(setterFieldNames);
+        this.fields = Collections.unmodifiableList(fields);
+        this.setterConstraints = Collections.unmodifiableList(setterConstraints);
+        this.fieldConstraints = Collections.unmodifiableList(fieldConstraints);
+    }
+
+    /**
+     * Create generation plan for given class with class spy.
+     *
+     * @param clazz the class to plan
+     * @param classSpy class spy to find constructor, setters and fields
+     * @return created class plan
+     */
+    public static ClassPlan of(Class<?> clazz, ClassSpy classSpy) {
+        return of(clazz, classSpy, false);
+    }
+
+    /**
+     * Create generation plan for given class with class spy, with validation constraints of fields if required.
+     * Constraints of setters are read from the fields of the same names.
+     *
+     * @param clazz the class to plan
+     * @param classSpy class spy to find constructor, setters and fields
+     * @param validationConstraints whether to compile validation constraints of fields
+     * @return created class plan
+     */
+    public static ClassPlan of(Class<?> clazz, ClassSpy classSpy, boolean validationConstraints) {
+        Constructor<?> constructor = classSpy.findConstructor(clazz);
+        if (constructor != null) {
+            // allow the invocation of non-public constructor
+            grantAccess(constructor);
+        }
+
+        List<Method> setters = classSpy.findMethods(clazz, classSpy.getSetterFilter());
+        List<String> setterFieldNames = new ArrayList<>(setters.size());
+        for (Method setter : setters) {
+            setterFieldNames.add(classSpy.extractFieldNameFromSetter(setter));
+        }
+
+        List<Field> fields = classSpy.findFields(clazz, classSpy.getFieldFilter());
+        for (Field field : fields) {
+            grantAccess(field);
+        }
+
+        List<FieldConstraint> setterConstraints = new ArrayList<>(setters.size());
+        for (String setterFieldName : setterFieldNames) {
+            Field field = validationConstraints ? findField(clazz, setterFieldName) : null;
+            setterConstraints.add(field == null ? null : Constraints.of(field));
+        }
+
+        List<FieldConstraint> fieldConstraints = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            fieldConstraints.add(validationConstraints ? Constraints.of(field) : null);
+        }
+
+        return new ClassPlan(clazz, constructor, setters, setterFieldNames, fields, setterConstraints,
+                             fieldConstraints);
+    }
+
+    /**
+     * Find the field of a name declared by given class or its super classes.
+     *
+     * @param clazz the class to find field
+     * @param name name of the field
+     * @return the field found, or null if not found
+     */
+    private static Field findField(Class<?> clazz, String name) {
+        for (Class<?> c = clazz; c != null && name != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create an instance with constructor, arguments are default values of their types, i.e. null, zero or false.
+     * It is used to restore an instance whose fields are set afterwards.
+     *
+     * @return created instance
+     * @throws ObjectCreationException if there is no constructor or failed to invoke it
+     */
+    public Object newEmptyInstance() {
+        if (constructor == null) {
+            throw new ObjectCreationException("No constructor found for type %s", type);
+        }
+
+        try {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; ++i) {
+                if (parameterTypes[i].isPrimitive()) {
+                    args[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                }
+            }
+            return constructor.newInstance(args);
+        } catch (Exception e) {
+            throw new ObjectCreationException("Fail to create instance for type %s", type).withCause(e);
+        }
+    }
+
+    /**
+     * Try to grant access to given member, any error will be surfaced while the member is actually used.
+     *
+     * @param member constructor or field to access
+     */
+    private static void grantAccess(AccessibleObject member) {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException e) {
+            // intentionally ignored
+        }
+    }
+
+}
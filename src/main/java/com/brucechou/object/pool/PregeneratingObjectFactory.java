@@ -0,0 +1,237 @@
+package com.brucechou.object.pool;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.util.CacheStatistics;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An object factory decorator keeps a bounded ring buffer of pre-generated objects per type, filled by background
+ * worker threads, so that an object is handed out by a lock-free poll instead of generated on the latency-critical
+ * path.
+ *
+ * <p>Once a buffer drops to the low watermark, it is scheduled to be refilled up to the high watermark, workers never
+ * fill beyond it. If a buffer is empty, the object is generated inline on the calling thread and counted as a miss,
+ * so consumers faster than workers are slowed down to the inline generation rate rather than blocked.
+ * A type whose generation fails in background is no longer pre-generated, so the failure surfaces inline.
+ */
+@ThreadSafe
+public final class PregeneratingObjectFactory implements AutoCloseable {
+
+    // placeholder of generated null, since ring buffer uses null as empty
+    private static final Object NULL = new Object();
+
+    // number of objects generated for a type before giving other types a chance
+    private static final int BATCH_SIZE = 32;
+
+    private final ObjectFactory objectFactory;
+    private final int capacity;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final Map<Type, Pool> pools = new ConcurrentHashMap<>();
+    private final BlockingQueue<Pool> refills = new LinkedBlockingQueue<>();
+    private final Thread[] workers;
+    private volatile boolean closed;
+
+    /**
+     * Pre-generated objects of a type.
+     */
+    private final class Pool {
+
+        private final Type type;
+        private final RingBuffer<Object> buffer = new RingBuffer<>(capacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private volatile boolean failed;
+
+        private Pool(Type type) {
+            this.type = type;
+        }
+
+        private CacheStatistics getStatistics() {
+            return new CacheStatistics(buffer.size(), hitCount.sum(), missCount.sum());
+        }
+
+    }
+
+    /**
+     * Create a pre-generating object factory, buffers are refilled once they drop to a quarter of capacity.
+     *
+     * @param objectFactory object factory to generate objects
+     * @param capacity capacity of buffer per type
+     * @param workers number of background worker threads
+     */
+    public PregeneratingObjectFactory(ObjectFactory objectFactory, int capacity, int workers) {
+        this(objectFactory, capacity, capacity / 4, capacity, workers);
+    }
+
+    /**
+     * Create a pre-generating object factory.
+     *
+     * @param objectFactory object factory to generate objects
+     * @param capacity capacity of buffer per type
+     * @param lowWatermark a buffer is scheduled to be refilled once its size drops to this watermark
+     * @param highWatermark workers stop filling a buffer once its size reaches this watermark
+     * @param workers number of background worker threads
+     * @throws IllegalArgumentException if object factory is null, capacity or workers is not positive,
+     *                                  or watermarks are not in range {@code 0 <= low < high <= capacity}
+     */
+    public PregeneratingObjectFactory(ObjectFactory objectFactory, int capacity, int lowWatermark,
+                                      int highWatermark, int workers) {
+        if (objectFactory == null) {
+            throw new IllegalArgumentException("Object factory should not be null");
+        }
+        if (capacity <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("Capacity and workers should be positive");
+        }
+        if (lowWatermark < 0 || lowWatermark >= highWatermark || highWatermark > capacity) {
+            throw new IllegalArgumentException("Watermarks should be 0 <= low < high <= capacity");
+        }
+
+        this.objectFactory = objectFactory;
+        this.capacity = capacity;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.workers = new Thread[workers];
+        for (int i = 0; i < workers; ++i) {
+            this.workers[i] = new Thread(this::work, "pregenerating-object-factory-" + i);
+            this.workers[i].setDaemon(true);
+            this.workers[i].start();
+        }
+    }
+
+    /**
+     * Start pre-generating objects of given types before they are requested.
+     *
+     * @param types types to pre-generate
+     */
+    public void register(Type... types) {
+        for (Type type : types) {
+            schedule(getPool(type));
+        }
+    }
+
+    /**
+     * Get a pre-generated object of type, or generate one inline if none is available.
+     *
+     * @param type the type to create
+     * @param <T> the type to create
+     * @return generated value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generate(Type type) {
+        if (closed) {
+            return objectFactory.generate(type);
+        }
+
+        Pool pool = getPool(type);
+        Object value = pool.buffer.poll();
+        if (value == null) {
+            pool.missCount.increment();
+            schedule(pool);
+            return objectFactory.generate(type);
+        }
+
+        pool.hitCount.increment();
+        if (pool.buffer.size() <= lowWatermark) {
+            schedule(pool);
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * Get combined statistics of all types, size is the number of pre-generated objects, hits are objects handed
+     * out from buffers and misses are objects generated inline.
+     *
+     * @return pool statistics
+     */
+    public CacheStatistics getStatistics() {
+        CacheStatistics result = CacheStatistics.EMPTY;
+        for (Pool pool : pools.values()) {
+            result = result.plus(pool.getStatistics());
+        }
+        return result;
+    }
+
+    /**
+     * Get statistics of given type.
+     *
+     * @param type the type
+     * @return pool statistics of the type
+     */
+    public CacheStatistics getStatistics(Type type) {
+        Pool pool = pools.get(type);
+        return pool == null ? CacheStatistics.EMPTY : pool.getStatistics();
+    }
+
+    /**
+     * Stop background workers and drop pre-generated objects, later generations are done inline.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        pools.clear();
+        refills.clear();
+    }
+
+    private Pool getPool(Type type) {
+        return pools.computeIfAbsent(type, Pool::new);
+    }
+
+    private void schedule(Pool pool) {
+        if (!closed && !pool.failed && pool.scheduled.compareAndSet(false, true)) {
+            refills.add(pool);
+        }
+    }
+
+    /**
+     * Worker loop, takes scheduled buffers and fills them in batches.
+     */
+    private void work() {
+        while (!closed) {
+            Pool pool;
+            try {
+                pool = refills.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            pool.scheduled.set(false);
+            fill(pool);
+        }
+    }
+
+    private void fill(Pool pool) {
+        for (int i = 0; i < BATCH_SIZE; ++i) {
+            if (closed || pool.buffer.size() >= highWatermark) {
+                return;
+            }
+
+            Object value;
+            try {
+                value = objectFactory.generate(pool.type);
+            } catch (RuntimeException e) {
+                // leave the type to inline generation, which reports the error to the caller
+                pool.failed = true;
+                return;
+            }
+
+            if (!pool.buffer.offer(value == null ? NULL : value)) {
+                return;
+            }
+        }
+        // give other types a chance before filling more
+        schedule(pool);
+    }
+
+}
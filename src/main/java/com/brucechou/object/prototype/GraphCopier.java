@@ -0,0 +1,265 @@
+package com.brucechou.object.prototype;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.collection.VirtualList;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.instantiation.InstantiationStrategy;
+import com.brucechou.object.instantiation.SerializationInstantiationStrategy;
+import com.brucechou.object.plan.ClassPlan;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Copies a prototype graph structurally by class plans and re-randomizes some fields of the copied POJOs.
+ *
+ * <p>Immutable leaves are shared with the prototype, arrays, POJOs, collections and maps with public default
+ * constructors are copied, shared references and reference cycles are kept. Values which cannot be copied safely,
+ * e.g. streams, iterators, futures and proxies, are generated again.
+ */
+final class GraphCopier {
+
+    private static final InstantiationStrategy ALLOCATION = new SerializationInstantiationStrategy();
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class, Class.class));
+
+    private final ObjectFactory objectFactory;
+    private final double mutationRate;
+    private final Set<String> paths;
+    private final Random random;
+    private final CycleDetector cycleDetector = new CycleDetector();
+
+    // prototype object -> its copy
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    GraphCopier(ObjectFactory objectFactory, double mutationRate, Set<String> paths) {
+        this.objectFactory = objectFactory;
+        this.mutationRate = mutationRate;
+        this.paths = paths;
+        this.random = objectFactory.getRandom();
+    }
+
+    /**
+     * Copy a value of the prototype graph.
+     *
+     * @param type the type of value
+     * @param value the value to copy
+     * @param path dotted field path of the value, null if paths are not tracked
+     * @return copied value
+     */
+    @SuppressWarnings("unchecked")
+    Object copy(Type type, Object value, String path) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+
+        Class<?> clazz = value.getClass();
+        if (value instanceof Optional) {
+            Object element = ((Optional<?>) value).orElse(null);
+            copy = Optional.ofNullable(copy(getTypeArgument(type, 0), element, path));
+        } else if (value instanceof Date) {
+            copy = ((Date) value).clone();
+        } else if (clazz.isArray()) {
+            copy = copyArray(type, value, path);
+        } else if (Proxy.isProxyClass(clazz) || value instanceof javassist.util.proxy.Proxy) {
+            copy = objectFactory.generate(type, cycleDetector);
+        } else if (CompactCollections.isCompact(value)) {
+            copy = copyCompact(type, value, path);
+        } else if (value instanceof Collection && hasPublicDefaultConstructor(clazz)) {
+            Collection<Object> collection = (Collection<Object>) newInstance(clazz);
+            copies.put(value, collection);
+            Type elementType = getTypeArgument(type, 0);
+            for (Object element : (Collection<?>) value) {
+                collection.add(copy(elementType, element, path));
+            }
+            copy = collection;
+        } else if (value instanceof Map && hasPublicDefaultConstructor(clazz)) {
+            Map<Object, Object> map = (Map<Object, Object>) newInstance(clazz);
+            copies.put(value, map);
+            Type keyType = getTypeArgument(type, 0);
+            Type valueType = getTypeArgument(type, 1);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(copy(keyType, entry.getKey(), path), copy(valueType, entry.getValue(), path));
+            }
+            copy = map;
+        } else if (isPlatformClass(clazz)) {
+            // platform values which are neither immutable nor containers, e.g. streams, iterators and futures
+            return objectFactory.generate(type, cycleDetector);
+        } else {
+            copy = copyObject(clazz, value, path);
+        }
+
+        copies.put(value, copy);
+        return copy;
+    }
+
+    /**
+     * Copy a compact collection or map, which is immutable but may hold mutable elements.
+     *
+     * @param type the type of value
+     * @param value the compact collection or map
+     * @param path dotted field path of the value
+     * @return copied compact collection or map
+     */
+    private Object copyCompact(Type type, Object value, String path) {
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Object[] keys = new Object[map.size()];
+            Object[] values = new Object[map.size()];
+            int i = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                keys[i] = copy(getTypeArgument(type, 0), entry.getKey(), path);
+                values[i++] = copy(getTypeArgument(type, 1), entry.getValue(), path);
+            }
+            return CompactCollections.mapOf(keys, values, keys.length);
+        }
+
+        Object[] elements = ((Collection<?>) value).toArray();
+        for (int i = 0; i < elements.length; ++i) {
+            elements[i] = copy(getTypeArgument(type, 0), elements[i], path);
+        }
+        return value instanceof Set ? CompactCollections.setOf(elements, elements.length)
+                                    : CompactCollections.listOf(elements);
+    }
+
+    private Object copyArray(Type type, Object array, String path) {
+        int length = Array.getLength(array);
+        Class<?> componentClass = array.getClass().getComponentType();
+        if (componentClass.isPrimitive()) {
+            Object copy = Array.newInstance(componentClass, length);
+            System.arraycopy(array, 0, copy, 0, length);
+            return copy;
+        }
+
+        Type componentType = type instanceof GenericArrayType ? ((GenericArrayType) type).getGenericComponentType()
+                                                              : componentClass;
+        Object[] copy = (Object[]) Array.newInstance(componentClass, length);
+        copies.put(array, copy);
+        for (int i = 0; i < length; ++i) {
+            copy[i] = copy(componentType, ((Object[]) array)[i], path);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy a POJO field by field without running its constructor, each field is generated again at mutation rate,
+     * or if its path is configured to mutate.
+     *
+     * @param clazz the class of the POJO
+     * @param value the POJO to copy
+     * @param path dotted field path of the POJO
+     * @return copied POJO
+     */
+    private Object copyObject(Class<?> clazz, Object value, String path) {
+        CycleDetector.CycleNode cycle = cycleDetector.start(clazz);
+        try {
+            ClassPlan plan = objectFactory.getClassPlan(clazz);
+            // fields are all copied, constructors are skipped if possible
+            Object copy = SerializationInstantiationStrategy.isAvailable()
+                                  ? ALLOCATION.instantiate(clazz, objectFactory, cycleDetector)
+                                  : plan.newEmptyInstance();
+            copies.put(value, copy);
+
+            List<Field> fields = plan.getFields();
+            for (int i = 0; i < fields.size(); ++i) {
+                Field field = fields.get(i);
+                String fieldPath = path == null ? null
+                                                : path.isEmpty() ? field.getName() : path + "." + field.getName();
+                Type fieldType = field.getGenericType();
+                try {
+                    Object fieldValue;
+                    if (mutates(fieldPath)) {
+                        fieldValue = objectFactory.generateField(clazz, fieldType, field.getName(),
+                                                                 plan.getFieldConstraints().get(i), cycleDetector);
+                    } else {
+                        fieldValue = copy(fieldType, field.get(value), fieldPath);
+                    }
+                    if (fieldValue != null || !field.getType().isPrimitive()) {
+                        field.set(copy, fieldValue);
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new ObjectCreationException("Fail to copy field %s for instance type %s", field, clazz)
+                                  .withCause(e);
+                }
+            }
+            return copy;
+        } finally {
+            // cycle detected means the type is already in the path, nothing started
+            if (cycle == null) {
+                cycleDetector.end();
+            }
+        }
+    }
+
+    private boolean mutates(String path) {
+        return path != null && paths.contains(path) || mutationRate > 0 && random.nextDouble() < mutationRate;
+    }
+
+    private static Object newInstance(Class<?> clazz) {
+        try {
+            return clazz.getConstructor().newInstance();
+        } catch (Exception e) {
+            throw new ObjectCreationException("Fail to create instance for type %s", clazz).withCause(e);
+        }
+    }
+
+    private static Type getTypeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    private static boolean isImmutable(Object value) {
+        Class<?> clazz = value.getClass();
+        return IMMUTABLE_TYPES.contains(clazz) || value instanceof Enum || value instanceof VirtualList
+                       || clazz.getName().startsWith("java.time.");
+    }
+
+    private static boolean isPlatformClass(Class<?> clazz) {
+        return clazz.getName().startsWith("java.") || clazz.getName().startsWith("javax.");
+    }
+
+    private static boolean hasPublicDefaultConstructor(Class<?> clazz) {
+        if (!Modifier.isPublic(clazz.getModifiers())) {
+            return false;
+        }
+        try {
+            clazz.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.brucechou.object.prototype;
+
+import com.brucechou.object.ObjectFactory;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Generates objects by copying a prototype graph generated once per type, and re-randomizing a part of the fields,
+ * which is much faster than generating large graphs from scratch while keeping values varied.
+ *
+ * <p>Copies are structural and driven by class plans: POJOs, arrays, collections and maps are copied, immutable
+ * leaves such as strings, boxed primitives, enums and big numbers are shared. Each field of each copied POJO is
+ * generated again at the mutation rate, fields on configured paths, e.g. {@code customer.name}, are always
+ * generated again. Paths are field names joined by dots, collections, maps, arrays and optionals are transparent.
+ */
+@ThreadSafe
+public final class PrototypeObjectFactory {
+
+    private final ObjectFactory objectFactory;
+    private final double mutationRate;
+    private final Set<String> paths;
+
+    // type -> prototype, empty if generated null
+    private final Map<Type, Optional<Object>> prototypes = new ConcurrentHashMap<>();
+
+    /**
+     * Create a prototype object factory re-randomizing fields at given rate.
+     *
+     * @param objectFactory the object factory generating prototypes and mutated fields
+     * @param mutationRate probability of generating each field again, between 0 and 1
+     * @throws IllegalArgumentException if object factory is null or mutation rate is out of range
+     */
+    public PrototypeObjectFactory(ObjectFactory objectFactory, double mutationRate) {
+        this(objectFactory, mutationRate, Collections.emptySet());
+    }
+
+    /**
+     * Create a prototype object factory re-randomizing fields at given rate and fields on given paths.
+     *
+     * @param objectFactory the object factory generating prototypes and mutated fields
+     * @param mutationRate probability of generating each field again, between 0 and 1
+     * @param paths dotted field paths always generated again
+     * @throws IllegalArgumentException if object factory or paths is null, or mutation rate is out of range
+     */
+    public PrototypeObjectFactory(ObjectFactory objectFactory, double mutationRate, Collection<String> paths) {
+        if (objectFactory == null) {
+            throw new IllegalArgumentException("Object factory must be non-null");
+        }
+
+        if (!(mutationRate >= 0 && mutationRate <= 1)) {
+            throw new IllegalArgumentException("Mutation rate must be between 0 and 1");
+        }
+
+        if (paths == null) {
+            throw new IllegalArgumentException("Paths must be non-null");
+        }
+
+        this.objectFactory = objectFactory;
+        this.mutationRate = mutationRate;
+        this.paths = Collections.unmodifiableSet(new HashSet<>(paths));
+    }
+
+    /**
+     * Generate an object of type by copying and mutating the prototype of the type, the prototype is generated
+     * on first call.
+     *
+     * @param type the type to create
+     * @param <T> the type to create
+     * @return generated value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generate(Type type) {
+        Object prototype = getPrototype(type);
+        // paths are tracked only if configured, to save string concatenations
+        return (T) new GraphCopier(objectFactory, mutationRate, paths).copy(type, prototype,
+                                                                            paths.isEmpty() ? null : "");
+    }
+
+    /**
+     * Get the prototype of type, generated on first call.
+     *
+     * @param type the type of prototype
+     * @param <T> the type of prototype
+     * @return the prototype shared by generations, must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPrototype(Type type) {
+        return (T) prototypes.computeIfAbsent(type, t -> Optional.ofNullable(objectFactory.generate(t))).orElse(null);
+    }
+
+    /**
+     * Discard all prototypes, new prototypes are generated on next calls.
+     */
+    public void clearPrototypes() {
+        prototypes.clear();
+    }
+
+}
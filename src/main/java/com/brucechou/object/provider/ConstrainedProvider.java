@@ -0,0 +1,26 @@
+package com.brucechou.object.provider;
+
+import com.brucechou.object.constraint.FieldConstraint;
+import com.brucechou.object.cycle.CycleDetector;
+
+import java.lang.reflect.Type;
+
+/**
+ * A provider generates values satisfying {@link FieldConstraint}s of fields directly, e.g. numbers within a range
+ * or collections of a size. Object factory passes the constraints of fields to constrained providers if validation
+ * constraints are enabled, constraints a provider does not apply to the type are ignored.
+ */
+public interface ConstrainedProvider extends Provider {
+
+    /**
+     * Get a value of type satisfying the constraint.
+     *
+     * @param type the type to create
+     * @param constraint the constraint of the value
+     * @param cycleDetector dependency cycle detector
+     * @param <T> the type to create
+     * @return generated value
+     */
+    <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector);
+
+}
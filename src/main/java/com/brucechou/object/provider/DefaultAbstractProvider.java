@@ -58,7 +58,8 @@ public class DefaultAbstractProvider implements Provider, WithResolver {
         checkIfSupported(clazz);
         ProxyFactory factory = new ProxyFactory();
         factory.setSuperclass(clazz);
-        Object object = newInstance(factory.createClass());
+        Class<?> proxyClass = objectFactory.getRecorder().recordProxyCreation(clazz, factory::createClass);
+        Object object = newInstance(proxyClass);
 
         ((Proxy) object).setHandler(new Handler(objectFactory));
 
@@ -1,6 +1,7 @@
 package com.brucechou.object.provider;
 
 import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
 
 import lombok.AllArgsConstructor;
@@ -13,10 +14,10 @@ import java.util.function.Supplier;
 
 /**
  * Default array provider, try to create array with random size, and fill it
- * with random generated objects.
+ * with random generated objects. Arrays of a {@link FieldConstraint} have sizes within its size range.
  */
 @AllArgsConstructor
-public class DefaultArrayProvider implements Provider, WithRandomSize {
+public class DefaultArrayProvider implements ConstrainedProvider, WithRandomSize {
 
     private final ObjectFactory objectFactory;
     private final Supplier<Random> randomSupplier;
@@ -25,14 +26,22 @@ public class DefaultArrayProvider implements Provider, WithRandomSize {
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type, null, cycleDetector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
         if (type instanceof Class) {
-            return (T) createArray(((Class<?>) type).getComponentType(), cycleDetector);
+            return (T) createArray(((Class<?>) type).getComponentType(), constraint, cycleDetector);
         }
 
         if (type instanceof GenericArrayType) {
-            return (T) createArray(((GenericArrayType) type).getGenericComponentType(), cycleDetector);
+            return (T) createArray(((GenericArrayType) type).getGenericComponentType(), constraint, cycleDetector);
         }
 
         throw new IllegalArgumentException("Unknown type: " + type);
@@ -42,12 +51,13 @@ public class DefaultArrayProvider implements Provider, WithRandomSize {
      * Create an array for specific type with cycle detector.
      *
      * @param type the component type of the array
+     * @param constraint the constraint of size, null if unconstrained
      * @param cycleDetector dependency cycle detector
      * @return an array with random size with component objects filled
      */
-    private Object createArray(Type type, CycleDetector cycleDetector) {
+    private Object createArray(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
         Object array;
-        int length = getRandomSize(objectFactory, randomSupplier.get());
+        int length = getRandomSize(objectFactory, randomSupplier.get(), constraint);
         if (type instanceof Class) {
             array = Array.newInstance((Class<?>) type, length);
         } else {
@@ -2,7 +2,10 @@ package com.brucechou.object.provider;
 
 import com.brucechou.object.ObjectCreationException;
 import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.SizedConstructors.SizedConstructor;
 import com.brucechou.object.util.Inspector;
 
 import lombok.AllArgsConstructor;
@@ -21,9 +24,26 @@ import java.util.function.Supplier;
 
 /**
  * Default collection provider, provide list, set, queue with random size and random elements.
+ * Collections of a {@link FieldConstraint} have sizes within its size range.
  */
 @AllArgsConstructor
-public class DefaultCollectionProvider implements Provider, WithRandomSize, WithResolver {
+public class DefaultCollectionProvider implements ConstrainedProvider, WithRandomSize, WithResolver {
+
+    // max number of elements generated per element of constrained sets, as generated elements may be duplicated
+    private static final int MAX_ATTEMPTS_PER_ELEMENT = 10;
+
+    // marks collection types whose concrete type has to be resolved on each creation
+    private static final SizedConstructor RESOLVE = capacity -> {
+        throw new IllegalStateException("Concrete type not resolved");
+    };
+
+    // collection type -> constructor
+    private static final ClassValue<SizedConstructor> CONSTRUCTORS = new ClassValue<SizedConstructor>() {
+        @Override
+        protected SizedConstructor computeValue(Class<?> clazz) {
+            return findConstructor(clazz);
+        }
+    };
 
     private final ObjectFactory objectFactory;
     private final Supplier<Random> randomSupplier;
@@ -32,21 +52,49 @@ public class DefaultCollectionProvider implements Provider, WithRandomSize, With
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type, null, cycleDetector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
         if (type instanceof Class) {
+            if (isCompact((Class<?>) type)) {
+                return (T) createCompactCollection((Class<?>) type, new Object[0]);
+            }
             return (T) createCollection((Class<Collection>) type, 0);
         }
 
         if (type instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) type;
             Class<?> raw = (Class<?>) parameterizedType.getRawType();
-            int length = getRandomSize(objectFactory, randomSupplier.get());
+            Random random = randomSupplier.get();
+            int length = getRandomSize(objectFactory, random, constraint);
+
+            if (isVirtual(raw)) {
+                return (T) LazyGeneration.virtualList(objectFactory, parameterizedType.getActualTypeArguments()[0],
+                                                      cycleDetector, random.nextLong(), length);
+            }
+
+            if (isCompact(raw)) {
+                Object[] elements = new Object[length];
+                Type component = parameterizedType.getActualTypeArguments()[0];
+                for (int i = 0; i < length; ++i) {
+                    elements[i] = objectFactory.generate(component, cycleDetector);
+                }
+                return (T) createCompactCollection(raw, elements);
+            }
 
             Collection<?> collection = createCollection(raw, length);
 
             Type component = parameterizedType.getActualTypeArguments()[0];
-            for (int i = 0; i < length; ++i) {
+            // constrained sets generate more elements to reach the size in spite of duplicates
+            int attempts = constraint == null ? length : length * MAX_ATTEMPTS_PER_ELEMENT;
+            for (int i = 0; i < attempts && collection.size() < length; ++i) {
                 collection.add(objectFactory.generate(component, cycleDetector));
             }
 
@@ -56,6 +104,43 @@ public class DefaultCollectionProvider implements Provider, WithRandomSize, With
         throw new IllegalArgumentException("Unknown type: " + type);
     }
 
+    /**
+     * Check if virtual list should be created for given class, i.e. virtual collections are enabled and
+     * the class is exactly {@link Collection} or {@link List}.
+     *
+     * @param clazz collection type to create
+     * @return true if virtual list should be created
+     */
+    private boolean isVirtual(Class<?> clazz) {
+        return objectFactory.isVirtualCollections() && (clazz == Collection.class || clazz == List.class);
+    }
+
+    /**
+     * Check if compact collection should be created for given class, i.e. compact collections are enabled and
+     * the class is exactly {@link Collection}, {@link List} or {@link Set}.
+     *
+     * @param clazz collection type to create
+     * @return true if compact collection should be created
+     */
+    private boolean isCompact(Class<?> clazz) {
+        return objectFactory.isCompactCollections()
+                       && (clazz == Collection.class || clazz == List.class || clazz == Set.class);
+    }
+
+    /**
+     * Create a compact immutable collection of given elements.
+     *
+     * @param clazz collection type to create
+     * @param elements elements of the collection
+     * @return created compact collection
+     */
+    private Collection<?> createCompactCollection(Class<?> clazz, Object[] elements) {
+        if (clazz == Set.class) {
+            return CompactCollections.setOf(elements, elements.length);
+        }
+        return CompactCollections.listOf(elements);
+    }
+
     /**
      * Create an empty collection with specify capacity, if given class is interface or abstract,
      * it will try to use default concrete class or try to resolve the concrete class.
@@ -67,32 +152,51 @@ public class DefaultCollectionProvider implements Provider, WithRandomSize, With
      * @throws ObjectCreationException if fail to create object
      */
     private Collection<?> createCollection(Class<?> clazz, int length) {
+        SizedConstructor constructor = CONSTRUCTORS.get(clazz);
         Class<?> concreteClazz = clazz;
 
-        if (Inspector.isInterface(clazz) || Inspector.isAbstract(clazz)) {
-            if (Set.class.isAssignableFrom(clazz)) {
-                return new HashSet<>(length);
-            } else if (List.class.isAssignableFrom(clazz) || Collection.class.equals(clazz)) {
-                return new ArrayList<>(length);
-            } else if (Queue.class.isAssignableFrom(clazz)) {
-                return new ArrayDeque<>(length);
-            } else {
-                concreteClazz = resolveConcreteType(objectFactory, clazz);
-                if (concreteClazz == null) {
-                    throw new IllegalArgumentException("Unknown type: " + clazz);
-                }
+        if (constructor == RESOLVE) {
+            // resolved types may vary between calls, only their constructors are cached
+            concreteClazz = resolveConcreteType(objectFactory, clazz);
+            if (concreteClazz == null) {
+                throw new IllegalArgumentException("Unknown type: " + clazz);
             }
+            constructor = SizedConstructors.of(concreteClazz);
         }
 
         try {
-            return (Collection<?>) concreteClazz.newInstance();
-        } catch (Exception e) {
+            return (Collection<?>) constructor.newInstance(length);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new ObjectCreationException("Fail to create new instance for type %s and concrete type %s",
                                               clazz, concreteClazz)
                           .withCause(e);
         }
     }
 
+    /**
+     * Get the constructor of given collection type, a default concrete class for interfaces and abstract classes,
+     * or {@link #RESOLVE} if concrete class has to be resolved.
+     *
+     * @param clazz collection type to create
+     * @return sized constructor
+     */
+    private static SizedConstructor findConstructor(Class<?> clazz) {
+        if (Inspector.isInterface(clazz) || Inspector.isAbstract(clazz)) {
+            if (Set.class.isAssignableFrom(clazz)) {
+                return HashSet::new;
+            } else if (List.class.isAssignableFrom(clazz) || Collection.class.equals(clazz)) {
+                return ArrayList::new;
+            } else if (Queue.class.isAssignableFrom(clazz)) {
+                return ArrayDeque::new;
+            }
+            return RESOLVE;
+        }
+
+        return SizedConstructors.of(clazz);
+    }
+
     /**
      * {@inheritDoc}
      */
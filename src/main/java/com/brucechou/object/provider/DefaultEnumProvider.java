@@ -10,10 +10,19 @@ import java.util.function.Supplier;
 
 /**
  * Default enum provider, return random enum value from all available enums.
+ * Use {@link WeightedEnumProvider} for skewed distributions of enum values.
  */
 @AllArgsConstructor
 public class DefaultEnumProvider implements Provider {
 
+    // enum class -> enum constants, shared and never exposed since getEnumConstants clones on each call
+    private static final ClassValue<Object[]> CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(Class<?> clazz) {
+            return clazz.getEnumConstants();
+        }
+    };
+
     private final Supplier<Random> randomSupplier;
 
     /**
@@ -22,9 +31,10 @@ public class DefaultEnumProvider implements Provider {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(Type type) {
-        Class<?> clazz = (Class<?>) type;
-
-        final Object[] enums = clazz.getEnumConstants();
+        final Object[] enums = CONSTANTS.get((Class<?>) type);
+        if (enums == null) {
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
 
         return (T) (enums.length == 0 ? null : enums[randomSupplier.get().nextInt(enums.length)]);
     }
@@ -2,13 +2,18 @@ package com.brucechou.object.provider;
 
 import com.brucechou.object.ObjectFactory;
 import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.latency.LatencyDistribution;
+import com.brucechou.object.latency.LatencyScheduler;
+import com.brucechou.object.latency.SimulatedFailureException;
 
 import lombok.AllArgsConstructor;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
@@ -16,7 +21,8 @@ import java.util.concurrent.FutureTask;
 import java.util.concurrent.RecursiveTask;
 
 /**
- * Default {@link Future} provider, generate a completed future with random value as result.
+ * Default {@link Future} provider, generate a completed future with random value as result, or a future completed
+ * after a simulated latency if {@link ObjectFactory#getFutureLatency()} is configured.
  */
 @AllArgsConstructor
 public class DefaultFutureProvider implements Provider {
@@ -60,6 +66,78 @@ public class DefaultFutureProvider implements Provider {
         throw new IllegalArgumentException("Unknown type: " + type);
     }
 
+    /**
+     * Create a future object with given value as result, completed already or after a simulated latency.
+     *
+     * @param type the type of future
+     * @param value the given value as result
+     * @param <T> the type of future
+     * @return a future object
+     */
+    private <T> T createFuture(Type type, Object value) {
+        LatencyDistribution latency = objectFactory.getFutureLatency();
+        if (latency == null) {
+            return createCompletedFuture(type, value);
+        }
+
+        // latency and failure are drawn at generation, so they follow seeds of generations
+        Random random = objectFactory.getRandom();
+        long delay = Math.max(0, latency.nextNanos(random));
+        boolean failed = random.nextDouble() < objectFactory.getFutureFailureRate();
+        return createDelayedFuture(type, value, delay, failed);
+    }
+
+    /**
+     * Create a future object completed after a delay on the future scheduler.
+     *
+     * @param type the type of future
+     * @param value the given value as result
+     * @param delay the delay in nanoseconds
+     * @param failed whether the future fails instead of completing with value
+     * @param <T> the type of future
+     * @return a pending future object
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T createDelayedFuture(Type type, Object value, long delay, boolean failed) {
+        LatencyScheduler scheduler = objectFactory.getFutureScheduler();
+        Callable<Object> result = () -> {
+            if (failed) {
+                throw new SimulatedFailureException("Simulated failure after " + delay + "ns");
+            }
+            return value;
+        };
+
+        if (CompletableFuture.class.equals(type) || Future.class.equals(type)) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                try {
+                    future.complete(result.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }, delay);
+            return (T) future;
+        } else if (FutureTask.class.equals(type)) {
+            FutureTask<Object> futureTask = new FutureTask<>(result);
+            scheduler.schedule(futureTask, delay);
+            return (T) futureTask;
+        } else if (ForkJoinTask.class.equals(type)) {
+            ForkJoinTask<Object> forkJoinTask = new RecursiveTask<Object>() {
+                @Override
+                protected Object compute() {
+                    if (failed) {
+                        throw new SimulatedFailureException("Simulated failure after " + delay + "ns");
+                    }
+                    return value;
+                }
+            };
+            scheduler.schedule(forkJoinTask::quietlyInvoke, delay);
+            return (T) forkJoinTask;
+        } else {
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+    }
+
     /**
      * Create a completed future object with given value as result.
      *
@@ -69,7 +147,7 @@ public class DefaultFutureProvider implements Provider {
      * @return a completed future object
      */
     @SuppressWarnings("unchecked")
-    private <T> T createFuture(Type type, Object value) {
+    private <T> T createCompletedFuture(Type type, Object value) {
         if (CompletableFuture.class.equals(type) || Future.class.equals(type)) {
             return (T) CompletableFuture.completedFuture(value);
         } else if (FutureTask.class.equals(type)) {
@@ -50,7 +50,8 @@ public class DefaultInterfaceProvider implements Provider, WithResolver {
      */
     @SuppressWarnings("unchecked")
     private <T> T handleInterface(Class<?> clazz) {
-        return (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class[] {clazz}, new Handler(objectFactory));
+        return objectFactory.getRecorder().recordProxyCreation(clazz, () -> (T) Proxy.newProxyInstance(
+                clazz.getClassLoader(), new Class[] {clazz}, new Handler(objectFactory)));
     }
 
     /**
@@ -34,11 +34,17 @@ public class DefaultIterableProvider implements Provider, WithRandomSize {
 
         if (type instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) type;
-            int length = getRandomSize(objectFactory, randomSupplier.get());
+            Random random = randomSupplier.get();
+            int length = getRandomSize(objectFactory, random);
+            Type component = parameterizedType.getActualTypeArguments()[0];
+
+            if (objectFactory.isVirtualCollections()) {
+                return (T) LazyGeneration.virtualList(objectFactory, component, cycleDetector, random.nextLong(),
+                                                      length);
+            }
 
             List<?> collection = new ArrayList<>(length);
 
-            Type component = parameterizedType.getActualTypeArguments()[0];
             for (int i = 0; i < length; ++i) {
                 collection.add(objectFactory.generate(component, cycleDetector));
             }
@@ -2,7 +2,10 @@ package com.brucechou.object.provider;
 
 import com.brucechou.object.ObjectCreationException;
 import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.SizedConstructors.SizedConstructor;
 import com.brucechou.object.util.Inspector;
 
 import lombok.AllArgsConstructor;
@@ -16,9 +19,26 @@ import java.util.function.Supplier;
 
 /**
  * Default map provider, generate map with random keys and values.
+ * Maps of a {@link FieldConstraint} have sizes within its size range.
  */
 @AllArgsConstructor
-public class DefaultMapProvider implements Provider, WithRandomSize {
+public class DefaultMapProvider implements ConstrainedProvider, WithRandomSize {
+
+    // max number of entries generated per entry of constrained maps, as generated keys may be duplicated
+    private static final int MAX_ATTEMPTS_PER_ENTRY = 10;
+
+    // marks abstract types which are not maps
+    private static final SizedConstructor UNKNOWN = capacity -> {
+        throw new IllegalStateException("Unknown type");
+    };
+
+    // map type -> constructor
+    private static final ClassValue<SizedConstructor> CONSTRUCTORS = new ClassValue<SizedConstructor>() {
+        @Override
+        protected SizedConstructor computeValue(Class<?> clazz) {
+            return findConstructor(clazz);
+        }
+    };
 
     private final ObjectFactory objectFactory;
     private final Supplier<Random> randomSupplier;
@@ -27,23 +47,48 @@ public class DefaultMapProvider implements Provider, WithRandomSize {
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type, null, cycleDetector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
         if (type instanceof Class) {
+            if (isCompact((Class<?>) type)) {
+                return (T) CompactCollections.mapOf(new Object[0], new Object[0], 0);
+            }
             return (T) createMap((Class<Map>) type, 0);
         }
 
         if (type instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) type;
             Class<?> raw = (Class<?>) parameterizedType.getRawType();
-            int entries = getRandomSize(objectFactory, randomSupplier.get());
+            int entries = getRandomSize(objectFactory, randomSupplier.get(), constraint);
+
+            if (isCompact(raw)) {
+                Object[] keys = new Object[entries];
+                Object[] values = new Object[entries];
+                Type key = parameterizedType.getActualTypeArguments()[0];
+                Type value = parameterizedType.getActualTypeArguments()[1];
+                for (int i = 0; i < entries; ++i) {
+                    keys[i] = objectFactory.generate(key, cycleDetector);
+                    values[i] = objectFactory.generate(value, cycleDetector);
+                }
+                return (T) CompactCollections.mapOf(keys, values, entries);
+            }
 
             Map<?, ?> map = createMap(raw, entries);
 
             Type key = parameterizedType.getActualTypeArguments()[0];
             Type value = parameterizedType.getActualTypeArguments()[1];
 
-            for (int i = 0; i < entries; ++i) {
+            // constrained maps generate more entries to reach the size in spite of duplicate keys
+            int attempts = constraint == null ? entries : entries * MAX_ATTEMPTS_PER_ENTRY;
+            for (int i = 0; i < attempts && map.size() < entries; ++i) {
                 map.put(objectFactory.generate(key, cycleDetector), objectFactory.generate(value, cycleDetector));
             }
 
@@ -53,6 +98,17 @@ public class DefaultMapProvider implements Provider, WithRandomSize {
         throw new IllegalArgumentException("Unknown type: " + type);
     }
 
+    /**
+     * Check if compact map should be created for given class, i.e. compact collections are enabled and
+     * the class is exactly {@link Map}.
+     *
+     * @param clazz the map type
+     * @return true if compact map should be created
+     */
+    private boolean isCompact(Class<?> clazz) {
+        return objectFactory.isCompactCollections() && clazz == Map.class;
+    }
+
     /**
      * Create map of given type with specific capacity, if given map type is interface or abstract,
      * use the default {@link HashMap} as the concrete type.
@@ -62,23 +118,32 @@ public class DefaultMapProvider implements Provider, WithRandomSize {
      * @return a created empty map
      */
     private Map<?, ?> createMap(Class<?> clazz, int length) {
-        Map<?, ?> map;
+        SizedConstructor constructor = CONSTRUCTORS.get(clazz);
+        if (constructor == UNKNOWN) {
+            throw new IllegalArgumentException("Unknown type: " + clazz);
+        }
 
+        try {
+            return (Map<?, ?>) constructor.newInstance(length);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ObjectCreationException("Fail to create new instance for type %s", clazz).withCause(e);
+        }
+    }
+
+    /**
+     * Get the constructor of given map type, {@link HashMap} for interfaces and abstract classes.
+     *
+     * @param clazz the map type
+     * @return sized constructor, or {@link #UNKNOWN} if the type is not a map
+     */
+    private static SizedConstructor findConstructor(Class<?> clazz) {
         if (Inspector.isInterface(clazz) || Inspector.isAbstract(clazz)) {
-            if (Map.class.isAssignableFrom(clazz)) {
-                map = new HashMap<>(length);
-            } else {
-                throw new IllegalArgumentException("Unknown type: " + clazz);
-            }
-        } else {
-            try {
-                map = (Map<?, ?>) clazz.newInstance();
-            } catch (Exception e) {
-                throw new ObjectCreationException("Fail to create new instance for type %s", clazz).withCause(e);
-            }
+            return Map.class.isAssignableFrom(clazz) ? HashMap::new : UNKNOWN;
         }
 
-        return map;
+        return SizedConstructors.of(clazz);
     }
 
     /**
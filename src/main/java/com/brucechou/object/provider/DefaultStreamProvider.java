@@ -14,9 +14,11 @@ import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Default stream provider, with a random size of stream that generates a series random objects.
+ * Streams of objects are generated lazily by a sized spliterator, and can be consumed in parallel.
  */
 @AllArgsConstructor
 public class DefaultStreamProvider implements Provider, WithRandomSize {
@@ -31,12 +33,13 @@ public class DefaultStreamProvider implements Provider, WithRandomSize {
     @SuppressWarnings("unchecked")
     public <T> T get(Type type, CycleDetector cycleDetector) {
         if (type instanceof Class) {
+            Random random = randomSupplier.get();
             if (IntStream.class.isAssignableFrom((Class<?>) type)) {
-                return (T) randomSupplier.get().ints(getRandomSize(objectFactory, randomSupplier.get()));
+                return (T) random.ints(getRandomSize(objectFactory, random));
             } else if (LongStream.class.isAssignableFrom((Class<?>) type)) {
-                return (T) randomSupplier.get().longs(getRandomSize(objectFactory, randomSupplier.get()));
+                return (T) random.longs(getRandomSize(objectFactory, random));
             } else if (DoubleStream.class.isAssignableFrom((Class<?>) type)) {
-                return (T) randomSupplier.get().doubles(getRandomSize(objectFactory, randomSupplier.get()));
+                return (T) random.doubles(getRandomSize(objectFactory, random));
             } else if (Stream.class.isAssignableFrom((Class<?>) type)) {
                 return (T) Stream.empty();
             }
@@ -44,9 +47,11 @@ public class DefaultStreamProvider implements Provider, WithRandomSize {
 
         if (type instanceof ParameterizedType) {
             Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            Random random = randomSupplier.get();
+            int size = getRandomSize(objectFactory, random);
 
-            return (T) Stream.generate(() -> objectFactory.generate(elementType, cycleDetector))
-                             .limit(getRandomSize(objectFactory, randomSupplier.get()));
+            return (T) StreamSupport.stream(new GeneratingSpliterator<>(objectFactory, elementType, cycleDetector,
+                                                                        random.nextLong(), size), false);
         }
 
         throw new IllegalArgumentException("Unknown type: " + type);
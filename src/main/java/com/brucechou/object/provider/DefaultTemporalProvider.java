@@ -1,6 +1,7 @@
 package com.brucechou.object.provider;
 
 import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
 
 import lombok.AllArgsConstructor;
@@ -19,10 +20,11 @@ import java.util.Set;
 
 /**
  * Default {@link Temporal} provider, aka, Java 8 Time, generate random temporal based on
- * {@link Date} generation logic, it actually convert a date object into a temporal.
+ * {@link Date} generation logic, it actually convert a date object into a temporal. Temporals of a
+ * {@link FieldConstraint} are converted from dates generated with the constraint.
  */
 @AllArgsConstructor
-public class DefaultTemporalProvider implements Provider {
+public class DefaultTemporalProvider implements ConstrainedProvider {
 
     /**
      * Only support the following temporal types.
@@ -45,17 +47,26 @@ public class DefaultTemporalProvider implements Provider {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type, null, cycleDetector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
         if (type instanceof Class) {
             if (Instant.class.equals(type)) {
-                return (T) generateInstant();
+                return (T) generateInstant(constraint);
             } else if (LocalTime.class.equals(type)) {
-                return (T) generateInstant().atZone(ZoneOffset.UTC).toLocalTime();
+                return (T) generateInstant(constraint).atZone(ZoneOffset.UTC).toLocalTime();
             } else if (LocalDate.class.equals(type)) {
-                return (T) generateInstant().atZone(ZoneOffset.UTC).toLocalDate();
+                return (T) generateInstant(constraint).atZone(ZoneOffset.UTC).toLocalDate();
             } else if (LocalDateTime.class.equals(type)) {
-                return (T) generateInstant().atZone(ZoneOffset.UTC).toLocalDateTime();
+                return (T) generateInstant(constraint).atZone(ZoneOffset.UTC).toLocalDateTime();
             } else if (ZonedDateTime.class.equals(type)) {
-                return (T) generateInstant().atZone(ZoneOffset.UTC);
+                return (T) generateInstant(constraint).atZone(ZoneOffset.UTC);
             }
         }
 
@@ -66,10 +77,12 @@ public class DefaultTemporalProvider implements Provider {
      * Generate {@link Instant} instance from date instance generated by object factory.
      * {@link Date} is primitive type, do not require cycle detector
      *
+     * @param constraint the constraint of date, null if unconstrained
      * @return random instant instance generated
      */
-    private Instant generateInstant() {
-        Date date = objectFactory.generate(Date.class);
+    private Instant generateInstant(FieldConstraint constraint) {
+        Date date = constraint == null ? objectFactory.generate(Date.class)
+                                       : objectFactory.generateConstrained(Date.class, constraint);
         return date.toInstant();
     }
 
@@ -0,0 +1,109 @@
+package com.brucechou.object.provider;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.util.Hashes;
+
+import java.lang.reflect.Type;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A sized spliterator generating elements of a type lazily, used by {@link DefaultStreamProvider}.
+ *
+ * <p>Elements are generated as {@link LazyGeneration} describes, so every split has an independent random stream
+ * and a stream generates the same elements whether it runs sequentially or in parallel. Each split owns a copy of
+ * the cycle detector, since the path of the original detector is already unwound when the stream is consumed.
+ *
+ * @param <T> the element type
+ */
+final class GeneratingSpliterator<T> implements Spliterator<T> {
+
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+
+    private final ObjectFactory objectFactory;
+    private final Type elementType;
+    private final CycleDetector cycleDetector;
+    private final long seed;
+
+    // next index to generate, and the end index exclusive
+    private long index;
+    private final long fence;
+
+    GeneratingSpliterator(ObjectFactory objectFactory, Type elementType, CycleDetector cycleDetector, long seed,
+                          long size) {
+        this(objectFactory, elementType, cycleDetector.copy(), seed, 0, size);
+    }
+
+    private GeneratingSpliterator(ObjectFactory objectFactory, Type elementType, CycleDetector cycleDetector,
+                                  long seed, long index, long fence) {
+        this.objectFactory = objectFactory;
+        this.elementType = elementType;
+        this.cycleDetector = cycleDetector;
+        this.seed = seed;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(generate(index++));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long i = index;
+        index = fence;
+        for (; i < fence; ++i) {
+            action.accept(generate(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        long mid = (index + fence) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+
+        // detector of this spliterator is always back at the copied path between elements
+        Spliterator<T> prefix = new GeneratingSpliterator<>(objectFactory, elementType, cycleDetector.copy(), seed,
+                                                            index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    private T generate(long i) {
+        return objectFactory.generate(elementType, cycleDetector, Hashes.derive(seed, i));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.brucechou.object.provider;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.collection.VirtualList;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.util.Hashes;
+
+import java.lang.reflect.Type;
+
+/**
+ * Helpers of providers generating elements lazily, after the generation creates the container has returned.
+ *
+ * <p>A lazy element is generated with its own seed derived from a base seed of the container and its index by
+ * {@link Hashes#derive(long, long)}, and with a copy of the cycle detector taken when the container was created,
+ * so it is always the same element regardless of when, in which order or on which thread elements are generated.
+ */
+final class LazyGeneration {
+
+    private LazyGeneration() {
+    }
+
+    /**
+     * Create a virtual list of given size, whose elements are generated on access.
+     *
+     * @param objectFactory the object factory
+     * @param elementType the element type
+     * @param cycleDetector the cycle detector at the path of the list
+     * @param seed the base seed of the list
+     * @param size size of the list
+     * @return created virtual list
+     */
+    static VirtualList<Object> virtualList(ObjectFactory objectFactory, Type elementType, CycleDetector cycleDetector,
+                                           long seed, int size) {
+        CycleDetector path = cycleDetector.copy();
+        return new VirtualList<>(size, i -> objectFactory.generate(elementType, path.copy(), Hashes.derive(seed, i)),
+                                 objectFactory.getVirtualCollectionCacheSize());
+    }
+
+}
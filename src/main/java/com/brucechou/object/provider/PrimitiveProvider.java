@@ -0,0 +1,129 @@
+package com.brucechou.object.provider;
+
+/**
+ * A provider of primitive values, which can generate values without boxing. Object factory writes values of
+ * primitive provider to primitive fields directly, see {@link PrimitiveProviders} for providers of suppliers.
+ *
+ * <p>Default methods unbox the value of {@link #get(java.lang.reflect.Type)}, implementations override methods
+ * of types they recognize. Bulk fill methods generate a column of values at once, e.g. for
+ * {@link com.brucechou.object.ObjectFactory#generateColumns(Class, int)}.
+ */
+public interface PrimitiveProvider extends Provider {
+
+    /**
+     * Get a boolean value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default boolean getBoolean(Class<?> type) {
+        return this.<Boolean>get(type);
+    }
+
+    /**
+     * Get a byte value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default byte getByte(Class<?> type) {
+        return this.<Byte>get(type);
+    }
+
+    /**
+     * Get a char value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default char getChar(Class<?> type) {
+        return this.<Character>get(type);
+    }
+
+    /**
+     * Get a short value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default short getShort(Class<?> type) {
+        return this.<Short>get(type);
+    }
+
+    /**
+     * Get an int value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default int getInt(Class<?> type) {
+        return this.<Integer>get(type);
+    }
+
+    /**
+     * Get a long value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default long getLong(Class<?> type) {
+        return this.<Long>get(type);
+    }
+
+    /**
+     * Get a float value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default float getFloat(Class<?> type) {
+        return this.<Float>get(type);
+    }
+
+    /**
+     * Get a double value.
+     *
+     * @param type the primitive type
+     * @return generated value
+     */
+    default double getDouble(Class<?> type) {
+        return this.<Double>get(type);
+    }
+
+    /**
+     * Fill an array with int values.
+     *
+     * @param type the primitive type
+     * @param values the array to fill
+     */
+    default void fillInts(Class<?> type, int[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = getInt(type);
+        }
+    }
+
+    /**
+     * Fill an array with long values.
+     *
+     * @param type the primitive type
+     * @param values the array to fill
+     */
+    default void fillLongs(Class<?> type, long[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = getLong(type);
+        }
+    }
+
+    /**
+     * Fill an array with double values.
+     *
+     * @param type the primitive type
+     * @param values the array to fill
+     */
+    default void fillDoubles(Class<?> type, double[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = getDouble(type);
+        }
+    }
+
+}
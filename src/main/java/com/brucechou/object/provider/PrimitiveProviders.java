@@ -0,0 +1,168 @@
+package com.brucechou.object.provider;
+
+import com.brucechou.object.cycle.CycleDetector;
+
+import java.lang.reflect.Type;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Primitive providers of suppliers, to bind primitive fields without boxing, e.g.
+ * {@code Bindings.bind("age", PrimitiveProviders.ofInt(() -> random.nextInt(100)))}.
+ */
+public final class PrimitiveProviders {
+
+    private PrimitiveProviders() {}
+
+    /**
+     * Create a provider of {@code int} and {@code Integer}.
+     *
+     * @param supplier the supplier of values
+     * @return a primitive provider
+     * @throws IllegalArgumentException if supplier is null
+     */
+    public static PrimitiveProvider ofInt(IntSupplier supplier) {
+        checkSupplier(supplier);
+        return new SupplierProvider(int.class, Integer.class) {
+            @Override
+            public int getInt(Class<?> type) {
+                return supplier.getAsInt();
+            }
+
+            @Override
+            Object getBoxed() {
+                return supplier.getAsInt();
+            }
+        };
+    }
+
+    /**
+     * Create a provider of {@code long} and {@code Long}.
+     *
+     * @param supplier the supplier of values
+     * @return a primitive provider
+     * @throws IllegalArgumentException if supplier is null
+     */
+    public static PrimitiveProvider ofLong(LongSupplier supplier) {
+        checkSupplier(supplier);
+        return new SupplierProvider(long.class, Long.class) {
+            @Override
+            public long getLong(Class<?> type) {
+                return supplier.getAsLong();
+            }
+
+            @Override
+            Object getBoxed() {
+                return supplier.getAsLong();
+            }
+        };
+    }
+
+    /**
+     * Create a provider of {@code double} and {@code Double}.
+     *
+     * @param supplier the supplier of values
+     * @return a primitive provider
+     * @throws IllegalArgumentException if supplier is null
+     */
+    public static PrimitiveProvider ofDouble(DoubleSupplier supplier) {
+        checkSupplier(supplier);
+        return new SupplierProvider(double.class, Double.class) {
+            @Override
+            public double getDouble(Class<?> type) {
+                return supplier.getAsDouble();
+            }
+
+            @Override
+            Object getBoxed() {
+                return supplier.getAsDouble();
+            }
+        };
+    }
+
+    /**
+     * Create a provider of {@code boolean} and {@code Boolean}.
+     *
+     * @param supplier the supplier of values
+     * @return a primitive provider
+     * @throws IllegalArgumentException if supplier is null
+     */
+    public static PrimitiveProvider ofBoolean(BooleanSupplier supplier) {
+        checkSupplier(supplier);
+        return new SupplierProvider(boolean.class, Boolean.class) {
+            @Override
+            public boolean getBoolean(Class<?> type) {
+                return supplier.getAsBoolean();
+            }
+
+            @Override
+            Object getBoxed() {
+                return supplier.getAsBoolean();
+            }
+        };
+    }
+
+    private static void checkSupplier(Object supplier) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("Supplier must be non-null");
+        }
+    }
+
+    /**
+     * A primitive provider of a supplier, recognizes a primitive type and its wrapper type.
+     */
+    private abstract static class SupplierProvider implements PrimitiveProvider {
+
+        private final Class<?> primitiveType;
+        private final Class<?> wrapperType;
+
+        private SupplierProvider(Class<?> primitiveType, Class<?> wrapperType) {
+            this.primitiveType = primitiveType;
+            this.wrapperType = wrapperType;
+        }
+
+        /**
+         * Get a boxed value of the supplier.
+         *
+         * @return boxed value
+         */
+        abstract Object getBoxed();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Type type) {
+            return (T) getBoxed();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <T> T get(Type type, CycleDetector cycleDetector) {
+            return get(type);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean recognizes(Type type) {
+            return primitiveType.equals(type) || wrapperType.equals(type);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String configurationKey() {
+            // values of suppliers cannot be described
+            return null;
+        }
+    }
+
+}
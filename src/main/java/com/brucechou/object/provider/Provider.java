@@ -33,9 +33,27 @@ public interface Provider {
     /**
      * Check if a type can be recognized by this provider.
      *
+     * <p>The object factory caches the provider found for each type for its lifetime, so the result should depend
+     * on the type only, a provider recognizing a type later is not asked again until
+     * {@link com.brucechou.object.ObjectFactory#clearCaches()}. The cache holds an entry per distinct type generated,
+     * which is bounded for a fixed set of classes, but grows with types created at runtime, e.g. parameterized
+     * types built per call.
+     *
      * @param type given type
      * @return true if given type can be processed by this provider, otherwise false
      */
     boolean recognizes(Type type);
 
+    /**
+     * Get a key describing the configuration of this provider, i.e. everything affects provided values except
+     * the random, so the {@link com.brucechou.object.ObjectFactory#getConfigurationHash() configuration hash}
+     * changes with it. Providers with parameters, e.g. weights or ranges, should override it.
+     *
+     * @return configuration key, the class name by default, or null if the configuration cannot be described,
+     *         e.g. values are provided by an arbitrary supplier
+     */
+    default String configurationKey() {
+        return getClass().getName();
+    }
+
 }
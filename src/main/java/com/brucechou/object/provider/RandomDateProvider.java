@@ -1,5 +1,7 @@
 package com.brucechou.object.provider;
 
+import com.brucechou.object.constraint.FieldConstraint;
+import com.brucechou.object.constraint.FieldConstraint.TimeBound;
 import com.brucechou.object.cycle.CycleDetector;
 
 import lombok.AllArgsConstructor;
@@ -10,14 +12,18 @@ import java.util.Random;
 import java.util.function.Supplier;
 
 /**
- * Default date provider, generate date between 1900-01-01T00:00:00.000Z and 2100-12-31T23:59:59.999Z
+ * Default date provider, generate date between 1900-01-01T00:00:00.000Z and 2100-12-31T23:59:59.999Z.
+ * Dates of a {@link TimeBound} are at least {@value #TIME_BOUND_MARGIN_MILLIS} milliseconds in the past or future,
+ * so that they keep in the past or future after converted to dates of any time zone.
  */
 @AllArgsConstructor
-public class RandomDateProvider implements Provider {
+public class RandomDateProvider implements ConstrainedProvider {
 
     private static final long MILLIS_RANGE = 6342969599999L; // milliseconds between jan 1 1900 and Dec 31 2100
     private static final long FIRST_MILLIS = -2208988800000L; // first second of 1900
 
+    private static final long TIME_BOUND_MARGIN_MILLIS = 2 * 24 * 60 * 60 * 1000L;
+
     private final Supplier<Random> randomSupplier;
 
     /**
@@ -45,6 +51,32 @@ public class RandomDateProvider implements Provider {
         return get(type);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
+        if (constraint.getTimeBound() == null) {
+            return get(type);
+        }
+
+        long now = System.currentTimeMillis();
+        long first;
+        long last;
+        if (constraint.getTimeBound() == TimeBound.PAST || constraint.getTimeBound() == TimeBound.PAST_OR_PRESENT) {
+            last = now - TIME_BOUND_MARGIN_MILLIS;
+            first = Math.min(FIRST_MILLIS, last);
+        } else {
+            first = now + TIME_BOUND_MARGIN_MILLIS;
+            last = Math.max(FIRST_MILLIS + MILLIS_RANGE, first);
+        }
+
+        long randomValue = randomSupplier.get().nextLong();
+        randomValue = randomValue == Long.MIN_VALUE ? 0 : Math.abs(randomValue);
+        return (T) new Date(first + randomValue % (last - first + 1));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,5 +1,6 @@
 package com.brucechou.object.provider;
 
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
 
 import lombok.AllArgsConstructor;
@@ -13,9 +14,11 @@ import java.util.function.Supplier;
 
 /**
  * Default primitive provider, generate random values with given random instance.
+ * Values of primitive types can be generated without boxing as a {@link PrimitiveProvider}, and numbers within
+ * the range of a {@link FieldConstraint} as a {@link ConstrainedProvider}.
  */
 @AllArgsConstructor
-public class RandomPrimitiveProvider implements Provider {
+public class RandomPrimitiveProvider implements PrimitiveProvider, ConstrainedProvider {
 
     private static final int PRINTABLE_ASCII_CHAR_SIZE = 95;
     private static final int PRINTABLE_ASCII_CHAR_START = 32;
@@ -64,6 +67,189 @@ public class RandomPrimitiveProvider implements Provider {
         return get(type);
     }
 
+    /**
+     * Get random number within the range of constraint, values of other types and of ranges disjoint from their
+     * types are unconstrained. Floating point numbers of a range open on one side are within 1 of the other side.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
+        if (!constraint.hasRange()) {
+            return get(type);
+        }
+
+        Random random = randomSupplier.get();
+        if (type == int.class || type == Integer.class) {
+            return (T) nextIntegral(random, constraint, Integer.MIN_VALUE, Integer.MAX_VALUE, type, Long::intValue);
+        } else if (type == long.class || type == Long.class) {
+            return (T) nextIntegral(random, constraint, Long.MIN_VALUE, Long.MAX_VALUE, type, value -> value);
+        } else if (type == short.class || type == Short.class) {
+            return (T) nextIntegral(random, constraint, Short.MIN_VALUE, Short.MAX_VALUE, type, Long::shortValue);
+        } else if (type == byte.class || type == Byte.class) {
+            return (T) nextIntegral(random, constraint, Byte.MIN_VALUE, Byte.MAX_VALUE, type, Long::byteValue);
+        }
+
+        double lower = constraint.getMin() == Long.MIN_VALUE ? Math.min(0, constraint.getMax() - 1.0)
+                                                             : constraint.getMin();
+        double upper = constraint.getMax() == Long.MAX_VALUE ? Math.max(1, constraint.getMin() + 1.0)
+                                                             : constraint.getMax();
+        double value = Math.min(upper, Math.max(lower, lower + random.nextDouble() * (upper - lower)));
+        if (type == double.class || type == Double.class) {
+            return (T) Double.valueOf(value);
+        } else if (type == float.class || type == Float.class) {
+            // rounding to float may step out of the range
+            float rounded = (float) value;
+            rounded = rounded > upper ? Math.nextDown(rounded) : rounded < lower ? Math.nextUp(rounded) : rounded;
+            return (T) Float.valueOf(rounded);
+        }
+
+        return get(type);
+    }
+
+    /**
+     * Get random integral number within the range of constraint and of its type.
+     *
+     * @param random random to generate with
+     * @param constraint the constraint of range
+     * @param typeMin min value of the type
+     * @param typeMax max value of the type
+     * @param type the type to generate
+     * @param converter converter from long to the type
+     * @return generated value
+     */
+    private Object nextIntegral(Random random, FieldConstraint constraint, long typeMin, long typeMax, Type type,
+                                Function<Long, Object> converter) {
+        long lower = Math.max(typeMin, constraint.getMin());
+        long upper = Math.min(typeMax, constraint.getMax());
+        if (lower > upper) {
+            return get(type);
+        }
+
+        long span = upper - lower + 1;
+        if (span <= 0) {
+            // range wider than half of long, rejection takes 2 tries at most on average
+            long value;
+            do {
+                value = random.nextLong();
+            } while (value < lower || value > upper);
+            return converter.apply(value);
+        }
+
+        // unbiased bounded long, rejecting the last incomplete span of non-negative longs
+        long bits;
+        long value;
+        do {
+            bits = random.nextLong() >>> 1;
+            value = bits % span;
+        } while (bits - value + (span - 1) < 0);
+        return converter.apply(lower + value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getBoolean(Class<?> type) {
+        return randomSupplier.get().nextBoolean();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte getByte(Class<?> type) {
+        return (byte) randomSupplier.get().nextInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char getChar(Class<?> type) {
+        return (char) (randomSupplier.get().nextInt(PRINTABLE_ASCII_CHAR_SIZE) + PRINTABLE_ASCII_CHAR_START);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short getShort(Class<?> type) {
+        return (short) randomSupplier.get().nextInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(Class<?> type) {
+        return randomSupplier.get().nextInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(Class<?> type) {
+        return randomSupplier.get().nextLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getFloat(Class<?> type) {
+        return randomSupplier.get().nextFloat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(Class<?> type) {
+        return randomSupplier.get().nextDouble();
+    }
+
+    /**
+     * Fill with a single random fetched from the random supplier.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public void fillInts(Class<?> type, int[] values) {
+        Random random = randomSupplier.get();
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    /**
+     * Fill with a single random fetched from the random supplier.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public void fillLongs(Class<?> type, long[] values) {
+        Random random = randomSupplier.get();
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Fill with a single random fetched from the random supplier.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public void fillDoubles(Class<?> type, double[] values) {
+        Random random = randomSupplier.get();
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextDouble();
+        }
+    }
+
     /**
      * Recognize primitive type.
      *
@@ -1,17 +1,36 @@
 package com.brucechou.object.provider;
 
+import com.brucechou.object.constraint.FieldConstraint;
 import com.brucechou.object.cycle.CycleDetector;
 
-import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
- * Default random string provider, generate random uuid.
+ * Default random string provider, generate random uuid. Strings of a {@link FieldConstraint} match its pattern,
+ * or are random alphanumeric strings of its size.
  */
-@NoArgsConstructor
-public class RandomStringProvider implements Provider {
+@AllArgsConstructor
+public class RandomStringProvider implements ConstrainedProvider {
+
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    // length of uuid strings
+    private static final int DEFAULT_LENGTH = 36;
+
+    private final Supplier<Random> randomSupplier;
+
+    /**
+     * Create a random string provider with thread local random.
+     */
+    public RandomStringProvider() {
+        this(ThreadLocalRandom::current);
+    }
 
     /**
      * {@inheritDoc}
@@ -19,7 +38,11 @@ public class RandomStringProvider implements Provider {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(Type type) {
-        return (T) UUID.randomUUID().toString();
+        // version 4 uuid from given random instead of secure random, so a seeded random generates the same string
+        Random random = randomSupplier.get();
+        long mostSigBits = random.nextLong() & ~0xf000L | 0x4000L;
+        long leastSigBits = random.nextLong() & ~0xc000000000000000L | 0x8000000000000000L;
+        return (T) new UUID(mostSigBits, leastSigBits).toString();
     }
 
     /**
@@ -30,6 +53,32 @@ public class RandomStringProvider implements Provider {
         return get(type);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type, FieldConstraint constraint, CycleDetector cycleDetector) {
+        if (constraint.getPattern() != null) {
+            return (T) (constraint.hasSize() ? constraint.getPattern().generate(randomSupplier.get(),
+                                                                                constraint.getMinSize(),
+                                                                                constraint.getMaxSize())
+                                             : constraint.getPattern().generate(randomSupplier.get()));
+        }
+        if (!constraint.hasSize()) {
+            return get(type);
+        }
+
+        // sizes up to the length of uuid, unless the constraint requires longer strings
+        Random random = randomSupplier.get();
+        int length = constraint.pickSize(0, DEFAULT_LENGTH, random);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; ++i) {
+            chars[i] = ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length()));
+        }
+        return (T) new String(chars);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,119 @@
+package com.brucechou.object.provider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Vector;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached constructors of concrete collection and map types, which prefer a capacity constructor.
+ *
+ * <p>Only capacity constructors of platform classes whose {@code (int)} argument is a mere hint are used, e.g.
+ * {@code LinkedHashSet(int)} or {@code ConcurrentHashMap(int)}. An {@code (int)} constructor of other classes may
+ * mean anything, e.g. the hard bound of {@code LinkedBlockingQueue(int)}. Otherwise the default constructor is used,
+ * and the capacity is ignored.
+ */
+final class SizedConstructors {
+
+    // classes whose (int) constructor takes an initial capacity only
+    private static final Set<Class<?>> CAPACITY_HINTED = new HashSet<>(Arrays.asList(
+            ArrayList.class, Vector.class, ArrayDeque.class, PriorityQueue.class, HashSet.class,
+            LinkedHashSet.class, HashMap.class, LinkedHashMap.class, Hashtable.class, WeakHashMap.class,
+            IdentityHashMap.class, ConcurrentHashMap.class));
+
+    // class -> sized constructor
+    private static final ClassValue<SizedConstructor> CONSTRUCTORS = new ClassValue<SizedConstructor>() {
+        @Override
+        protected SizedConstructor computeValue(Class<?> clazz) {
+            return create(clazz);
+        }
+    };
+
+    private SizedConstructors() {
+    }
+
+    /**
+     * A constructor creates an instance with a capacity.
+     */
+    @FunctionalInterface
+    interface SizedConstructor {
+
+        /**
+         * Create an instance.
+         *
+         * @param capacity the expected number of elements or entries
+         * @return created instance
+         * @throws Throwable any error of the constructor, or the reason why there is no usable constructor
+         */
+        Object newInstance(int capacity) throws Throwable;
+
+    }
+
+    /**
+     * Get the cached sized constructor of given class.
+     *
+     * @param clazz the concrete class
+     * @return sized constructor of the class, fails on invocation if there is no usable constructor
+     */
+    static SizedConstructor of(Class<?> clazz) {
+        return CONSTRUCTORS.get(clazz);
+    }
+
+    private static SizedConstructor create(Class<?> clazz) {
+        Constructor<?> constructor;
+        boolean sized = false;
+        try {
+            if (CAPACITY_HINTED.contains(clazz)) {
+                constructor = clazz.getConstructor(int.class);
+                sized = true;
+            } else {
+                constructor = clazz.getDeclaredConstructor();
+            }
+        } catch (NoSuchMethodException e) {
+            try {
+                constructor = clazz.getDeclaredConstructor();
+            } catch (NoSuchMethodException | RuntimeException ex) {
+                return capacity -> {
+                    throw ex;
+                };
+            }
+        } catch (RuntimeException e) {
+            return capacity -> {
+                throw e;
+            };
+        }
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            // non-public class or constructor, reflection checks the access of the caller as Class#newInstance does
+            Constructor<?> reflective = constructor;
+            return sized ? capacity -> reflective.newInstance(Math.max(1, capacity))
+                         : capacity -> reflective.newInstance();
+        }
+
+        if (sized) {
+            MethodHandle sizedHandle = handle.asType(MethodType.methodType(Object.class, int.class));
+            // initial capacity of priority queues must be positive
+            return capacity -> (Object) sizedHandle.invokeExact(Math.max(1, capacity));
+        }
+        MethodHandle defaultHandle = handle.asType(MethodType.methodType(Object.class));
+        return capacity -> (Object) defaultHandle.invokeExact();
+    }
+
+}
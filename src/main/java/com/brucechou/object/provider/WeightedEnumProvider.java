@@ -0,0 +1,106 @@
+package com.brucechou.object.provider;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.util.AliasTable;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Weighted enum provider, return enum values of an enum class by their weights, e.g. 95% of {@code ACTIVE}.
+ * Values are sampled with a precomputed {@link AliasTable} in constant time. Bind it to the enum type or to fields
+ * with the random supplier of object factory, so seeded generation is reproducible, e.g.
+ * {@code Bindings.bind(Status.class, random -> new WeightedEnumProvider<>(Status.class, weights, random))}.
+ *
+ * @param <E> the enum type
+ */
+public class WeightedEnumProvider<E extends Enum<E>> implements Provider {
+
+    private final Class<E> enumClass;
+    private final E[] constants;
+    private final double[] weights;
+    private final AliasTable aliasTable;
+    private final Supplier<Random> randomSupplier;
+
+    /**
+     * Create a weighted enum provider with thread local random, values are not reproducible by seeds of object
+     * factory.
+     *
+     * @param enumClass the enum class
+     * @param weights weights of enum values, values absent are never returned
+     * @throws IllegalArgumentException if enum class is null or has no values, or weights are invalid
+     */
+    public WeightedEnumProvider(Class<E> enumClass, Map<E, ? extends Number> weights) {
+        this(enumClass, weights, ThreadLocalRandom::current);
+    }
+
+    /**
+     * Create a weighted enum provider.
+     *
+     * @param enumClass the enum class
+     * @param weights weights of enum values, values absent are never returned
+     * @param randomSupplier random supplier
+     * @throws IllegalArgumentException if enum class is null or has no values, or weights are invalid
+     */
+    public WeightedEnumProvider(Class<E> enumClass, Map<E, ? extends Number> weights,
+                                Supplier<Random> randomSupplier) {
+        if (enumClass == null || enumClass.getEnumConstants() == null || enumClass.getEnumConstants().length == 0) {
+            throw new IllegalArgumentException("Enum class must be non-null and have values");
+        }
+        if (weights == null || randomSupplier == null) {
+            throw new IllegalArgumentException("Weights and random supplier must be non-null");
+        }
+
+        this.enumClass = enumClass;
+        this.constants = enumClass.getEnumConstants();
+        this.randomSupplier = randomSupplier;
+
+        double[] values = new double[constants.length];
+        for (Map.Entry<E, ? extends Number> entry : weights.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Weights must not contain null keys or values");
+            }
+            values[entry.getKey().ordinal()] = entry.getValue().doubleValue();
+        }
+        this.weights = values;
+        this.aliasTable = new AliasTable(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type) {
+        return (T) constants[aliasTable.sample(randomSupplier.get())];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recognizes(Type type) {
+        return enumClass.equals(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String configurationKey() {
+        return getClass().getName() + "(" + enumClass.getName() + "," + Arrays.toString(weights) + ")";
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.brucechou.object.provider;
 
 import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.constraint.FieldConstraint;
 
 import java.util.Random;
 
@@ -21,4 +22,19 @@ public interface WithRandomSize {
                        + objectFactory.getMinSize();
     }
 
+    /**
+     * Get random size within the size of constraint, and within the size of object factory as far as possible.
+     *
+     * @param objectFactory object factory
+     * @param random random
+     * @param constraint the constraint of size, null if unconstrained
+     * @return a random size generated
+     */
+    default int getRandomSize(ObjectFactory objectFactory, Random random, FieldConstraint constraint) {
+        if (constraint == null || !constraint.hasSize()) {
+            return getRandomSize(objectFactory, random);
+        }
+        return constraint.pickSize(objectFactory.getMinSize(), objectFactory.getMaxSize(), random);
+    }
+
 }
@@ -0,0 +1,60 @@
+package com.brucechou.object.resolver;
+
+import com.brucechou.object.util.CacheStatistics;
+import com.brucechou.object.util.CountingCache;
+
+/**
+ * A resolver decorator that caches resolved results of another resolver, including unresolved ones.
+ * Useful for expensive resolvers like {@link ClasspathResolver}.
+ */
+public class CachingResolver implements Resolver {
+
+    private final Resolver resolver;
+    private final CountingCache<Class<?>, Class<?>> cache = new CountingCache<>();
+
+    /**
+     * Create a caching resolver for given resolver.
+     *
+     * @param resolver the resolver to cache
+     * @throws IllegalArgumentException if given resolver is null
+     */
+    public CachingResolver(Resolver resolver) {
+        if (resolver == null) {
+            throw new IllegalArgumentException("Resolver must be non-null");
+        }
+        this.resolver = resolver;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Class<? extends T> resolve(Class<T> clazz) {
+        return (Class<? extends T>) cache.get(clazz, resolver::resolve);
+    }
+
+    /**
+     * Get statistics of the resolved results cache.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Remove all cached results.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Reset hit and miss counters.
+     */
+    public void resetStatistics() {
+        cache.resetStatistics();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.brucechou.object.shard;
+
+import com.brucechou.object.util.Hashes;
+
+import lombok.Getter;
+
+/**
+ * A shard of a logical dataset generated by multiple processes without coordination, e.g. load agents.
+ *
+ * <p>Every shard knows the master seed and the shard count, so each one derives its own disjoint range of record
+ * indices and value spaces, and the seed of each record from its global index. The union of all shards is
+ * exactly what a single shard of count 1 generates with the same master seed.
+ */
+@Getter
+public final class Shard {
+
+    /**
+     * Index of this shard, from 0 to count exclusive.
+     */
+    private final int index;
+
+    /**
+     * Number of shards.
+     */
+    private final int count;
+
+    /**
+     * Master seed shared by all shards.
+     */
+    private final long seed;
+
+    /**
+     * Create a shard.
+     *
+     * @param index index of this shard, from 0 to count exclusive
+     * @param count number of shards
+     * @param seed master seed shared by all shards
+     * @throws IllegalArgumentException if count is not positive or index is out of range
+     */
+    public Shard(int index, int count, long seed) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index must be between 0 and shard count exclusive");
+        }
+
+        this.index = index;
+        this.count = count;
+        this.seed = seed;
+    }
+
+    /**
+     * Get the first index of this shard in a range of size total, shards get contiguous ranges whose sizes
+     * differ by at most one.
+     *
+     * @param total size of the whole range, e.g. number of records of the dataset
+     * @return start index, inclusive
+     * @throws IllegalArgumentException if total is negative
+     */
+    public long start(long total) {
+        return boundary(total, index);
+    }
+
+    /**
+     * Get the end index of this shard in a range of size total.
+     *
+     * @param total size of the whole range, e.g. number of records of the dataset
+     * @return end index, exclusive
+     * @throws IllegalArgumentException if total is negative
+     */
+    public long end(long total) {
+        return boundary(total, index + 1);
+    }
+
+    /**
+     * Get the seed of a record by its global index, independent of shard count.
+     *
+     * @param recordIndex global index of the record
+     * @return seed of the record
+     */
+    public long seedOf(long recordIndex) {
+        return Hashes.derive(seed, recordIndex);
+    }
+
+    private long boundary(long total, int shard) {
+        if (total < 0) {
+            throw new IllegalArgumentException("Total must be non-negative");
+        }
+        long quotient = total / count;
+        long remainder = total % count;
+        return shard * quotient + Math.min(shard, remainder);
+    }
+
+    @Override
+    public String toString() {
+        return "Shard " + index + "/" + count;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.brucechou.object.shard;
+
+import lombok.Getter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The record of a sharded dataset being generated on the current thread, set by
+ * {@link com.brucechou.object.ObjectFactory#generateShard(java.lang.reflect.Type, long)}. Providers which must not
+ * depend on how many values were drawn before, e.g. unique providers, derive values from the global index of the
+ * record instead, so the union of all shards equals what a single shard generates.
+ */
+@Getter
+public final class ShardRecord {
+
+    private static final ThreadLocal<ShardRecord> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Global index of the record in the dataset.
+     */
+    private final long index;
+
+    /**
+     * Number of records of the whole dataset.
+     */
+    private final long total;
+
+    // drawer -> number of values drawn in this record
+    private final Map<Object, Long> draws = new IdentityHashMap<>();
+
+    private ShardRecord(long index, long total) {
+        this.index = index;
+        this.total = total;
+    }
+
+    /**
+     * Run a generation of a record on current thread.
+     *
+     * @param index global index of the record
+     * @param total number of records of the whole dataset
+     * @param generation generation of the record
+     * @param <T> the type of record
+     * @return generated record
+     */
+    public static <T> T generate(long index, long total, Supplier<T> generation) {
+        ShardRecord previous = CURRENT.get();
+        CURRENT.set(new ShardRecord(index, total));
+        try {
+            return generation.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Get the record being generated on current thread.
+     *
+     * @return current record, or null if no sharded record is being generated
+     */
+    public static ShardRecord current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Count a value drawn by a drawer in this record.
+     *
+     * @param drawer the drawer, e.g. a provider
+     * @return number of values drawn by the drawer in this record before, from 0
+     */
+    public long nextDraw(Object drawer) {
+        Long drawn = draws.get(drawer);
+        long draw = drawn == null ? 0 : drawn;
+        draws.put(drawer, draw + 1);
+        return draw;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.brucechou.object.sink;
+
+/**
+ * A sink receives a stream of tokens emitted while walking the generation plan of a type,
+ * instead of a materialized object graph.
+ *
+ * <p>Tokens are emitted in document order: an object is a {@link #beginObject()}, a series of
+ * {@link #name(String)} followed by one value each, and an {@link #endObject()}; an array is a
+ * {@link #beginArray()}, a series of values and an {@link #endArray()}.
+ */
+public interface GenerationSink extends AutoCloseable {
+
+    /**
+     * Begin an object.
+     */
+    void beginObject();
+
+    /**
+     * End current object.
+     */
+    void endObject();
+
+    /**
+     * Begin an array.
+     */
+    void beginArray();
+
+    /**
+     * End current array.
+     */
+    void endArray();
+
+    /**
+     * Emit the name of next value in current object.
+     *
+     * @param name property name
+     */
+    void name(String name);
+
+    /**
+     * Emit a null value.
+     */
+    void nullValue();
+
+    /**
+     * Emit a string value.
+     *
+     * @param value string value, not null
+     */
+    void stringValue(CharSequence value);
+
+    /**
+     * Emit a boolean value.
+     *
+     * @param value boolean value
+     */
+    void booleanValue(boolean value);
+
+    /**
+     * Emit an integral number value.
+     *
+     * @param value number value
+     */
+    void numberValue(long value);
+
+    /**
+     * Emit a floating point number value.
+     *
+     * @param value number value
+     */
+    void numberValue(double value);
+
+    /**
+     * Emit an arbitrary precision number value, e.g. {@link java.math.BigDecimal}.
+     *
+     * @param value number value, not null
+     */
+    void numberValue(Number value);
+
+    /**
+     * Write any buffered tokens to the underlying target.
+     */
+    void flush();
+
+    /**
+     * Flush and close the underlying target.
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,427 @@
+package com.brucechou.object.sink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A dependency-free JSON writer, encodes tokens as UTF-8 into a reusable byte buffer and drains the buffer to
+ * an {@link OutputStream} or a {@link WritableByteChannel} whenever it is full, so memory usage is constant
+ * regardless of the size of the document.
+ *
+ * <p>Top level values are separated by new lines, which makes a series of top level records a valid
+ * newline-delimited JSON stream.
+ */
+@NotThreadSafe
+public final class JsonGenerationSink implements GenerationSink {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MIN_BUFFER_SIZE = 32;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+    private static final byte[] TRUE = "true".getBytes();
+    private static final byte[] FALSE = "false".getBytes();
+    private static final byte[] LONG_MIN_VALUE = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer byteBuffer;
+    private int position;
+
+    // whether a value is already written at each nesting level, index 0 is top level
+    private boolean[] hasValue = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * Create a JSON sink writes to given output stream.
+     *
+     * @param outputStream target output stream
+     */
+    public JsonGenerationSink(OutputStream outputStream) {
+        this(outputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a JSON sink writes to given output stream.
+     *
+     * @param outputStream target output stream
+     * @param bufferSize size of the reusable buffer in bytes
+     * @throws IllegalArgumentException if output stream is null or buffer size is too small
+     */
+    public JsonGenerationSink(OutputStream outputStream, int bufferSize) {
+        this(requireTarget(outputStream), null, bufferSize);
+    }
+
+    /**
+     * Create a JSON sink writes to given channel.
+     *
+     * @param channel target channel
+     */
+    public JsonGenerationSink(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a JSON sink writes to given channel.
+     *
+     * @param channel target channel
+     * @param bufferSize size of the reusable buffer in bytes
+     * @throws IllegalArgumentException if channel is null or buffer size is too small
+     */
+    public JsonGenerationSink(WritableByteChannel channel, int bufferSize) {
+        this(null, requireTarget(channel), bufferSize);
+    }
+
+    private JsonGenerationSink(OutputStream outputStream, WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size should be at least " + MIN_BUFFER_SIZE);
+        }
+        this.outputStream = outputStream;
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        this.byteBuffer = channel == null ? null : ByteBuffer.wrap(buffer);
+    }
+
+    private static <T> T requireTarget(T target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target should not be null");
+        }
+        return target;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beginObject() {
+        beforeValue();
+        push();
+        writeByte('{');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endObject() {
+        pop();
+        writeByte('}');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beginArray() {
+        beforeValue();
+        push();
+        writeByte('[');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endArray() {
+        pop();
+        writeByte(']');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void name(String name) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Name is only allowed inside an object before a value");
+        }
+        beforeValue();
+        writeString(name);
+        writeByte(':');
+        afterName = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void nullValue() {
+        beforeValue();
+        writeBytes(NULL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stringValue(CharSequence value) {
+        beforeValue();
+        writeString(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void booleanValue(boolean value) {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberValue(long value) {
+        beforeValue();
+        if (value == Long.MIN_VALUE) {
+            writeBytes(LONG_MIN_VALUE);
+            return;
+        }
+
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        // write digits backwards from the end of the number
+        int end = position + digits(value);
+        int index = end;
+        do {
+            buffer[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberValue(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // not representable in JSON
+            nullValue();
+            return;
+        }
+        beforeValue();
+        writeAscii(Double.toString(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberValue(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            numberValue(value.doubleValue());
+        } else if (value instanceof BigDecimal) {
+            beforeValue();
+            writeAscii(((BigDecimal) value).toString());
+        } else if (value instanceof BigInteger) {
+            beforeValue();
+            writeAscii(value.toString());
+        } else {
+            numberValue(value.longValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        drain();
+        try {
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            if (outputStream != null) {
+                outputStream.close();
+            } else {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write separator required before a value or a name, depends on current nesting level.
+     */
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasValue[depth]) {
+            writeByte(depth == 0 ? '\n' : ',');
+        }
+        hasValue[depth] = true;
+    }
+
+    private void push() {
+        if (++depth == hasValue.length) {
+            hasValue = Arrays.copyOf(hasValue, depth * 2);
+        }
+        hasValue[depth] = false;
+    }
+
+    private void pop() {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("No object or array to end");
+        }
+        --depth;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            ++digits;
+        }
+        return digits;
+    }
+
+    /**
+     * Write a quoted and escaped string encoded as UTF-8.
+     *
+     * @param value string to write
+     */
+    private void writeString(CharSequence value) {
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; ++i) {
+            char c = value.charAt(i);
+            // 6 bytes is enough for both an escaped control character and a surrogate pair
+            ensure(6);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer[position++] = '\\';
+                }
+                buffer[position++] = (byte) c;
+            } else if (c < 0x20) {
+                writeControl(c);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                               && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate is not encodable, replace it like the JDK encoder does
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xe0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeControl(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '\n':
+                buffer[position++] = 'n';
+                break;
+            case '\r':
+                buffer[position++] = 'r';
+                break;
+            case '\t':
+                buffer[position++] = 't';
+                break;
+            case '\b':
+                buffer[position++] = 'b';
+                break;
+            case '\f':
+                buffer[position++] = 'f';
+                break;
+            default:
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xf];
+        }
+    }
+
+    private void writeAscii(String value) {
+        for (int i = 0; i < value.length(); ++i) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    /**
+     * Make sure there are enough space in buffer, drain the buffer if not.
+     *
+     * @param length number of bytes to write
+     */
+    private void ensure(int length) {
+        if (buffer.length - position < length) {
+            drain();
+        }
+    }
+
+    /**
+     * Write all buffered bytes to underlying target and reset the buffer.
+     *
+     * @throws UncheckedIOException if failed to write
+     */
+    private void drain() {
+        if (position == 0) {
+            return;
+        }
+        try {
+            if (outputStream != null) {
+                outputStream.write(buffer, 0, position);
+            } else {
+                byteBuffer.clear().limit(position);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+}
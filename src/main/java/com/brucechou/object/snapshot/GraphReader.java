@@ -0,0 +1,341 @@
+package com.brucechou.object.snapshot;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.instantiation.InstantiationStrategy;
+import com.brucechou.object.instantiation.SerializationInstantiationStrategy;
+import com.brucechou.object.plan.ClassPlan;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads an object graph in snapshot format from a buffer, see {@link SnapshotFormat}.
+ */
+final class GraphReader {
+
+    private static final InstantiationStrategy ALLOCATION = new SerializationInstantiationStrategy();
+
+    private static final Map<String, Class<?>> PRIMITIVE_CLASSES = new HashMap<>();
+
+    static {
+        for (Class<?> clazz : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class,
+                long.class, float.class, double.class}) {
+            PRIMITIVE_CLASSES.put(clazz.getName(), clazz);
+        }
+    }
+
+    private final ObjectFactory objectFactory;
+    private final ByteBuffer buffer;
+    private final ClassLoader classLoader;
+    private final List<Object> handles = new ArrayList<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+
+    // fields of described classes, in the order of snapshot, null if field no longer exists
+    private final Map<Class<?>, Field[]> classFields = new HashMap<>();
+
+    // constants of enum classes, getEnumConstants() clones them on each call
+    private final Map<Class<?>, Object[]> enumConstants = new HashMap<>();
+
+    GraphReader(ObjectFactory objectFactory, ByteBuffer buffer, ClassLoader classLoader) {
+        this.objectFactory = objectFactory;
+        this.buffer = buffer;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Read a value and everything reachable from it.
+     *
+     * @return the value read
+     * @throws IOException if snapshot is corrupted or incompatible with current classes
+     */
+    @SuppressWarnings("unchecked")
+    Object read() throws IOException {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SnapshotFormat.NULL:
+                return null;
+            case SnapshotFormat.REFERENCE:
+                return handles.get(buffer.getInt());
+            case SnapshotFormat.BOOLEAN:
+                return buffer.get() != 0;
+            case SnapshotFormat.BYTE:
+                return buffer.get();
+            case SnapshotFormat.CHAR:
+                return buffer.getChar();
+            case SnapshotFormat.SHORT:
+                return buffer.getShort();
+            case SnapshotFormat.INT:
+                return buffer.getInt();
+            case SnapshotFormat.LONG:
+                return buffer.getLong();
+            case SnapshotFormat.FLOAT:
+                return buffer.getFloat();
+            case SnapshotFormat.DOUBLE:
+                return buffer.getDouble();
+            case SnapshotFormat.STRING:
+                return readString();
+            case SnapshotFormat.ENUM:
+                return enumConstants.computeIfAbsent(readClass(), Class::getEnumConstants)[buffer.getInt()];
+            case SnapshotFormat.BIG_INTEGER:
+                return new BigInteger(readBytes());
+            case SnapshotFormat.BIG_DECIMAL:
+                return new BigDecimal(new BigInteger(readBytes()), buffer.getInt());
+            case SnapshotFormat.DATE:
+                return new Date(buffer.getLong());
+            case SnapshotFormat.OPTIONAL: {
+                // reserve the handle before reading the inside value, same as writer
+                int handle = reserve();
+                Optional<?> optional = Optional.ofNullable(read());
+                handles.set(handle, optional);
+                return optional;
+            }
+            case SnapshotFormat.ARRAY:
+                return readArray();
+            case SnapshotFormat.COLLECTION: {
+                Class<?> clazz = readClass();
+                if (CompactCollections.isCompactType(clazz)) {
+                    return readCompactCollection(clazz);
+                }
+                Collection<Object> collection = (Collection<Object>) newInstance(clazz);
+                handles.add(collection);
+                for (int i = buffer.getInt(); i > 0; --i) {
+                    collection.add(read());
+                }
+                return collection;
+            }
+            case SnapshotFormat.MAP: {
+                Class<?> clazz = readClass();
+                if (CompactCollections.isCompactType(clazz)) {
+                    return readCompactMap();
+                }
+                Map<Object, Object> map = (Map<Object, Object>) newInstance(clazz);
+                handles.add(map);
+                for (int i = buffer.getInt(); i > 0; --i) {
+                    map.put(read(), read());
+                }
+                return map;
+            }
+            case SnapshotFormat.OBJECT:
+                return readObject();
+            case SnapshotFormat.SERIALIZED: {
+                int handle = reserve();
+                Object value = deserialize(readBytes());
+                handles.set(handle, value);
+                return value;
+            }
+            default:
+                throw new StreamCorruptedException("Unknown tag " + tag);
+        }
+    }
+
+    /**
+     * Read elements of a compact collection, which is created after all elements are read.
+     *
+     * @param clazz the compact collection class
+     * @return compact collection
+     * @throws IOException if failed to read
+     */
+    private Object readCompactCollection(Class<?> clazz) throws IOException {
+        int handle = reserve();
+        Object[] elements = new Object[buffer.getInt()];
+        for (int i = 0; i < elements.length; ++i) {
+            elements[i] = read();
+        }
+        Collection<?> collection = Set.class.isAssignableFrom(clazz)
+                                           ? CompactCollections.setOf(elements, elements.length)
+                                           : CompactCollections.listOf(elements);
+        handles.set(handle, collection);
+        return collection;
+    }
+
+    /**
+     * Read entries of a compact map, which is created after all entries are read.
+     *
+     * @return compact map
+     * @throws IOException if failed to read
+     */
+    private Object readCompactMap() throws IOException {
+        int handle = reserve();
+        int size = buffer.getInt();
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = read();
+            values[i] = read();
+        }
+        Map<?, ?> map = CompactCollections.mapOf(keys, values, size);
+        handles.set(handle, map);
+        return map;
+    }
+
+    private Object readArray() throws IOException {
+        Class<?> componentType = readClass();
+        int length = buffer.getInt();
+        Object array = Array.newInstance(componentType, length);
+        handles.add(array);
+
+        if (componentType == boolean.class) {
+            boolean[] values = (boolean[]) array;
+            for (int i = 0; i < length; ++i) {
+                values[i] = buffer.get() != 0;
+            }
+        } else if (componentType == byte.class) {
+            buffer.get((byte[]) array);
+        } else if (componentType == char.class) {
+            buffer.asCharBuffer().get((char[]) array);
+            skip(length * Character.BYTES);
+        } else if (componentType == short.class) {
+            buffer.asShortBuffer().get((short[]) array);
+            skip(length * Short.BYTES);
+        } else if (componentType == int.class) {
+            buffer.asIntBuffer().get((int[]) array);
+            skip(length * Integer.BYTES);
+        } else if (componentType == long.class) {
+            buffer.asLongBuffer().get((long[]) array);
+            skip(length * Long.BYTES);
+        } else if (componentType == float.class) {
+            buffer.asFloatBuffer().get((float[]) array);
+            skip(length * Float.BYTES);
+        } else if (componentType == double.class) {
+            buffer.asDoubleBuffer().get((double[]) array);
+            skip(length * Double.BYTES);
+        } else {
+            Object[] values = (Object[]) array;
+            for (int i = 0; i < length; ++i) {
+                values[i] = read();
+            }
+        }
+        return array;
+    }
+
+    private Object readObject() throws IOException {
+        Class<?> clazz = readClass();
+        Field[] fields = classFields.get(clazz);
+        if (fields == null) {
+            fields = describe(clazz);
+        }
+
+        // fields are all restored, constructors are skipped if possible as deserialization does
+        Object instance = SerializationInstantiationStrategy.isAvailable()
+                                  ? ALLOCATION.instantiate(clazz, objectFactory, null)
+                                  : objectFactory.getClassPlan(clazz).newEmptyInstance();
+        handles.add(instance);
+        for (Field field : fields) {
+            Object value = read();
+            if (field == null) {
+                throw new InvalidClassException(clazz.getName(), "field removed since snapshot was written");
+            }
+            try {
+                field.set(instance, value);
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                throw (IOException) new InvalidClassException(clazz.getName(), "incompatible field " + field)
+                                            .initCause(e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Read field names of a class and match them with fields of current plan.
+     *
+     * @param clazz the class
+     * @return fields in the order of snapshot
+     * @throws InvalidClassException if fields of current plan do not match the snapshot
+     */
+    private Field[] describe(Class<?> clazz) throws IOException {
+        ClassPlan plan = objectFactory.getClassPlan(clazz);
+        Field[] fields = new Field[buffer.getInt()];
+        if (fields.length != plan.getFields().size()) {
+            throw new InvalidClassException(clazz.getName(), "fields changed since snapshot was written");
+        }
+        for (int i = 0; i < fields.length; ++i) {
+            String name = readString();
+            for (Field field : plan.getFields()) {
+                if (field.getName().equals(name)) {
+                    fields[i] = field;
+                    break;
+                }
+            }
+        }
+        classFields.put(clazz, fields);
+        return fields;
+    }
+
+    private Class<?> readClass() throws IOException {
+        int index = buffer.getInt();
+        if (index != SnapshotFormat.NEW_CLASS) {
+            return classes.get(index);
+        }
+
+        String name = readString();
+        Class<?> clazz = PRIMITIVE_CLASSES.get(name);
+        if (clazz == null) {
+            try {
+                clazz = Class.forName(name, false, classLoader);
+            } catch (ClassNotFoundException e) {
+                throw (IOException) new InvalidClassException(name, "class not found").initCause(e);
+            }
+        }
+        classes.add(clazz);
+        return clazz;
+    }
+
+    private Object newInstance(Class<?> clazz) throws IOException {
+        try {
+            return clazz.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw (IOException) new InvalidClassException(clazz.getName(), "cannot instantiate").initCause(e);
+        }
+    }
+
+    private Object deserialize(byte[] bytes) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw (IOException) new InvalidClassException(e.getMessage()).initCause(e);
+        }
+    }
+
+    private int reserve() {
+        handles.add(null);
+        return handles.size() - 1;
+    }
+
+    private void skip(int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * Read a length-prefixed UTF-8 string.
+     *
+     * @return the string
+     */
+    String readString() {
+        return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes() {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,285 @@
+package com.brucechou.object.snapshot;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.collection.VirtualList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes a generated object graph in snapshot format, see {@link SnapshotFormat}.
+ */
+final class GraphWriter {
+
+    private final ObjectFactory objectFactory;
+    private final DataOutputStream out;
+    private final Map<Object, Integer> handles = new IdentityHashMap<>();
+    private final Map<Class<?>, Integer> classes = new HashMap<>();
+    private final Set<Class<?>> describedClasses = new HashSet<>();
+
+    GraphWriter(ObjectFactory objectFactory, DataOutputStream out) {
+        this.objectFactory = objectFactory;
+        this.out = out;
+    }
+
+    /**
+     * Write a value and everything reachable from it.
+     *
+     * @param value the value to write
+     * @throws NotSerializableException if any value in graph cannot be written, e.g. proxies and streams
+     * @throws IOException if failed to write
+     */
+    void write(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(SnapshotFormat.NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(SnapshotFormat.BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(SnapshotFormat.BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(SnapshotFormat.CHAR);
+            out.writeChar((Character) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SnapshotFormat.SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(SnapshotFormat.INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(SnapshotFormat.LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(SnapshotFormat.FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(SnapshotFormat.DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            out.writeByte(SnapshotFormat.STRING);
+            writeString((String) value);
+        } else if (value instanceof Enum) {
+            out.writeByte(SnapshotFormat.ENUM);
+            writeClass(((Enum<?>) value).getDeclaringClass());
+            out.writeInt(((Enum<?>) value).ordinal());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(SnapshotFormat.BIG_INTEGER);
+            writeBytes(((BigInteger) value).toByteArray());
+        } else if (value.getClass() == BigDecimal.class) {
+            out.writeByte(SnapshotFormat.BIG_DECIMAL);
+            writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+            out.writeInt(((BigDecimal) value).scale());
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(SnapshotFormat.DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            Integer handle = handles.get(value);
+            if (handle == null) {
+                handles.put(value, handles.size());
+                writeReferenceType(value);
+            } else {
+                out.writeByte(SnapshotFormat.REFERENCE);
+                out.writeInt(handle);
+            }
+        }
+    }
+
+    private void writeReferenceType(Object value) throws IOException {
+        Class<?> clazz = value.getClass();
+        if (value instanceof Optional) {
+            out.writeByte(SnapshotFormat.OPTIONAL);
+            write(((Optional<?>) value).orElse(null));
+        } else if (clazz.isArray()) {
+            out.writeByte(SnapshotFormat.ARRAY);
+            writeArray(value);
+        } else if (Proxy.isProxyClass(clazz) || value instanceof javassist.util.proxy.Proxy
+                           || value instanceof VirtualList) {
+            // virtual lists would be materialized by writing, which defeats them
+            throw new NotSerializableException(clazz.getName());
+        } else if (value instanceof Collection && isRestorable(value)) {
+            out.writeByte(SnapshotFormat.COLLECTION);
+            writeClass(clazz);
+            out.writeInt(((Collection<?>) value).size());
+            for (Object element : (Collection<?>) value) {
+                write(element);
+            }
+        } else if (value instanceof Map && isRestorable(value)) {
+            out.writeByte(SnapshotFormat.MAP);
+            writeClass(clazz);
+            out.writeInt(((Map<?, ?>) value).size());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                write(entry.getKey());
+                write(entry.getValue());
+            }
+        } else if (isPlatformClass(clazz)) {
+            // platform values such as temporals, which are small and serializable
+            if (!(value instanceof Serializable)) {
+                throw new NotSerializableException(clazz.getName());
+            }
+            out.writeByte(SnapshotFormat.SERIALIZED);
+            writeBytes(serialize(value));
+        } else {
+            out.writeByte(SnapshotFormat.OBJECT);
+            writeObject(value);
+        }
+    }
+
+    private void writeArray(Object array) throws IOException {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        writeClass(componentType);
+        out.writeInt(length);
+
+        if (componentType == boolean.class) {
+            for (boolean element : (boolean[]) array) {
+                out.writeBoolean(element);
+            }
+        } else if (componentType == byte.class) {
+            out.write((byte[]) array);
+        } else if (componentType == char.class) {
+            for (char element : (char[]) array) {
+                out.writeChar(element);
+            }
+        } else if (componentType == short.class) {
+            for (short element : (short[]) array) {
+                out.writeShort(element);
+            }
+        } else if (componentType == int.class) {
+            for (int element : (int[]) array) {
+                out.writeInt(element);
+            }
+        } else if (componentType == long.class) {
+            for (long element : (long[]) array) {
+                out.writeLong(element);
+            }
+        } else if (componentType == float.class) {
+            for (float element : (float[]) array) {
+                out.writeFloat(element);
+            }
+        } else if (componentType == double.class) {
+            for (double element : (double[]) array) {
+                out.writeDouble(element);
+            }
+        } else {
+            for (Object element : (Object[]) array) {
+                write(element);
+            }
+        }
+    }
+
+    /**
+     * Write fields in plan of the object, field names are written with the first object of each class.
+     *
+     * @param value the object
+     * @throws IOException if failed to write
+     */
+    private void writeObject(Object value) throws IOException {
+        Class<?> clazz = value.getClass();
+        List<Field> fields = objectFactory.getClassPlan(clazz).getFields();
+        writeClass(clazz);
+        if (describedClasses.add(clazz)) {
+            out.writeInt(fields.size());
+            for (Field field : fields) {
+                writeString(field.getName());
+            }
+        }
+
+        for (Field field : fields) {
+            try {
+                write(field.get(value));
+            } catch (IllegalAccessException e) {
+                throw new NotSerializableException(field.toString());
+            }
+        }
+    }
+
+    /**
+     * Write class as an index of class table, new class is written by name.
+     *
+     * @param clazz the class
+     * @throws IOException if failed to write
+     */
+    private void writeClass(Class<?> clazz) throws IOException {
+        Integer index = classes.get(clazz);
+        if (index == null) {
+            classes.put(clazz, classes.size());
+            out.writeInt(SnapshotFormat.NEW_CLASS);
+            writeString(clazz.getName());
+        } else {
+            out.writeInt(index);
+        }
+    }
+
+    /**
+     * Write a length-prefixed UTF-8 string.
+     *
+     * @param value the string
+     * @throws IOException if failed to write
+     */
+    void writeString(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+            objectOut.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static boolean isPlatformClass(Class<?> clazz) {
+        return clazz.getName().startsWith("java.") || clazz.getName().startsWith("javax.");
+    }
+
+    /**
+     * Check if a collection or map can be restored by adding elements, i.e. it is a compact collection or
+     * it has a public default constructor.
+     *
+     * @param value the collection or map
+     * @return true if it can be restored
+     */
+    private static boolean isRestorable(Object value) {
+        return CompactCollections.isCompact(value) || hasPublicDefaultConstructor(value.getClass());
+    }
+
+    private static boolean hasPublicDefaultConstructor(Class<?> clazz) {
+        if (!Modifier.isPublic(clazz.getModifiers())) {
+            return false;
+        }
+        try {
+            clazz.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.brucechou.object.snapshot;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.util.CacheStatistics;
+import com.brucechou.object.util.Hashes;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An optional on-disk cache of seeded generation. Generated graphs are written in a compact binary snapshot
+ * keyed by type, seed and {@link ObjectFactory#getConfigurationHash() configuration hash} into a cache
+ * directory, and read back with a single memory-mapped read when the key matches, so the same seeded fixtures
+ * are not regenerated in every JVM.
+ *
+ * <p>Graphs which cannot be written, e.g. containing proxies or streams, are generated without caching, so are
+ * types whose snapshots failed to read, and everything if the configuration is not
+ * {@link ObjectFactory#isConfigurationDescribed() described} by the hash.
+ * Least recently used snapshots are evicted when the directory grows beyond the maximum size.
+ * The directory can be shared by concurrent JVMs, snapshots are moved into place atomically.
+ */
+@ThreadSafe
+public final class SnapshotCache {
+
+    private static final String SUFFIX = ".snapshot";
+
+    private final ObjectFactory objectFactory;
+    private final Path directory;
+    private final long maxBytes;
+
+    // types failed to write or read, not retried
+    private final Set<Type> uncacheable = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Create a snapshot cache.
+     *
+     * @param objectFactory object factory to generate on miss
+     * @param directory cache directory, created on first write
+     * @param maxBytes maximum total size of snapshots in directory
+     * @throws IllegalArgumentException if object factory or directory is null, or max bytes is not positive
+     */
+    public SnapshotCache(ObjectFactory objectFactory, Path directory, long maxBytes) {
+        if (objectFactory == null || directory == null) {
+            throw new IllegalArgumentException("Object factory and directory should not be null");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes should be positive");
+        }
+        this.objectFactory = objectFactory;
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the object of type generated with seed from snapshot, or generate and write the snapshot if absent.
+     *
+     * @param type the type to create
+     * @param seed the seed of random
+     * @param <T> the type to create
+     * @return generated or restored value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generate(Type type, long seed) {
+        if (!objectFactory.isConfigurationDescribed()) {
+            missCount.increment();
+            return objectFactory.generate(type, seed);
+        }
+
+        if (uncacheable.contains(type)) {
+            missCount.increment();
+            return objectFactory.generate(type, seed);
+        }
+
+        Path file = directory.resolve(fileName(type, seed));
+
+        if (Files.isRegularFile(file)) {
+            try {
+                T value = (T) load(file, type, seed);
+                hitCount.increment();
+                // keep recently used snapshots from eviction
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return value;
+            } catch (NoSuchFileException e) {
+                // concurrently evicted snapshot, regenerate and write it again
+            } catch (IOException | RuntimeException e) {
+                // corrupted or incompatible snapshot, would fail again if rewritten
+                uncacheable.add(type);
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException deleteError) {
+                    // intentionally ignored
+                }
+                missCount.increment();
+                return objectFactory.generate(type, seed);
+            }
+        }
+
+        missCount.increment();
+        T value = objectFactory.generate(type, seed);
+        if (!uncacheable.contains(type)) {
+            store(file, type, seed, value);
+        }
+        return value;
+    }
+
+    /**
+     * Get statistics of this cache, size is the number of snapshots in directory.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(listSnapshots().size(), hitCount.sum(), missCount.sum());
+    }
+
+    /**
+     * Delete all snapshots in directory.
+     *
+     * @throws UncheckedIOException if failed to delete
+     */
+    public void clear() {
+        for (Path snapshot : listSnapshots()) {
+            try {
+                Files.deleteIfExists(snapshot);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Reset hit and miss counters.
+     */
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    private String fileName(Type type, long seed) {
+        return String.format("%016x-%016x-%016x%s", Hashes.fnv1a(type.getTypeName()), seed,
+                             objectFactory.getConfigurationHash(), SUFFIX);
+    }
+
+    private Object load(Path file, Type type, long seed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            GraphReader reader = new GraphReader(objectFactory, buffer, classLoader());
+
+            // the key is hashed in file name, verify it
+            if (buffer.getInt() != SnapshotFormat.MAGIC
+                        || buffer.getInt() != SnapshotFormat.VERSION
+                        || !reader.readString().equals(type.getTypeName())
+                        || buffer.getLong() != seed
+                        || buffer.getLong() != objectFactory.getConfigurationHash()) {
+                throw new IOException("Snapshot key mismatch " + file);
+            }
+            return reader.read();
+        }
+    }
+
+    private void store(Path file, Type type, long seed, Object value) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, "snapshot", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                GraphWriter writer = new GraphWriter(objectFactory, out);
+                out.writeInt(SnapshotFormat.MAGIC);
+                out.writeInt(SnapshotFormat.VERSION);
+                writer.writeString(type.getTypeName());
+                out.writeLong(seed);
+                out.writeLong(objectFactory.getConfigurationHash());
+                writer.write(value);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+            evict();
+        } catch (NotSerializableException e) {
+            uncacheable.add(type);
+        } catch (IOException | RuntimeException e) {
+            // caching is best effort, the generated value is still returned
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // intentionally ignored
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete least recently used snapshots until total size is within maximum.
+     *
+     * @throws IOException if failed to list or delete snapshots
+     */
+    private void evict() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        List<Map.Entry<Path, FileTime>> entries = new ArrayList<>(snapshots.size());
+        long total = 0;
+        for (Path snapshot : snapshots) {
+            try {
+                total += Files.size(snapshot);
+                entries.add(new AbstractMap.SimpleEntry<>(snapshot, Files.getLastModifiedTime(snapshot)));
+            } catch (IOException e) {
+                // concurrently evicted
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        entries.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        for (Map.Entry<Path, FileTime> entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            try {
+                long size = Files.size(entry.getKey());
+                Files.deleteIfExists(entry.getKey());
+                total -= size;
+            } catch (IOException e) {
+                // concurrently evicted
+            }
+        }
+    }
+
+    private List<Path> listSnapshots() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        List<Path> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).forEach(snapshots::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return snapshots;
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader == null ? SnapshotCache.class.getClassLoader() : classLoader;
+    }
+
+}
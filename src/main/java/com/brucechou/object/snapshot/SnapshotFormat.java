@@ -0,0 +1,42 @@
+package com.brucechou.object.snapshot;
+
+/**
+ * Constants of snapshot binary format. A snapshot is a header of magic, version, type name, seed and
+ * configuration hash, followed by a tagged object graph, where every object, array, collection, map, optional
+ * and serialized value gets a handle in order of appearance, so shared references and cycles are restored.
+ */
+final class SnapshotFormat {
+
+    private SnapshotFormat() {}
+
+    static final int MAGIC = 0x4e53464f;
+    static final int VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte REFERENCE = 1;
+    static final byte BOOLEAN = 2;
+    static final byte BYTE = 3;
+    static final byte CHAR = 4;
+    static final byte SHORT = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte STRING = 10;
+    static final byte ENUM = 11;
+    static final byte BIG_INTEGER = 12;
+    static final byte BIG_DECIMAL = 13;
+    static final byte DATE = 14;
+    static final byte OPTIONAL = 15;
+    static final byte ARRAY = 16;
+    static final byte COLLECTION = 17;
+    static final byte MAP = 18;
+    static final byte OBJECT = 19;
+    static final byte SERIALIZED = 20;
+
+    /**
+     * Class index means a new class name follows.
+     */
+    static final int NEW_CLASS = -1;
+
+}
@@ -0,0 +1,82 @@
+package com.brucechou.object.unique;
+
+import com.brucechou.object.util.Hashes;
+
+/**
+ * A keyed bijective permutation of {@code [0, range)}, maps distinct inputs to distinct random looking outputs
+ * without remembering any of them.
+ *
+ * <p>A balanced Feistel network of 4 rounds permutes the smallest domain of an even number of bits covering
+ * the range, outputs beyond the range are permuted again until they fall in the range (cycle walking). Since the
+ * domain is less than 4 times of the range, it takes less than 4 rounds of the network on average.
+ */
+public final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long range;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    /**
+     * Create a permutation.
+     *
+     * @param range size of the range to permute
+     * @param key the key of permutation, different keys give different permutations
+     * @throws IllegalArgumentException if range is not positive
+     */
+    public FeistelPermutation(long range, long key) {
+        if (range <= 0) {
+            throw new IllegalArgumentException("Range must be positive");
+        }
+
+        this.range = range;
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(range - 1));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        for (int i = 0; i < ROUNDS; ++i) {
+            roundKeys[i] = Hashes.derive(key, i);
+        }
+    }
+
+    /**
+     * Permute a value.
+     *
+     * @param value the value to permute, between 0 and range exclusive
+     * @return permuted value, between 0 and range exclusive
+     * @throws IllegalArgumentException if value is out of range
+     */
+    public long permute(long value) {
+        if (value < 0 || value >= range) {
+            throw new IllegalArgumentException("Value must be between 0 and range exclusive");
+        }
+
+        long permuted = value;
+        do {
+            permuted = encrypt(permuted);
+        } while (Long.compareUnsigned(permuted, range) >= 0);
+        return permuted;
+    }
+
+    /**
+     * Get size of the range.
+     *
+     * @return size of the range
+     */
+    public long getRange() {
+        return range;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (Hashes.mix64(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return left << halfBits | right;
+    }
+
+}
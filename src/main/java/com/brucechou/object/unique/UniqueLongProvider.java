@@ -0,0 +1,95 @@
+package com.brucechou.object.unique;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.shard.Shard;
+
+import java.lang.reflect.Type;
+
+/**
+ * Unique long provider, returns distinct values of {@code [min, max]} in random looking order without remembering
+ * returned values, e.g. for primary keys. Bind it to fields by name, e.g.
+ * {@code Bindings.bind("id", new UniqueLongProvider(1, 1_000_000_000L, key))}.
+ *
+ * <p>Values depend on how many values were drawn before, not on seeds, so seeded generations are not reproducible
+ * and are not cached by {@link com.brucechou.object.snapshot.SnapshotCache}. Records of
+ * {@link com.brucechou.object.ObjectFactory#generateShard(Type, long)} derive values from their global indices
+ * instead, so all shards together generate the same values as a single process.
+ */
+public class UniqueLongProvider implements Provider {
+
+    private final long min;
+    private final UniqueSequence sequence;
+
+    /**
+     * Create a unique long provider.
+     *
+     * @param min the min value, inclusive
+     * @param max the max value, inclusive
+     * @param key the key of permutation, different keys give different orders
+     * @throws IllegalArgumentException if min is greater than max, or the range has more than
+     *                                  {@code Long.MAX_VALUE} values
+     */
+    public UniqueLongProvider(long min, long max, long key) {
+        this(min, max, key, null);
+    }
+
+    /**
+     * Create a unique long provider of a shard, providers of all shards with the same range and key never return
+     * the same value.
+     *
+     * @param min the min value, inclusive
+     * @param max the max value, inclusive
+     * @param key the key of permutation, different keys give different orders
+     * @param shard the shard to partition values by, null if not sharded
+     * @throws IllegalArgumentException if min is greater than max, or the range has more than
+     *                                  {@code Long.MAX_VALUE} values
+     */
+    public UniqueLongProvider(long min, long max, long key, Shard shard) {
+        if (min > max) {
+            throw new IllegalArgumentException("Min must be less than or equal to max");
+        }
+        long range = max - min + 1;
+        if (range <= 0) {
+            throw new IllegalArgumentException("Range must have at most Long.MAX_VALUE values");
+        }
+
+        this.min = min;
+        this.sequence = new UniqueSequence(range, key, shard);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type) {
+        return (T) Long.valueOf(min + sequence.next());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recognizes(Type type) {
+        return long.class.equals(type) || Long.class.equals(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String configurationKey() {
+        // values depend on values drawn before, not on configuration
+        return null;
+    }
+
+}
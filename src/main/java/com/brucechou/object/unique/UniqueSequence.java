@@ -0,0 +1,74 @@
+package com.brucechou.object.unique;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.shard.Shard;
+import com.brucechou.object.shard.ShardRecord;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe sequence of unique values of {@code [0, range)} in random looking order, by permuting a counter.
+ * A sequence of a shard permutes only the counters of the shard, so sequences of all shards with the same range
+ * and key never produce the same value.
+ *
+ * <p>Values depend on how many values were drawn before, not on seeds of object factory. Within a
+ * {@link ShardRecord}, the counter is derived from the global index of the record and the values drawn in the record
+ * instead, regardless of the shard, so sharded datasets generate the same values as a single process.
+ */
+final class UniqueSequence {
+
+    private final FeistelPermutation permutation;
+    private final AtomicLong counter;
+    private final long end;
+
+    /**
+     * Create a sequence.
+     *
+     * @param range size of the value space
+     * @param key the key of permutation
+     * @param shard the shard to partition the value space by, null if not sharded
+     * @throws IllegalArgumentException if range is not positive
+     */
+    UniqueSequence(long range, long key, Shard shard) {
+        this.permutation = new FeistelPermutation(range, key);
+        this.counter = new AtomicLong(shard == null ? 0 : shard.start(range));
+        this.end = shard == null ? range : shard.end(range);
+    }
+
+    /**
+     * Get next unique value.
+     *
+     * @return next value
+     * @throws ObjectCreationException if all values of the range, or of the shard, are used
+     */
+    long next() {
+        ShardRecord record = ShardRecord.current();
+        if (record != null) {
+            return nextOfRecord(record);
+        }
+
+        long count = counter.getAndIncrement();
+        if (count >= end || count < 0) {
+            throw new ObjectCreationException("Unique values of range %s exhausted", permutation.getRange());
+        }
+        return permutation.permute(count);
+    }
+
+    /**
+     * Get the unique value of the next draw in a record, the {@code d}-th draw of record {@code i} of {@code n}
+     * records permutes counter {@code d * n + i}.
+     *
+     * @param record the current record
+     * @return next value
+     * @throws ObjectCreationException if the counter is out of range
+     */
+    private long nextOfRecord(ShardRecord record) {
+        long range = permutation.getRange();
+        long draw = record.nextDraw(this);
+        if (record.getIndex() >= range || draw > (range - 1 - record.getIndex()) / record.getTotal()) {
+            throw new ObjectCreationException("Unique values of range %s exhausted", range);
+        }
+        return permutation.permute(draw * record.getTotal() + record.getIndex());
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.brucechou.object.unique;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.shard.Shard;
+
+import java.lang.reflect.Type;
+
+/**
+ * Unique string provider, returns distinct strings of a pattern without remembering returned values, e.g. emails
+ * or usernames. The {@code %s} of pattern is replaced by a unique permuted value in base 36 of fixed width, e.g.
+ * {@code Bindings.bind("email", new UniqueStringProvider("user-%s@example.com", 1_000_000_000L, key))}.
+ *
+ * <p>Values depend on how many values were drawn before, not on seeds, so seeded generations are not reproducible
+ * and are not cached by {@link com.brucechou.object.snapshot.SnapshotCache}. Records of
+ * {@link com.brucechou.object.ObjectFactory#generateShard(Type, long)} derive values from their global indices
+ * instead, so all shards together generate the same values as a single process.
+ */
+public class UniqueStringProvider implements Provider {
+
+    private static final String PLACEHOLDER = "%s";
+    private static final int RADIX = 36;
+
+    private final String prefix;
+    private final String suffix;
+    private final int width;
+    private final UniqueSequence sequence;
+
+    /**
+     * Create a unique string provider.
+     *
+     * @param pattern the pattern of strings, with exactly one {@code %s} replaced by the unique value
+     * @param range number of unique values
+     * @param key the key of permutation, different keys give different orders
+     * @throws IllegalArgumentException if pattern is null or does not have exactly one {@code %s},
+     *                                  or range is not positive
+     */
+    public UniqueStringProvider(String pattern, long range, long key) {
+        this(pattern, range, key, null);
+    }
+
+    /**
+     * Create a unique string provider of a shard, providers of all shards with the same pattern, range and key
+     * never return the same string.
+     *
+     * @param pattern the pattern of strings, with exactly one {@code %s} replaced by the unique value
+     * @param range number of unique values
+     * @param key the key of permutation, different keys give different orders
+     * @param shard the shard to partition values by, null if not sharded
+     * @throws IllegalArgumentException if pattern is null or does not have exactly one {@code %s},
+     *                                  or range is not positive
+     */
+    public UniqueStringProvider(String pattern, long range, long key, Shard shard) {
+        int at = pattern == null ? -1 : pattern.indexOf(PLACEHOLDER);
+        if (at < 0 || pattern.indexOf(PLACEHOLDER, at + PLACEHOLDER.length()) >= 0) {
+            throw new IllegalArgumentException("Pattern must have exactly one " + PLACEHOLDER);
+        }
+
+        this.prefix = pattern.substring(0, at);
+        this.suffix = pattern.substring(at + PLACEHOLDER.length());
+        this.sequence = new UniqueSequence(range, key, shard);
+        this.width = Long.toString(range - 1, RADIX).length();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type) {
+        String value = Long.toString(sequence.next(), RADIX);
+        StringBuilder builder = new StringBuilder(prefix.length() + width + suffix.length()).append(prefix);
+        for (int i = value.length(); i < width; ++i) {
+            builder.append('0');
+        }
+        return (T) builder.append(value).append(suffix).toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recognizes(Type type) {
+        return String.class.equals(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String configurationKey() {
+        // values depend on values drawn before, not on configuration
+        return null;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.brucechou.object.unique;
+
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.shard.Shard;
+import com.brucechou.object.util.Hashes;
+
+import java.lang.reflect.Type;
+import java.util.UUID;
+
+/**
+ * Unique UUID provider, returns distinct random looking version 4 UUIDs without remembering returned values.
+ * A unique permuted value of 63 bits is spread over the UUID, the other random bits are derived from it.
+ *
+ * <p>Values depend on how many values were drawn before, not on seeds, so seeded generations are not reproducible
+ * and are not cached by {@link com.brucechou.object.snapshot.SnapshotCache}. Records of
+ * {@link com.brucechou.object.ObjectFactory#generateShard(Type, long)} derive values from their global indices
+ * instead, so all shards together generate the same values as a single process.
+ */
+public class UniqueUuidProvider implements Provider {
+
+    private final long key;
+    private final UniqueSequence sequence;
+
+    /**
+     * Create a unique UUID provider.
+     *
+     * @param key the key of permutation, different keys give different UUIDs
+     */
+    public UniqueUuidProvider(long key) {
+        this(key, null);
+    }
+
+    /**
+     * Create a unique UUID provider of a shard, providers of all shards with the same key never return
+     * the same UUID.
+     *
+     * @param key the key of permutation, different keys give different UUIDs
+     * @param shard the shard to partition values by, null if not sharded
+     */
+    public UniqueUuidProvider(long key, Shard shard) {
+        this.key = key;
+        this.sequence = new UniqueSequence(Long.MAX_VALUE, key, shard);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Type type) {
+        long value = sequence.next();
+        long filler = Hashes.mix64(value ^ key);
+        // 48 high bits, version 4, 12 bits, then variant, 3 bits and derived random bits
+        long mostSigBits = value >>> 15 << 16 | 0x4000L | value >>> 3 & 0xfffL;
+        long leastSigBits = 0x8000000000000000L | (value & 0x7L) << 59 | filler >>> 5;
+        return (T) new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T get(Type type, CycleDetector cycleDetector) {
+        return get(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recognizes(Type type) {
+        return UUID.class.equals(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String configurationKey() {
+        // values depend on values drawn before, not on configuration
+        return null;
+    }
+
+}
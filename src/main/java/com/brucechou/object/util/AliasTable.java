@@ -0,0 +1,100 @@
+package com.brucechou.object.util;
+
+import java.util.Random;
+
+/**
+ * Alias table of a discrete distribution built by Vose's method, samples an index by its weight in O(1) with
+ * a single bounded int and a single double drawn from random.
+ */
+public final class AliasTable {
+
+    // probability to keep the drawn column, otherwise take its alias
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * Build an alias table of weights.
+     *
+     * @param weights non-negative weights of indices, not necessarily normalized
+     * @throws IllegalArgumentException if weights are null or empty, any weight is negative or not finite,
+     *                                  or all weights are zero
+     */
+    public AliasTable(double[] weights) {
+        if (weights == null || weights.length == 0) {
+            throw new IllegalArgumentException("Weights must be non-empty");
+        }
+
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be non-negative and finite");
+            }
+            sum += weight;
+        }
+        if (!(sum > 0) || Double.isInfinite(sum)) {
+            throw new IllegalArgumentException("Sum of weights must be positive and finite");
+        }
+
+        int n = weights.length;
+        probabilities = new double[n];
+        aliases = new int[n];
+
+        // scaled weights, average 1, split into columns below and above average
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; ++i) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        // fill each small column up with a large one
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // remaining columns are full, up to rounding errors
+        while (largeSize > 0) {
+            probabilities[large[--largeSize]] = 1;
+        }
+        while (smallSize > 0) {
+            probabilities[small[--smallSize]] = 1;
+        }
+    }
+
+    /**
+     * Sample an index by weights.
+     *
+     * @param random the random to sample with
+     * @return sampled index
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Get number of indices.
+     *
+     * @return number of indices
+     */
+    public int size() {
+        return probabilities.length;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.brucechou.object.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A snapshot of cache statistics.
+ */
+@Getter
+@AllArgsConstructor
+public final class CacheStatistics {
+
+    /**
+     * Empty statistics, used when there is no cache at all.
+     */
+    public static final CacheStatistics EMPTY = new CacheStatistics(0, 0, 0);
+
+    private final int size;
+    private final long hitCount;
+    private final long missCount;
+
+    /**
+     * Get ratio of hits among all lookups.
+     *
+     * @return hit rate between 0 and 1, or 0 if there is no lookup yet
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Combine this statistics with another one.
+     *
+     * @param other another statistics
+     * @return combined statistics
+     */
+    public CacheStatistics plus(CacheStatistics other) {
+        return new CacheStatistics(size + other.size, hitCount + other.hitCount, missCount + other.missCount);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.brucechou.object.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A thread-safe unbounded cache that counts hits and misses, null values are cached as well.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+@ThreadSafe
+public final class CountingCache<K, V> {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final ConcurrentMap<K, Object> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Get cached value for given key, or load and cache the value if absent.
+     *
+     * @param key the key to look up
+     * @param loader the function to load value for an absent key, may return null
+     * @return cached or loaded value, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Object value = cache.get(key);
+
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            value = cache.computeIfAbsent(key, k -> {
+                V loaded = loader.apply(k);
+                return loaded == null ? NULL_VALUE : loaded;
+            });
+        }
+
+        return value == NULL_VALUE ? null : (V) value;
+    }
+
+    /**
+     * Get number of cached entries.
+     *
+     * @return cache size
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get number of lookups served from cache.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get number of lookups that have to load the value.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get a snapshot of current statistics.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(size(), getHitCount(), getMissCount());
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Reset hit and miss counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.brucechou.object.util;
+
+/**
+ * Hash functions stable across JVMs, unlike {@link Object#hashCode()} of most classes.
+ */
+public final class Hashes {
+
+    private Hashes() {}
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // the odd constant of golden ratio, as SplittableRandom uses to space seeds
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Compute 64-bit FNV-1a hash of chars.
+     *
+     * @param value chars to hash
+     * @return hash value
+     */
+    public static long fnv1a(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); ++i) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Derive an independent seed of an index from a base seed, e.g. for elements of a collection or records of
+     * a dataset, so each index is generated the same regardless of order.
+     *
+     * @param seed the base seed
+     * @param index the index
+     * @return the seed of index
+     */
+    public static long derive(long seed, long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, spreads close values, e.g. seeds of neighbour indices, apart.
+     *
+     * @param value the value to mix
+     * @return mixed value
+     */
+    public static long mix64(long value) {
+        long z = value;
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb93fe1a85ec6L;
+        return z ^ (z >>> 33);
+    }
+
+}
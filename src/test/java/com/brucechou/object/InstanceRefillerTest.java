@@ -0,0 +1,198 @@
+package com.brucechou.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.provider.DeterministicProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+
+@SuppressWarnings("unused")
+class InstanceRefillerTest {
+
+    private static ObjectFactory factory;
+
+    private static final class Item {
+        private String sku;
+        private long quantity;
+    }
+
+    private static final class Order {
+        private String id;
+        private Item main;
+        private List<Item> items;
+        private Set<Integer> codes;
+        private Map<String, Integer> attributes;
+        private int[] numbers;
+        private List<String> notes;
+        private String channel;
+    }
+
+    private static final class Node {
+        private Node next;
+    }
+
+    private static final class Bean {
+        private String name;
+
+        public void setName(String name) {
+            this.name = "set:" + name;
+        }
+    }
+
+    private static final class Constrained {
+        @Min(10)
+        @Max(20)
+        private int count;
+        @Size(min = 6, max = 6)
+        private List<Integer> values;
+        @Size(min = 2, max = 2)
+        private String label;
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+
+    @BeforeAll
+    static void setup() {
+        factory = ObjectFactoryBuilder.getDefaultBuilder()
+                                      .minSize(1)
+                                      .maxSize(5)
+                                      .bindings(Bindings.bind(Order.class, "channel", new DeterministicProvider() {{
+                                          put(String.class, "web");
+                                      }}))
+                                      .build();
+    }
+
+    @Test
+    void refill() {
+        Order order = factory.generate(Order.class);
+        Item main = order.main;
+        List<Item> items = order.items;
+        List<Item> previousItems = new ArrayList<>(items);
+        Set<Integer> codes = order.codes;
+        Map<String, Integer> attributes = order.attributes;
+        int[] numbers = order.numbers;
+        int length = numbers.length;
+        String id = order.id;
+        order.notes = Collections.unmodifiableList(new ArrayList<>(order.notes));
+        List<String> notes = order.notes;
+
+        for (int i = 0; i < 100; ++i) {
+            assertSame(order, factory.refill(order));
+
+            assertSame(main, order.main);
+            assertSame(items, order.items);
+            assertSame(codes, order.codes);
+            assertSame(attributes, order.attributes);
+            assertSame(numbers, order.numbers);
+            assertEquals(length, order.numbers.length);
+            assertEquals("web", order.channel);
+
+            // elements of list are reused as long as the list does not shrink
+            for (int j = 0; j < Math.min(items.size(), previousItems.size()); ++j) {
+                assertSame(previousItems.get(j), items.get(j));
+            }
+            previousItems = new ArrayList<>(items);
+
+            assertEquals(true, items.size() >= 1 && items.size() <= 5);
+            assertEquals(true, codes.size() >= 1 && codes.size() <= 5);
+        }
+
+        assertNotEquals(id, order.id);
+        assertNotNull(order.main.sku);
+        // unmodifiable list is replaced
+        assertNotSame(notes, order.notes);
+    }
+
+    @Test
+    void refillConstrained() {
+        ObjectFactory constrainedFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                               .minSize(0)
+                                                               .maxSize(1)
+                                                               .validationConstraints(true)
+                                                               .build();
+        Constrained constrained = new Constrained();
+        constrained.values = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            List<Integer> values = constrained.values;
+            constrainedFactory.refill(constrained);
+            assertSame(values, constrained.values);
+            assertEquals(6, constrained.values.size());
+            assertTrue(constrained.count >= 10 && constrained.count <= 20);
+            assertEquals(2, constrained.label.length());
+        }
+    }
+
+    @Test
+    void refillNull() {
+        Order order = new Order();
+        factory.refill(order);
+
+        assertNotNull(order.id);
+        assertNotNull(order.main);
+        assertNotNull(order.items);
+        assertNotNull(order.numbers);
+    }
+
+    @Test
+    void refillCycle() {
+        Node node = factory.generate(Node.class);
+        assertNull(node.next);
+
+        // refill does not grow the graph
+        for (int i = 0; i < 3; ++i) {
+            factory.refill(node);
+            assertNull(node.next);
+        }
+
+        node.next = node;
+        factory.refill(node);
+        assertNull(node.next);
+    }
+
+    @Test
+    void refillSetter() {
+        Bean bean = factory.generate(Bean.class);
+        String name = bean.name;
+        factory.refill(bean);
+
+        assertNotEquals(name, bean.name);
+        assertEquals(true, bean.name.startsWith("set:"));
+    }
+
+    @Test
+    void refillArray() {
+        Item[] items = {new Item(), null};
+        factory.refill(items);
+
+        assertNotNull(items[0].sku);
+        assertNotNull(items[1]);
+    }
+
+    @Test
+    void refillInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> factory.refill(null));
+        assertThrows(IllegalArgumentException.class, () -> factory.refill("string"));
+        assertThrows(IllegalArgumentException.class, () -> factory.refill(1));
+        assertThrows(IllegalArgumentException.class, () -> factory.refill(new ArrayList<>()));
+    }
+
+}
@@ -1,17 +1,24 @@
 package com.brucechou.object;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.brucechou.object.binding.Bindings;
 import com.brucechou.object.cycle.NullCycleTerminator;
+import com.brucechou.object.entity.EntityPool;
 import com.brucechou.object.provider.DefaultTypesProvider;
+import com.brucechou.object.provider.PrimitiveProviders;
 import com.brucechou.object.provider.RandomStringProvider;
 import com.brucechou.object.resolver.NullResolver;
 import com.brucechou.object.spy.DefaultClassSpy;
+import com.brucechou.object.unique.UniqueLongProvider;
 
 import org.junit.jupiter.api.Test;
 
@@ -31,12 +38,65 @@ class ObjectFactoryBuilderTest {
         assertThrows(IllegalArgumentException.class, () -> builder.random(null));
         assertThrows(IllegalArgumentException.class, () -> builder.randomSupplier(null));
         assertThrows(IllegalArgumentException.class, () -> builder.classSpy(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.asyncExecutor(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.virtualCollectionCacheSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.futureLatency(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.futureScheduler(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.futureFailureRate(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> builder.futureFailureRate(1.1));
+        assertThrows(IllegalArgumentException.class, () -> builder.shard(1, 1, 0L));
         assertThrows(IllegalArgumentException.class, () -> builder.maxSize(-1));
         assertThrows(IllegalArgumentException.class, () -> builder.maxSize(0));
         assertThrows(IllegalArgumentException.class, () -> builder.minSize(-1));
         assertThrows(IllegalArgumentException.class, () -> builder.minSize(100));
     }
 
+    @Test
+    void testConfigurationHash() {
+        long hash = ObjectFactoryBuilder.getDefaultBuilder().build().getConfigurationHash();
+
+        assertEquals(hash, ObjectFactoryBuilder.getDefaultBuilder()
+                                               .random(new Random())
+                                               .build()
+                                               .getConfigurationHash());
+        assertNotEquals(hash, ObjectFactoryBuilder.getDefaultBuilder().maxSize(5).build().getConfigurationHash());
+        assertNotEquals(hash, ObjectFactoryBuilder.getDefaultBuilder()
+                                                  .bindings(Bindings.bind("name", new RandomStringProvider()))
+                                                  .build()
+                                                  .getConfigurationHash());
+    }
+
+    @Test
+    void testConfigurationHashOfProviderParameters() {
+        long hash = ObjectFactoryBuilder.getDefaultBuilder()
+                                        .bindings(Bindings.bind("id", EntityPool.ofKeys(1, 2).uniform()))
+                                        .build()
+                                        .getConfigurationHash();
+
+        assertEquals(hash, ObjectFactoryBuilder.getDefaultBuilder()
+                                               .bindings(Bindings.bind("id", EntityPool.ofKeys(1, 2).uniform()))
+                                               .build()
+                                               .getConfigurationHash());
+        assertNotEquals(hash, ObjectFactoryBuilder.getDefaultBuilder()
+                                                  .bindings(Bindings.bind("id", EntityPool.ofKeys(1, 3).uniform()))
+                                                  .build()
+                                                  .getConfigurationHash());
+        assertNotEquals(EntityPool.ofKeys(1, 2).uniform().configurationKey(),
+                        EntityPool.ofKeys(1, 3).uniform().configurationKey());
+        assertNotEquals(EntityPool.ofKeys(1, 2).uniform().configurationKey(),
+                        EntityPool.ofKeys(1, 2).zipf(1.0).configurationKey());
+
+        assertTrue(ObjectFactoryBuilder.getDefaultBuilder().build().isConfigurationDescribed());
+        assertFalse(ObjectFactoryBuilder.getDefaultBuilder()
+                                        .bindings(Bindings.bind("count", PrimitiveProviders.ofInt(() -> 1)))
+                                        .build()
+                                        .isConfigurationDescribed());
+        assertFalse(ObjectFactoryBuilder.getDefaultBuilder()
+                                        .bindings(Bindings.bind("id", new UniqueLongProvider(1, 100, 7L)))
+                                        .build()
+                                        .isConfigurationDescribed());
+    }
+
     @Test
     void testCustomize() {
         ObjectFactory objectFactory =
@@ -2,6 +2,7 @@ package com.brucechou.object;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -11,6 +12,7 @@ import com.brucechou.object.binding.Bindings;
 import com.brucechou.object.cycle.CycleDetector;
 import com.brucechou.object.cycle.CycleTerminator;
 import com.brucechou.object.provider.DeterministicProvider;
+import com.brucechou.object.provider.PrimitiveProviders;
 import com.brucechou.object.provider.Provider;
 import com.google.common.reflect.TypeToken;
 import org.junit.jupiter.api.BeforeAll;
@@ -23,16 +25,22 @@ import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 @SuppressWarnings("unused")
 class ObjectFactoryTests {
@@ -112,6 +120,150 @@ class ObjectFactoryTests {
         validatePrimitiveStruct(s);
     }
 
+    @Test
+    void testSeededGeneration() {
+        Type type = new TypeToken<Map<String, List<Integer>>>() {}.getType();
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder().build();
+        ObjectFactory another = ObjectFactoryBuilder.getDefaultBuilder().random(new Random(1)).build();
+
+        Map<String, List<Integer>> value = objectFactory.generate(type, 42L);
+        assertEquals(value, objectFactory.generate(type, 42L));
+        assertEquals(value, another.generate(type, 42L));
+        assertNotEquals(value, objectFactory.generate(type, 43L));
+    }
+
+    @Test
+    void testGenerateAsync() throws ExecutionException, InterruptedException {
+        // tasks are queued and run manually to observe batching
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder().asyncExecutor(tasks::add).build();
+
+        List<CompletableFuture<String>> strings = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            strings.add(objectFactory.generateAsync(String.class));
+        }
+        CompletableFuture<Integer> integer = objectFactory.generateAsync(Integer.class, 42L);
+        CompletableFuture<List<Long>> longs = objectFactory.generateAsyncList(Long.class, 3);
+
+        // one task per type for single requests, one task for the list
+        assertEquals(3, tasks.size());
+        assertFalse(strings.get(0).isDone());
+        tasks.forEach(Runnable::run);
+
+        for (CompletableFuture<String> string : strings) {
+            assertNotNull(string.get());
+        }
+        assertEquals(objectFactory.<Integer>generate(Integer.class, 42L), integer.get());
+        assertEquals(3, longs.get().size());
+        assertThrows(IllegalArgumentException.class, () -> objectFactory.generateAsyncList(Long.class, -1));
+
+        // drained batches are removed, later requests start a new one
+        tasks.clear();
+        CompletableFuture<String> later = objectFactory.generateAsync(String.class);
+        assertEquals(1, tasks.size());
+        tasks.forEach(Runnable::run);
+        assertNotNull(later.get());
+
+        // default executor
+        Type type = new TypeToken<Map<String, List<Integer>>>() {}.getType();
+        ObjectFactory defaults = ObjectFactoryBuilder.getDefaultBuilder().build();
+        assertEquals(defaults.<Object>generate(type, 1L), defaults.generateAsync(type, 1L).get());
+        assertEquals(5, defaults.generateAsyncList(type, 5).get().size());
+    }
+
+    @Test
+    void testGenerateAsyncFailure() {
+        ObjectFactory rejecting = ObjectFactoryBuilder.getDefaultBuilder().asyncExecutor(r -> {
+            throw new RejectedExecutionException();
+        }).build();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                                             () -> rejecting.generateAsync(String.class).get());
+        assertEquals(RejectedExecutionException.class, e.getCause().getClass());
+
+        // the batch is rescheduled after a rejection
+        assertThrows(ExecutionException.class, () -> rejecting.generateAsync(String.class).get());
+        assertThrows(ExecutionException.class, () -> rejecting.generateAsyncList(String.class, 2).get());
+
+        ObjectFactory failing = ObjectFactoryBuilder.getDefaultBuilder()
+                                                    .asyncExecutor(Runnable::run)
+                                                    .additionalProvider((f, r) -> new DeterministicProvider(
+                                                            Collections.singletonMap(String.class, null)) {
+                                                        @Override
+                                                        public <T> T get(Type type, CycleDetector cycleDetector) {
+                                                            throw new IllegalStateException();
+                                                        }
+                                                    })
+                                                    .build();
+        e = assertThrows(ExecutionException.class, () -> failing.generateAsync(String.class).get());
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+
+    @Test
+    void testGeneratePrimitives() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .bindings(Bindings.bind(long.class,
+                                                                                  PrimitiveProviders.ofLong(() -> 7L)),
+                                                                    Bindings.bind("count",
+                                                                                  PrimitiveProviders.ofInt(() -> 3)),
+                                                                    Bindings.bind("total",
+                                                                                  PrimitiveProviders.ofInt(() -> 5)))
+                                                          .build();
+
+        assertEquals(7L, objectFactory.generateLong());
+        objectFactory.generateInt();
+        objectFactory.generateDouble();
+        objectFactory.generateBoolean();
+
+        Numbers numbers = objectFactory.generate(Numbers.class);
+
+        assertEquals(3, numbers.count);
+        assertEquals(7L, numbers.sum);
+        // int provider bound to a long field by name, widened as a boxed value
+        assertEquals(5L, numbers.total);
+
+        ObjectFactory seeded = ObjectFactoryBuilder.getDefaultBuilder().build();
+        Numbers first = seeded.generate(Numbers.class, 42L);
+        Numbers second = seeded.generate(Numbers.class, 42L);
+
+        assertEquals(first.count, second.count);
+        assertEquals(first.ratio, second.ratio);
+        assertEquals(first.flag, second.flag);
+        assertEquals(first.letter, second.letter);
+    }
+
+    private static class Numbers {
+        private int count;
+        private long sum;
+        private long total;
+        private double ratio;
+        private float weight;
+        private short small;
+        private byte tiny;
+        private char letter;
+        private boolean flag;
+    }
+
+    @Test
+    void testGenerateShard() {
+        ObjectFactory single = ObjectFactoryBuilder.getDefaultBuilder().shard(0, 1, 42L).build();
+        List<Numbers> expected = single.<Numbers>generateShard(Numbers.class, 10).collect(Collectors.toList());
+
+        List<Numbers> union = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            ObjectFactory sharded = ObjectFactoryBuilder.getDefaultBuilder().shard(i, 3, 42L).build();
+            sharded.<Numbers>generateShard(Numbers.class, 10).forEach(union::add);
+        }
+
+        assertEquals(10, union.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i).count, union.get(i).count);
+            assertEquals(expected.get(i).sum, union.get(i).sum);
+        }
+
+        assertThrows(IllegalStateException.class,
+                     () -> ObjectFactoryBuilder.getDefaultBuilder().build().generateShard(Numbers.class, 10));
+    }
+
     @Test
     void testThreadSafe() throws ExecutionException, InterruptedException {
         ExecutorService executor = Executors.newFixedThreadPool(4);
@@ -226,11 +378,12 @@ class ObjectFactoryTests {
         });
 
         Method populateFieldsBySetters = ObjectFactory.class.getDeclaredMethod("populateFieldsBySetters",
-                                                                               Class.class, CycleDetector.class, Object.class);
+                                                                               Class.class, CycleDetector.class, Object.class, List.class);
         populateFieldsBySetters.setAccessible(true);
 
         try {
-            populateFieldsBySetters.invoke(objectFactory, ClassThatThrows.class, null, new ClassThatThrows("test"));
+            populateFieldsBySetters.invoke(objectFactory, ClassThatThrows.class, null, new ClassThatThrows("test"),
+                                           Collections.emptyList());
         } catch (Exception e) {
             fail("should not throws");
         }
@@ -0,0 +1,151 @@
+package com.brucechou.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.provider.DeterministicProvider;
+import com.brucechou.object.sink.JsonGenerationSink;
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+
+@SuppressWarnings("unused")
+class StreamingGeneratorTest {
+
+    private static ObjectFactory factory;
+
+    private static final class Child {
+        private String name;
+        private int[] numbers;
+    }
+
+    private static final class Parent {
+        private String name;
+        private Integer count;
+        private List<Integer> values;
+        private Map<String, Integer> attributes;
+        private Optional<String> description;
+        private Child child;
+    }
+
+    private static final class Node {
+        private Node next;
+    }
+
+    private static final class Bound {
+        private String name;
+        private Child child;
+    }
+
+    private static final class Constrained {
+        @Min(10)
+        @Max(20)
+        private int count;
+        @Size(min = 3, max = 3)
+        private List<Integer> values;
+    }
+
+    @BeforeAll
+    static void setup() {
+        DeterministicProvider provider = new DeterministicProvider(new HashMap<>());
+        provider.put(String.class, "s");
+        provider.put(int.class, 1);
+        provider.put(Integer.class, 2);
+
+        factory = ObjectFactoryBuilder.getDefaultBuilder()
+                                      .minSize(2)
+                                      .maxSize(2)
+                                      .additionalProvider((f, r) -> provider)
+                                      .bindings(Bindings.bind(Bound.class, "name", new DeterministicProvider() {{
+                                          put(String.class, "bound");
+                                      }}))
+                                      .build();
+    }
+
+    private static String write(Consumer<JsonGenerationSink> generation) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerationSink sink = new JsonGenerationSink(out)) {
+            generation.accept(sink);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void object() {
+        assertEquals("{\"name\":\"s\",\"count\":2,\"values\":[2,2],\"attributes\":{\"s\":2},"
+                             + "\"description\":\"s\",\"child\":{\"name\":\"s\",\"numbers\":[1,1]}}",
+                     write(sink -> factory.generate(Parent.class, sink)));
+    }
+
+    @Test
+    void topLevelCollection() {
+        assertEquals("[{\"name\":\"s\",\"numbers\":[1,1]},{\"name\":\"s\",\"numbers\":[1,1]}]",
+                     write(sink -> factory.generate(new TypeToken<List<Child>>() {}.getType(), sink)));
+    }
+
+    @Test
+    void records() {
+        assertEquals("[\"s\",\"s\",\"s\"]", write(sink -> factory.generate(String.class, 3, sink)));
+        assertEquals("[]", write(sink -> factory.generate(String.class, 0, sink)));
+        assertThrows(IllegalArgumentException.class, () -> factory.generate(String.class, -1, null));
+    }
+
+    @Test
+    void cycle() {
+        assertEquals("{\"next\":null}", write(sink -> factory.generate(Node.class, sink)));
+    }
+
+    @Test
+    void boundProvider() {
+        assertEquals("{\"name\":\"bound\",\"child\":{\"name\":\"s\",\"numbers\":[1,1]}}",
+                     write(sink -> factory.generate(Bound.class, sink)));
+    }
+
+    @Test
+    void materializedValue() {
+        ObjectFactory defaultFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                           .bindings(Bindings.bind(Parent.class, "child",
+                                                                                   new DeterministicProvider() {{
+                                                                                       Child child = new Child();
+                                                                                       child.name = "materialized";
+                                                                                       put(Child.class, child);
+                                                                                   }}))
+                                                           .build();
+        String json = write(sink -> defaultFactory.generate(Parent.class, sink));
+        assertTrue(json.endsWith("\"child\":{\"name\":\"materialized\",\"numbers\":null}}"), json);
+    }
+
+    @Test
+    void constrained() {
+        ObjectFactory constrainedFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                               .minSize(0)
+                                                               .maxSize(1)
+                                                               .validationConstraints(true)
+                                                               .build();
+        for (int i = 0; i < 20; ++i) {
+            String json = write(sink -> constrainedFactory.generate(Constrained.class, sink));
+            assertTrue(json.matches("\\{\"count\":(1\\d|20),\"values\":\\[-?\\d+,-?\\d+,-?\\d+]}"), json);
+        }
+    }
+
+    @Test
+    void statistics() {
+        ObjectFactory defaultFactory = ObjectFactoryBuilder.getDefaultBuilder().build();
+        write(sink -> defaultFactory.generate(Parent.class, 10, sink));
+        assertEquals(10, defaultFactory.getStatistics().getGenerationCount());
+    }
+
+}
@@ -2,6 +2,8 @@ package com.brucechou.object.binding;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.brucechou.object.ObjectFactory;
@@ -158,6 +160,29 @@ final class BindingTests {
                                                .build());
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    void testBoundProvider() {
+        Provider provider = new DeterministicProvider();
+
+        Binding.FieldNameBinding fieldName = (Binding.FieldNameBinding) Bindings.bind(A.class, "aInt", provider);
+        Binding.FieldTypeBinding fieldType = (Binding.FieldTypeBinding) Bindings.bind(A.class, int.class, provider);
+        Binding.GlobalFieldTypeBinding globalFieldType = (Binding.GlobalFieldTypeBinding) Bindings.bind(int.class,
+                                                                                                        provider);
+        Binding.GlobalFieldNameBinding globalFieldName = (Binding.GlobalFieldNameBinding) Bindings.bind("aInt",
+                                                                                                        provider);
+        assertSame(provider, fieldName.getProvider());
+        assertSame(provider, fieldType.getProvider());
+        assertSame(provider, globalFieldType.getProvider());
+        assertSame(provider, globalFieldName.getProvider());
+        assertSame(provider, fieldName.getProviderFactory().apply(Random::new));
+
+        Binding.GlobalFieldNameBinding factoryBinding =
+                (Binding.GlobalFieldNameBinding) Bindings.bind("aInt", random -> provider);
+        assertNull(factoryBinding.getProvider());
+        assertSame(provider, factoryBinding.getProviderFactory().apply(Random::new));
+    }
+
     @Test
     void testUnknownBinding() {
         assertThrows(IllegalArgumentException.class,
@@ -0,0 +1,105 @@
+package com.brucechou.object.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+class CompactCollectionsTest {
+
+    @Test
+    void list() {
+        List<String> list = CompactCollections.listOf(new Object[] {"a", null, "b"});
+
+        assertEquals(Arrays.asList("a", null, "b"), list);
+        assertEquals(Arrays.asList("a", null, "b").hashCode(), list.hashCode());
+        assertTrue(list.contains(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> list.add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, "c"));
+        assertTrue(CompactCollections.isCompact(list));
+        assertTrue(CompactCollections.listOf(new Object[0]).isEmpty());
+    }
+
+    @Test
+    void set() {
+        Random random = new Random(0);
+        for (int length = 0; length < 200; length += 7) {
+            Object[] elements = new Object[length];
+            Set<Object> expected = new HashSet<>();
+            for (int i = 0; i < length; ++i) {
+                // duplicates and nulls included
+                elements[i] = i % 10 == 9 ? null : random.nextInt(length);
+                expected.add(elements[i]);
+            }
+
+            Set<Object> set = CompactCollections.setOf(elements, length);
+            assertEquals(expected, set);
+            assertEquals(set, expected);
+            assertEquals(expected.hashCode(), set.hashCode());
+            assertEquals(expected.size(), new ArrayList<>(set).size());
+            assertFalse(set.contains(-1));
+        }
+
+        Set<String> set = CompactCollections.setOf(new Object[] {"a", "b", "c"}, 2);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), set);
+        assertThrows(UnsupportedOperationException.class, () -> set.add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> set.iterator().remove());
+        assertThrows(IllegalArgumentException.class, () -> CompactCollections.setOf(new Object[1], 2));
+
+        Iterator<String> iterator = CompactCollections.<String>setOf(new Object[0], 0).iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void map() {
+        Random random = new Random(0);
+        for (int length = 0; length < 200; length += 7) {
+            Object[] keys = new Object[length];
+            Object[] values = new Object[length];
+            Map<Object, Object> expected = new HashMap<>();
+            for (int i = 0; i < length; ++i) {
+                keys[i] = i % 10 == 9 ? null : "key" + random.nextInt(length);
+                values[i] = i % 5 == 4 ? null : i;
+                expected.put(keys[i], values[i]);
+            }
+
+            Map<Object, Object> map = CompactCollections.mapOf(keys, values, length);
+            assertEquals(expected, map);
+            assertEquals(map, expected);
+            assertEquals(expected.hashCode(), map.hashCode());
+            for (Object key : keys) {
+                assertTrue(map.containsKey(key));
+                assertEquals(expected.get(key), map.get(key));
+            }
+            assertNull(map.get("missing"));
+            assertFalse(map.containsKey("missing"));
+        }
+
+        Map<String, Integer> map = CompactCollections.mapOf(new Object[] {"a", "a"}, new Object[] {1, 2}, 2);
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(2), map.get("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", 3));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue(3));
+        assertThrows(IllegalArgumentException.class, () -> CompactCollections.mapOf(new Object[1], null, 1));
+        assertTrue(CompactCollections.isCompact(map));
+        assertFalse(CompactCollections.isCompact(new HashMap<>()));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.brucechou.object.collection;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class VirtualListTest {
+
+    @Test
+    void get() {
+        AtomicInteger computed = new AtomicInteger();
+        VirtualList<Integer> list = new VirtualList<>(Integer.MAX_VALUE, i -> {
+            computed.incrementAndGet();
+            return i * 2;
+        }, 0);
+
+        assertAll(() -> assertEquals(Integer.MAX_VALUE, list.size()),
+                  () -> assertEquals(Integer.valueOf(20), list.get(10)),
+                  () -> assertEquals(Integer.valueOf(20), list.get(10)),
+                  () -> assertEquals(2, computed.get()),
+                  () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1)),
+                  () -> assertThrows(UnsupportedOperationException.class, () -> list.set(0, 1)),
+                  () -> assertEquals(Arrays.asList(0, 2, 4), new VirtualList<>(3, i -> i * 2, 0)));
+    }
+
+    @Test
+    void cache() {
+        AtomicInteger computed = new AtomicInteger();
+        VirtualList<Integer> list = new VirtualList<>(10, i -> {
+            computed.incrementAndGet();
+            return i % 2 == 0 ? null : i;
+        }, 2);
+
+        list.get(0);
+        list.get(1);
+        list.get(0);
+        list.get(1);
+
+        assertEquals(2, computed.get());
+
+        // evicts least recently used element 0
+        list.get(2);
+        list.get(1);
+        assertNull(list.get(0));
+
+        assertEquals(4, computed.get());
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class, () -> new VirtualList<>(-1, i -> i, 0)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new VirtualList<>(1, null, 0)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new VirtualList<>(1, i -> i, -1)));
+    }
+
+}
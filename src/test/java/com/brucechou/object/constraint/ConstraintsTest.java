@@ -0,0 +1,214 @@
+package com.brucechou.object.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.constraint.FieldConstraint.TimeBound;
+import com.brucechou.object.provider.PrimitiveProviders;
+import jakarta.validation.constraints.Positive;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import javax.validation.constraints.Future;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Past;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+class ConstraintsTest {
+
+    @Test
+    void of() throws NoSuchFieldException {
+        FieldConstraint age = Constraints.of(Person.class.getDeclaredField("age"));
+        FieldConstraint name = Constraints.of(Person.class.getDeclaredField("name"));
+        FieldConstraint tags = Constraints.of(Person.class.getDeclaredField("tags"));
+        FieldConstraint code = Constraints.of(Person.class.getDeclaredField("code"));
+        FieldConstraint birthday = Constraints.of(Person.class.getDeclaredField("birthday"));
+        FieldConstraint score = Constraints.of(Person.class.getDeclaredField("score"));
+
+        assertAll(() -> assertEquals(18, age.getMin()),
+                  () -> assertEquals(120, age.getMax()),
+                  () -> assertTrue(age.hasRange()),
+                  () -> assertFalse(age.hasSize()),
+                  () -> assertTrue(name.isNotNull()),
+                  () -> assertEquals(1, name.getMinSize()),
+                  () -> assertEquals(20, name.getMaxSize()),
+                  () -> assertEquals(2, tags.getMinSize()),
+                  () -> assertNotNull(code.getPattern()),
+                  () -> assertEquals(TimeBound.PAST, birthday.getTimeBound()),
+                  () -> assertEquals(1, score.getMin()),
+                  () -> assertNull(Constraints.of(Person.class.getDeclaredField("nickname"))),
+                  () -> assertNull(Constraints.of(Person.class.getDeclaredField("unsupportedPattern")).getPattern()));
+    }
+
+    @Test
+    void pickSize() {
+        FieldConstraint constraint = new FieldConstraint(false, Long.MIN_VALUE, Long.MAX_VALUE, 5, 10, null, null);
+        Random random = new Random(1);
+
+        assertAll(() -> assertEquals(5, constraint.pickSize(0, 5, random)),
+                  () -> assertEquals(5, constraint.pickSize(0, 3, random)),
+                  () -> assertEquals(10, constraint.pickSize(20, 30, random)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new FieldConstraint(false, 2, 1, 0, 1, null, null)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new FieldConstraint(false, 1, 2, 2, 1, null, null)));
+    }
+
+    @Test
+    void generate() {
+        ObjectFactory objectFactory =
+                ObjectFactoryBuilder.getDefaultBuilder()
+                                    .validationConstraints(true)
+                                    .bindings(Bindings.bind(Person.class, "bound", PrimitiveProviders.ofInt(() -> -1)))
+                                    .build();
+
+        for (int i = 0; i < 100; ++i) {
+            Person person = objectFactory.generate(Person.class);
+
+            assertAll(() -> assertTrue(person.age >= 18 && person.age <= 120),
+                      () -> assertTrue(person.boxedAge >= -5 && person.boxedAge <= 5),
+                      () -> assertTrue(person.ratio >= 0 && person.ratio <= 1),
+                      () -> assertTrue(person.name.length() >= 1 && person.name.length() <= 20),
+                      () -> assertTrue(person.tags.size() >= 2 && person.tags.size() <= 4),
+                      () -> assertTrue(person.labels.size() >= 4 && person.labels.size() <= 4),
+                      () -> assertEquals(1, person.attributes.size()),
+                      () -> assertEquals(6, person.digits.length),
+                      () -> assertTrue(person.code.matches("[A-Z]{3}-\\d{2}")),
+                      () -> assertTrue(person.handle.matches("[a-z]{3,5}")),
+                      () -> assertTrue(person.birthday.isBefore(LocalDate.now())),
+                      () -> assertTrue(person.created.before(new Date())),
+                      () -> assertTrue(person.expiry.isAfter(Instant.now())),
+                      () -> assertTrue(person.score > 0),
+                      () -> assertEquals(-1, person.bound));
+        }
+    }
+
+    @Test
+    void contradicting() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class,
+                                     () -> Constraints.of(Contradicting.class.getDeclaredField("range"))),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> Constraints.of(Contradicting.class.getDeclaredField("size"))));
+    }
+
+    @Test
+    void notNullCycle() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder().validationConstraints(true).build();
+
+        assertNull(objectFactory.<Node>generate(Node.class).next);
+        assertThrows(ObjectCreationException.class, () -> objectFactory.generate(NonNullNode.class));
+    }
+
+    @Test
+    void disabled() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder().build();
+
+        boolean outOfRange = false;
+        for (int i = 0; i < 100; ++i) {
+            Person person = objectFactory.generate(Person.class);
+            outOfRange |= person.age < 18 || person.age > 120;
+        }
+        assertTrue(outOfRange);
+    }
+
+    private static class Person {
+
+        @Min(18)
+        @Max(120)
+        private int age;
+
+        @Min(-5)
+        @Max(5)
+        private Integer boxedAge;
+
+        @Min(0)
+        @Max(1)
+        private double ratio;
+
+        @NotBlank
+        @Size(max = 20)
+        private String name;
+
+        @NotNull
+        @Size(min = 2, max = 4)
+        private List<String> tags;
+
+        @Size(min = 4, max = 4)
+        private Set<String> labels;
+
+        @Size(min = 1, max = 1)
+        private Map<String, Integer> attributes;
+
+        @Size(min = 6, max = 6)
+        private int[] digits;
+
+        @Pattern(regexp = "[A-Z]{3}-\\d{2}")
+        private String code;
+
+        @Size(min = 3, max = 5)
+        @Pattern(regexp = "[a-z]+")
+        private String handle;
+
+        @Pattern(regexp = "(?<name>a)")
+        private String unsupportedPattern;
+
+        @Past
+        private LocalDate birthday;
+
+        @Past
+        private Date created;
+
+        @Future
+        private Instant expiry;
+
+        @Positive
+        private long score;
+
+        @Min(0)
+        private int bound;
+
+        private String nickname;
+    }
+
+    private static class Contradicting {
+
+        @Min(5)
+        @Max(1)
+        private int range;
+
+        @NotBlank
+        @Size(max = 0)
+        private String size;
+    }
+
+    private static class Node {
+
+        private Node next;
+    }
+
+    private static class NonNullNode {
+
+        @NotNull
+        private NonNullNode next;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.brucechou.object.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+class RegexGeneratorTest {
+
+    @Test
+    void generate() {
+        String[] regexes = {
+            "abc",
+            "^[A-Z]{2}-\\d{4}$",
+            "[a-z0-9._%+-]+@[a-z0-9-]+\\.(com|org|net)",
+            "(?:\\+1 )?\\(\\d{3}\\) \\d{3}-\\d{4}",
+            "[^a-z]{3,5}",
+            "\\w*\\s?\\W+",
+            "a|b|(cd)+?",
+            ".{0,}x",
+            "[-\\]a]x{2,}+",
+            ""
+        };
+
+        Random random = new Random(1);
+        for (String regex : regexes) {
+            RegexGenerator generator = RegexGenerator.compile(regex);
+            Pattern pattern = Pattern.compile(regex);
+            for (int i = 0; i < 200; ++i) {
+                String value = generator.generate(random);
+                assertTrue(pattern.matcher(value).matches(), () -> value + " does not match " + regex);
+            }
+        }
+    }
+
+    @Test
+    void deterministic() {
+        RegexGenerator generator = RegexGenerator.compile("[a-z]{10}");
+
+        assertAll(() -> assertEquals(generator.generate(new Random(7)), generator.generate(new Random(7))),
+                  () -> assertEquals("[a-z]{10}", generator.toString()));
+    }
+
+    @Test
+    void generateLength() {
+        RegexGenerator generator = RegexGenerator.compile("[a-z]+");
+        Random random = new Random(3);
+
+        for (int i = 0; i < 100; ++i) {
+            int length = generator.generate(random, 3, 5).length();
+            assertTrue(length >= 3 && length <= 5, () -> "unexpected length " + length);
+        }
+        // out of reach of the expression, the nearest length
+        assertEquals(1, RegexGenerator.compile("a").generate(random, 2, 3).length());
+    }
+
+    @Test
+    void unsupported() {
+        String[] regexes = {"(a)\\1", "(?=a)a", "\\bword", "\\p{Alpha}", "[a-z&&[^b]]", "a{2", "(a", "a)", "*a",
+                            "[z-a]", "[a"};
+
+        for (String regex : regexes) {
+            assertThrows(IllegalArgumentException.class, () -> RegexGenerator.compile(regex), regex);
+        }
+        assertThrows(IllegalArgumentException.class, () -> RegexGenerator.compile(null));
+    }
+
+}
@@ -73,11 +73,58 @@ class CycleDetectorTest {
         assertNull(cycleDetector.start(D.class));
     }
 
+    @Test
+    void nodeCountAndDepth() {
+        CycleDetector cycleDetector = new CycleDetector();
+
+        // generate D with fields C and D, C with a field D, a detected cycle is terminated without end()
+        assertNull(cycleDetector.start(D.class));
+        assertNull(cycleDetector.start(C.class));
+        // D -> C -> D
+        assertNotNull(cycleDetector.start(D.class));
+        cycleDetector.end();
+        // D -> D
+        assertNotNull(cycleDetector.start(D.class));
+        cycleDetector.end();
+
+        assertEquals(2, cycleDetector.getNodeCount());
+        assertEquals(2, cycleDetector.getMaxDepth());
+        // every started node is ended
+        assertThrows(IllegalStateException.class, cycleDetector::end);
+    }
+
     @Test
     void endBeforeStart() {
         assertThrows(IllegalStateException.class, new CycleDetector()::end);
     }
 
+    @Test
+    void visitLeaf() {
+        CycleDetector cycleDetector = new CycleDetector();
+        cycleDetector.start(D.class);
+        cycleDetector.visitLeaf();
+        cycleDetector.end();
+
+        assertEquals(2, cycleDetector.getNodeCount());
+        assertEquals(2, cycleDetector.getMaxDepth());
+        assertNull(cycleDetector.start(D.class));
+    }
+
+    @Test
+    void copy() {
+        CycleDetector cycleDetector = new CycleDetector();
+        cycleDetector.start(D.class);
+        cycleDetector.start(C.class);
+
+        CycleDetector copy = cycleDetector.copy();
+        cycleDetector.end();
+        cycleDetector.end();
+
+        assertEquals(0, copy.getNodeCount());
+        assertNotNull(copy.start(D.class));
+        assertNull(cycleDetector.start(D.class));
+    }
+
     private class C {}
     private class D {}
 
@@ -0,0 +1,189 @@
+package com.brucechou.object.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.PrimitiveProviders;
+import com.brucechou.object.provider.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@SuppressWarnings("unused")
+class ColumnBatchTest {
+
+    private static final List<String> CATEGORIES = Arrays.asList("a", "b", "c");
+
+    private enum Color {
+        RED, GREEN, BLUE
+    }
+
+    private static final class Record {
+        private int anInt;
+        private long aLong;
+        private double aDouble;
+        private boolean flag;
+        private byte aByte;
+        private char aChar;
+        private short aShort;
+        private float aFloat;
+        private int bound;
+        private Integer missing;
+        private Long boxed;
+        private String category;
+        private Color color;
+        private Date date;
+        @Min(1)
+        @Max(6)
+        private int dice;
+        private List<String> unsupported;
+        private Record nested;
+
+        private Record() {
+            throw new IllegalStateException("Never instantiated");
+        }
+    }
+
+    private static final class Primitives {
+        private int anInt;
+        private long aLong;
+        private double aDouble;
+        private int bound;
+    }
+
+    private static Provider provider(Type recognized, Supplier<Object> supplier) {
+        return new Provider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T get(Type type, CycleDetector cycleDetector) {
+                return (T) supplier.get();
+            }
+
+            @Override
+            public boolean recognizes(Type type) {
+                return recognized.equals(type);
+            }
+        };
+    }
+
+    private static ObjectFactory factory(long seed) {
+        Random random = new Random(seed);
+        return ObjectFactoryBuilder.getDefaultBuilder()
+                                   .randomSupplier(() -> random)
+                                   .validationConstraints(true)
+                                   .additionalProvider((f, r) -> provider(Integer.class, () -> null))
+                                   .bindings(Bindings.bind(Record.class, "bound", PrimitiveProviders.ofInt(() -> 7)),
+                                             Bindings.bind(Record.class, "category", provider(String.class, () ->
+                                                     CATEGORIES.get(random.nextInt(CATEGORIES.size())))))
+                                   .build();
+    }
+
+    @Test
+    void generate() {
+        ObjectFactory objectFactory = factory(1);
+        ColumnBatch batch = objectFactory.generateColumns(Record.class, 1000);
+
+        assertAll(() -> assertEquals(Record.class, batch.getType()),
+                  () -> assertEquals(1000, batch.getRows()),
+                  () -> assertEquals(Arrays.asList("anInt", "aLong", "aDouble", "flag", "aByte", "aChar", "aShort",
+                                                   "aFloat", "bound", "missing", "boxed", "category", "color",
+                                                   "date", "dice"), batch.getNames()),
+                  () -> assertEquals(1000, batch.getInts("anInt").length),
+                  () -> assertEquals(1000, batch.getLongs("aLong").length),
+                  () -> assertEquals(1000, batch.getDoubles("aFloat").length),
+                  () -> assertTrue(batch.getBooleans("flag").cardinality() > 400),
+                  () -> assertTrue(Arrays.stream(batch.getInts("aByte"))
+                                         .allMatch(b -> b >= Byte.MIN_VALUE && b <= Byte.MAX_VALUE)),
+                  () -> assertTrue(Arrays.stream(batch.getInts("bound")).allMatch(b -> b == 7)),
+                  () -> assertTrue(Arrays.stream(batch.getInts("dice")).allMatch(d -> d >= 1 && d <= 6)),
+                  () -> assertEquals(1000, batch.getNulls("missing").cardinality()),
+                  () -> assertEquals(0, batch.getNulls("boxed").cardinality()),
+                  () -> assertEquals(0, batch.getNulls("anInt").cardinality()));
+
+        DictionaryColumn<String> categories = batch.getDictionary("category");
+        DictionaryColumn<Color> colors = batch.getDictionary("color");
+        assertAll(() -> assertTrue(CATEGORIES.containsAll(categories.getValues())),
+                  () -> assertEquals(3, categories.getValues().size()),
+                  () -> assertTrue(CATEGORIES.contains(categories.get(0))),
+                  () -> assertEquals(Arrays.asList(Color.values()), colors.getValues()),
+                  () -> assertEquals(colors.getCodes()[5], colors.get(5).ordinal()),
+                  () -> assertTrue(Arrays.stream(batch.getLongs("date")).allMatch(d -> d != 0)),
+                  () -> assertEquals(1, objectFactory.getStatistics().getGenerationCount()),
+                  () -> assertTrue(objectFactory.getStatistics().getNodeCount() > 0));
+    }
+
+    @Test
+    void nodeCount() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .bindings(Bindings.bind(Primitives.class, "bound",
+                                                                                  PrimitiveProviders.ofInt(() -> 7)))
+                                                          .build();
+        objectFactory.generateColumns(Primitives.class, 100);
+
+        // values filled in bulk are counted per row, values of bound providers are not counted as generate does
+        assertEquals(300, objectFactory.getStatistics().getNodeCount());
+    }
+
+    @Test
+    void deterministic() {
+        ColumnBatch first = factory(7).generateColumns(Record.class, 100);
+        ColumnBatch second = factory(7).generateColumns(Record.class, 100);
+
+        assertAll(() -> assertArrayEquals(first.getInts("anInt"), second.getInts("anInt")),
+                  () -> assertArrayEquals(first.getLongs("boxed"), second.getLongs("boxed")),
+                  () -> assertArrayEquals(first.getDoubles("aDouble"), second.getDoubles("aDouble")),
+                  () -> assertEquals(first.getBooleans("flag"), second.getBooleans("flag")));
+    }
+
+    @Test
+    void nullValues() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .bindings(Bindings.bind(Record.class, "color",
+                                                                                  provider(Color.class, () -> null)))
+                                                          .additionalProvider((f, r) -> provider(Color.class,
+                                                                                                 () -> null))
+                                                          .build();
+        DictionaryColumn<Color> colors = objectFactory.generateColumns(Record.class, 10).getDictionary("color");
+
+        assertAll(() -> assertEquals(DictionaryColumn.NULL_CODE, colors.getCodes()[0]),
+                  () -> assertNull(colors.get(0)));
+
+        ObjectFactory nullPrimitive = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .additionalProvider((f, r) -> provider(long.class,
+                                                                                                 () -> null))
+                                                          .build();
+        assertThrows(ObjectCreationException.class, () -> nullPrimitive.generateColumns(Record.class, 10));
+    }
+
+    @Test
+    void invalid() {
+        ObjectFactory objectFactory = factory(1);
+        ColumnBatch batch = objectFactory.generateColumns(Record.class, 0);
+
+        assertAll(() -> assertEquals(0, batch.getInts("anInt").length),
+                  () -> assertThrows(IllegalArgumentException.class, () -> batch.getLongs("anInt")),
+                  () -> assertThrows(IllegalArgumentException.class, () -> batch.getInts("unsupported")),
+                  () -> assertThrows(IllegalArgumentException.class, () -> batch.getNulls("nested")),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> objectFactory.generateColumns(Record.class, -1)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> objectFactory.generateColumns(Object.class, 1)));
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.brucechou.object.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@SuppressWarnings("unused")
+class ColumnarDatasetWriterTest {
+
+    private static final List<String> CATEGORIES = Arrays.asList("a", "b", "é中");
+
+    private enum Color {
+        RED, GREEN, BLUE
+    }
+
+    private static final class Record {
+        private long id;
+        private boolean flag;
+        private byte aByte;
+        private char aChar;
+        private short aShort;
+        private float aFloat;
+        private double aDouble;
+        private Integer missing;
+        private String category;
+        private Color color;
+        private Date date;
+        private List<String> unsupported;
+
+        private Record(String ignored) {}
+    }
+
+    private Path path;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        path = Files.createTempFile("dataset", ".bin");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private static Provider provider(Supplier<Object> supplier) {
+        return provider(null, supplier);
+    }
+
+    private static Provider provider(Type recognized, Supplier<Object> supplier) {
+        return new Provider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T get(Type type, CycleDetector cycleDetector) {
+                return (T) supplier.get();
+            }
+
+            @Override
+            public boolean recognizes(Type type) {
+                return recognized == null || recognized.equals(type);
+            }
+        };
+    }
+
+    private static ObjectFactory factory(AtomicLong ids) {
+        // a bound provider returns null falls back to generation, so null is provided by type
+        return ObjectFactoryBuilder.getDefaultBuilder()
+                                   .additionalProvider((f, r) -> provider(Integer.class, () -> null))
+                                   .bindings(Bindings.bind(Record.class, "id", provider(ids::getAndIncrement)),
+                                             Bindings.bind(Record.class, "category", provider(
+                                                     () -> CATEGORIES.get((int) (ids.get() % CATEGORIES.size())))))
+                                   .build();
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        AtomicLong ids = new AtomicLong();
+        ObjectFactory objectFactory = factory(ids);
+
+        new ColumnarDatasetWriter(objectFactory, 4, 64).write(Record.class, 1001, path);
+
+        try (ColumnarDatasetReader<Record> reader = ColumnarDatasetReader.open(path, Record.class, objectFactory)) {
+            assertEquals(1001, reader.size());
+
+            Set<Long> readIds = new HashSet<>();
+            reader.stream().forEach(record -> {
+                readIds.add(record.id);
+                assertNull(record.missing);
+                assertTrue(CATEGORIES.contains(record.category), record.category);
+                assertNotNull(record.color);
+                assertNotNull(record.date);
+                assertNull(record.unsupported);
+            });
+
+            // every row is written exactly once across chunks
+            assertEquals(1001, readIds.size());
+            assertEquals(0, (long) readIds.stream().min(Long::compare).get());
+            assertEquals(1000, (long) readIds.stream().max(Long::compare).get());
+
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.get(1001));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.get(-1));
+        }
+    }
+
+    @Test
+    void rawStrings() throws IOException {
+        AtomicLong ids = new AtomicLong();
+        ObjectFactory objectFactory = factory(ids);
+
+        // a single distinct value per column is kept in dictionary, the others are written raw
+        new ColumnarDatasetWriter(objectFactory, 1, 64, 1).write(Record.class, 1001, path);
+
+        try (ColumnarDatasetReader<Record> reader = ColumnarDatasetReader.open(path, Record.class, objectFactory)) {
+            assertEquals(1001, reader.size());
+            reader.stream().forEach(record -> assertEquals(CATEGORIES.get((int) ((record.id + 1) % CATEGORIES.size())),
+                                                           record.category));
+        }
+    }
+
+    @Test
+    void empty() throws IOException {
+        ObjectFactory objectFactory = factory(new AtomicLong());
+
+        new ColumnarDatasetWriter(objectFactory).write(Record.class, 0, path);
+
+        try (ColumnarDatasetReader<Record> reader = ColumnarDatasetReader.open(path, Record.class, objectFactory)) {
+            assertEquals(0, reader.size());
+            assertEquals(0, reader.stream().count());
+        }
+    }
+
+    @Test
+    void invalid() throws IOException {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder().build();
+        ColumnarDatasetWriter writer = new ColumnarDatasetWriter(objectFactory);
+
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarDatasetWriter(null));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarDatasetWriter(objectFactory, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarDatasetWriter(objectFactory, 1, 7));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarDatasetWriter(objectFactory, 1, 8, -1));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(Record.class, -1, path));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(Object.class, 1, path));
+
+        Files.write(path, new byte[32]);
+        assertThrows(IllegalArgumentException.class, () -> ColumnarDatasetReader.open(path, Record.class,
+                                                                                       objectFactory));
+    }
+
+    @Test
+    void nullPrimitive() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .additionalProvider(
+                                                                  (f, r) -> provider(long.class, () -> null))
+                                                          .build();
+
+        assertThrows(ObjectCreationException.class, () -> new ColumnarDatasetWriter(objectFactory, 2, 8)
+                                                                  .write(Record.class, 100, path));
+    }
+
+}
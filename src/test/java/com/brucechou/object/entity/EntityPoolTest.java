@@ -0,0 +1,146 @@
+package com.brucechou.object.entity;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.unique.UniqueLongProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class EntityPoolTest {
+
+    @Test
+    void of() {
+        EntityPool pool = EntityPool.of(Arrays.asList(new Customer(3), new Customer(5)), "id");
+
+        assertAll(() -> assertEquals(2, pool.size()),
+                  () -> assertEquals(3, pool.key(0)),
+                  () -> assertEquals(5, pool.key(1)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> EntityPool.of(Arrays.asList(new Customer(3)), "name")),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> EntityPool.of(Arrays.asList(new Customer(3)), "missing")),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> EntityPool.of(new ArrayList<>(), "id")),
+                  () -> assertThrows(IllegalArgumentException.class, () -> EntityPool.ofKeys()));
+    }
+
+    @Test
+    void uniform() {
+        EntityPool pool = EntityPool.ofKeys(10, 20, 30);
+        ForeignKeyProvider provider = pool.uniform(() -> new Random(1));
+        Set<Long> keys = new HashSet<>();
+        ForeignKeyProvider random = pool.uniform();
+        for (int i = 0; i < 300; ++i) {
+            keys.add(random.get(long.class));
+        }
+
+        assertAll(() -> assertEquals(new HashSet<>(Arrays.asList(10L, 20L, 30L)), keys),
+                  () -> assertEquals(provider.nextKey(), pool.uniform(() -> new Random(1)).nextKey()),
+                  () -> assertEquals("10", EntityPool.ofKeys(10).uniform().get(String.class)),
+                  () -> assertEquals(Integer.valueOf(10), EntityPool.ofKeys(10).uniform().get(Integer.class)));
+    }
+
+    @Test
+    void zipf() {
+        long[] keys = new long[100];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = i;
+        }
+        ForeignKeyProvider provider = EntityPool.ofKeys(keys).zipf(1.0, () -> new Random(1));
+
+        int[] counts = new int[keys.length];
+        Random random = new Random(7);
+        ForeignKeyProvider seeded = EntityPool.ofKeys(keys).zipf(1.0, () -> random);
+        for (int i = 0; i < 100_000; ++i) {
+            counts[(int) seeded.nextKey()]++;
+        }
+
+        // probability of rank 1 is 1 / H(100) ~ 0.19, twice of rank 2
+        assertAll(() -> assertTrue(counts[0] > 17_000 && counts[0] < 22_000),
+                  () -> assertTrue(counts[0] > counts[1] * 1.7),
+                  () -> assertTrue(counts[1] > counts[50]),
+                  () -> assertTrue(provider.recognizes(long.class)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> EntityPool.ofKeys(1).zipf(-1)));
+    }
+
+    @Test
+    void longKeys() {
+        ForeignKeyProvider provider = EntityPool.ofKeys(1L << 40).uniform();
+
+        assertAll(() -> assertFalse(provider.recognizes(int.class)),
+                  () -> assertTrue(provider.recognizes(Long.class)),
+                  () -> assertThrows(ObjectCreationException.class, () -> provider.get(int.class)),
+                  () -> assertThrows(ObjectCreationException.class, () -> provider.getInt(int.class)));
+    }
+
+    @Test
+    void generate() {
+        ObjectFactory customers =
+                ObjectFactoryBuilder.getDefaultBuilder()
+                                    .bindings(Bindings.bind("id", new UniqueLongProvider(1, 1000, 7L)))
+                                    .build();
+        List<Customer> written = new ArrayList<>();
+        EntityPool pool = EntityPool.generate(customers, Customer.class, 100, "id", written::add);
+
+        ObjectFactory orders =
+                ObjectFactoryBuilder.getDefaultBuilder()
+                                    .bindings(Bindings.bind(Order.class, "customerId",
+                                                            random -> pool.zipf(1.0, random)),
+                                              Bindings.bind(Order.class, "boxedCustomerId", pool::uniform))
+                                    .build();
+
+        Set<Long> ids = new HashSet<>();
+        written.forEach(customer -> ids.add(customer.id));
+        for (int i = 0; i < 100; ++i) {
+            Order order = orders.generate(Order.class);
+            assertTrue(ids.contains(order.customerId));
+            assertTrue(ids.contains(order.boxedCustomerId));
+        }
+        assertEquals(100, written.size());
+        assertEquals(100, ids.size());
+
+        // bound with the random supplier of object factory, foreign keys follow seeds
+        for (long seed = 0; seed < 10; ++seed) {
+            Order first = orders.generate(Order.class, seed);
+            Order second = orders.generate(Order.class, seed);
+            assertEquals(first.customerId, second.customerId);
+            assertEquals(first.boxedCustomerId, second.boxedCustomerId);
+        }
+    }
+
+    private static class Customer {
+
+        private long id;
+        private String name;
+
+        private Customer() {
+        }
+
+        private Customer(long id) {
+            this.id = id;
+            this.name = "customer";
+        }
+    }
+
+    private static class Order {
+
+        private long customerId;
+        private Long boxedCustomerId;
+        private int quantity;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.brucechou.object.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+class FlightRecorderGenerationRecorderTest {
+
+    @Test
+    void create() {
+        assertTrue(FlightRecorders.isAvailable());
+        assertTrue(FlightRecorders.create(1) instanceof FlightRecorderGenerationRecorder);
+        assertThrows(IllegalArgumentException.class, () -> FlightRecorders.create(0));
+
+        assertTrue(ObjectFactoryBuilder.getDefaultBuilder().build().getRecorder() instanceof NullGenerationRecorder);
+        assertThrows(IllegalArgumentException.class,
+                     () -> ObjectFactoryBuilder.getDefaultBuilder().flightRecorderSampleInterval(0));
+    }
+
+    @Test
+    void record() throws Exception {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .flightRecorder(true)
+                                                          .flightRecorderSampleInterval(1)
+                                                          .random(new Random())
+                                                          .build();
+
+        Path file = Files.createTempFile("object-factory", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GenerationEvent.class);
+            recording.enable(ProviderInvocationEvent.class);
+            recording.enable(ProxyCreationEvent.class);
+            recording.start();
+
+            Pojo pojo = objectFactory.generate(Pojo.class);
+            assertNotNull(pojo.runnable);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        List<RecordedEvent> generations = filter(events, "com.brucechou.object.Generation");
+        assertEquals(1, generations.size());
+        assertEquals(Pojo.class.getTypeName(), generations.get(0).getString("type"));
+        assertEquals(4, generations.get(0).getLong("nodeCount"));
+        assertEquals(2, generations.get(0).getInt("depth"));
+
+        assertEquals(3, filter(events, "com.brucechou.object.ProviderInvocation").size());
+        assertEquals(1, filter(events, "com.brucechou.object.ProxyCreation").size());
+        assertNotNull(filter(events, "com.brucechou.object.ProxyCreation").get(0).getClass("proxiedClass"));
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> name.equals(e.getEventType().getName())).collect(Collectors.toList());
+    }
+
+    private static class Pojo {
+        private String name;
+        private int count;
+        private Runnable runnable;
+    }
+
+}
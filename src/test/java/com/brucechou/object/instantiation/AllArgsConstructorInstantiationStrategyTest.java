@@ -0,0 +1,100 @@
+package com.brucechou.object.instantiation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.provider.DeterministicProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("unused")
+class AllArgsConstructorInstantiationStrategyTest {
+
+    private static final AtomicInteger SET = new AtomicInteger();
+
+    private static final class Money {
+        private final String currency;
+        private final long amount;
+        private final List<Integer> history;
+
+        Money() {
+            this(null, 0L, null);
+        }
+
+        Money(String currency, long amount, List<Integer> history) {
+            this.currency = currency;
+            this.amount = amount;
+            this.history = history;
+        }
+
+        public void setCurrency(String currency) {
+            SET.incrementAndGet();
+        }
+    }
+
+    private static final class Reordered {
+        private final String name;
+        private final Integer count;
+        private Long extra;
+
+        Reordered(Integer count, String name) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    private static final class Ambiguous {
+        private final String first;
+        private final String second;
+
+        Ambiguous() {
+            this.first = "first";
+            this.second = "second";
+        }
+
+        Ambiguous(String second) {
+            this.first = "first";
+            this.second = second;
+        }
+    }
+
+    private static final ObjectFactory FACTORY = ObjectFactoryBuilder
+            .getDefaultBuilder()
+            .instantiationStrategy(new AllArgsConstructorInstantiationStrategy())
+            .bindings(Bindings.bind(Money.class, "currency", new DeterministicProvider(
+                    Collections.singletonMap(String.class, "EUR"))))
+            .build();
+
+    @Test
+    void instantiate() {
+        AllArgsConstructorInstantiationStrategy strategy = new AllArgsConstructorInstantiationStrategy();
+        assertEquals(Arrays.asList("currency", "amount", "history"), strategy.getInitializedFields(Money.class));
+        assertEquals(Arrays.asList("count", "name"), strategy.getInitializedFields(Reordered.class));
+        assertEquals(Collections.emptyList(), strategy.getInitializedFields(Ambiguous.class));
+
+        int set = SET.get();
+        Money money = FACTORY.generate(Money.class);
+        // bindings applied to constructor arguments, setters of initialized fields are skipped
+        assertEquals("EUR", money.currency);
+        assertNotNull(money.history);
+        assertEquals(set, SET.get());
+
+        Reordered reordered = FACTORY.generate(Reordered.class);
+        assertNotNull(reordered.name);
+        assertNotNull(reordered.count);
+        assertNotNull(reordered.extra);
+
+        // falls back to the constructor with fewest parameters, fields are set afterwards
+        Ambiguous ambiguous = FACTORY.generate(Ambiguous.class);
+        assertTrue(!"first".equals(ambiguous.first) && !"second".equals(ambiguous.second));
+    }
+
+}
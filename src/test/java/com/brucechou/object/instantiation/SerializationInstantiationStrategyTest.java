@@ -0,0 +1,97 @@
+package com.brucechou.object.instantiation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("unused")
+class SerializationInstantiationStrategyTest {
+
+    private static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+    private static class Validated {
+        private String name;
+        private int count;
+
+        Validated(String name) {
+            CONSTRUCTED.incrementAndGet();
+            if (!"valid".equals(name)) {
+                throw new IllegalArgumentException("Invalid name " + name);
+            }
+            this.name = name;
+        }
+    }
+
+    private static final class Initialized extends Validated {
+        private transient String untouched = "initialized";
+        private Long value;
+
+        Initialized() {
+            super("valid");
+        }
+    }
+
+    private abstract static class Abstract {
+    }
+
+    @Test
+    void instantiate() {
+        assertTrue(SerializationInstantiationStrategy.isAvailable());
+
+        InstantiationStrategy strategy = new SerializationInstantiationStrategy();
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder().build();
+        int constructed = CONSTRUCTED.get();
+
+        Validated validated = strategy.instantiate(Validated.class, objectFactory, null);
+        assertNull(validated.name);
+
+        // constructors of super classes are skipped as well, so are field initializers
+        Initialized initialized = strategy.instantiate(Initialized.class, objectFactory, null);
+        assertNull(initialized.untouched);
+        assertEquals(constructed, CONSTRUCTED.get());
+
+        assertThrows(ObjectCreationException.class, () -> strategy.instantiate(Abstract.class, objectFactory, null));
+        assertThrows(ObjectCreationException.class, () -> strategy.instantiate(Runnable.class, objectFactory, null));
+    }
+
+    @Test
+    void generate() {
+        ObjectFactoryBuilder builder = ObjectFactoryBuilder.getDefaultBuilder();
+        ObjectFactory constructing = builder.build();
+        assertThrows(ObjectCreationException.class, () -> constructing.generate(Validated.class));
+
+        ObjectFactory allocating = builder.copy()
+                                          .instantiationStrategy(Validated.class,
+                                                                 new SerializationInstantiationStrategy())
+                                          .build();
+        int constructed = CONSTRUCTED.get();
+        Validated validated = allocating.generate(Validated.class);
+        assertNotNull(validated.name);
+        assertEquals(constructed, CONSTRUCTED.get());
+        // other classes still use the default strategy
+        assertNotNull(allocating.<Initialized>generate(Initialized.class).value);
+        assertEquals(constructed + 1, CONSTRUCTED.get());
+
+        ObjectFactory allAllocating = builder.copy()
+                                             .instantiationStrategy(new SerializationInstantiationStrategy())
+                                             .build();
+        assertNotNull(allAllocating.<Initialized>generate(Initialized.class).value);
+        assertEquals(constructed + 1, CONSTRUCTED.get());
+        assertTrue(constructing.getConfigurationHash() != allAllocating.getConfigurationHash());
+        assertTrue(allocating.getConfigurationHash() != allAllocating.getConfigurationHash());
+
+        assertThrows(IllegalArgumentException.class, () -> builder.instantiationStrategy(null));
+        assertThrows(IllegalArgumentException.class,
+                     () -> builder.instantiationStrategy(null, new SerializationInstantiationStrategy()));
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.brucechou.object.latency;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+class LatencyDistributionTest {
+
+    private static final int SAMPLES = 10_000;
+
+    @Test
+    void fixed() {
+        assertEquals(5_000_000, LatencyDistribution.fixed(Duration.ofMillis(5)).nextNanos(new Random()));
+    }
+
+    @Test
+    void uniform() {
+        LatencyDistribution distribution = LatencyDistribution.uniform(Duration.ofNanos(100), Duration.ofNanos(200));
+        Random random = new Random(1);
+        for (int i = 0; i < SAMPLES; ++i) {
+            long nanos = distribution.nextNanos(random);
+            assertTrue(nanos >= 100 && nanos < 200);
+        }
+    }
+
+    @Test
+    void exponentialAndLogNormal() {
+        LatencyDistribution exponential = LatencyDistribution.exponential(Duration.ofNanos(1_000));
+        LatencyDistribution logNormal = LatencyDistribution.logNormal(Duration.ofNanos(1_000), 0.5);
+        Random random = new Random(1);
+
+        long sum = 0;
+        int belowMedian = 0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            long nanos = exponential.nextNanos(random);
+            assertTrue(nanos >= 0);
+            sum += nanos;
+            if (logNormal.nextNanos(random) < 1_000) {
+                ++belowMedian;
+            }
+        }
+
+        long mean = sum / SAMPLES;
+        int halfSamples = belowMedian;
+        assertAll(() -> assertTrue(mean > 900 && mean < 1_100),
+                  () -> assertTrue(halfSamples > SAMPLES * 0.45 && halfSamples < SAMPLES * 0.55));
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.fixed(null)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> LatencyDistribution.fixed(Duration.ofNanos(-1))),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> LatencyDistribution.uniform(Duration.ofNanos(2), Duration.ofNanos(1))),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> LatencyDistribution.logNormal(Duration.ofNanos(1), -1)));
+    }
+
+}
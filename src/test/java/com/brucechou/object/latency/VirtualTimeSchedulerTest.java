@@ -0,0 +1,48 @@
+package com.brucechou.object.latency;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class VirtualTimeSchedulerTest {
+
+    @Test
+    void advance() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        List<String> order = new ArrayList<>();
+
+        scheduler.schedule(() -> order.add("b"), 20);
+        scheduler.schedule(() -> order.add("a"), 10);
+        scheduler.schedule(() -> order.add("c"), 20);
+        // scheduled by a task, relative to the due time of the task
+        scheduler.schedule(() -> scheduler.schedule(() -> order.add("d"), 5), 10);
+
+        assertAll(() -> assertEquals(4, scheduler.pending()),
+                  () -> assertEquals(2, scheduler.advance(Duration.ofNanos(10))),
+                  () -> assertEquals(10, scheduler.now()),
+                  () -> assertEquals(3, scheduler.advance(Duration.ofNanos(10))),
+                  () -> assertEquals(20, scheduler.now()),
+                  () -> assertEquals(Arrays.asList("a", "d", "b", "c"), order),
+                  () -> assertEquals(0, scheduler.pending()));
+    }
+
+    @Test
+    void runAll() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        scheduler.schedule(() -> { }, 1_000);
+        scheduler.schedule(() -> { }, 5_000);
+
+        assertAll(() -> assertEquals(2, scheduler.runAll()),
+                  () -> assertEquals(5_000, scheduler.now()),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> scheduler.advance(Duration.ofNanos(-1))));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.brucechou.object.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.resolver.CachingResolver;
+import com.brucechou.object.resolver.NullResolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+class ObjectFactoryMonitorTest {
+
+    @Test
+    void monitor() throws Exception {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .resolvers(new CachingResolver(new NullResolver()))
+                                                          .minSize(2)
+                                                          .maxSize(2)
+                                                          .random(new Random())
+                                                          .jmx("monitor-test")
+                                                          .build();
+
+        ObjectFactoryMonitor monitor = objectFactory.getMonitor();
+        assertNotNull(monitor);
+        ObjectName objectName = monitor.getObjectName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(server.isRegistered(objectName));
+
+        objectFactory.generate(Pojo.class);
+        objectFactory.generate(Pojo.class);
+
+        // Pojo, List<String>, 2 * String, Runnable
+        assertEquals(2L, server.getAttribute(objectName, "GenerationCount"));
+        assertEquals(5.0, server.getAttribute(objectName, "AverageGraphSize"));
+        assertTrue((double) server.getAttribute(objectName, "Throughput") > 0);
+        assertEquals(2, server.getAttribute(objectName, "MinSize"));
+        assertEquals(2, server.getAttribute(objectName, "MaxSize"));
+        assertEquals(2, ((String[]) server.getAttribute(objectName, "Resolvers")).length);
+        assertArrayEquals(objectFactory.getProviders().stream().map(p -> p.getClass().getName()).toArray(),
+                          (String[]) server.getAttribute(objectName, "Providers"));
+
+        CompositeData metadataCache = (CompositeData) server.getAttribute(objectName, "MetadataCache");
+        assertEquals(1, metadataCache.get("size"));
+        assertTrue((long) metadataCache.get("hitCount") > 0);
+        CompositeData providerCache = (CompositeData) server.getAttribute(objectName, "ProviderCache");
+        assertEquals(4, providerCache.get("size"));
+        assertEquals(0.6, providerCache.get("hitRate"));
+        CompositeData resolverCache = (CompositeData) server.getAttribute(objectName, "ResolverCache");
+        assertEquals(1, resolverCache.get("size"));
+
+        server.invoke(objectName, "clearCaches", null, null);
+        server.invoke(objectName, "resetStatistics", null, null);
+        assertEquals(0L, server.getAttribute(objectName, "GenerationCount"));
+        assertEquals(0, objectFactory.getMetadataCacheStatistics().getSize());
+        assertEquals(0, objectFactory.getProviderCacheStatistics().getHitCount());
+        assertEquals(0, objectFactory.getResolverCacheStatistics().getSize());
+
+        // register again with the same name replaces the previous one
+        ObjectFactory another = ObjectFactoryBuilder.getDefaultBuilder().jmx("monitor-test").build();
+        assertTrue(server.isRegistered(objectName));
+        another.getMonitor().unregister();
+        assertFalse(server.isRegistered(objectName));
+        assertNull(another.getMonitor().getObjectName());
+
+        monitor.unregister();
+        assertNull(ObjectFactoryBuilder.getDefaultBuilder().build().getMonitor());
+        assertThrows(IllegalArgumentException.class, () -> ObjectFactoryBuilder.getDefaultBuilder().jmx(""));
+    }
+
+    private static class Pojo {
+        private List<String> names;
+        private Runnable runnable;
+    }
+
+}
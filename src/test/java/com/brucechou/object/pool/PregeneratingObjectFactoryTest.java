@@ -0,0 +1,124 @@
+package com.brucechou.object.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.cycle.CycleDetector;
+import com.brucechou.object.provider.Provider;
+import com.brucechou.object.util.CacheStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+class PregeneratingObjectFactoryTest {
+
+    private static final class Nothing {}
+
+    private static final class Broken {}
+
+    private static final ObjectFactory OBJECT_FACTORY =
+            ObjectFactoryBuilder.getDefaultBuilder()
+                                .additionalProvider((f, r) -> new Provider() {
+                                    @Override
+                                    public <T> T get(Type type, CycleDetector cycleDetector) {
+                                        if (Broken.class.equals(type)) {
+                                            throw new IllegalStateException("broken");
+                                        }
+                                        return null;
+                                    }
+
+                                    @Override
+                                    public boolean recognizes(Type type) {
+                                        return Nothing.class.equals(type) || Broken.class.equals(type);
+                                    }
+                                })
+                                .build();
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timeout");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void generate() throws InterruptedException {
+        try (PregeneratingObjectFactory factory = new PregeneratingObjectFactory(OBJECT_FACTORY, 16, 4, 16, 2)) {
+            factory.register(String.class);
+            await(() -> factory.getStatistics(String.class).getSize() == 16);
+
+            for (int i = 0; i < 12; ++i) {
+                assertNotNull(factory.<String>generate(String.class));
+            }
+            CacheStatistics statistics = factory.getStatistics(String.class);
+            assertEquals(12, statistics.getHitCount());
+            assertEquals(0, statistics.getMissCount());
+
+            // dropped to low watermark, refilled up to high watermark
+            await(() -> factory.getStatistics(String.class).getSize() == 16);
+        }
+    }
+
+    @Test
+    void miss() {
+        try (PregeneratingObjectFactory factory = new PregeneratingObjectFactory(OBJECT_FACTORY, 8, 1)) {
+            // nothing is pre-generated before the first request
+            assertNotNull(factory.<Integer>generate(Integer.class));
+            assertEquals(1, factory.getStatistics().getMissCount());
+            assertEquals(CacheStatistics.EMPTY, factory.getStatistics(Long.class));
+        }
+    }
+
+    @Test
+    void nullValue() throws InterruptedException {
+        try (PregeneratingObjectFactory factory = new PregeneratingObjectFactory(OBJECT_FACTORY, 4, 1)) {
+            factory.register(Nothing.class);
+            await(() -> factory.getStatistics(Nothing.class).getSize() == 4);
+
+            assertNull(factory.generate(Nothing.class));
+            assertEquals(1, factory.getStatistics(Nothing.class).getHitCount());
+        }
+    }
+
+    @Test
+    void failure() throws InterruptedException {
+        try (PregeneratingObjectFactory factory = new PregeneratingObjectFactory(OBJECT_FACTORY, 4, 1)) {
+            factory.register(Broken.class, String.class);
+
+            // worker survives the failure and keeps serving other types
+            await(() -> factory.getStatistics(String.class).getSize() == 4);
+            assertThrows(IllegalStateException.class, () -> factory.generate(Broken.class));
+            assertEquals(0, factory.getStatistics(Broken.class).getSize());
+        }
+    }
+
+    @Test
+    void close() {
+        PregeneratingObjectFactory factory = new PregeneratingObjectFactory(OBJECT_FACTORY, 4, 1);
+        factory.register(String.class);
+        factory.close();
+
+        assertNotNull(factory.<String>generate(String.class));
+        assertEquals(CacheStatistics.EMPTY.getSize(), factory.getStatistics().getSize());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new PregeneratingObjectFactory(null, 4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PregeneratingObjectFactory(OBJECT_FACTORY, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PregeneratingObjectFactory(OBJECT_FACTORY, 4, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PregeneratingObjectFactory(OBJECT_FACTORY, 4, 4, 4, 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PregeneratingObjectFactory(OBJECT_FACTORY, 4, 0, 5, 1));
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.brucechou.object.prototype;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+
+@SuppressWarnings("unused")
+class PrototypeObjectFactoryTest {
+
+    private static final ObjectFactory OBJECT_FACTORY = ObjectFactoryBuilder.getDefaultBuilder()
+                                                                            .minSize(2)
+                                                                            .maxSize(4)
+                                                                            .build();
+
+    private static final class Customer {
+        private String name;
+        private Date since;
+    }
+
+    private static final class Line {
+        private String sku;
+        private int quantity;
+    }
+
+    private static final class Order {
+        private String id;
+        private Customer customer;
+        private List<Line> lines;
+        private Map<String, Customer> contacts;
+        private long[] codes;
+        private Optional<Customer> referrer;
+        private Order parent;
+    }
+
+    private static final class Constrained {
+        @Min(10)
+        @Max(20)
+        private int count;
+        @Size(min = 3, max = 3)
+        private List<Integer> values;
+    }
+
+    @Test
+    void copy() {
+        PrototypeObjectFactory factory = new PrototypeObjectFactory(OBJECT_FACTORY, 0);
+        Order prototype = factory.getPrototype(Order.class);
+        Order copy = factory.generate(Order.class);
+
+        assertNotSame(prototype, copy);
+        assertSame(prototype.id, copy.id);
+        assertNotSame(prototype.customer, copy.customer);
+        assertSame(prototype.customer.name, copy.customer.name);
+        assertNotSame(prototype.customer.since, copy.customer.since);
+        assertEquals(prototype.customer.since, copy.customer.since);
+        assertNotSame(prototype.lines, copy.lines);
+        assertEquals(prototype.lines.size(), copy.lines.size());
+        for (int i = 0; i < copy.lines.size(); ++i) {
+            assertNotSame(prototype.lines.get(i), copy.lines.get(i));
+            assertEquals(prototype.lines.get(i).quantity, copy.lines.get(i).quantity);
+        }
+        assertEquals(prototype.contacts.keySet(), copy.contacts.keySet());
+        assertNotSame(prototype.codes, copy.codes);
+        assertTrue(Arrays.equals(prototype.codes, copy.codes));
+        assertNotSame(prototype.referrer.get(), copy.referrer.get());
+        assertNull(copy.parent);
+
+        // copies are independent of each other and of the prototype
+        copy.lines.clear();
+        assertEquals(prototype.lines.size(), factory.<Order>generate(Order.class).lines.size());
+    }
+
+    @Test
+    void mutate() {
+        PrototypeObjectFactory factory = new PrototypeObjectFactory(OBJECT_FACTORY, 0,
+                                                                    Collections.singleton("customer.name"));
+        Order prototype = factory.getPrototype(Order.class);
+        Order copy = factory.generate(Order.class);
+        assertNotEquals(prototype.customer.name, copy.customer.name);
+        assertSame(prototype.id, copy.id);
+        // contacts are customers too, but not on the path
+        Map.Entry<String, Customer> contact = prototype.contacts.entrySet().iterator().next();
+        assertSame(contact.getValue().name, copy.contacts.get(contact.getKey()).name);
+
+        PrototypeObjectFactory mutating = new PrototypeObjectFactory(OBJECT_FACTORY, 1);
+        Order mutated = mutating.generate(Order.class);
+        assertNotEquals(mutating.<Order>getPrototype(Order.class).id, mutated.id);
+        assertNull(mutated.parent);
+
+        Order previous = mutating.getPrototype(Order.class);
+        mutating.clearPrototypes();
+        assertNotSame(previous, mutating.getPrototype(Order.class));
+    }
+
+    @Test
+    void containers() {
+        Type type = new TypeToken<Map<String, List<Line>>>() {}.getType();
+        PrototypeObjectFactory factory = new PrototypeObjectFactory(OBJECT_FACTORY, 0,
+                                                                    Collections.singleton("sku"));
+        Map<String, List<Line>> prototype = factory.getPrototype(type);
+        Map<String, List<Line>> copy = factory.generate(type);
+
+        assertEquals(prototype.keySet(), copy.keySet());
+        for (Map.Entry<String, List<Line>> entry : copy.entrySet()) {
+            List<Line> lines = prototype.get(entry.getKey());
+            for (int i = 0; i < lines.size(); ++i) {
+                assertNotEquals(lines.get(i).sku, entry.getValue().get(i).sku);
+                assertEquals(lines.get(i).quantity, entry.getValue().get(i).quantity);
+            }
+        }
+
+        assertSame(factory.<String>getPrototype(String.class), factory.generate(String.class));
+    }
+
+    @Test
+    void mutateConstrained() {
+        ObjectFactory objectFactory = ObjectFactoryBuilder.getDefaultBuilder()
+                                                          .minSize(0)
+                                                          .maxSize(1)
+                                                          .validationConstraints(true)
+                                                          .build();
+        PrototypeObjectFactory factory = new PrototypeObjectFactory(objectFactory, 0,
+                                                                    Arrays.asList("count", "values"));
+        for (int i = 0; i < 20; ++i) {
+            Constrained copy = factory.generate(Constrained.class);
+            assertTrue(copy.count >= 10 && copy.count <= 20);
+            assertNotNull(copy.values);
+            assertEquals(3, copy.values.size());
+        }
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new PrototypeObjectFactory(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PrototypeObjectFactory(OBJECT_FACTORY, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new PrototypeObjectFactory(OBJECT_FACTORY, 1.1));
+        assertThrows(IllegalArgumentException.class, () -> new PrototypeObjectFactory(OBJECT_FACTORY, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new PrototypeObjectFactory(OBJECT_FACTORY, 0, null));
+    }
+
+}
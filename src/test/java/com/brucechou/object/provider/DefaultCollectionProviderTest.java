@@ -1,12 +1,15 @@
 package com.brucechou.object.provider;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.collection.VirtualList;
 import com.brucechou.object.resolver.Resolver;
 import com.google.common.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
@@ -25,6 +28,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 class DefaultCollectionProviderTest implements ProviderTestBase {
 
@@ -206,6 +211,62 @@ class DefaultCollectionProviderTest implements ProviderTestBase {
 
     }
 
+    @Test
+    void getBounded() {
+        LinkedBlockingQueue<String> queue =
+                provider.get(new TypeToken<LinkedBlockingQueue<String>>() {}.getType());
+        BlockingQueue<String> empty = new DefaultCollectionProvider(
+                getObjectFactoryBuilder().minSize(0).maxSize(0).build(), getRandomSupplier())
+                .get(new TypeToken<LinkedBlockingQueue<String>>() {}.getType());
+
+        assertAll(() -> assertEquals(DEFAULT_SIZE, queue.size()),
+                  () -> assertTrue(queue.offer("x")),
+                  () -> assertTrue(empty.isEmpty()),
+                  () -> assertTrue(empty.offer("x")));
+    }
+
+    @Test
+    void getCompact() {
+        DefaultCollectionProvider compactProvider = new DefaultCollectionProvider(
+                getObjectFactoryBuilder().compactCollections(true).build(), getRandomSupplier());
+
+        List<Integer> list = compactProvider.get(new TypeToken<List<Integer>>() {}.getType());
+        Set<Integer> set = compactProvider.get(new TypeToken<Set<Integer>>() {}.getType());
+        Collection<Integer> collection = compactProvider.get(new TypeToken<Collection<Integer>>() {}.getType());
+        ArrayList<Integer> arrayList = compactProvider.get(new TypeToken<ArrayList<Integer>>() {}.getType());
+        Queue<Integer> queue = compactProvider.get(new TypeToken<Queue<Integer>>() {}.getType());
+
+        assertAll(() -> assertTrue(CompactCollections.isCompact(list)),
+                  () -> assertTrue(list.size() == DEFAULT_SIZE),
+                  () -> assertThrows(UnsupportedOperationException.class, () -> list.add(1)),
+                  () -> assertTrue(CompactCollections.isCompact(set)),
+                  () -> assertTrue(set.size() >= 1 && set.size() <= DEFAULT_SIZE),
+                  () -> assertTrue(CompactCollections.isCompact(collection)),
+                  () -> assertTrue(CompactCollections.isCompact(compactProvider.get(List.class))),
+                  () -> assertFalse(CompactCollections.isCompact(arrayList)),
+                  () -> assertTrue(queue instanceof ArrayDeque));
+    }
+
+    @Test
+    void getVirtual() {
+        DefaultCollectionProvider virtualProvider = new DefaultCollectionProvider(
+                getObjectFactoryBuilder().maxSize(1_000_000).minSize(1_000_000).virtualCollections(true).build(),
+                getRandomSupplier());
+
+        List<String> list = virtualProvider.get(new TypeToken<List<String>>() {}.getType());
+        Collection<String> collection = virtualProvider.get(new TypeToken<Collection<String>>() {}.getType());
+        ArrayList<String> arrayList = new DefaultCollectionProvider(
+                getObjectFactoryBuilder().virtualCollections(true).build(), getRandomSupplier())
+                .get(new TypeToken<ArrayList<String>>() {}.getType());
+
+        assertAll(() -> assertTrue(list instanceof VirtualList),
+                  () -> assertEquals(1_000_000, list.size()),
+                  () -> assertEquals(list.get(999_999), list.get(999_999)),
+                  () -> assertThrows(UnsupportedOperationException.class, () -> list.add("")),
+                  () -> assertTrue(collection instanceof VirtualList),
+                  () -> assertEquals(ArrayList.class, arrayList.getClass()));
+    }
+
     @Test
     void recognizes() {
         assertFalse(provider.recognizes(null));
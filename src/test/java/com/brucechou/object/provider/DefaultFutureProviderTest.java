@@ -1,11 +1,15 @@
 package com.brucechou.object.provider;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.brucechou.object.latency.LatencyDistribution;
+import com.brucechou.object.latency.SimulatedFailureException;
+import com.brucechou.object.latency.VirtualTimeScheduler;
 import com.google.common.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,8 +17,10 @@ import org.mockito.Mockito;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
@@ -124,6 +130,51 @@ class DefaultFutureProviderTest implements ProviderTestBase {
         assertThrows(IllegalArgumentException.class, () -> provider.get(wildcardType));
     }
 
+    @Test
+    void getWithLatency() throws Exception {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        DefaultFutureProvider latencyProvider = new DefaultFutureProvider(
+                getObjectFactoryBuilder().futureLatency(LatencyDistribution.fixed(Duration.ofMillis(10)))
+                                         .futureScheduler(scheduler)
+                                         .build());
+
+        CompletableFuture<String> future = latencyProvider.get(new TypeToken<CompletableFuture<String>>() {}.getType());
+        FutureTask<String> futureTask = latencyProvider.get(new TypeToken<FutureTask<String>>() {}.getType());
+        ForkJoinTask<String> forkJoinTask = latencyProvider.get(new TypeToken<ForkJoinTask<String>>() {}.getType());
+
+        assertAll(() -> assertFalse(future.isDone()),
+                  () -> assertFalse(futureTask.isDone()),
+                  () -> assertFalse(forkJoinTask.isDone()),
+                  () -> assertEquals(0, scheduler.advance(Duration.ofMillis(9))));
+
+        assertEquals(3, scheduler.advance(Duration.ofMillis(1)));
+
+        assertAll(() -> assertNotNull(future.get()),
+                  () -> assertNotNull(futureTask.get()),
+                  () -> assertNotNull(forkJoinTask.get()));
+    }
+
+    @Test
+    void getWithFailure() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        DefaultFutureProvider failingProvider = new DefaultFutureProvider(
+                getObjectFactoryBuilder().futureLatency(LatencyDistribution.fixed(Duration.ZERO))
+                                         .futureScheduler(scheduler)
+                                         .futureFailureRate(1)
+                                         .build());
+
+        Future<String> future = failingProvider.get(new TypeToken<Future<String>>() {}.getType());
+        FutureTask<String> futureTask = failingProvider.get(new TypeToken<FutureTask<String>>() {}.getType());
+        ForkJoinTask<String> forkJoinTask = failingProvider.get(new TypeToken<ForkJoinTask<String>>() {}.getType());
+        scheduler.runAll();
+
+        assertAll(() -> assertTrue(assertThrows(ExecutionException.class, future::get).getCause()
+                                           instanceof SimulatedFailureException),
+                  () -> assertTrue(assertThrows(ExecutionException.class, futureTask::get).getCause()
+                                           instanceof SimulatedFailureException),
+                  () -> assertTrue(forkJoinTask.getException() instanceof SimulatedFailureException));
+    }
+
     @Test
     void recognizes() {
         assertFalse(provider.recognizes(null));
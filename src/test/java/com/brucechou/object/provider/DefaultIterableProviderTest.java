@@ -1,11 +1,13 @@
 package com.brucechou.object.provider;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.brucechou.object.collection.VirtualList;
 import com.google.common.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -41,6 +43,18 @@ class DefaultIterableProviderTest implements ProviderTestBase {
         assertThrows(IllegalArgumentException.class, () -> provider.get(Mockito.mock(TypeVariable.class)));
     }
 
+    @Test
+    void getVirtual() {
+        DefaultIterableProvider virtualProvider = new DefaultIterableProvider(
+                getObjectFactoryBuilder().virtualCollections(true).build(), getRandomSupplier());
+
+        Iterable<String> iterable = virtualProvider.get(new TypeToken<Iterable<String>>() {}.getType());
+
+        assertAll(() -> assertTrue(iterable instanceof VirtualList),
+                  () -> assertEquals(DEFAULT_SIZE, ((List<?>) iterable).size()),
+                  () -> assertEquals(new ArrayList<>((List<?>) iterable), new ArrayList<>((List<?>) iterable)));
+    }
+
     @Test
     void recognizes() {
         assertFalse(provider.recognizes(null));
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.collection.CompactCollections;
 import com.google.common.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -90,6 +91,21 @@ class DefaultMapProviderTest implements ProviderTestBase {
 
     }
 
+    @Test
+    void getCompact() {
+        DefaultMapProvider compactProvider = new DefaultMapProvider(
+                getObjectFactoryBuilder().compactCollections(true).build(), getRandomSupplier());
+
+        Map<String, Integer> map = compactProvider.get(new TypeToken<Map<String, Integer>>() {}.getType());
+        HashMap<String, Integer> hashMap = compactProvider.get(new TypeToken<HashMap<String, Integer>>() {}.getType());
+
+        assertAll(() -> assertTrue(CompactCollections.isCompact(map)),
+                  () -> assertTrue(map.size() == DEFAULT_SIZE),
+                  () -> assertThrows(UnsupportedOperationException.class, () -> map.put("key", 1)),
+                  () -> assertTrue(CompactCollections.isCompact(compactProvider.get(Map.class))),
+                  () -> assertFalse(CompactCollections.isCompact(hashMap)));
+    }
+
     @Test
     void recognizes() {
         assertFalse(provider.recognizes(null));
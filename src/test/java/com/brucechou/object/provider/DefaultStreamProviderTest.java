@@ -1,5 +1,6 @@
 package com.brucechou.object.provider;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -12,8 +13,12 @@ import org.mockito.Mockito;
 
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.util.stream.BaseStream;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -70,6 +75,46 @@ class DefaultStreamProviderTest implements ProviderTestBase {
         assertThrows(IllegalArgumentException.class, () -> provider.get(wildcardType));
     }
 
+    @Test
+    void parallel() {
+        Type stringStreamType = new TypeToken<Stream<String>>() {}.getType();
+        DefaultStreamProvider sizedProvider = new DefaultStreamProvider(
+                getObjectFactoryBuilder().maxSize(100).minSize(100).build(), () -> new Random(42));
+
+        Stream<String> stream = sizedProvider.get(stringStreamType);
+        Spliterator<String> spliterator = stream.spliterator();
+
+        assertAll(() -> assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED
+                                                                     | Spliterator.SUBSIZED)),
+                  () -> assertEquals(100, spliterator.getExactSizeIfKnown()),
+                  () -> assertNotNull(spliterator.trySplit()));
+
+        List<String> sequential = sizedProvider.<Stream<String>>get(stringStreamType).collect(Collectors.toList());
+        List<String> parallel = sizedProvider.<Stream<String>>get(stringStreamType).parallel()
+                                             .collect(Collectors.toList());
+
+        // ordered, so order-dependent operations keep encounter order in parallel
+        List<String> limited = sizedProvider.<Stream<String>>get(stringStreamType).parallel().limit(10)
+                                            .collect(Collectors.toList());
+
+        assertAll(() -> assertEquals(100, sequential.size()),
+                  () -> assertEquals(sequential, parallel),
+                  () -> assertEquals(sequential.subList(0, 10), limited));
+    }
+
+    @Test
+    void cycle() {
+        Node node = getObjectFactory().generate(Node.class);
+
+        // the stream is consumed after generation of node, still detects the cycle from its path
+        assertEquals(Arrays.asList(null, null, null), node.children.collect(Collectors.toList()));
+    }
+
+    static class Node {
+
+        private Stream<Node> children;
+    }
+
     private abstract class OtherStream<T> implements BaseStream<T, OtherStream<T>> {}
 
     private <E> int sizeOf(Iterator<E> iterator) {
@@ -36,4 +36,10 @@ public class DeterministicProvider implements Provider {
     public boolean recognizes(Type type) {
         return mapping.containsKey(type);
     }
+
+    @Override
+    public String configurationKey() {
+        // mapped values can be changed at any time
+        return null;
+    }
 }
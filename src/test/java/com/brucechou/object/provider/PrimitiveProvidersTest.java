@@ -0,0 +1,47 @@
+package com.brucechou.object.provider;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveProvidersTest {
+
+    @Test
+    void get() {
+        PrimitiveProvider intProvider = PrimitiveProviders.ofInt(() -> 1);
+        PrimitiveProvider longProvider = PrimitiveProviders.ofLong(() -> 2L);
+        PrimitiveProvider doubleProvider = PrimitiveProviders.ofDouble(() -> 3.0);
+        PrimitiveProvider booleanProvider = PrimitiveProviders.ofBoolean(() -> true);
+
+        assertAll(() -> assertEquals(1, intProvider.getInt(int.class)),
+                  () -> assertEquals(Integer.valueOf(1), intProvider.get(Integer.class)),
+                  () -> assertEquals(2L, longProvider.getLong(long.class)),
+                  () -> assertEquals(Long.valueOf(2L), longProvider.get(Long.class, null)),
+                  () -> assertEquals(3.0, doubleProvider.getDouble(double.class)),
+                  () -> assertTrue(booleanProvider.getBoolean(boolean.class)),
+                  () -> assertEquals(Boolean.TRUE, booleanProvider.get(boolean.class)));
+    }
+
+    @Test
+    void recognizes() {
+        PrimitiveProvider intProvider = PrimitiveProviders.ofInt(() -> 1);
+
+        assertAll(() -> assertTrue(intProvider.recognizes(int.class)),
+                  () -> assertTrue(intProvider.recognizes(Integer.class)),
+                  () -> assertFalse(intProvider.recognizes(long.class)),
+                  () -> assertFalse(intProvider.recognizes(null)));
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class, () -> PrimitiveProviders.ofInt(null)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> PrimitiveProviders.ofLong(null)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> PrimitiveProviders.ofDouble(null)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> PrimitiveProviders.ofBoolean(null)));
+    }
+
+}
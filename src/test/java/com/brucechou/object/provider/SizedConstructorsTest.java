@@ -0,0 +1,85 @@
+package com.brucechou.object.provider;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.provider.SizedConstructors.SizedConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+
+class SizedConstructorsTest {
+
+    @Test
+    void of() throws Throwable {
+        SizedConstructor constructor = SizedConstructors.of(LinkedHashSet.class);
+
+        assertAll(() -> assertSame(constructor, SizedConstructors.of(LinkedHashSet.class)),
+                  () -> assertTrue(constructor.newInstance(16) instanceof LinkedHashSet),
+                  () -> assertTrue(SizedConstructors.of(ConcurrentHashMap.class)
+                                                    .newInstance(16) instanceof ConcurrentHashMap));
+    }
+
+    @Test
+    void bounded() throws Throwable {
+        // capacity of blocking queues is a bound, not a hint
+        LinkedBlockingQueue<?> queue = (LinkedBlockingQueue<?>) SizedConstructors.of(LinkedBlockingQueue.class)
+                                                                                .newInstance(0);
+        LinkedBlockingDeque<?> deque = (LinkedBlockingDeque<?>) SizedConstructors.of(LinkedBlockingDeque.class)
+                                                                                .newInstance(3);
+
+        assertAll(() -> assertEquals(Integer.MAX_VALUE, queue.remainingCapacity()),
+                  () -> assertEquals(Integer.MAX_VALUE, deque.remainingCapacity()),
+                  () -> assertTrue(SizedConstructors.of(PriorityQueue.class).newInstance(0) instanceof PriorityQueue));
+    }
+
+    @Test
+    void userClass() throws Throwable {
+        // (int) constructors of non-platform classes are never used
+        SizedList list = (SizedList) SizedConstructors.of(SizedList.class).newInstance(16);
+
+        assertEquals(-1, list.capacity);
+    }
+
+    @Test
+    void unusable() {
+        assertAll(() -> assertThrows(NoSuchMethodException.class,
+                                     () -> SizedConstructors.of(NoDefaultList.class).newInstance(1)),
+                  () -> assertThrows(IllegalAccessException.class,
+                                     () -> SizedConstructors.of(PrivateList.class).newInstance(1)));
+    }
+
+    static class SizedList extends ArrayList<Object> {
+
+        private final int capacity;
+
+        public SizedList() {
+            this(-1);
+        }
+
+        public SizedList(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    static class NoDefaultList extends ArrayList<Object> {
+
+        public NoDefaultList(String name) {
+        }
+    }
+
+    static class PrivateList extends ArrayList<Object> {
+
+        private PrivateList() {
+        }
+    }
+
+}
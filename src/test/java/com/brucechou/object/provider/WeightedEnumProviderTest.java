@@ -0,0 +1,91 @@
+package com.brucechou.object.provider;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.binding.Bindings;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+class WeightedEnumProviderTest implements ProviderTestBase {
+
+    private static final int SAMPLES = 10_000;
+
+    @Test
+    void get() {
+        Map<TestEnum, Integer> weights = new EnumMap<>(TestEnum.class);
+        weights.put(TestEnum.A, 95);
+        weights.put(TestEnum.C, 5);
+        Random random = new Random(1);
+        WeightedEnumProvider<TestEnum> provider = new WeightedEnumProvider<>(TestEnum.class, weights, () -> random);
+
+        int a = 0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            TestEnum value = provider.get(TestEnum.class);
+            assertTrue(value != TestEnum.B);
+            if (value == TestEnum.A) {
+                ++a;
+            }
+        }
+
+        assertEquals(0.95, a / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    void binding() {
+        ObjectFactory objectFactory = getObjectFactoryBuilder().bindings(Bindings.bind(
+                TestEnum.class, new WeightedEnumProvider<>(TestEnum.class, Collections.singletonMap(TestEnum.B, 1))))
+                                                               .build();
+
+        assertEquals(TestEnum.B, objectFactory.generate(TestEnum.class));
+    }
+
+    @Test
+    void seededBinding() {
+        Map<TestEnum, Integer> weights = new EnumMap<>(TestEnum.class);
+        weights.put(TestEnum.A, 1);
+        weights.put(TestEnum.B, 1);
+        weights.put(TestEnum.C, 1);
+        ObjectFactory objectFactory = getObjectFactoryBuilder().bindings(Bindings.bind(
+                TestEnum.class, random -> new WeightedEnumProvider<>(TestEnum.class, weights, random)))
+                                                               .build();
+
+        for (long seed = 0; seed < 10; ++seed) {
+            assertArrayEquals(objectFactory.<TestEnum[]>generate(TestEnum[].class, seed),
+                              objectFactory.<TestEnum[]>generate(TestEnum[].class, seed));
+        }
+    }
+
+    @Test
+    void recognizes() {
+        WeightedEnumProvider<TestEnum> provider =
+                new WeightedEnumProvider<>(TestEnum.class, Collections.singletonMap(TestEnum.A, 1));
+
+        assertAll(() -> assertTrue(provider.recognizes(TestEnum.class)),
+                  () -> assertFalse(provider.recognizes(EmptyTestEnum.class)),
+                  () -> assertFalse(provider.recognizes(null)));
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class,
+                                     () -> new WeightedEnumProvider<>(EmptyTestEnum.class, Collections.emptyMap())),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new WeightedEnumProvider<>(TestEnum.class, null)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new WeightedEnumProvider<>(TestEnum.class, Collections.emptyMap())),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new WeightedEnumProvider<>(TestEnum.class,
+                                                                      Collections.singletonMap(TestEnum.A, -1))));
+    }
+
+}
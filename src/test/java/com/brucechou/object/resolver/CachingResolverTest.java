@@ -0,0 +1,41 @@
+package com.brucechou.object.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class CachingResolverTest {
+
+    @Test
+    void resolve() {
+        Resolver resolver = Mockito.mock(Resolver.class);
+        Mockito.doReturn(ArrayList.class).when(resolver).resolve(List.class);
+
+        CachingResolver cachingResolver = new CachingResolver(resolver);
+
+        assertEquals(ArrayList.class, cachingResolver.resolve(List.class));
+        assertEquals(ArrayList.class, cachingResolver.resolve(List.class));
+        assertNull(cachingResolver.resolve(Set.class));
+        assertNull(cachingResolver.resolve(Set.class));
+
+        Mockito.verify(resolver, Mockito.times(1)).resolve(List.class);
+        Mockito.verify(resolver, Mockito.times(1)).resolve(Set.class);
+        assertEquals(2, cachingResolver.getStatistics().getSize());
+        assertEquals(2, cachingResolver.getStatistics().getHitCount());
+
+        cachingResolver.clear();
+        cachingResolver.resetStatistics();
+        assertEquals(0, cachingResolver.getStatistics().getSize());
+        assertEquals(0, cachingResolver.getStatistics().getHitCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new CachingResolver(null));
+    }
+
+}
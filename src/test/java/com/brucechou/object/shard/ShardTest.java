@@ -0,0 +1,46 @@
+package com.brucechou.object.shard;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ShardTest {
+
+    @Test
+    void range() {
+        long total = 10;
+        long expectedStart = 0;
+        for (int i = 0; i < 4; ++i) {
+            Shard shard = new Shard(i, 4, 1L);
+            assertEquals(expectedStart, shard.start(total));
+            long size = shard.end(total) - shard.start(total);
+            // 10 records over 4 shards, 3 3 2 2
+            assertEquals(i < 2 ? 3 : 2, size);
+            expectedStart = shard.end(total);
+        }
+        assertEquals(total, expectedStart);
+
+        Shard huge = new Shard(39, 40, 1L);
+        assertEquals(Long.MAX_VALUE, huge.end(Long.MAX_VALUE));
+    }
+
+    @Test
+    void seedOf() {
+        // seeds depend on the master seed and global index only
+        assertAll(() -> assertEquals(new Shard(0, 1, 7L).seedOf(5), new Shard(3, 4, 7L).seedOf(5)),
+                  () -> assertNotEquals(new Shard(0, 1, 7L).seedOf(5), new Shard(0, 1, 7L).seedOf(6)),
+                  () -> assertNotEquals(new Shard(0, 1, 7L).seedOf(5), new Shard(0, 1, 8L).seedOf(5)));
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class, () -> new Shard(0, 0, 1L)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new Shard(-1, 2, 1L)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new Shard(2, 2, 1L)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new Shard(0, 2, 1L).start(-1)));
+    }
+
+}
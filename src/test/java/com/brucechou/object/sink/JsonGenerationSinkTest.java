@@ -0,0 +1,127 @@
+package com.brucechou.object.sink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+class JsonGenerationSinkTest {
+
+    @Test
+    void structure() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerationSink sink = new JsonGenerationSink(out)) {
+            sink.beginObject();
+            sink.name("a");
+            sink.beginArray();
+            sink.numberValue(1);
+            sink.booleanValue(true);
+            sink.nullValue();
+            sink.beginObject();
+            sink.endObject();
+            sink.endArray();
+            sink.name("b");
+            sink.stringValue("c");
+            sink.endObject();
+        }
+        assertEquals("{\"a\":[1,true,null,{}],\"b\":\"c\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void topLevelValuesAreNewlineDelimited() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerationSink sink = new JsonGenerationSink(out)) {
+            sink.beginArray();
+            sink.endArray();
+            sink.numberValue(1);
+            sink.stringValue("a");
+        }
+        assertEquals("[]\n1\n\"a\"", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void numbers() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerationSink sink = new JsonGenerationSink(out)) {
+            sink.beginArray();
+            sink.numberValue(0);
+            sink.numberValue(-42);
+            sink.numberValue(Long.MAX_VALUE);
+            sink.numberValue(Long.MIN_VALUE);
+            sink.numberValue(1.5);
+            sink.numberValue(Double.NaN);
+            sink.numberValue(Double.POSITIVE_INFINITY);
+            sink.numberValue(new BigDecimal("1.25"));
+            sink.numberValue(new BigInteger("123456789012345678901234567890"));
+            sink.numberValue(Integer.valueOf(7));
+            sink.numberValue(Float.valueOf(0.5f));
+            sink.endArray();
+        }
+        assertEquals("[0,-42,9223372036854775807,-9223372036854775808,1.5,null,null,1.25,"
+                             + "123456789012345678901234567890,7,0.5]",
+                     new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void strings() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String value = "q\"b\\n\nt\tc\u0001é中😀";
+        try (JsonGenerationSink sink = new JsonGenerationSink(out)) {
+            sink.stringValue(value);
+        }
+        assertEquals("\"q\\\"b\\\\n\\nt\\tc\\u0001é中😀\"",
+                     new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void smallBufferIsReused() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder("[");
+        try (JsonGenerationSink sink = new JsonGenerationSink(out, 32)) {
+            sink.beginArray();
+            for (int i = 0; i < 1000; ++i) {
+                sink.stringValue("value-" + i);
+                expected.append(i == 0 ? "" : ",").append("\"value-").append(i).append('"');
+            }
+            sink.endArray();
+        }
+        expected.append("]");
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void channel() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerationSink sink = new JsonGenerationSink(Channels.newChannel(out), 32)) {
+            sink.beginObject();
+            sink.name("name");
+            sink.stringValue("a long value to overflow the buffer");
+            sink.endObject();
+        }
+        assertEquals("{\"name\":\"a long value to overflow the buffer\"}",
+                     new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonGenerationSink((OutputStream) null));
+        assertThrows(IllegalArgumentException.class, () -> new JsonGenerationSink((WritableByteChannel) null));
+        assertThrows(IllegalArgumentException.class, () -> new JsonGenerationSink(new ByteArrayOutputStream(), 1));
+
+        JsonGenerationSink sink = new JsonGenerationSink(new ByteArrayOutputStream());
+        assertThrows(IllegalStateException.class, () -> sink.name("a"));
+        assertThrows(IllegalStateException.class, sink::endObject);
+        sink.beginObject();
+        sink.name("a");
+        assertThrows(IllegalStateException.class, () -> sink.name("b"));
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.brucechou.object.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.collection.CompactCollections;
+import com.brucechou.object.provider.PrimitiveProviders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@SuppressWarnings("unused")
+class SnapshotCacheTest {
+
+    private enum Color {
+        RED, GREEN, BLUE
+    }
+
+    private interface Service {
+        String name();
+    }
+
+    private static final class Child {
+        private String name;
+        private Fixture parent;
+    }
+
+    private static final class Fixture {
+        private String name;
+        private int count;
+        private long[] values;
+        private Integer[] boxed;
+        private List<Child> children;
+        private Map<String, Integer> scores;
+        private Color color;
+        private Date date;
+        private Optional<String> note;
+        private BigDecimal amount;
+        private LocalDate day;
+    }
+
+    private static final class Counted {
+        private static int constructed;
+
+        private String name;
+
+        Counted() {
+            ++constructed;
+        }
+    }
+
+    private static final class Unsupported {
+        private String name;
+        private Service service;
+    }
+
+    private Path directory;
+    private ObjectFactory objectFactory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        directory = Files.createTempDirectory("snapshots");
+        objectFactory = ObjectFactoryBuilder.getDefaultBuilder().build();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Object file : files.toArray()) {
+                Files.delete((Path) file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static void assertSameContent(Fixture expected, Fixture actual) {
+        assertEquals(expected.name, actual.name);
+        assertEquals(expected.count, actual.count);
+        assertArrayEquals(expected.values, actual.values);
+        assertArrayEquals(expected.boxed, actual.boxed);
+        assertEquals(expected.children.size(), actual.children.size());
+        for (int i = 0; i < expected.children.size(); ++i) {
+            assertEquals(expected.children.get(i).name, actual.children.get(i).name);
+            assertEquals(expected.children.get(i).parent, actual.children.get(i).parent);
+        }
+        assertEquals(expected.scores, actual.scores);
+        assertEquals(expected.color, actual.color);
+        assertEquals(expected.date, actual.date);
+        assertEquals(expected.note, actual.note);
+        assertEquals(expected.amount, actual.amount);
+        assertEquals(expected.day, actual.day);
+    }
+
+    @Test
+    void generate() {
+        SnapshotCache cache = new SnapshotCache(objectFactory, directory, Long.MAX_VALUE);
+
+        Fixture generated = cache.generate(Fixture.class, 42L);
+        assertSameContent(objectFactory.generate(Fixture.class, 42L), generated);
+        assertEquals(1, cache.getStatistics().getMissCount());
+        assertEquals(1, cache.getStatistics().getSize());
+
+        Fixture restored = cache.generate(Fixture.class, 42L);
+        assertSameContent(generated, restored);
+        assertEquals(1, cache.getStatistics().getHitCount());
+
+        // a new cache of another object factory with the same configuration reads the same snapshot
+        SnapshotCache another = new SnapshotCache(ObjectFactoryBuilder.getDefaultBuilder().build(), directory,
+                                                  Long.MAX_VALUE);
+        assertSameContent(generated, another.generate(Fixture.class, 42L));
+        assertEquals(1, another.getStatistics().getHitCount());
+
+        // another seed or another configuration is a miss
+        cache.generate(Fixture.class, 43L);
+        new SnapshotCache(ObjectFactoryBuilder.getDefaultBuilder().maxSize(3).build(), directory, Long.MAX_VALUE)
+                .generate(Fixture.class, 42L);
+        assertEquals(3, cache.getStatistics().getSize());
+
+        cache.clear();
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    void compactCollections() {
+        ObjectFactory compact = ObjectFactoryBuilder.getDefaultBuilder().compactCollections(true).build();
+        SnapshotCache cache = new SnapshotCache(compact, directory, Long.MAX_VALUE);
+
+        Fixture generated = cache.generate(Fixture.class, 42L);
+        Fixture restored = cache.generate(Fixture.class, 42L);
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertSameContent(generated, restored);
+        assertTrue(CompactCollections.isCompact(restored.children));
+        assertTrue(CompactCollections.isCompact(restored.scores));
+    }
+
+    @Test
+    void corrupted() throws IOException {
+        SnapshotCache cache = new SnapshotCache(objectFactory, directory, Long.MAX_VALUE);
+        Fixture generated = cache.generate(Fixture.class, 1L);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            Path snapshot = files.findFirst().get();
+            byte[] bytes = Files.readAllBytes(snapshot);
+            Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+        }
+
+        assertSameContent(generated, cache.generate(Fixture.class, 1L));
+        assertEquals(0, cache.getStatistics().getHitCount());
+        assertEquals(2, cache.getStatistics().getMissCount());
+        assertEquals(0, cache.getStatistics().getSize());
+
+        // the type failed to read is neither written nor read again
+        assertSameContent(generated, cache.generate(Fixture.class, 1L));
+        cache.generate(Fixture.class, 2L);
+        assertEquals(0, cache.getStatistics().getHitCount());
+        assertEquals(4, cache.getStatistics().getMissCount());
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    void constructorsSkipped() {
+        SnapshotCache cache = new SnapshotCache(objectFactory, directory, Long.MAX_VALUE);
+        Counted generated = cache.generate(Counted.class, 1L);
+
+        int constructed = Counted.constructed;
+        Counted restored = cache.generate(Counted.class, 1L);
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(generated.name, restored.name);
+        assertEquals(constructed, Counted.constructed);
+    }
+
+    @Test
+    void eviction() throws IOException {
+        SnapshotCache cache = new SnapshotCache(objectFactory, directory, 1);
+        for (long seed = 0; seed < 5; ++seed) {
+            assertNotNull(cache.generate(Fixture.class, seed));
+        }
+        // only the latest snapshot may exceed the limit, which is evicted right after written
+        assertEquals(0, cache.getStatistics().getSize());
+
+        long size;
+        SnapshotCache unlimited = new SnapshotCache(objectFactory, directory, Long.MAX_VALUE);
+        unlimited.generate(Fixture.class, 0L);
+        try (Stream<Path> files = Files.list(directory)) {
+            size = Files.size(files.findFirst().get());
+        }
+        unlimited.clear();
+
+        SnapshotCache bounded = new SnapshotCache(objectFactory, directory, size * 3 + size / 2);
+        for (long seed = 0; seed < 10; ++seed) {
+            bounded.generate(Fixture.class, seed);
+        }
+        assertTrue(bounded.getStatistics().getSize() <= 4, String.valueOf(bounded.getStatistics().getSize()));
+    }
+
+    @Test
+    void undescribedConfiguration() {
+        ObjectFactory opaque = ObjectFactoryBuilder.getDefaultBuilder()
+                                                   .bindings(Bindings.bind("count", PrimitiveProviders.ofInt(() -> 1)))
+                                                   .build();
+        SnapshotCache cache = new SnapshotCache(opaque, directory, Long.MAX_VALUE);
+
+        Fixture generated = cache.generate(Fixture.class, 1L);
+        assertEquals(1, generated.count);
+        assertSameContent(generated, cache.generate(Fixture.class, 1L));
+        assertEquals(0, cache.getStatistics().getHitCount());
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    void uncacheable() {
+        SnapshotCache cache = new SnapshotCache(objectFactory, directory, Long.MAX_VALUE);
+
+        Unsupported value = cache.generate(Unsupported.class, 1L);
+        assertNotNull(value.service);
+        assertEquals(0, cache.getStatistics().getSize());
+        assertEquals(1, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotCache(null, directory, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotCache(objectFactory, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotCache(objectFactory, directory, 0));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.brucechou.object.unique;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+class FeistelPermutationTest {
+
+    @Test
+    void permute() {
+        for (long range : new long[] {1, 2, 3, 1000, 4097}) {
+            FeistelPermutation permutation = new FeistelPermutation(range, 42L);
+            BitSet seen = new BitSet();
+            for (long i = 0; i < range; ++i) {
+                long value = permutation.permute(i);
+                assertTrue(value >= 0 && value < range);
+                seen.set((int) value);
+            }
+            // bijection, every value of range is hit once
+            assertEquals(range, seen.cardinality());
+        }
+    }
+
+    @Test
+    void largeRange() {
+        FeistelPermutation permutation = new FeistelPermutation(Long.MAX_VALUE, 1L);
+        long value = permutation.permute(Long.MAX_VALUE - 1);
+
+        assertAll(() -> assertTrue(value >= 0),
+                  () -> assertNotEquals(permutation.permute(0), permutation.permute(1)));
+    }
+
+    @Test
+    void key() {
+        FeistelPermutation first = new FeistelPermutation(1_000_000, 1L);
+        FeistelPermutation second = new FeistelPermutation(1_000_000, 2L);
+
+        int same = 0;
+        for (int i = 0; i < 100; ++i) {
+            if (first.permute(i) == second.permute(i)) {
+                ++same;
+            }
+        }
+        assertTrue(same < 5);
+        assertEquals(first.permute(7), new FeistelPermutation(1_000_000, 1L).permute(7));
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class, () -> new FeistelPermutation(0, 1L)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new FeistelPermutation(10, 1L).permute(10)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new FeistelPermutation(10, 1L).permute(-1)));
+    }
+
+}
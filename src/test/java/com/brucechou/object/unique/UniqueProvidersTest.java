@@ -0,0 +1,136 @@
+package com.brucechou.object.unique;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.brucechou.object.ObjectCreationException;
+import com.brucechou.object.ObjectFactory;
+import com.brucechou.object.ObjectFactoryBuilder;
+import com.brucechou.object.binding.Bindings;
+import com.brucechou.object.shard.Shard;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+class UniqueProvidersTest {
+
+    @Test
+    void uniqueLong() {
+        UniqueLongProvider provider = new UniqueLongProvider(100, 199, 7L);
+        Set<Long> values = new HashSet<>();
+        for (int i = 0; i < 100; ++i) {
+            Long value = provider.get(long.class);
+            assertTrue(value >= 100 && value <= 199);
+            values.add(value);
+        }
+
+        assertAll(() -> assertEquals(100, values.size()),
+                  () -> assertThrows(ObjectCreationException.class, () -> provider.get(long.class)),
+                  () -> assertTrue(provider.recognizes(Long.class)),
+                  () -> assertFalse(provider.recognizes(int.class)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new UniqueLongProvider(2, 1, 7L)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new UniqueLongProvider(Long.MIN_VALUE, Long.MAX_VALUE, 7L)));
+    }
+
+    @Test
+    void sharded() {
+        Set<Long> values = new HashSet<>();
+        for (int i = 0; i < 3; ++i) {
+            UniqueLongProvider provider = new UniqueLongProvider(0, 9, 7L, new Shard(i, 3, 0L));
+            for (long j = new Shard(i, 3, 0L).start(10); j < new Shard(i, 3, 0L).end(10); ++j) {
+                values.add(provider.get(long.class));
+            }
+            assertThrows(ObjectCreationException.class, () -> provider.get(long.class));
+        }
+
+        // shards cover the whole value space without overlaps
+        assertEquals(10, values.size());
+    }
+
+    @Test
+    void shardRecords() {
+        Set<Long> single = new HashSet<>();
+        shardFactory(0, 1).<Account>generateShard(Account.class, 100).forEach(account -> single.add(account.id));
+
+        Set<Long> union = new HashSet<>();
+        for (int i = 0; i < 3; ++i) {
+            shardFactory(i, 3).<Account>generateShard(Account.class, 100).forEach(account -> union.add(account.id));
+        }
+
+        assertEquals(100, single.size());
+        assertEquals(single, union);
+        assertNull(new UniqueLongProvider(1, 1000, 7L).configurationKey());
+    }
+
+    private static ObjectFactory shardFactory(int index, int count) {
+        return ObjectFactoryBuilder.getDefaultBuilder()
+                                   .shard(index, count, 42L)
+                                   .bindings(Bindings.bind("id", new UniqueLongProvider(1, 1000, 7L)))
+                                   .build();
+    }
+
+    @Test
+    void uniqueUuid() {
+        UniqueUuidProvider provider = new UniqueUuidProvider(7L);
+        Set<UUID> values = new HashSet<>();
+        for (int i = 0; i < 10_000; ++i) {
+            UUID value = provider.get(UUID.class);
+            assertEquals(4, value.version());
+            assertEquals(2, value.variant());
+            values.add(value);
+        }
+
+        assertEquals(10_000, values.size());
+    }
+
+    @Test
+    void uniqueString() {
+        UniqueStringProvider provider = new UniqueStringProvider("user-%s@example.com", 1_000_000, 7L);
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < 10_000; ++i) {
+            String value = provider.get(String.class);
+            assertTrue(value.matches("user-[0-9a-z]{4}@example\\.com"));
+            values.add(value);
+        }
+
+        assertAll(() -> assertEquals(10_000, values.size()),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new UniqueStringProvider("user", 10, 1L)),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new UniqueStringProvider("%s-%s", 10, 1L)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new UniqueStringProvider(null, 10, 1L)));
+    }
+
+    @Test
+    void binding() {
+        ObjectFactory objectFactory =
+                ObjectFactoryBuilder.getDefaultBuilder()
+                                    .bindings(Bindings.bind("id", new UniqueLongProvider(1, 1000, 7L)),
+                                              Bindings.bind("email", new UniqueStringProvider("%s@x.com", 1000, 7L)))
+                                    .build();
+
+        Set<Long> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < 1000; ++i) {
+            Account account = objectFactory.generate(Account.class);
+            ids.add(account.id);
+            emails.add(account.email);
+        }
+
+        assertEquals(1000, ids.size());
+        assertEquals(1000, emails.size());
+    }
+
+    private static class Account {
+        private long id;
+        private String email;
+        private String name;
+    }
+
+}
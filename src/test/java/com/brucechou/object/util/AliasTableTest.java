@@ -0,0 +1,50 @@
+package com.brucechou.object.util;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class AliasTableTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void sample() {
+        double[] weights = {95, 4, 0, 1};
+        AliasTable table = new AliasTable(weights);
+        Random random = new Random(1);
+
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < SAMPLES; ++i) {
+            counts[table.sample(random)]++;
+        }
+
+        assertAll(() -> assertEquals(4, table.size()),
+                  () -> assertEquals(0.95, counts[0] / (double) SAMPLES, 0.01),
+                  () -> assertEquals(0.04, counts[1] / (double) SAMPLES, 0.01),
+                  () -> assertEquals(0, counts[2]),
+                  () -> assertEquals(0.01, counts[3] / (double) SAMPLES, 0.005));
+    }
+
+    @Test
+    void single() {
+        AliasTable table = new AliasTable(new double[] {0.3});
+
+        assertEquals(0, table.sample(new Random()));
+    }
+
+    @Test
+    void invalid() {
+        assertAll(() -> assertThrows(IllegalArgumentException.class, () -> new AliasTable(null)),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0])),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {0, 0})),
+                  () -> assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1})),
+                  () -> assertThrows(IllegalArgumentException.class,
+                                     () -> new AliasTable(new double[] {1, Double.NaN})));
+    }
+
+}
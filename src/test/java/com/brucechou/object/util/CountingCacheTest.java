@@ -0,0 +1,51 @@
+package com.brucechou.object.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CountingCacheTest {
+
+    @Test
+    void get() {
+        CountingCache<String, Integer> cache = new CountingCache<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Integer.valueOf(1), cache.get("a", k -> loads.incrementAndGet()));
+        assertEquals(Integer.valueOf(1), cache.get("a", k -> loads.incrementAndGet()));
+        assertNull(cache.get("b", k -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.get("b", k -> loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getSize());
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(0.5, statistics.getHitRate());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getStatistics().getHitRate());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(Integer.valueOf(3), cache.get("a", k -> loads.incrementAndGet()));
+    }
+
+    @Test
+    void plus() {
+        CacheStatistics statistics = new CacheStatistics(1, 2, 3).plus(CacheStatistics.EMPTY)
+                                                                  .plus(new CacheStatistics(1, 2, 3));
+        assertEquals(2, statistics.getSize());
+        assertEquals(4, statistics.getHitCount());
+        assertEquals(6, statistics.getMissCount());
+    }
+
+}